@@ -29,8 +29,10 @@ import io.aiven.kafka.connect.azure.source.utils.AzureBlobSourceRecord;
 import io.aiven.kafka.connect.azure.source.utils.AzureBlobSourceRecordIterator;
 import io.aiven.kafka.connect.azure.source.utils.VersionInfo;
 import io.aiven.kafka.connect.common.config.SourceCommonConfig;
+import io.aiven.kafka.connect.common.source.AbstractSourceRecordIterator;
 import io.aiven.kafka.connect.common.source.AbstractSourceTask;
 import io.aiven.kafka.connect.common.source.OffsetManager;
+import io.aiven.kafka.connect.common.source.input.Transformer;
 
 import org.apache.commons.collections4.IteratorUtils;
 import org.slf4j.Logger;
@@ -45,6 +47,8 @@ public class AzureBlobSourceTask extends AbstractSourceTask {
     private AzureBlobSourceConfig azureBlobSourceConfig; // NOPMD only called once, when used in the future this can be
     // removed
     private Iterator<AzureBlobSourceRecord> azureBlobSourceRecordIterator;
+    /** The transformer that we are using */
+    private Transformer transformer;
 
     /**
      * Constructor to set the Logger used. This constructor is required by Connect.
@@ -77,14 +81,26 @@ public class AzureBlobSourceTask extends AbstractSourceTask {
         this.azureBlobSourceConfig = new AzureBlobSourceConfig(props);
         offsetManager = new OffsetManager<>(context);
         final AzureBlobClient azureBlobClient = new AzureBlobClient(azureBlobSourceConfig);
+        transformer = azureBlobSourceConfig.getTransformer();
         azureBlobSourceRecordIterator = new AzureBlobSourceRecordIterator(azureBlobSourceConfig, offsetManager,
-                azureBlobSourceConfig.getTransformer(), azureBlobClient);
+                transformer, azureBlobClient);
         return azureBlobSourceConfig;
     }
 
+    @Override
+    protected boolean isBusy() {
+        return azureBlobSourceRecordIterator instanceof AbstractSourceRecordIterator
+                && ((AbstractSourceRecordIterator<?, ?, ?, ?>) azureBlobSourceRecordIterator).isBusy();
+    }
+
     @Override
     protected void closeResources() {
-        // nothing to do.
+        if (azureBlobSourceRecordIterator instanceof AbstractSourceRecordIterator) {
+            ((AbstractSourceRecordIterator<?, ?, ?, ?>) azureBlobSourceRecordIterator).close();
+        }
+        if (transformer != null) {
+            transformer.close();
+        }
     }
 
     @Override
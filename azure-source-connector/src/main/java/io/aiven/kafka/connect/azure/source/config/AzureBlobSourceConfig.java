@@ -48,6 +48,8 @@ public class AzureBlobSourceConfig extends SourceCommonConfig {
         return configDef;
     }
     private void validate() {
+        // blobs are listed with continuation tokens, so listing can not start after a stored or assigned blob name.
+        new SourceConfigFragment(this).validateKeyedListingUnsupported();
     }
 
     public int getAzureFetchPageSize() {
@@ -17,14 +17,19 @@
 package io.aiven.kafka.connect.azure.source.utils;
 
 import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.OffsetDateTime;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import io.aiven.kafka.connect.azure.source.config.AzureBlobSourceConfig;
+import io.aiven.kafka.connect.common.source.LastModifiedWindow;
 
 import com.azure.storage.blob.BlobAsyncClient;
 import com.azure.storage.blob.BlobContainerAsyncClient;
+import com.azure.storage.blob.models.BlobDownloadAsyncResponse;
 import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobRange;
 import com.azure.storage.blob.models.ListBlobsOptions;
 import reactor.core.publisher.Flux;
 
@@ -36,7 +41,7 @@ public class AzureBlobClient {
 
     private final AzureBlobSourceConfig config;
     private final BlobContainerAsyncClient containerAsyncClient;
-    private final Predicate<BlobItem> filterPredicate = blobItem -> blobItem.getProperties().getContentLength() > 0;
+    private final Predicate<BlobItem> filterPredicate;
 
     /**
      *
@@ -48,6 +53,23 @@ public class AzureBlobClient {
         this.config = config;
         this.containerAsyncClient = config.getAzureServiceAsyncClient()
                 .getBlobContainerAsyncClient(config.getAzureContainerName());
+        final Predicate<BlobItem> nonEmpty = blobItem -> blobItem.getProperties().getContentLength() > 0;
+        final LastModifiedWindow lastModifiedWindow = LastModifiedWindow.from(config);
+        this.filterPredicate = lastModifiedWindow.isUnbounded()
+                ? nonEmpty
+                : nonEmpty.and(lastModifiedWindow.asPredicate(AzureBlobClient::getLastModified));
+    }
+
+    /**
+     * Gets the last modified time of a blob.
+     *
+     * @param blobItem
+     *            the blob.
+     * @return the last modified time of the blob, or {@code null} if unknown.
+     */
+    private static Instant getLastModified(final BlobItem blobItem) {
+        final OffsetDateTime lastModified = blobItem.getProperties().getLastModified();
+        return lastModified == null ? null : lastModified.toInstant();
     }
 
     /**
@@ -76,6 +98,24 @@ public class AzureBlobClient {
         return getBlobAsyncClient(blobName).downloadStream();
     }
 
+    /**
+     * Downloads a range of a blob.
+     *
+     * @param blobName
+     *            Name of the blob which is to be downloaded from Azure.
+     * @param offset
+     *            the zero based offset of the first byte to download.
+     * @param count
+     *            the number of bytes to download.
+     * @return A Flux ByteArray of the requested range, this Flux is an asynchronous implementation which returns 0..N
+     *         parts
+     */
+    public Flux<ByteBuffer> getBlobRange(final String blobName, final long offset, final long count) {
+        return getBlobAsyncClient(blobName)
+                .downloadStreamWithResponse(new BlobRange(offset, count), null, null, false)
+                .flatMapMany(BlobDownloadAsyncResponse::getValue);
+    }
+
     /**
      * Creates an Async BlobClient for a specific Blob in a container.
      *
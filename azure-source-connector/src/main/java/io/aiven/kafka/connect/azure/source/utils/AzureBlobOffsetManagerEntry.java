@@ -125,6 +125,11 @@ public final class AzureBlobOffsetManagerEntry
         recordCount++;
     }
 
+    @Override
+    public void setRecordCount(final long recordCount) {
+        this.recordCount = recordCount;
+    }
+
     /**
      * Gets the umber of records extracted from data returned from Azure Blob.
      *
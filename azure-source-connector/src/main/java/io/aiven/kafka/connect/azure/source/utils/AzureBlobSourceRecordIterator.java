@@ -16,6 +16,7 @@
 
 package io.aiven.kafka.connect.azure.source.utils;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.stream.Stream;
 
@@ -24,8 +25,10 @@ import org.apache.kafka.common.utils.ByteBufferInputStream;
 import io.aiven.kafka.connect.azure.source.config.AzureBlobSourceConfig;
 import io.aiven.kafka.connect.common.source.AbstractSourceRecordIterator;
 import io.aiven.kafka.connect.common.source.OffsetManager;
+import io.aiven.kafka.connect.common.source.input.RangedIOSupplier;
 import io.aiven.kafka.connect.common.source.input.Transformer;
 
+import com.azure.core.util.FluxUtil;
 import com.azure.storage.blob.models.BlobItem;
 import org.apache.commons.io.function.IOSupplier;
 import org.apache.commons.lang3.StringUtils;
@@ -68,7 +71,21 @@ public final class AzureBlobSourceRecordIterator
 
     @Override
     protected IOSupplier<InputStream> getInputStream(final AzureBlobSourceRecord sourceRecord) {
-        return () -> new ByteBufferInputStream(azureBlobClient.getBlob(sourceRecord.getNativeKey()).blockFirst());
+        final String blobName = sourceRecord.getNativeKey();
+        return new RangedIOSupplier() {
+            @Override
+            public InputStream get() {
+                return new ByteBufferInputStream(azureBlobClient.getBlob(blobName).blockFirst());
+            }
+
+            @Override
+            public InputStream getRange(final long position, final long length) {
+                final byte[] bytes = FluxUtil
+                        .collectBytesInByteBufferStream(azureBlobClient.getBlobRange(blobName, position, length))
+                        .block();
+                return new ByteArrayInputStream(bytes == null ? new byte[0] : bytes);
+            }
+        };
     }
 
     @Override
@@ -90,4 +107,9 @@ public final class AzureBlobSourceRecordIterator
     protected OffsetManager.OffsetManagerKey getOffsetManagerKey(final String nativeKey) {
         return AzureBlobOffsetManagerEntry.asKey(container, StringUtils.defaultIfBlank(nativeKey, ""));
     }
+
+    @Override
+    protected String parseNativeKey(final String nativeKey) {
+        return nativeKey;
+    }
 }
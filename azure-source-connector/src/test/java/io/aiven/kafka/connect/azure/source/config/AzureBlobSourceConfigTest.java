@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.azure.source.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.kafka.common.config.ConfigException;
+
+import io.aiven.kafka.connect.common.config.FileNameFragment;
+import io.aiven.kafka.connect.common.config.SourceConfigFragment;
+import io.aiven.kafka.connect.common.config.enums.OffsetMode;
+
+import org.junit.jupiter.api.Test;
+
+final class AzureBlobSourceConfigTest {
+
+    private static Map<String, String> props() {
+        final var props = new HashMap<String, String>();
+        props.put(AzureBlobConfigFragment.AZURE_STORAGE_CONTAINER_NAME_CONFIG, "the-container");
+        SourceConfigFragment.setter(props).targetTopic("testtopic");
+        FileNameFragment.setter(props).template("any-old-file");
+        return props;
+    }
+
+    @Test
+    void objectOffsetMode() {
+        final Map<String, String> props = props();
+        SourceConfigFragment.setter(props).offsetMode(OffsetMode.OBJECT);
+        assertThat(new AzureBlobSourceConfig(props).getOffsetMode()).isEqualTo(OffsetMode.OBJECT);
+    }
+
+    @Test
+    void watermarkOffsetModeIsRejected() {
+        final Map<String, String> props = props();
+        SourceConfigFragment.setter(props).offsetMode(OffsetMode.WATERMARK);
+        assertThatThrownBy(() -> new AzureBlobSourceConfig(props)).isInstanceOf(ConfigException.class)
+                .hasMessageContaining("offset.mode");
+    }
+
+    @Test
+    void listingCheckpointIsRejected() {
+        final Map<String, String> props = props();
+        SourceConfigFragment.setter(props).listingCheckpointInterval(60_000L);
+        assertThatThrownBy(() -> new AzureBlobSourceConfig(props)).isInstanceOf(ConfigException.class)
+                .hasMessageContaining("listing.checkpoint.interval.ms");
+    }
+
+    @Test
+    void discoveryRangeIsRejected() {
+        final Map<String, String> start = props();
+        start.put(SourceConfigFragment.DISCOVERY_RANGE_START, "a");
+        assertThatThrownBy(() -> new AzureBlobSourceConfig(start)).isInstanceOf(ConfigException.class)
+                .hasMessageContaining(SourceConfigFragment.DISCOVERY_RANGE_START);
+
+        final Map<String, String> end = props();
+        end.put(SourceConfigFragment.DISCOVERY_RANGE_END, "z");
+        assertThatThrownBy(() -> new AzureBlobSourceConfig(end)).isInstanceOf(ConfigException.class)
+                .hasMessageContaining(SourceConfigFragment.DISCOVERY_RANGE_END);
+    }
+}
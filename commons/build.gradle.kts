@@ -17,6 +17,7 @@
 plugins {
   id("aiven-apache-kafka-connectors-all.java-conventions")
   id("aiven-apache-kafka-connectors-all.docs")
+  id("me.champeau.jmh") version "0.7.2"
 }
 
 val kafkaTestingVersion by extra("3.3.1")
@@ -178,6 +179,15 @@ dependencies {
   testRuntimeOnly(logginglibs.logback.classic)
 }
 
+jmh {
+  jmhVersion.set("1.37")
+  fork.set(1)
+  warmupIterations.set(3)
+  iterations.set(5)
+  // reports the bytes allocated per operation
+  profilers.add("gc")
+}
+
 tasks.withType<Jar> { archiveBaseName.set(project.name + "-for-apache-kafka-connect") }
 
 distributions { main { distributionBaseName.set(project.name + "-for-apache-kafka-connect") } }
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.commons.collections;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.collections4.queue.CircularFifoQueue;
+import org.apache.commons.collections4.queue.SynchronizedQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the {@link RingBuffer} with the queue based implementation it replaced. Each benchmark operation checks a
+ * page of listed keys against a full buffer, as the source record iterator does, then adds the new keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RingBufferBenchmark {
+    /** The number of keys in a listing page */
+    private static final int PAGE_SIZE = 1000;
+    /** The number of new keys cycled through by the add benchmarks, more than the largest buffer so they are ejected */
+    private static final int ADD_KEYS = 1 << 16;
+
+    @Param({ "1000", "10000" })
+    public int ringBufferSize;
+
+    private RingBuffer<String> ringBuffer;
+    private QueueRingBuffer<String> queueRingBuffer;
+    private String[] page;
+    private String[] added;
+    private int next;
+
+    @Setup
+    public void setup() {
+        ringBuffer = new RingBuffer<>(ringBufferSize);
+        queueRingBuffer = new QueueRingBuffer<>(ringBufferSize);
+        for (int i = 0; i < ringBufferSize; i++) {
+            ringBuffer.add(key(i));
+            queueRingBuffer.add(key(i));
+        }
+        // half the page has been processed, half is new.
+        page = new String[PAGE_SIZE];
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page[i] = key(ringBufferSize - PAGE_SIZE / 2 + i);
+        }
+        added = new String[ADD_KEYS];
+        for (int i = 0; i < ADD_KEYS; i++) {
+            added[i] = key(ringBufferSize * 2 + i);
+        }
+        next = 0;
+    }
+
+    private static String key(final int index) {
+        return String.format("prefix/topic-%05d-%012d.avro", index % 8, index);
+    }
+
+    @Benchmark
+    public void ringBufferContains(final Blackhole blackhole) {
+        for (final String key : page) {
+            blackhole.consume(ringBuffer.contains(key));
+        }
+    }
+
+    @Benchmark
+    public void queueRingBufferContains(final Blackhole blackhole) {
+        for (final String key : page) {
+            blackhole.consume(queueRingBuffer.contains(key));
+        }
+    }
+
+    @Benchmark
+    public String ringBufferAdd() {
+        return ringBuffer.add(added[next++ & (ADD_KEYS - 1)]);
+    }
+
+    @Benchmark
+    public String queueRingBufferAdd() {
+        return queueRingBuffer.add(added[next++ & (ADD_KEYS - 1)]);
+    }
+
+    /**
+     * The previous ring buffer: a synchronized circular queue with linear lookups.
+     */
+    static final class QueueRingBuffer<K> {
+        private final CircularFifoQueue<K> wrappedQueue;
+        private final SynchronizedQueue<K> queue;
+
+        QueueRingBuffer(final int size) {
+            wrappedQueue = new CircularFifoQueue<>(size);
+            queue = SynchronizedQueue.synchronizedQueue(wrappedQueue);
+        }
+
+        K add(final K item) {
+            if (!queue.contains(item)) {
+                final K result = wrappedQueue.isAtFullCapacity() ? queue.poll() : null;
+                queue.add(item);
+                return result;
+            }
+            return null;
+        }
+
+        boolean contains(final K item) {
+            return queue.contains(item);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaAndValue;
+import org.apache.kafka.connect.source.SourceRecord;
+
+import io.aiven.kafka.connect.common.NativeInfo;
+import io.aiven.kafka.connect.common.config.enums.ErrorsTolerance;
+import io.aiven.kafka.connect.common.source.task.Context;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the per record cost of emitting the records of a storage item: mapping each value to a source record and
+ * creating the Kafka {@link SourceRecord}. The legacy benchmark repeats the copies the emission path made before the
+ * per storage item parts were shared. Compare the bytes allocated per operation reported by the gc profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SourceRecordEmissionBenchmark {
+    /** The number of records in a storage item */
+    private static final int RECORDS = 1000;
+
+    private final OffsetManager<BenchmarkOffsetManagerEntry> offsetManager = new OffsetManager<>(null);
+    private Context<String> context;
+    private SchemaAndValue keyData;
+    private SchemaAndValue[] values;
+
+    @Setup
+    public void setup() {
+        context = new Context<>("topics/logs/1/00001.avro");
+        context.setTopic("logs");
+        context.setPartition(1);
+        keyData = new SchemaAndValue(Schema.OPTIONAL_BYTES_SCHEMA, new byte[16]);
+        values = new SchemaAndValue[RECORDS];
+        for (int i = 0; i < RECORDS; i++) {
+            values[i] = new SchemaAndValue(Schema.OPTIONAL_BYTES_SCHEMA, new byte[64]);
+        }
+    }
+
+    private BenchmarkSourceRecord storageItem() {
+        final BenchmarkSourceRecord sourceRecord = new BenchmarkSourceRecord(context.getStorageKey().orElseThrow());
+        sourceRecord.setContext(context);
+        sourceRecord.setKeyData(keyData);
+        sourceRecord.setOffsetManagerEntry(new BenchmarkOffsetManagerEntry("bucket", sourceRecord.getNativeKey()));
+        return sourceRecord;
+    }
+
+    @Benchmark
+    public void emit(final Blackhole blackhole) {
+        final Function<SchemaAndValue, BenchmarkSourceRecord> mapper = new AbstractSourceRecordIterator.Mapper<>(
+                storageItem());
+        for (final SchemaAndValue value : values) {
+            blackhole.consume(mapper.apply(value).getSourceRecord(ErrorsTolerance.NONE, offsetManager));
+        }
+    }
+
+    @Benchmark
+    public void legacyEmit(final Blackhole blackhole) {
+        final BenchmarkSourceRecord sourceRecord = storageItem();
+        final BenchmarkOffsetManagerEntry entry = sourceRecord.getOffsetManagerEntry();
+        for (final SchemaAndValue value : values) {
+            entry.incrementRecordCount();
+            // the duplicate copied the entry, through a defensive copy.
+            final BenchmarkOffsetManagerEntry copy = entry.fromProperties(entry.fromProperties(entry.getProperties())
+                    .getProperties());
+            final BenchmarkSourceRecord duplicate = sourceRecord.duplicate();
+            duplicate.setValueData(value);
+            // the offset manager entry and the source record each created the partition and offset maps.
+            offsetManager.addEntry(copy.legacyPartitionMap(), copy.getProperties());
+            blackhole.consume(new SourceRecord(copy.legacyPartitionMap(), copy.getProperties(),
+                    context.getTopic().orElse(null), context.getPartition().orElse(null), keyData.schema(),
+                    keyData.value(), value.schema(), value.value()));
+        }
+    }
+
+    /**
+     * A source record for a storage item identified by its key.
+     */
+    static final class BenchmarkSourceRecord
+            extends
+                AbstractSourceRecord<String, String, BenchmarkOffsetManagerEntry, BenchmarkSourceRecord> {
+
+        BenchmarkSourceRecord(final String key) {
+            super(LoggerFactory.getLogger(BenchmarkSourceRecord.class), new NativeInfo<String, String>() {
+                @Override
+                public String getNativeItem() {
+                    return key;
+                }
+
+                @Override
+                public String getNativeKey() {
+                    return key;
+                }
+
+                @Override
+                public long getNativeItemSize() {
+                    return 0;
+                }
+            });
+        }
+
+        private BenchmarkSourceRecord(final BenchmarkSourceRecord sourceRecord) {
+            super(sourceRecord);
+        }
+
+        @Override
+        public BenchmarkSourceRecord duplicate() {
+            return new BenchmarkSourceRecord(this);
+        }
+    }
+
+    /**
+     * An offset manager entry that stores its properties like the S3 source connector entry.
+     */
+    static final class BenchmarkOffsetManagerEntry
+            implements
+                OffsetManager.OffsetManagerEntry<BenchmarkOffsetManagerEntry> {
+        private static final String RECORD_COUNT = "recordCount";
+        private final Map<String, Object> data = new HashMap<>();
+        private final String bucket;
+        private final String key;
+        private final Map<String, Object> partitionMap;
+        private long recordCount;
+
+        BenchmarkOffsetManagerEntry(final String bucket, final String key) {
+            this.bucket = bucket;
+            this.key = key;
+            this.partitionMap = Map.of("bucket", bucket, "objectKey", key);
+        }
+
+        /** Creates the partition map as the entry did before it was created once per entry */
+        Map<String, Object> legacyPartitionMap() {
+            return Map.of("bucket", bucket, "objectKey", key);
+        }
+
+        @Override
+        public BenchmarkOffsetManagerEntry fromProperties(final Map<String, Object> properties) {
+            final BenchmarkOffsetManagerEntry entry = new BenchmarkOffsetManagerEntry(bucket, key);
+            entry.data.putAll(properties);
+            entry.recordCount = ((Number) properties.getOrDefault(RECORD_COUNT, 0L)).longValue();
+            return entry;
+        }
+
+        @Override
+        public Map<String, Object> getProperties() {
+            final Map<String, Object> result = new HashMap<>(data);
+            result.put(RECORD_COUNT, recordCount);
+            return result;
+        }
+
+        @Override
+        public Map<String, Object> getProperties(final long recordCount) {
+            if (data.isEmpty() || data.size() == 1 && data.containsKey(RECORD_COUNT)) {
+                return Map.of(RECORD_COUNT, recordCount);
+            }
+            final Map<String, Object> result = new HashMap<>(data);
+            result.put(RECORD_COUNT, recordCount);
+            return result;
+        }
+
+        @Override
+        public Object getProperty(final String property) {
+            return RECORD_COUNT.equals(property) ? recordCount : data.get(property);
+        }
+
+        @Override
+        public void setProperty(final String property, final Object value) {
+            data.put(property, value);
+        }
+
+        @Override
+        public OffsetManager.OffsetManagerKey getManagerKey() {
+            return () -> partitionMap;
+        }
+
+        @Override
+        public void incrementRecordCount() {
+            recordCount++;
+        }
+
+        @Override
+        public void setRecordCount(final long recordCount) {
+            this.recordCount = recordCount;
+        }
+
+        @Override
+        public long getRecordCount() {
+            return recordCount;
+        }
+
+        @Override
+        public int compareTo(final BenchmarkOffsetManagerEntry other) {
+            return Long.compare(recordCount, other.recordCount);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.input.utils;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.aiven.kafka.connect.common.source.task.Context;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares {@link FilePatternUtils#process(Comparable)} with the regex implementation it replaced. Each benchmark
+ * operation parses a page of listed keys, as the source record iterator does. A quarter of the keys do not match the
+ * template.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FilePatternUtilsBenchmark {
+    /** The number of keys in a listing page */
+    private static final int PAGE_SIZE = 1000;
+
+    @Param({ "{{topic}}-{{partition}}-{{start_offset}}", "topics/{{topic}}/{{partition}}/.*$",
+            "{{partition}}-{{start_offset}}.avro" })
+    public String template;
+
+    private FilePatternUtils filePatternUtils;
+    private RegexFilePatternUtils regexFilePatternUtils;
+    private String[] page;
+
+    @Setup
+    public void setup() {
+        filePatternUtils = new FilePatternUtils(template);
+        regexFilePatternUtils = new RegexFilePatternUtils(template);
+        page = new String[PAGE_SIZE];
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page[i] = i % 4 == 0 ? String.format("other/manifest-%06d.json", i) : key(i);
+        }
+    }
+
+    private String key(final int index) {
+        return template.replace("{{topic}}", "topic-" + index % 8)
+                .replace("{{partition}}", String.valueOf(index % 32))
+                .replace("{{start_offset}}", String.format("%012d", index))
+                .replace(".*$", "object.avro");
+    }
+
+    @Benchmark
+    public void compiledProcess(final Blackhole blackhole) {
+        for (final String key : page) {
+            blackhole.consume(filePatternUtils.process(key));
+        }
+    }
+
+    @Benchmark
+    public void regexProcess(final Blackhole blackhole) {
+        for (final String key : page) {
+            blackhole.consume(regexFilePatternUtils.process(key));
+        }
+    }
+
+    /**
+     * The previous implementation: a regex {@code find()} with the values read from named groups, catching the
+     * exception thrown for groups that are not in the pattern.
+     */
+    static final class RegexFilePatternUtils {
+        private final Pattern pattern;
+
+        RegexFilePatternUtils(final String template) {
+            pattern = Pattern.compile(template
+                    .replace(FilePatternUtils.START_OFFSET_PATTERN,
+                            FilePatternUtils.START_OFFSET_NAMED_GROUP_REGEX_PATTERN)
+                    .replace(FilePatternUtils.TIMESTAMP_PATTERN, FilePatternUtils.NUMBER_REGEX_PATTERN)
+                    .replace(FilePatternUtils.TOPIC_PATTERN, FilePatternUtils.TOPIC_NAMED_GROUP_REGEX_PATTERN)
+                    .replace(FilePatternUtils.PARTITION_PATTERN, FilePatternUtils.PARTITION_NAMED_GROUP_REGEX_PATTERN));
+        }
+
+        Optional<Context<String>> process(final String sourceName) {
+            final Matcher matcher = pattern.matcher(sourceName);
+            if (!matcher.find()) {
+                return Optional.empty();
+            }
+            final Context<String> ctx = new Context<>(sourceName);
+            try {
+                ctx.setTopic(matcher.group(FilePatternUtils.PATTERN_TOPIC_KEY));
+            } catch (IllegalArgumentException e) {
+                // group not in the pattern
+            }
+            try {
+                ctx.setPartition(Integer.parseInt(matcher.group(FilePatternUtils.PATTERN_PARTITION_KEY)));
+            } catch (IllegalArgumentException e) {
+                // group not in the pattern
+            }
+            try {
+                ctx.setOffset(Long.parseLong(matcher.group(FilePatternUtils.PATTERN_START_OFFSET_KEY)));
+            } catch (IllegalArgumentException e) {
+                // group not in the pattern
+            }
+            return Optional.of(ctx);
+        }
+    }
+}
@@ -16,17 +16,23 @@
 
 package io.aiven.commons.collections;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Objects;
-
-import org.apache.commons.collections4.queue.CircularFifoQueue;
-import org.apache.commons.collections4.queue.SynchronizedQueue;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Implements a ring buffer of items. Items are inserted until maximum size is reached and then the earliest items are
  * removed when newer items are added.
+ * <p>
+ * The items are held in a circular array in insertion order and indexed by a hash map of the sequence numbers of
+ * their slots, so {@link #contains(Object)}, {@link #remove(Object)} and {@link #add(Object)} take constant time.
+ * Reads of {@link #contains(Object)} do not lock; updates and the other reads synchronize on the buffer. Removing an
+ * item from the middle of the buffer leaves a gap that is skipped, or reclaimed when the array runs out of space.
+ * </p>
  *
  * @param <K>
- *            the type of item in the queue. Must support equality check.
+ *            the type of item in the queue. Must support equality check and hashing.
  */
 public final class RingBuffer<K> {
     /** How to handle the duplicates in the buffer. */
@@ -39,10 +45,22 @@ public final class RingBuffer<K> {
         DELETE
     }
 
-    /** The wrapped queue. */
-    private final SynchronizedQueue<K> queue;
+    /** The items in insertion order. Removed items leave {@code null} gaps. */
+    private final Object[] slots;
+
+    /**
+     * The sequence numbers of the slots holding each item, oldest first. Only the keys are read without the lock.
+     */
+    private final ConcurrentHashMap<K, Deque<Long>> sequences = new ConcurrentHashMap<>();
+
+    /** The sequence number of the oldest item. The slot is never a gap unless the buffer is empty. */
+    private long head;
 
-    private final CircularFifoQueue<K> wrappedQueue;
+    /** The sequence number after the newest item. The slot before it is never a gap unless the buffer is empty. */
+    private long tail;
+
+    /** The number of items in the buffer. */
+    private int size;
 
     /** Flag to indicate ring buffer should always be empty. */
     private final boolean alwaysEmpty;
@@ -72,15 +90,14 @@ public final class RingBuffer<K> {
      *            defines how to handle duplicate values in the buffer.
      */
     public RingBuffer(final int size, final DuplicateHandling duplicateHandling) {
-        wrappedQueue = new CircularFifoQueue<>(size > 0 ? size : 1);
-        queue = SynchronizedQueue.synchronizedQueue(wrappedQueue);
+        slots = new Object[size > 0 ? size : 1];
         alwaysEmpty = size <= 0;
         this.duplicateHandling = duplicateHandling;
     }
 
     @Override
-    public String toString() {
-        return String.format("RingBuffer[%s, load %s/%s]", duplicateHandling, queue.size(), wrappedQueue.maxSize());
+    public synchronized String toString() {
+        return String.format("RingBuffer[%s, load %s/%s]", duplicateHandling, size, slots.length);
     }
 
     /**
@@ -96,24 +113,33 @@ public final class RingBuffer<K> {
      *            Item T which is to be added to the Queue
      * @return The item that was ejected. May be {@code null}.
      */
-    public K add(final K item) {
+    public synchronized K add(final K item) {
         Objects.requireNonNull(item, "item");
         if (!alwaysEmpty && checkDuplicates(item)) {
-            final K result = isFull() ? queue.poll() : null;
-            queue.add(item);
+            final K result = isFull() ? removeHead() : null;
+            if (tail - head == slots.length) {
+                compact();
+            }
+            sequences.computeIfAbsent(item, key -> new ArrayDeque<>()).addLast(tail);
+            slots[index(tail++)] = item;
+            size++;
             return result;
         }
         return null;
     }
 
     /**
-     * Removes a single instance of the item from the buffer.
+     * Removes the oldest instance of the item from the buffer.
      *
      * @param item
      *            the item to remove.
      */
-    public void remove(final K item) {
-        queue.remove(item);
+    public synchronized void remove(final K item) {
+        if (!contains(item)) {
+            return;
+        }
+        slots[index(removed(item))] = null;
+        trim();
     }
 
     /**
@@ -124,7 +150,7 @@ public final class RingBuffer<K> {
      * @return {@code true} if the item is in the buffer, {@code false} othersie.
      */
     public boolean contains(final K item) {
-        return queue.contains(item);
+        return item != null && sequences.containsKey(item);
     }
 
     /**
@@ -132,8 +158,8 @@ public final class RingBuffer<K> {
      *
      * @return the item at the head of the buffer. May be {@code null}.
      */
-    public K head() {
-        return queue.peek();
+    public synchronized K head() {
+        return size == 0 ? null : slot(head);
     }
 
     /**
@@ -141,9 +167,8 @@ public final class RingBuffer<K> {
      *
      * @return the item at the tail of the buffer. May be {@code null}.
      */
-    public K tail() {
-        final int size = wrappedQueue.size();
-        return size == 0 ? null : wrappedQueue.get(size - 1);
+    public synchronized K tail() {
+        return size == 0 ? null : slot(tail - 1);
     }
 
     private boolean checkDuplicates(final K item) {
@@ -151,9 +176,9 @@ public final class RingBuffer<K> {
             case ALLOW :
                 return true;
             case REJECT :
-                return !queue.contains(item);
+                return !contains(item);
             case DELETE :
-                queue.remove(item);
+                remove(item);
                 return true;
             default :
                 throw new IllegalStateException("Unsupported duplicate handling: " + duplicateHandling);
@@ -165,8 +190,8 @@ public final class RingBuffer<K> {
      *
      * @return {@code true} if the buffer is full.
      */
-    public boolean isFull() {
-        return wrappedQueue.isAtFullCapacity();
+    public synchronized boolean isFull() {
+        return !alwaysEmpty && size == slots.length;
     }
 
     /**
@@ -175,8 +200,79 @@ public final class RingBuffer<K> {
      *
      * @return A value T from the last place in the buffer, returns null if buffer is not full.
      */
-    public K getNextEjected() {
-        return isFull() ? queue.peek() : null;
+    public synchronized K getNextEjected() {
+        return isFull() ? slot(head) : null;
+    }
+
+    private int index(final long sequence) {
+        return (int) (sequence % slots.length);
+    }
+
+    @SuppressWarnings("unchecked")
+    private K slot(final long sequence) {
+        return (K) slots[index(sequence)];
+    }
+
+    /**
+     * Removes the oldest item.
+     *
+     * @return the oldest item.
+     */
+    private K removeHead() {
+        final K item = slot(head);
+        removed(item);
+        slots[index(head)] = null;
+        trim();
+        return item;
+    }
+
+    /**
+     * Updates the size and the index for the removal of the oldest instance of an item. The caller clears the slot.
+     *
+     * @param item
+     *            the item to remove.
+     * @return the sequence number of the slot that held the item.
+     */
+    private long removed(final K item) {
+        size--;
+        final Deque<Long> itemSequences = sequences.get(item);
+        final long sequence = itemSequences.removeFirst();
+        if (itemSequences.isEmpty()) {
+            sequences.remove(item);
+        }
+        return sequence;
+    }
+
+    /**
+     * Moves the head and tail past gaps so that they refer to items.
+     */
+    private void trim() {
+        while (head < tail && slots[index(head)] == null) {
+            head++;
+        }
+        while (tail > head && slots[index(tail - 1)] == null) {
+            tail--;
+        }
+    }
+
+    /**
+     * Closes the gaps left by removed items. Only called when the array is exhausted, which requires gaps since the
+     * buffer is not full. Items are visited oldest first, so the sequence number taken from the front of an item's
+     * index is the one being moved and the new one is appended at the back.
+     */
+    private void compact() {
+        long target = head;
+        for (long sequence = head; sequence < tail; sequence++) {
+            final K item = slot(sequence);
+            if (item != null) {
+                final Deque<Long> itemSequences = sequences.get(item);
+                itemSequences.removeFirst();
+                itemSequences.addLast(target);
+                slots[index(sequence)] = null;
+                slots[index(target++)] = item;
+            }
+        }
+        tail = target;
     }
 
     @Override
@@ -27,6 +27,7 @@ import java.util.stream.Collectors;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
+import com.github.luben.zstd.RecyclingBufferPool;
 import com.github.luben.zstd.ZstdInputStream;
 import com.github.luben.zstd.ZstdOutputStream;
 import org.apache.commons.io.function.IOFunction;
@@ -37,11 +38,15 @@ public enum CompressionType {
     /** No compression */
     NONE("none", "", in -> in, out -> out),
     /** GZIP compression */
-    GZIP("gzip", ".gz", GZIPInputStream::new, out -> new GZIPOutputStream(out, true)),
+    GZIP("gzip", ".gz", in -> new GZIPInputStream(in, CompressionType.GZIP_BUFFER_SIZE),
+            out -> new GZIPOutputStream(out, true)),
     /** Snappy compression */
     SNAPPY("snappy", ".snappy", SnappyInputStream::new, SnappyOutputStream::new),
     /** Zstandard compression */
-    ZSTD("zstd", ".zst", ZstdInputStream::new, ZstdOutputStream::new);
+    ZSTD("zstd", ".zst", in -> new ZstdInputStream(in, RecyclingBufferPool.INSTANCE), ZstdOutputStream::new);
+
+    /** The size of the input buffer of GZIP decompression. The default of 512 bytes makes many small reads */
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
 
     /**
      * A list of supported compression types for display.
@@ -107,6 +112,22 @@ public enum CompressionType {
         }
     }
 
+    /**
+     * Gets the compression type of a file from its extension.
+     *
+     * @param fileName
+     *            the name of the file.
+     * @return the compression type whose extension ends the file name or {@link #NONE} if there is none.
+     */
+    public static CompressionType forFileName(final String fileName) {
+        for (final CompressionType compressionType : values()) {
+            if (!compressionType.extensionStr.isEmpty() && fileName.endsWith(compressionType.extensionStr)) {
+                return compressionType;
+            }
+        }
+        return NONE;
+    }
+
     /**
      * The list of all names.
      *
@@ -16,11 +16,17 @@
 
 package io.aiven.kafka.connect.common.config;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.kafka.common.config.ConfigDef;
 
+import io.aiven.kafka.connect.common.config.enums.DiscoveryMode;
 import io.aiven.kafka.connect.common.config.enums.ErrorsTolerance;
+import io.aiven.kafka.connect.common.config.enums.ListingMode;
+import io.aiven.kafka.connect.common.config.enums.OffsetMode;
 import io.aiven.kafka.connect.common.source.input.InputFormat;
 import io.aiven.kafka.connect.common.source.input.Transformer;
 import io.aiven.kafka.connect.common.source.input.TransformerFactory;
@@ -71,6 +77,78 @@ public class SourceCommonConfig extends CommonConfig {
         return sourceConfigFragment.getMaxPollRecords();
     }
 
+    public long getMaxPollBytes() {
+        return sourceConfigFragment.getMaxPollBytes();
+    }
+
+    public int getObjectConcurrency() {
+        return sourceConfigFragment.getObjectConcurrency();
+    }
+
+    public OffsetMode getOffsetMode() {
+        return sourceConfigFragment.getOffsetMode();
+    }
+
+    public long getListingCheckpointInterval() {
+        return sourceConfigFragment.getListingCheckpointInterval();
+    }
+
+    public DiscoveryMode getDiscoveryMode() {
+        return sourceConfigFragment.getDiscoveryMode();
+    }
+
+    public long getDiscoveryInterval() {
+        return sourceConfigFragment.getDiscoveryInterval();
+    }
+
+    public String getDiscoveryRangeStart() {
+        return sourceConfigFragment.getDiscoveryRangeStart();
+    }
+
+    public String getDiscoveryRangeEnd() {
+        return sourceConfigFragment.getDiscoveryRangeEnd();
+    }
+
+    public Map<String, Integer> getDistributionAssignments() {
+        return sourceConfigFragment.getDistributionAssignments();
+    }
+
+    public ListingMode getListingMode() {
+        return sourceConfigFragment.getListingMode();
+    }
+
+    public String getListingManifestPrefix() {
+        return sourceConfigFragment.getListingManifestPrefix();
+    }
+
+    public Instant getLastModifiedAfter() {
+        return sourceConfigFragment.getLastModifiedAfter();
+    }
+
+    public Instant getLastModifiedBefore() {
+        return sourceConfigFragment.getLastModifiedBefore();
+    }
+
+    public Duration getLastModifiedLookback() {
+        return sourceConfigFragment.getLastModifiedLookback();
+    }
+
+    public long getIdleIntervalMax() {
+        return sourceConfigFragment.getIdleIntervalMax();
+    }
+
+    public String getIdleWakeUpFile() {
+        return sourceConfigFragment.getIdleWakeUpFile();
+    }
+
+    public long getMaxRecordsPerSecond() {
+        return sourceConfigFragment.getMaxRecordsPerSecond();
+    }
+
+    public long getMaxBytesPerSecond() {
+        return sourceConfigFragment.getMaxBytesPerSecond();
+    }
+
     public Transformer getTransformer() {
         return TransformerFactory.getTransformer(transformerFragment.getInputFormat());
     }
@@ -79,6 +157,62 @@ public class SourceCommonConfig extends CommonConfig {
         return transformerFragment.getTransformerMaxBufferSize();
     }
 
+    public int getTransformerDecodeParallelism() {
+        return transformerFragment.getTransformerDecodeParallelism();
+    }
+
+    public byte[] getTransformerBytesDelimiter() {
+        return transformerFragment.getTransformerBytesDelimiter();
+    }
+
+    public boolean hasCompressionType() {
+        return fileNameFragment.has(FileNameFragment.FILE_COMPRESSION_TYPE_CONFIG);
+    }
+
+    public CompressionType getCompressionType() {
+        return fileNameFragment.getCompressionType();
+    }
+
+    public boolean isTransformerJsonSchemasEnabled() {
+        return transformerFragment.isTransformerJsonSchemasEnabled();
+    }
+
+    public boolean isTransformerJsonUnwrapArrays() {
+        return transformerFragment.isTransformerJsonUnwrapArrays();
+    }
+
+    public boolean isParquetRangedReadEnabled() {
+        return transformerFragment.isParquetRangedReadEnabled();
+    }
+
+    public int getParquetRangedBlockSize() {
+        return transformerFragment.getParquetRangedBlockSize();
+    }
+
+    public int getParquetRangedCacheBlocks() {
+        return transformerFragment.getParquetRangedCacheBlocks();
+    }
+
+    public String getParquetSpoolDirectory() {
+        return transformerFragment.getParquetSpoolDirectory();
+    }
+
+    public List<String> getParquetProjection() {
+        return transformerFragment.getParquetProjection();
+    }
+
+    public String getParquetFilter() {
+        return transformerFragment.getParquetFilter();
+    }
+
+    public int getParquetDecodeThreads() {
+        return transformerFragment.getParquetDecodeThreads();
+    }
+
+    public int getParquetDecodeLookahead() {
+        return transformerFragment.getParquetDecodeLookahead();
+    }
+
     public String getSourceName() {
         return fileNameFragment.getSourceName();
     }
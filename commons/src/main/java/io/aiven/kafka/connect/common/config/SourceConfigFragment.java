@@ -18,15 +18,23 @@ package io.aiven.kafka.connect.common.config;
 
 import static io.aiven.kafka.connect.common.source.task.DistributionType.OBJECT_HASH;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.common.config.ConfigException;
 
+import io.aiven.kafka.connect.common.config.enums.DiscoveryMode;
 import io.aiven.kafka.connect.common.config.enums.ErrorsTolerance;
+import io.aiven.kafka.connect.common.config.enums.ListingMode;
+import io.aiven.kafka.connect.common.config.enums.OffsetMode;
 import io.aiven.kafka.connect.common.source.task.DistributionType;
+import io.aiven.kafka.connect.common.source.task.SizeAwareDistribution;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -36,9 +44,29 @@ import org.apache.commons.lang3.StringUtils;
 public final class SourceConfigFragment extends ConfigFragment {
 
     private static final String MAX_POLL_RECORDS = "max.poll.records";
+    private static final String MAX_POLL_BYTES = "max.poll.bytes";
     public static final String TARGET_TOPIC = "topic";
     private static final String ERRORS_TOLERANCE = "errors.tolerance";
     private static final String DISTRIBUTION_TYPE = "distribution.type";
+    private static final String OBJECT_CONCURRENCY = "object.concurrency";
+    private static final String OFFSET_MODE = "offset.mode";
+    private static final String LISTING_CHECKPOINT_INTERVAL = "listing.checkpoint.interval.ms";
+    private static final String DISCOVERY_MODE = "discovery.mode";
+    private static final String DISCOVERY_INTERVAL = "discovery.interval.ms";
+    private static final String LISTING_MODE = "listing.mode";
+    private static final String LISTING_MANIFEST_PREFIX = "listing.manifest.prefix";
+    private static final String LAST_MODIFIED_AFTER = "last.modified.after";
+    private static final String LAST_MODIFIED_BEFORE = "last.modified.before";
+    private static final String LAST_MODIFIED_LOOKBACK = "last.modified.lookback.ms";
+    private static final String IDLE_INTERVAL_MAX = "idle.interval.max.ms";
+    private static final String IDLE_WAKE_UP_FILE = "idle.wakeup.file";
+    private static final String MAX_RECORDS_PER_SECOND = "max.records.per.second";
+    private static final String MAX_BYTES_PER_SECOND = "max.bytes.per.second";
+    /* public so that the connector can assign key ranges to tasks */
+    public static final String DISCOVERY_RANGE_START = "discovery.range.start";
+    public static final String DISCOVERY_RANGE_END = "discovery.range.end";
+    /* public so that the connector can assign units to tasks by size */
+    public static final String DISTRIBUTION_ASSIGNMENTS = "distribution.assignments";
 
     /* public so that deprecated users can reference it */
     public static final String RING_BUFFER_SIZE = "ring.buffer.size";
@@ -70,6 +98,10 @@ public final class SourceConfigFragment extends ConfigFragment {
 
         configDef.define(MAX_POLL_RECORDS, ConfigDef.Type.INT, 500, ConfigDef.Range.atLeast(1),
                 ConfigDef.Importance.MEDIUM, "Max poll records");
+        configDef.define(MAX_POLL_BYTES, ConfigDef.Type.LONG, 50L * 1024 * 1024, ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.MEDIUM,
+                "The maximum estimated bytes of the records returned by a single poll. Up to twice this many bytes "
+                        + "are held in memory waiting to be polled.");
         // KIP-298 Error Handling in Connect
         configDef.define(ERRORS_TOLERANCE, ConfigDef.Type.STRING, ErrorsTolerance.NONE.name(),
                 new ErrorsToleranceValidator(), ConfigDef.Importance.MEDIUM,
@@ -81,7 +113,81 @@ public final class SourceConfigFragment extends ConfigFragment {
         configDef.define(DISTRIBUTION_TYPE, ConfigDef.Type.STRING, OBJECT_HASH.name(),
                 new ObjectDistributionStrategyValidator(), ConfigDef.Importance.MEDIUM,
                 "Based on tasks.max config and the type of strategy selected, objects are processed in distributed"
-                        + " way by Kafka connect workers.");
+                        + " way by Kafka connect workers. 'object_size' and 'partition_size' have the connector list "
+                        + "the whole bucket every " + DISCOVERY_INTERVAL + " to get the object sizes and assign the "
+                        + "largest objects or partitions to tasks so that the tasks process a similar number of bytes. "
+                        + "Each listing takes one request per 1000 objects in the bucket.");
+        configDef.define(OBJECT_CONCURRENCY, ConfigDef.Type.INT, 1, ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.MEDIUM,
+                "The number of objects a task processes concurrently. Objects for the same topic and partition are "
+                        + "always processed in listing order.");
+        configDef.define(OFFSET_MODE, ConfigDef.Type.STRING, OffsetMode.OBJECT.name(), new OffsetModeValidator(),
+                ConfigDef.Importance.MEDIUM,
+                "How offsets are stored. 'object' stores an offset for every object. 'watermark' stores one offset "
+                        + "per task with the last completely processed key and the objects in progress after it, "
+                        + "and requires that object keys are written in lexicographic order.");
+        configDef.define(LISTING_CHECKPOINT_INTERVAL, ConfigDef.Type.LONG, 0L, ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.MEDIUM,
+                "The minimum time in milliseconds between writing the key that listing resumes after when the task "
+                        + "restarts. The key trails the last objects processed by the number of keys in the ring "
+                        + "buffer so that late arriving keys are still found. 0 disables the checkpoint. Only used "
+                        + "when " + OFFSET_MODE + " is object.");
+        configDef.define(DISCOVERY_MODE, ConfigDef.Type.STRING, DiscoveryMode.TASK.name(),
+                new DiscoveryModeValidator(), ConfigDef.Importance.MEDIUM,
+                "Where objects are discovered. 'task' has every task list all objects and keep those assigned to it "
+                        + "by " + DISTRIBUTION_TYPE + ". 'connector' has the connector list the whole bucket every "
+                        + DISCOVERY_INTERVAL + " and assign each task a range of keys so that each key is listed by "
+                        + "one task only.");
+        configDef.define(DISCOVERY_INTERVAL, ConfigDef.Type.LONG, 300_000L, ConfigDef.Range.atLeast(1000),
+                ConfigDef.Importance.LOW,
+                "The time in milliseconds between the connector listing the whole bucket to check the balance of "
+                        + "the key ranges when " + DISCOVERY_MODE + " is connector, and to get the object sizes when "
+                        + DISTRIBUTION_TYPE + " is object_size or partition_size. Every interval the whole bucket is "
+                        + "listed again, not only the new objects, which takes one request per 1000 objects, e.g. "
+                        + "20000 requests per interval for 20 million objects.");
+        configDef.define(DISCOVERY_RANGE_START, ConfigDef.Type.STRING, null, ConfigDef.Importance.LOW,
+                "Set by the connector. The key after which the key range of the task starts.");
+        configDef.define(DISCOVERY_RANGE_END, ConfigDef.Type.STRING, null, ConfigDef.Importance.LOW,
+                "Set by the connector. The last key in the key range of the task.");
+        configDef.define(DISTRIBUTION_ASSIGNMENTS, ConfigDef.Type.STRING, null, ConfigDef.Importance.LOW,
+                "Set by the connector. The tasks assigned to objects or partitions by size.");
+        configDef.define(LISTING_MODE, ConfigDef.Type.STRING, ListingMode.LIST.name(), new ListingModeValidator(),
+                ConfigDef.Importance.MEDIUM,
+                "How the task finds the objects to process. 'list' lists the storage. 'manifest' reads the objects "
+                        + "from the manifest files under " + LISTING_MANIFEST_PREFIX
+                        + " and reads each manifest once.");
+        configDef.define(LISTING_MANIFEST_PREFIX, ConfigDef.Type.STRING, null, ConfigDef.Importance.MEDIUM,
+                "The key prefix of the manifest files when " + LISTING_MODE + " is manifest.");
+        configDef.define(LAST_MODIFIED_AFTER, ConfigDef.Type.STRING, null, new InstantValidator(),
+                ConfigDef.Importance.LOW,
+                "Only objects last modified at or after this ISO-8601 instant are processed, "
+                        + "e.g. 2025-01-01T00:00:00Z.");
+        configDef.define(LAST_MODIFIED_BEFORE, ConfigDef.Type.STRING, null, new InstantValidator(),
+                ConfigDef.Importance.LOW,
+                "Only objects last modified before this ISO-8601 instant are processed, e.g. 2025-02-01T00:00:00Z.");
+        configDef.define(LAST_MODIFIED_LOOKBACK, ConfigDef.Type.LONG, 0L, ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.LOW,
+                "Only objects last modified within this many milliseconds of the time they are listed are "
+                        + "processed. 0 does not limit the age of objects. Can not be used with "
+                        + LAST_MODIFIED_AFTER + ".");
+        configDef.define(IDLE_INTERVAL_MAX, ConfigDef.Type.LONG, 5000L, ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.LOW,
+                "The maximum time in milliseconds a task waits before listing the storage again when the previous "
+                        + "listings found nothing. The wait doubles with every empty listing up to this maximum and "
+                        + "is reset when objects are found.");
+        configDef.define(IDLE_WAKE_UP_FILE, ConfigDef.Type.STRING, null, new ConfigDef.NonEmptyString(),
+                ConfigDef.Importance.LOW,
+                "A local file that wakes an idle task when it is created, modified or deleted, so that the storage "
+                        + "is listed again immediately.");
+        configDef.define(MAX_RECORDS_PER_SECOND, ConfigDef.Type.LONG, 0L, ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.MEDIUM,
+                "The maximum records per second each task emits. 0 does not limit the records. The limit can be "
+                        + "changed while the task runs through the MaxRecordsPerSecond attribute of the task metrics.");
+        configDef.define(MAX_BYTES_PER_SECOND, ConfigDef.Type.LONG, 0L, ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.MEDIUM,
+                "The maximum estimated bytes per second each task emits. 0 does not limit the bytes. The limit can "
+                        + "be changed while the task runs through the MaxBytesPerSecond attribute of the task "
+                        + "metrics.");
 
         return configDef;
     }
@@ -104,6 +210,15 @@ public final class SourceConfigFragment extends ConfigFragment {
         return cfg.getInt(MAX_POLL_RECORDS);
     }
 
+    /**
+     * Gets the maximum estimated bytes of the records returned by a single poll.
+     *
+     * @return The maximum estimated bytes of the records returned by a single poll.
+     */
+    public long getMaxPollBytes() {
+        return cfg.getLong(MAX_POLL_BYTES);
+    }
+
     /**
      * Gets the errors tolerance.
      *
@@ -131,6 +246,224 @@ public final class SourceConfigFragment extends ConfigFragment {
         return cfg.getInt(RING_BUFFER_SIZE);
     }
 
+    /**
+     * Gets the number of objects a task processes concurrently.
+     *
+     * @return the number of objects a task processes concurrently.
+     */
+    public int getObjectConcurrency() {
+        return cfg.getInt(OBJECT_CONCURRENCY);
+    }
+
+    /**
+     * Gets the offset mode.
+     *
+     * @return the offset mode.
+     */
+    public OffsetMode getOffsetMode() {
+        return OffsetMode.forName(cfg.getString(OFFSET_MODE));
+    }
+
+    /**
+     * Gets the minimum time in milliseconds between listing checkpoints.
+     *
+     * @return the minimum time in milliseconds between listing checkpoints, 0 if checkpoints are disabled.
+     */
+    public long getListingCheckpointInterval() {
+        return cfg.getLong(LISTING_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * Gets the discovery mode.
+     *
+     * @return the discovery mode.
+     */
+    public DiscoveryMode getDiscoveryMode() {
+        return DiscoveryMode.forName(cfg.getString(DISCOVERY_MODE));
+    }
+
+    /**
+     * Gets the time in milliseconds between the connector listing new objects.
+     *
+     * @return the time in milliseconds between the connector listing new objects.
+     */
+    public long getDiscoveryInterval() {
+        return cfg.getLong(DISCOVERY_INTERVAL);
+    }
+
+    /**
+     * Gets the key after which the key range assigned to the task starts.
+     *
+     * @return the key after which the key range starts, or {@code null} if the range has no lower bound.
+     */
+    public String getDiscoveryRangeStart() {
+        return cfg.getString(DISCOVERY_RANGE_START);
+    }
+
+    /**
+     * Gets the last key in the key range assigned to the task.
+     *
+     * @return the last key in the key range, or {@code null} if the range has no upper bound.
+     */
+    public String getDiscoveryRangeEnd() {
+        return cfg.getString(DISCOVERY_RANGE_END);
+    }
+
+    /**
+     * Gets the tasks assigned to objects or partitions by size.
+     *
+     * @return the task of each assigned object or partition, empty if none have been assigned.
+     */
+    public Map<String, Integer> getDistributionAssignments() {
+        return SizeAwareDistribution.parseAssignments(cfg.getString(DISTRIBUTION_ASSIGNMENTS));
+    }
+
+    /**
+     * Gets the listing mode.
+     *
+     * @return the listing mode.
+     */
+    public ListingMode getListingMode() {
+        return ListingMode.forName(cfg.getString(LISTING_MODE));
+    }
+
+    /**
+     * Gets the key prefix of the manifest files.
+     *
+     * @return the key prefix of the manifest files, or {@code null} if not set.
+     */
+    public String getListingManifestPrefix() {
+        return cfg.getString(LISTING_MANIFEST_PREFIX);
+    }
+
+    /**
+     * Gets the instant at or after which objects must have been last modified.
+     *
+     * @return the instant at or after which objects must have been last modified, or {@code null} if not set.
+     */
+    public Instant getLastModifiedAfter() {
+        final String lastModifiedAfter = cfg.getString(LAST_MODIFIED_AFTER);
+        return lastModifiedAfter == null ? null : Instant.parse(lastModifiedAfter);
+    }
+
+    /**
+     * Gets the instant before which objects must have been last modified.
+     *
+     * @return the instant before which objects must have been last modified, or {@code null} if not set.
+     */
+    public Instant getLastModifiedBefore() {
+        final String lastModifiedBefore = cfg.getString(LAST_MODIFIED_BEFORE);
+        return lastModifiedBefore == null ? null : Instant.parse(lastModifiedBefore);
+    }
+
+    /**
+     * Gets the maximum age of objects when they are listed.
+     *
+     * @return the maximum age of objects when they are listed, {@link Duration#ZERO} if the age is not limited.
+     */
+    public Duration getLastModifiedLookback() {
+        return Duration.ofMillis(cfg.getLong(LAST_MODIFIED_LOOKBACK));
+    }
+
+    /**
+     * Gets the maximum time a task waits before listing the storage again when the previous listings found nothing.
+     *
+     * @return the maximum idle listing interval in milliseconds.
+     */
+    public long getIdleIntervalMax() {
+        return cfg.getLong(IDLE_INTERVAL_MAX);
+    }
+
+    /**
+     * Gets the local file that wakes an idle task when it changes.
+     *
+     * @return the path of the wake up file, or {@code null} if not set.
+     */
+    public String getIdleWakeUpFile() {
+        return cfg.getString(IDLE_WAKE_UP_FILE);
+    }
+
+    /**
+     * Gets the maximum records per second each task emits.
+     *
+     * @return the maximum records per second, 0 if unlimited.
+     */
+    public long getMaxRecordsPerSecond() {
+        return cfg.getLong(MAX_RECORDS_PER_SECOND);
+    }
+
+    /**
+     * Gets the maximum estimated bytes per second each task emits.
+     *
+     * @return the maximum bytes per second, 0 if unlimited.
+     */
+    public long getMaxBytesPerSecond() {
+        return cfg.getLong(MAX_BYTES_PER_SECOND);
+    }
+
+    @Override
+    public void validate() {
+        if (getDiscoveryMode() == DiscoveryMode.CONNECTOR && getOffsetMode() == OffsetMode.WATERMARK) {
+            throw new ConfigException(String.format("%s %s can not be used with %s %s", DISCOVERY_MODE,
+                    DiscoveryMode.CONNECTOR.name(), OFFSET_MODE, OffsetMode.WATERMARK.name()));
+        }
+        // key ranges are sample quantiles of the keys and may split a partition between two tasks, so only
+        // object_hash, which does not keep the objects of a partition together, can be used with them.
+        if (getDiscoveryMode() == DiscoveryMode.CONNECTOR && getDistributionType() != OBJECT_HASH) {
+            throw new ConfigException(String.format("%s %s can not be used with %s %s", DISCOVERY_MODE,
+                    DiscoveryMode.CONNECTOR.name(), DISTRIBUTION_TYPE, getDistributionType().name()));
+        }
+        if (getListingMode() == ListingMode.MANIFEST) {
+            if (getListingManifestPrefix() == null) {
+                throw new ConfigException(String.format("%s must be set when %s is %s", LISTING_MANIFEST_PREFIX,
+                        LISTING_MODE, ListingMode.MANIFEST.name()));
+            }
+            // manifests are not in key order and are not listed by key range.
+            if (getOffsetMode() == OffsetMode.WATERMARK || getDiscoveryMode() == DiscoveryMode.CONNECTOR) {
+                throw new ConfigException(String.format("%s %s can not be used with %s %s or %s %s", LISTING_MODE,
+                        ListingMode.MANIFEST.name(), OFFSET_MODE, OffsetMode.WATERMARK.name(), DISCOVERY_MODE,
+                        DiscoveryMode.CONNECTOR.name()));
+            }
+        }
+        final Instant lastModifiedAfter = getLastModifiedAfter();
+        final Instant lastModifiedBefore = getLastModifiedBefore();
+        if (lastModifiedAfter != null && !getLastModifiedLookback().isZero()) {
+            throw new ConfigException(
+                    String.format("%s can not be used with %s", LAST_MODIFIED_AFTER, LAST_MODIFIED_LOOKBACK));
+        }
+        if (lastModifiedAfter != null && lastModifiedBefore != null
+                && !lastModifiedAfter.isBefore(lastModifiedBefore)) {
+            throw new ConfigException(
+                    String.format("%s must be before %s", LAST_MODIFIED_AFTER, LAST_MODIFIED_BEFORE));
+        }
+    }
+
+    /**
+     * Validates that no setting requires listing to start after a stored native key. Called by the configurations of
+     * connectors whose storage can not be listed from a key.
+     *
+     * @throws ConfigException
+     *             if a setting requires listing from a key.
+     */
+    public void validateKeyedListingUnsupported() {
+        if (getOffsetMode() == OffsetMode.WATERMARK) {
+            throw new ConfigException(OFFSET_MODE, OffsetMode.WATERMARK.name(),
+                    "is not supported as the storage can not be listed from a key");
+        }
+        if (getListingCheckpointInterval() > 0) {
+            throw new ConfigException(LISTING_CHECKPOINT_INTERVAL, getListingCheckpointInterval(),
+                    "is not supported as the storage can not be listed from a key");
+        }
+        if (getDiscoveryRangeStart() != null) {
+            throw new ConfigException(DISCOVERY_RANGE_START, getDiscoveryRangeStart(),
+                    "is not supported as the storage can not be listed from a key");
+        }
+        if (getDiscoveryRangeEnd() != null) {
+            throw new ConfigException(DISCOVERY_RANGE_END, getDiscoveryRangeEnd(),
+                    "is not supported as the storage can not be listed from a key");
+        }
+    }
+
     /**
      * The errors tolerance validator.
      */
@@ -174,6 +507,84 @@ public final class SourceConfigFragment extends ConfigFragment {
         }
     }
 
+    /**
+     * The offset mode validator.
+     */
+    private static class OffsetModeValidator implements ConfigDef.Validator {
+        @Override
+        public void ensureValid(final String name, final Object value) {
+            final String offsetMode = (String) value;
+            if (StringUtils.isNotBlank(offsetMode)) {
+                // This will throw an Exception if not a valid value.
+                OffsetMode.forName(offsetMode);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.stream(OffsetMode.values()).map(OffsetMode::name).collect(Collectors.joining(", "));
+        }
+    }
+
+    /**
+     * The discovery mode validator.
+     */
+    private static class DiscoveryModeValidator implements ConfigDef.Validator {
+        @Override
+        public void ensureValid(final String name, final Object value) {
+            final String discoveryMode = (String) value;
+            if (StringUtils.isNotBlank(discoveryMode)) {
+                // This will throw an Exception if not a valid value.
+                DiscoveryMode.forName(discoveryMode);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.stream(DiscoveryMode.values()).map(DiscoveryMode::name).collect(Collectors.joining(", "));
+        }
+    }
+
+    /**
+     * The listing mode validator.
+     */
+    private static class ListingModeValidator implements ConfigDef.Validator {
+        @Override
+        public void ensureValid(final String name, final Object value) {
+            final String listingMode = (String) value;
+            if (StringUtils.isNotBlank(listingMode)) {
+                // This will throw an Exception if not a valid value.
+                ListingMode.forName(listingMode);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.stream(ListingMode.values()).map(ListingMode::name).collect(Collectors.joining(", "));
+        }
+    }
+
+    /**
+     * The ISO-8601 instant validator.
+     */
+    private static class InstantValidator implements ConfigDef.Validator {
+        @Override
+        public void ensureValid(final String name, final Object value) {
+            if (value != null) {
+                try {
+                    Instant.parse((String) value);
+                } catch (DateTimeParseException e) {
+                    throw new ConfigException(name, value, "must be an ISO-8601 instant: " + e.getMessage());
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "An ISO-8601 instant, e.g. 2025-01-01T00:00:00Z";
+        }
+    }
+
     /**
      * The SourceConfigFragment setter.
      */
@@ -199,6 +610,17 @@ public final class SourceConfigFragment extends ConfigFragment {
             return setValue(MAX_POLL_RECORDS, maxPollRecords);
         }
 
+        /**
+         * Set the maximum estimated bytes of the records returned by a single poll.
+         *
+         * @param maxPollBytes
+         *            the maximum estimated bytes in a poll.
+         * @return this
+         */
+        public Setter maxPollBytes(final long maxPollBytes) {
+            return setValue(MAX_POLL_BYTES, maxPollBytes);
+        }
+
         /**
          * Sets the error tolerance.
          *
@@ -242,5 +664,160 @@ public final class SourceConfigFragment extends ConfigFragment {
         public Setter ringBufferSize(final int ringBufferSize) {
             return setValue(RING_BUFFER_SIZE, ringBufferSize);
         }
+
+        /**
+         * Sets the number of objects a task processes concurrently.
+         *
+         * @param objectConcurrency
+         *            the number of objects processed concurrently.
+         * @return this.
+         */
+        public Setter objectConcurrency(final int objectConcurrency) {
+            return setValue(OBJECT_CONCURRENCY, objectConcurrency);
+        }
+
+        /**
+         * Sets the offset mode.
+         *
+         * @param offsetMode
+         *            the offset mode.
+         * @return this.
+         */
+        public Setter offsetMode(final OffsetMode offsetMode) {
+            return setValue(OFFSET_MODE, offsetMode.name());
+        }
+
+        /**
+         * Sets the minimum time between listing checkpoints.
+         *
+         * @param listingCheckpointInterval
+         *            the minimum time in milliseconds between listing checkpoints, 0 to disable them.
+         * @return this.
+         */
+        public Setter listingCheckpointInterval(final long listingCheckpointInterval) {
+            return setValue(LISTING_CHECKPOINT_INTERVAL, listingCheckpointInterval);
+        }
+
+        /**
+         * Sets the discovery mode.
+         *
+         * @param discoveryMode
+         *            the discovery mode.
+         * @return this.
+         */
+        public Setter discoveryMode(final DiscoveryMode discoveryMode) {
+            return setValue(DISCOVERY_MODE, discoveryMode.name());
+        }
+
+        /**
+         * Sets the time between the connector listing new objects.
+         *
+         * @param discoveryInterval
+         *            the time in milliseconds between the connector listing new objects.
+         * @return this.
+         */
+        public Setter discoveryInterval(final long discoveryInterval) {
+            return setValue(DISCOVERY_INTERVAL, discoveryInterval);
+        }
+
+        /**
+         * Sets the listing mode.
+         *
+         * @param listingMode
+         *            the listing mode.
+         * @return this.
+         */
+        public Setter listingMode(final ListingMode listingMode) {
+            return setValue(LISTING_MODE, listingMode.name());
+        }
+
+        /**
+         * Sets the key prefix of the manifest files.
+         *
+         * @param listingManifestPrefix
+         *            the key prefix of the manifest files.
+         * @return this.
+         */
+        public Setter listingManifestPrefix(final String listingManifestPrefix) {
+            return setValue(LISTING_MANIFEST_PREFIX, listingManifestPrefix);
+        }
+
+        /**
+         * Sets the instant at or after which objects must have been last modified.
+         *
+         * @param lastModifiedAfter
+         *            the instant at or after which objects must have been last modified.
+         * @return this.
+         */
+        public Setter lastModifiedAfter(final Instant lastModifiedAfter) {
+            return setValue(LAST_MODIFIED_AFTER, lastModifiedAfter.toString());
+        }
+
+        /**
+         * Sets the instant before which objects must have been last modified.
+         *
+         * @param lastModifiedBefore
+         *            the instant before which objects must have been last modified.
+         * @return this.
+         */
+        public Setter lastModifiedBefore(final Instant lastModifiedBefore) {
+            return setValue(LAST_MODIFIED_BEFORE, lastModifiedBefore.toString());
+        }
+
+        /**
+         * Sets the maximum age of objects when they are listed.
+         *
+         * @param lookback
+         *            the maximum age of objects when they are listed.
+         * @return this.
+         */
+        public Setter lastModifiedLookback(final Duration lookback) {
+            return setValue(LAST_MODIFIED_LOOKBACK, lookback.toMillis());
+        }
+
+        /**
+         * Sets the maximum time a task waits before listing the storage again when the previous listings found
+         * nothing.
+         *
+         * @param idleIntervalMax
+         *            the maximum idle listing interval.
+         * @return this.
+         */
+        public Setter idleIntervalMax(final Duration idleIntervalMax) {
+            return setValue(IDLE_INTERVAL_MAX, idleIntervalMax.toMillis());
+        }
+
+        /**
+         * Sets the local file that wakes an idle task when it changes.
+         *
+         * @param idleWakeUpFile
+         *            the path of the wake up file.
+         * @return this.
+         */
+        public Setter idleWakeUpFile(final String idleWakeUpFile) {
+            return setValue(IDLE_WAKE_UP_FILE, idleWakeUpFile);
+        }
+
+        /**
+         * Sets the maximum records per second each task emits.
+         *
+         * @param maxRecordsPerSecond
+         *            the maximum records per second, 0 if unlimited.
+         * @return this.
+         */
+        public Setter maxRecordsPerSecond(final long maxRecordsPerSecond) {
+            return setValue(MAX_RECORDS_PER_SECOND, maxRecordsPerSecond);
+        }
+
+        /**
+         * Sets the maximum estimated bytes per second each task emits.
+         *
+         * @param maxBytesPerSecond
+         *            the maximum bytes per second, 0 if unlimited.
+         * @return this.
+         */
+        public Setter maxBytesPerSecond(final long maxBytesPerSecond) {
+            return setValue(MAX_BYTES_PER_SECOND, maxBytesPerSecond);
+        }
     }
 }
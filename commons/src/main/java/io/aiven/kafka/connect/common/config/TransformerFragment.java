@@ -16,7 +16,9 @@
 
 package io.aiven.kafka.connect.common.config;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -26,6 +28,7 @@ import org.apache.kafka.common.config.ConfigDef;
 import org.apache.kafka.common.config.ConfigException;
 
 import io.aiven.kafka.connect.common.source.input.InputFormat;
+import io.aiven.kafka.connect.common.source.input.parquet.ParquetFilterExpression;
 
 /**
  * Fragment to manage transformer configuration.
@@ -38,6 +41,20 @@ public final class TransformerFragment extends ConfigFragment {
     public static final String SCHEMAS_ENABLE = "schemas.enable";
     public static final String TRANSFORMER_MAX_BUFFER_SIZE = "transformer.max.buffer.size";
     private static final int DEFAULT_MAX_BUFFER_SIZE = 4096;
+    public static final String TRANSFORMER_DECODE_PARALLELISM = "transformer.decode.parallelism";
+    public static final String TRANSFORMER_BYTES_DELIMITER = "transformer.bytes.delimiter";
+    public static final String TRANSFORMER_JSON_SCHEMAS_ENABLE = "transformer.json.schemas.enable";
+    public static final String TRANSFORMER_JSON_UNWRAP_ARRAYS = "transformer.json.unwrap.arrays";
+    public static final String PARQUET_RANGED_READ_ENABLED = "transformer.parquet.ranged.read.enabled";
+    public static final String PARQUET_RANGED_BLOCK_SIZE = "transformer.parquet.ranged.block.size";
+    public static final String PARQUET_RANGED_CACHE_BLOCKS = "transformer.parquet.ranged.cache.blocks";
+    public static final String PARQUET_SPOOL_DIRECTORY = "transformer.parquet.spool.directory";
+    public static final String PARQUET_PROJECTION = "transformer.parquet.projection";
+    public static final String PARQUET_FILTER = "transformer.parquet.filter";
+    public static final String PARQUET_DECODE_THREADS = "transformer.parquet.decode.threads";
+    public static final String PARQUET_DECODE_LOOKAHEAD = "transformer.parquet.decode.lookahead";
+    public static final int DEFAULT_PARQUET_RANGED_BLOCK_SIZE = 1024 * 1024;
+    public static final int DEFAULT_PARQUET_RANGED_CACHE_BLOCKS = 8;
 
     /**
      * Creates a Setter for this fragment.
@@ -82,6 +99,67 @@ public final class TransformerFragment extends ConfigFragment {
                 ConfigDef.Range.between(1, Integer.MAX_VALUE), ConfigDef.Importance.MEDIUM,
                 "Max Size of the byte buffer when using the BYTE Transformer", TRANSFORMER_GROUP, ++transformerCounter,
                 ConfigDef.Width.NONE, TRANSFORMER_MAX_BUFFER_SIZE);
+        configDef.define(TRANSFORMER_DECODE_PARALLELISM, ConfigDef.Type.INT, 1, ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.LOW,
+                "The maximum number of chunks of an AVRO or JSONL object that are decoded concurrently, and the "
+                        + "number of decode threads of the task. Records are still produced in the order they "
+                        + "appear in the object. 1 decodes on the polling thread.",
+                TRANSFORMER_GROUP, ++transformerCounter, ConfigDef.Width.NONE, TRANSFORMER_DECODE_PARALLELISM);
+        configDef.define(TRANSFORMER_BYTES_DELIMITER, ConfigDef.Type.STRING, null, ConfigDef.Importance.LOW,
+                "When set the BYTES transformer splits objects into records at this byte sequence instead of at fixed "
+                        + "sizes. The delimiter is not included in the records and records longer than "
+                        + TRANSFORMER_MAX_BUFFER_SIZE + " are split. The escapes \\n, \\r, \\t and \\\\ are "
+                        + "supported.",
+                TRANSFORMER_GROUP, ++transformerCounter, ConfigDef.Width.NONE, TRANSFORMER_BYTES_DELIMITER);
+        configDef.define(TRANSFORMER_JSON_SCHEMAS_ENABLE, ConfigDef.Type.BOOLEAN, false, ConfigDef.Importance.LOW,
+                "When true each JSONL value is a {\"schema\": ..., \"payload\": ...} envelope and records are produced "
+                        + "with the embedded schema. Identical schemas are parsed once.",
+                TRANSFORMER_GROUP, ++transformerCounter, ConfigDef.Width.NONE, TRANSFORMER_JSON_SCHEMAS_ENABLE);
+        configDef.define(TRANSFORMER_JSON_UNWRAP_ARRAYS, ConfigDef.Type.BOOLEAN, false, ConfigDef.Importance.LOW,
+                "When true a top level JSON array in a JSONL object produces one record per element instead of one "
+                        + "record for the whole array.",
+                TRANSFORMER_GROUP, ++transformerCounter, ConfigDef.Width.NONE, TRANSFORMER_JSON_UNWRAP_ARRAYS);
+        configDef.define(PARQUET_RANGED_READ_ENABLED, ConfigDef.Type.BOOLEAN, true, ConfigDef.Importance.LOW,
+                "When true Parquet objects are read with ranged reads (footer first, then only the required column "
+                        + "chunks) if the storage supports it. When false, or when ranged reads are not possible, the "
+                        + "object is spooled to a local file.",
+                TRANSFORMER_GROUP, ++transformerCounter, ConfigDef.Width.NONE, PARQUET_RANGED_READ_ENABLED);
+        configDef.define(PARQUET_RANGED_BLOCK_SIZE, ConfigDef.Type.INT, DEFAULT_PARQUET_RANGED_BLOCK_SIZE,
+                ConfigDef.Range.between(1, Integer.MAX_VALUE), ConfigDef.Importance.LOW,
+                "The size of the blocks cached for small Parquet ranged reads. Reads of at least this size are "
+                        + "retrieved directly.",
+                TRANSFORMER_GROUP, ++transformerCounter, ConfigDef.Width.NONE, PARQUET_RANGED_BLOCK_SIZE);
+        configDef.define(PARQUET_RANGED_CACHE_BLOCKS, ConfigDef.Type.INT, DEFAULT_PARQUET_RANGED_CACHE_BLOCKS,
+                ConfigDef.Range.atLeast(0), ConfigDef.Importance.LOW,
+                "The maximum number of blocks cached per Parquet object for ranged reads, 0 disables the cache.",
+                TRANSFORMER_GROUP, ++transformerCounter, ConfigDef.Width.NONE, PARQUET_RANGED_CACHE_BLOCKS);
+        configDef.define(PARQUET_SPOOL_DIRECTORY, ConfigDef.Type.STRING, null, ConfigDef.Importance.LOW,
+                "The local directory Parquet objects are spooled to when ranged reads are not possible. "
+                        + "Defaults to the system temporary directory.",
+                TRANSFORMER_GROUP, ++transformerCounter, ConfigDef.Width.NONE, PARQUET_SPOOL_DIRECTORY);
+        configDef.define(PARQUET_PROJECTION, ConfigDef.Type.LIST, "", ConfigDef.Importance.LOW,
+                "A comma separated list of the top level Parquet fields to read. Only these columns are read and "
+                        + "converted. Fields referenced by " + PARQUET_FILTER + " are also read. "
+                        + "When empty all fields are read.",
+                TRANSFORMER_GROUP, ++transformerCounter, ConfigDef.Width.NONE, PARQUET_PROJECTION);
+        configDef.define(PARQUET_FILTER, ConfigDef.Type.STRING, null, new ParquetFilterValidator(),
+                ConfigDef.Importance.LOW,
+                "A filter expression applied when reading Parquet files, for example "
+                        + "\"tenant = 'acme' and amount >= 100\". Row groups are skipped using column statistics and "
+                        + "dictionaries and non matching rows are dropped. Supports =, !=, <, <=, >, >=, and, or, not "
+                        + "and parentheses. Record counts and offsets count only the rows that match the filter, so "
+                        + "the filter should not be changed while there are partially processed objects.",
+                TRANSFORMER_GROUP, ++transformerCounter, ConfigDef.Width.NONE, PARQUET_FILTER);
+        configDef.define(PARQUET_DECODE_THREADS, ConfigDef.Type.INT, 1, ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.LOW,
+                "The number of threads used to decode the row groups of a Parquet file concurrently. Records are "
+                        + "still produced in file order. 1 decodes the row groups sequentially on the polling thread.",
+                TRANSFORMER_GROUP, ++transformerCounter, ConfigDef.Width.NONE, PARQUET_DECODE_THREADS);
+        configDef.define(PARQUET_DECODE_LOOKAHEAD, ConfigDef.Type.INT, 4, ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.LOW,
+                "The maximum number of Parquet row groups decoded ahead of the records being produced when "
+                        + PARQUET_DECODE_THREADS + " is greater than 1. Bounds the memory used by decoded row groups.",
+                TRANSFORMER_GROUP, ++transformerCounter, ConfigDef.Width.NONE, PARQUET_DECODE_LOOKAHEAD);
 
         return configDef;
     }
@@ -113,6 +191,163 @@ public final class TransformerFragment extends ConfigFragment {
         return cfg.getInt(TRANSFORMER_MAX_BUFFER_SIZE);
     }
 
+    /**
+     * Gets the maximum number of chunks of an object that are decoded concurrently.
+     *
+     * @return the maximum number of chunks decoded concurrently.
+     */
+    public int getTransformerDecodeParallelism() {
+        return cfg.getInt(TRANSFORMER_DECODE_PARALLELISM);
+    }
+
+    /**
+     * Gets the delimiter the BYTES transformer splits records at.
+     *
+     * @return the UTF-8 bytes of the delimiter with escapes replaced, or {@code null} if records are split at fixed
+     *         sizes.
+     */
+    public byte[] getTransformerBytesDelimiter() {
+        final String delimiter = cfg.getString(TRANSFORMER_BYTES_DELIMITER);
+        if (delimiter == null || delimiter.isEmpty()) {
+            return null; // NOPMD ReturnEmptyCollectionRatherThanNull
+        }
+        final StringBuilder result = new StringBuilder(delimiter.length());
+        for (int i = 0; i < delimiter.length(); i++) {
+            final char current = delimiter.charAt(i);
+            if (current == '\\' && i + 1 < delimiter.length()) {
+                final char escaped = delimiter.charAt(++i);
+                switch (escaped) {
+                    case 'n' :
+                        result.append('\n');
+                        break;
+                    case 'r' :
+                        result.append('\r');
+                        break;
+                    case 't' :
+                        result.append('\t');
+                        break;
+                    default :
+                        result.append(escaped);
+                }
+            } else {
+                result.append(current);
+            }
+        }
+        return result.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets whether JSONL values are schema and payload envelopes.
+     *
+     * @return {@code true} if JSONL values carry an embedded schema.
+     */
+    public boolean isTransformerJsonSchemasEnabled() {
+        return cfg.getBoolean(TRANSFORMER_JSON_SCHEMAS_ENABLE);
+    }
+
+    /**
+     * Gets whether top level JSON arrays produce one record per element.
+     *
+     * @return {@code true} if top level JSON arrays are unwrapped.
+     */
+    public boolean isTransformerJsonUnwrapArrays() {
+        return cfg.getBoolean(TRANSFORMER_JSON_UNWRAP_ARRAYS);
+    }
+
+    /**
+     * Determines if Parquet objects should be read with ranged reads when the storage supports it.
+     *
+     * @return {@code true} if ranged reads should be used.
+     */
+    public boolean isParquetRangedReadEnabled() {
+        return cfg.getBoolean(PARQUET_RANGED_READ_ENABLED);
+    }
+
+    /**
+     * Gets the size of the cached blocks for Parquet ranged reads.
+     *
+     * @return the size of the cached blocks for Parquet ranged reads.
+     */
+    public int getParquetRangedBlockSize() {
+        return cfg.getInt(PARQUET_RANGED_BLOCK_SIZE);
+    }
+
+    /**
+     * Gets the maximum number of cached blocks per Parquet object for ranged reads.
+     *
+     * @return the maximum number of cached blocks.
+     */
+    public int getParquetRangedCacheBlocks() {
+        return cfg.getInt(PARQUET_RANGED_CACHE_BLOCKS);
+    }
+
+    /**
+     * Gets the directory to spool Parquet objects to when ranged reads are not possible.
+     *
+     * @return the spool directory or {@code null} if the system temporary directory should be used.
+     */
+    public String getParquetSpoolDirectory() {
+        return cfg.getString(PARQUET_SPOOL_DIRECTORY);
+    }
+
+    /**
+     * Gets the top level fields to read from Parquet files.
+     *
+     * @return the list of fields to read, an empty list reads all fields.
+     */
+    public List<String> getParquetProjection() {
+        return cfg.getList(PARQUET_PROJECTION);
+    }
+
+    /**
+     * Gets the filter expression to apply when reading Parquet files.
+     *
+     * @return the filter expression or {@code null} if not set.
+     */
+    public String getParquetFilter() {
+        return cfg.getString(PARQUET_FILTER);
+    }
+
+    /**
+     * Gets the number of threads used to decode Parquet row groups.
+     *
+     * @return the number of threads used to decode Parquet row groups.
+     */
+    public int getParquetDecodeThreads() {
+        return cfg.getInt(PARQUET_DECODE_THREADS);
+    }
+
+    /**
+     * Gets the maximum number of Parquet row groups decoded ahead of the records being produced.
+     *
+     * @return the maximum number of row groups decoded ahead.
+     */
+    public int getParquetDecodeLookahead() {
+        return cfg.getInt(PARQUET_DECODE_LOOKAHEAD);
+    }
+
+    /**
+     * Validates that the Parquet filter expression can be parsed.
+     */
+    public static class ParquetFilterValidator implements ConfigDef.Validator {
+
+        @Override
+        public void ensureValid(final String name, final Object value) {
+            if (value != null) {
+                try {
+                    ParquetFilterExpression.parse(value.toString());
+                } catch (final IllegalArgumentException e) {
+                    throw new ConfigException(name, value, e.getMessage());
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "A filter expression such as \"column = 'value' and other >= 10\"";
+        }
+    }
+
     public static class InputFormatValidator extends ConfigDef.NonEmptyString {
 
         @Override
@@ -190,5 +425,137 @@ public final class TransformerFragment extends ConfigFragment {
         public Setter maxBufferSize(final int maxBufferSize) {
             return setValue(TRANSFORMER_MAX_BUFFER_SIZE, maxBufferSize);
         }
+
+        /**
+         * Sets the maximum number of chunks of an object that are decoded concurrently.
+         *
+         * @param parallelism
+         *            the maximum number of chunks decoded concurrently.
+         * @return this
+         */
+        public Setter decodeParallelism(final int parallelism) {
+            return setValue(TRANSFORMER_DECODE_PARALLELISM, parallelism);
+        }
+
+        /**
+         * Sets the delimiter the BYTES transformer splits records at.
+         *
+         * @param delimiter
+         *            the delimiter, may contain the escapes {@code \n}, {@code \r}, {@code \t} and {@code \\}.
+         * @return this
+         */
+        public Setter bytesDelimiter(final String delimiter) {
+            return setValue(TRANSFORMER_BYTES_DELIMITER, delimiter);
+        }
+
+        /**
+         * Sets whether JSONL values are schema and payload envelopes.
+         *
+         * @param enabled
+         *            {@code true} if JSONL values carry an embedded schema.
+         * @return this
+         */
+        public Setter jsonSchemasEnabled(final boolean enabled) {
+            return setValue(TRANSFORMER_JSON_SCHEMAS_ENABLE, enabled);
+        }
+
+        /**
+         * Sets whether top level JSON arrays produce one record per element.
+         *
+         * @param unwrap
+         *            {@code true} to unwrap top level JSON arrays.
+         * @return this
+         */
+        public Setter jsonUnwrapArrays(final boolean unwrap) {
+            return setValue(TRANSFORMER_JSON_UNWRAP_ARRAYS, unwrap);
+        }
+
+        /**
+         * Sets whether Parquet objects are read with ranged reads.
+         *
+         * @param enabled
+         *            {@code true} to use ranged reads when the storage supports it.
+         * @return this
+         */
+        public Setter parquetRangedReadEnabled(final boolean enabled) {
+            return setValue(PARQUET_RANGED_READ_ENABLED, enabled);
+        }
+
+        /**
+         * Sets the size of the cached blocks for Parquet ranged reads.
+         *
+         * @param blockSize
+         *            the block size.
+         * @return this
+         */
+        public Setter parquetRangedBlockSize(final int blockSize) {
+            return setValue(PARQUET_RANGED_BLOCK_SIZE, blockSize);
+        }
+
+        /**
+         * Sets the maximum number of cached blocks per Parquet object.
+         *
+         * @param cacheBlocks
+         *            the maximum number of cached blocks.
+         * @return this
+         */
+        public Setter parquetRangedCacheBlocks(final int cacheBlocks) {
+            return setValue(PARQUET_RANGED_CACHE_BLOCKS, cacheBlocks);
+        }
+
+        /**
+         * Sets the directory Parquet objects are spooled to when ranged reads are not possible.
+         *
+         * @param spoolDirectory
+         *            the spool directory.
+         * @return this
+         */
+        public Setter parquetSpoolDirectory(final String spoolDirectory) {
+            return setValue(PARQUET_SPOOL_DIRECTORY, spoolDirectory);
+        }
+
+        /**
+         * Sets the top level fields to read from Parquet files.
+         *
+         * @param fields
+         *            the fields to read.
+         * @return this
+         */
+        public Setter parquetProjection(final List<String> fields) {
+            return setValue(PARQUET_PROJECTION, String.join(",", fields));
+        }
+
+        /**
+         * Sets the filter expression to apply when reading Parquet files.
+         *
+         * @param filter
+         *            the filter expression.
+         * @return this
+         */
+        public Setter parquetFilter(final String filter) {
+            return setValue(PARQUET_FILTER, filter);
+        }
+
+        /**
+         * Sets the number of threads used to decode Parquet row groups.
+         *
+         * @param threads
+         *            the number of threads.
+         * @return this
+         */
+        public Setter parquetDecodeThreads(final int threads) {
+            return setValue(PARQUET_DECODE_THREADS, threads);
+        }
+
+        /**
+         * Sets the maximum number of Parquet row groups decoded ahead of the records being produced.
+         *
+         * @param lookahead
+         *            the maximum number of row groups.
+         * @return this
+         */
+        public Setter parquetDecodeLookahead(final int lookahead) {
+            return setValue(PARQUET_DECODE_LOOKAHEAD, lookahead);
+        }
     }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.config.enums;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.apache.kafka.common.config.ConfigException;
+
+/**
+ * Defines what happens to a storage item once all of its records have been acknowledged by Kafka.
+ */
+public enum ArchiveAction {
+    /** The storage item is left in place */
+    NONE("none"),
+    /** The storage item is copied to the archive location and left in place */
+    COPY("copy"),
+    /** The storage item is copied to the archive location and deleted */
+    MOVE("move"),
+    /** The storage item is deleted */
+    DELETE("delete");
+
+    private final String name;
+
+    ArchiveAction(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Checks whether the storage item is written to the archive location.
+     *
+     * @return {@code true} if the storage item is written to the archive location.
+     */
+    public boolean copies() {
+        return this == COPY || this == MOVE;
+    }
+
+    /**
+     * Checks whether the storage item is deleted.
+     *
+     * @return {@code true} if the storage item is deleted.
+     */
+    public boolean deletes() {
+        return this == MOVE || this == DELETE;
+    }
+
+    public static ArchiveAction forName(final String name) {
+        Objects.requireNonNull(name, "name cannot be null");
+        for (final ArchiveAction archiveAction : ArchiveAction.values()) {
+            if (archiveAction.name.equalsIgnoreCase(name)) {
+                return archiveAction;
+            }
+        }
+        throw new ConfigException(String.format("Unknown archive action: %s, allowed values %s ", name,
+                Arrays.toString(ArchiveAction.values())));
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.config.enums;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.apache.kafka.common.config.ConfigException;
+
+/**
+ * Defines where the storage items of a source connector are discovered.
+ */
+public enum DiscoveryMode {
+    /** Every task lists all storage items and keeps those assigned to it by the distribution type */
+    TASK("task"),
+    /**
+     * The connector lists the storage items and assigns each task a range of keys. Each task only lists its own range.
+     */
+    CONNECTOR("connector");
+
+    private final String name;
+
+    DiscoveryMode(final String name) {
+        this.name = name;
+    }
+
+    public static DiscoveryMode forName(final String name) {
+        Objects.requireNonNull(name, "name cannot be null");
+        for (final DiscoveryMode discoveryMode : DiscoveryMode.values()) {
+            if (discoveryMode.name.equalsIgnoreCase(name)) {
+                return discoveryMode;
+            }
+        }
+        throw new ConfigException(String.format("Unknown discovery.mode type: %s, allowed values %s ", name,
+                Arrays.toString(DiscoveryMode.values())));
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.config.enums;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.apache.kafka.common.config.ConfigException;
+
+/**
+ * Defines how a source task finds the storage items to process.
+ */
+public enum ListingMode {
+    /** The storage is listed */
+    LIST("list"),
+    /** The storage items are read from manifest files so that the storage is not listed */
+    MANIFEST("manifest");
+
+    private final String name;
+
+    ListingMode(final String name) {
+        this.name = name;
+    }
+
+    public static ListingMode forName(final String name) {
+        Objects.requireNonNull(name, "name cannot be null");
+        for (final ListingMode listingMode : ListingMode.values()) {
+            if (listingMode.name.equalsIgnoreCase(name)) {
+                return listingMode;
+            }
+        }
+        throw new ConfigException(String.format("Unknown listing.mode type: %s, allowed values %s ", name,
+                Arrays.toString(ListingMode.values())));
+    }
+}
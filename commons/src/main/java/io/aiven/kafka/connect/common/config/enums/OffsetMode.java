@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.config.enums;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.apache.kafka.common.config.ConfigException;
+
+/**
+ * Defines how a source task stores its offsets in Kafka.
+ */
+public enum OffsetMode {
+    /** One offset entry per storage item */
+    OBJECT("object"),
+    /**
+     * One offset entry per task holding the last key that has been completely processed and the record counts of the
+     * storage items after it that have been started. Requires keys that are written in lexicographic order.
+     */
+    WATERMARK("watermark");
+
+    private final String name;
+
+    OffsetMode(final String name) {
+        this.name = name;
+    }
+
+    public static OffsetMode forName(final String name) {
+        Objects.requireNonNull(name, "name cannot be null");
+        for (final OffsetMode offsetMode : OffsetMode.values()) {
+            if (offsetMode.name.equalsIgnoreCase(name)) {
+                return offsetMode;
+            }
+        }
+        throw new ConfigException(String.format("Unknown offset.mode type: %s, allowed values %s ", name,
+                Arrays.toString(OffsetMode.values())));
+    }
+}
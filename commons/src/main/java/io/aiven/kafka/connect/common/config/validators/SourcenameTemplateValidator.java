@@ -71,7 +71,7 @@ public final class SourcenameTemplateValidator implements ConfigDef.Validator {
 
         // TODO when distributionType expands then add required parameters to each distribution type object
         // and change this to a switch statement
-        if (distributionType.equals(DistributionType.PARTITION)) {
+        if (distributionType == DistributionType.PARTITION || distributionType == DistributionType.PARTITION_SIZE) {
             // partition distribution requires the partition to be available.
             try {
                 final Template template = Template.of((String) value);
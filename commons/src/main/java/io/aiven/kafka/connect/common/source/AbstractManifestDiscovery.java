@@ -0,0 +1,157 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link ItemDiscovery} that reads the storage items from manifest files instead of listing the storage.
+ * <p>
+ * Each call lists the manifest files, which is cheap as there are few of them, and returns the entries of the
+ * manifests that have not been consumed yet. A manifest is consumed once all of its entries have been returned, so a
+ * manifest that is only partly read is read again by the next call. Subclasses are told when a manifest is consumed
+ * so that they can skip the entries of later manifests that were already returned. Consumed manifests are tracked in
+ * memory, after a restart the manifests are read again and the stored offsets skip the records that were already sent.
+ * </p>
+ *
+ * @param <K>
+ *            the native key type.
+ * @param <N>
+ *            the native storage item type.
+ */
+public abstract class AbstractManifestDiscovery<K extends Comparable<K>, N> implements ItemDiscovery<K, N> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractManifestDiscovery.class);
+
+    /** The keys of the manifests whose entries have all been returned */
+    private final Set<String> consumed = new HashSet<>();
+
+    /**
+     * Lists the keys of the manifest files in the order that they should be read.
+     *
+     * @return the keys of the manifest files.
+     */
+    protected abstract Stream<String> listManifests();
+
+    /**
+     * Reads the entries of a manifest file. If the returned iterator is {@link Closeable} it is closed when all
+     * entries have been read.
+     *
+     * @param manifestKey
+     *            the key of the manifest file.
+     * @return the storage items listed in the manifest.
+     * @throws IOException
+     *             if the manifest can not be read.
+     */
+    protected abstract Iterator<N> readManifest(String manifestKey) throws IOException;
+
+    /**
+     * Called when all entries of a manifest have been returned. Does nothing by default.
+     *
+     * @param manifestKey
+     *            the key of the manifest file.
+     */
+    protected void manifestConsumed(final String manifestKey) {
+        // nothing to do by default.
+    }
+
+    @Override
+    public Stream<N> getNativeItemStream(final K offset) {
+        final List<String> manifests = listManifests().filter(manifest -> !consumed.contains(manifest))
+                .collect(Collectors.toList());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new EntryIterator(manifests.iterator()),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Gets the keys of the manifests whose entries have all been returned.
+     *
+     * @return the keys of the consumed manifests.
+     */
+    public Set<String> getConsumedManifests() {
+        return Collections.unmodifiableSet(consumed);
+    }
+
+    /**
+     * Iterates over the entries of the manifests one manifest at a time.
+     */
+    private final class EntryIterator implements Iterator<N> {
+        private final Iterator<String> manifests;
+        private String manifest;
+        private Iterator<N> entries = Collections.emptyIterator();
+
+        EntryIterator(final Iterator<String> manifests) {
+            this.manifests = manifests;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!entries.hasNext()) {
+                if (manifest != null) {
+                    close(entries);
+                    consumed.add(manifest);
+                    manifestConsumed(manifest);
+                    LOGGER.debug("Consumed manifest {}", manifest);
+                    manifest = null;
+                }
+                if (!manifests.hasNext()) {
+                    return false;
+                }
+                manifest = manifests.next();
+                try {
+                    entries = readManifest(manifest);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Unable to read manifest " + manifest, e);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public N next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return entries.next();
+        }
+
+        private void close(final Iterator<N> iterator) {
+            if (iterator instanceof Closeable) {
+                try {
+                    ((Closeable) iterator).close();
+                } catch (IOException e) {
+                    LOGGER.warn("Unable to close manifest {}", manifest, e);
+                }
+            }
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package io.aiven.kafka.connect.common.source;
 
+import java.util.Map;
+
 import org.apache.kafka.connect.data.SchemaAndValue;
 import org.apache.kafka.connect.errors.ConnectException;
 import org.apache.kafka.connect.errors.DataException;
@@ -25,10 +27,17 @@ import io.aiven.kafka.connect.common.NativeInfo;
 import io.aiven.kafka.connect.common.config.enums.ErrorsTolerance;
 import io.aiven.kafka.connect.common.source.task.Context;
 
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.slf4j.Logger;
 
 /**
  * An abstract source record as retrieved from the storage layer.
+ * <p>
+ * One record reads the storage item and is {@link #duplicate() duplicated} for every record emitted from it. The
+ * duplicates share the parts that are the same for every record of the storage item: the key data, context, topic,
+ * partition and offset manager entry. Each duplicate only holds its value and record count, its offset is built when
+ * the Kafka {@link SourceRecord} is created.
+ * </p>
  *
  * @param <N>
  *            the native object type.
@@ -50,8 +59,21 @@ public abstract class AbstractSourceRecord<K extends Comparable<K>, N, O extends
     private O offsetManagerEntry;
     /** The context associated with this record */
     private Context<K> context;
+    /** The topic from the context */
+    private String topic;
+    /** The partition from the context */
+    private Integer partition;
+    /**
+     * The record count of a duplicate that shares the offset manager entry of the record it was duplicated from,
+     * {@code -1} if the offset manager entry belongs to this record
+     */
+    private long sharedEntryRecordCount = -1;
     /** The native info for this record. */
     private final NativeInfo<K, N> nativeInfo;
+    /** The source partition to store the offset under, {@code null} to use the offset manager entry */
+    private Map<String, Object> sourcePartition;
+    /** The source offset to store, {@code null} to use the offset manager entry */
+    private Map<String, Object> sourceOffset;
 
     /**
      * Construct a source record from a native item.
@@ -67,18 +89,23 @@ public abstract class AbstractSourceRecord<K extends Comparable<K>, N, O extends
     }
 
     /**
-     * Copy constructor for an abstract source record. This constructor makes a copy of the OffsetManagerEntry.
+     * Copy constructor for an abstract source record. The copy shares the OffsetManagerEntry and keeps the current
+     * record count, the entry is copied if the record count of the copy is incremented.
      *
      * @param sourceRecord
      *            the source record to copy.
      */
     protected AbstractSourceRecord(final AbstractSourceRecord<K, N, O, T> sourceRecord) {
         this(sourceRecord.logger, sourceRecord.nativeInfo);
-        this.offsetManagerEntry = sourceRecord.offsetManagerEntry
-                .fromProperties(sourceRecord.getOffsetManagerEntry().getProperties());
+        this.offsetManagerEntry = sourceRecord.offsetManagerEntry;
+        this.sharedEntryRecordCount = sourceRecord.getRecordCount();
         this.keyData = sourceRecord.keyData;
         this.valueData = sourceRecord.valueData;
         this.context = sourceRecord.context;
+        this.topic = sourceRecord.topic;
+        this.partition = sourceRecord.partition;
+        this.sourcePartition = sourceRecord.sourcePartition;
+        this.sourceOffset = sourceRecord.sourceOffset;
     }
 
     /**
@@ -124,7 +151,10 @@ public abstract class AbstractSourceRecord<K extends Comparable<K>, N, O extends
      *         with.
      */
     final public long getRecordCount() {
-        return offsetManagerEntry == null ? 0 : offsetManagerEntry.getRecordCount();
+        if (offsetManagerEntry == null) {
+            return 0;
+        }
+        return sharedEntryRecordCount < 0 ? offsetManagerEntry.getRecordCount() : sharedEntryRecordCount;
     }
 
     /**
@@ -132,6 +162,10 @@ public abstract class AbstractSourceRecord<K extends Comparable<K>, N, O extends
      * working with.
      */
     final public void incrementRecordCount() {
+        if (sharedEntryRecordCount >= 0) {
+            this.offsetManagerEntry = getOffsetManagerEntry();
+            this.sharedEntryRecordCount = -1;
+        }
         this.offsetManagerEntry.incrementRecordCount();
     }
 
@@ -179,7 +213,7 @@ public abstract class AbstractSourceRecord<K extends Comparable<K>, N, O extends
      * @return The topic for the source record or {@code null} if it is not set in the context.
      */
     final public String getTopic() {
-        return context.getTopic().orElse(null);
+        return topic;
     }
 
     /**
@@ -188,7 +222,7 @@ public abstract class AbstractSourceRecord<K extends Comparable<K>, N, O extends
      * @return The partition for the source record or {@code null} if it is not set in the context.
      */
     final public Integer getPartition() {
-        return context.getPartition().orElse(null);
+        return partition;
     }
 
     /**
@@ -199,6 +233,7 @@ public abstract class AbstractSourceRecord<K extends Comparable<K>, N, O extends
      */
     final public void setOffsetManagerEntry(final O offsetManagerEntry) {
         this.offsetManagerEntry = offsetManagerEntry.fromProperties(offsetManagerEntry.getProperties());
+        this.sharedEntryRecordCount = -1;
     }
 
     /**
@@ -207,7 +242,10 @@ public abstract class AbstractSourceRecord<K extends Comparable<K>, N, O extends
      * @return A copy of the offset manager entry for this source record.
      */
     final public O getOffsetManagerEntry() {
-        return offsetManagerEntry.fromProperties(offsetManagerEntry.getProperties()); // return a defensive copy
+        // return a defensive copy
+        return offsetManagerEntry.fromProperties(sharedEntryRecordCount < 0
+                ? offsetManagerEntry.getProperties()
+                : offsetManagerEntry.getProperties(sharedEntryRecordCount));
     }
 
     /**
@@ -229,6 +267,23 @@ public abstract class AbstractSourceRecord<K extends Comparable<K>, N, O extends
     final public void setContext(final Context<K> context) {
         this.context = new Context<>(context) {
         };
+        this.topic = context.getTopic().orElse(null);
+        this.partition = context.getPartition().orElse(null);
+    }
+
+    /**
+     * Sets the source partition and offset stored with the record in place of those from the offset manager entry.
+     *
+     * @param sourcePartition
+     *            the source partition.
+     * @param sourceOffset
+     *            the source offset.
+     */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "the maps are not modified")
+    final public void setSourceOffset(final Map<String, Object> sourcePartition,
+            final Map<String, Object> sourceOffset) {
+        this.sourcePartition = sourcePartition;
+        this.sourceOffset = sourceOffset;
     }
 
     /**
@@ -246,10 +301,15 @@ public abstract class AbstractSourceRecord<K extends Comparable<K>, N, O extends
                 logger.debug("Source Record: {} for Topic: {} , Partition: {}, recordCount: {}", getNativeKey(),
                         getTopic(), getPartition(), getRecordCount());
             }
-            offsetManager.addEntry(offsetManagerEntry);
-            return new SourceRecord(offsetManagerEntry.getManagerKey().getPartitionMap(),
-                    offsetManagerEntry.getProperties(), getTopic(), getPartition(), keyData.schema(), keyData.value(),
-                    valueData.schema(), valueData.value());
+            if (sourceOffset != null) {
+                return new SourceRecord(sourcePartition, sourceOffset, getTopic(), getPartition(), keyData.schema(),
+                        keyData.value(), valueData.schema(), valueData.value());
+            }
+            final Map<String, Object> partitionMap = offsetManagerEntry.getManagerKey().getPartitionMap();
+            final Map<String, Object> offset = offsetManagerEntry.getProperties(getRecordCount());
+            offsetManager.addEntry(partitionMap, offset);
+            return new SourceRecord(partitionMap, offset, getTopic(), getPartition(), keyData.schema(),
+                    keyData.value(), valueData.schema(), valueData.value());
         } catch (DataException e) {
             if (ErrorsTolerance.NONE.equals(tolerance)) {
                 throw new ConnectException("Data Exception caught during record to source record transformation", e);
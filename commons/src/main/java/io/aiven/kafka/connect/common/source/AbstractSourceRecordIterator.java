@@ -16,10 +16,24 @@
 
 package io.aiven.kafka.connect.common.source;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -27,7 +41,10 @@ import java.util.stream.Stream;
 import org.apache.kafka.connect.data.SchemaAndValue;
 
 import io.aiven.commons.collections.RingBuffer;
+import io.aiven.kafka.connect.common.config.CompressionType;
 import io.aiven.kafka.connect.common.config.SourceCommonConfig;
+import io.aiven.kafka.connect.common.config.SourceConfigFragment;
+import io.aiven.kafka.connect.common.config.enums.OffsetMode;
 import io.aiven.kafka.connect.common.source.input.Transformer;
 import io.aiven.kafka.connect.common.source.input.utils.FilePatternUtils;
 import io.aiven.kafka.connect.common.source.task.Context;
@@ -40,6 +57,30 @@ import org.slf4j.Logger;
 
 /**
  * Iterator that processes cloud storage items and creates Kafka source records. Supports multiple output formats.
+ * <p>
+ * By default one storage item is processed at a time. When the object concurrency is greater than 1 up to that many
+ * storage items are processed concurrently, each with its own transformer stream. Storage items that map to the same
+ * topic and partition are processed on the same lane so their records are returned in listing order, while the records
+ * of unrelated storage items may be interleaved. Storage items without a partition are ordered by topic. Listing,
+ * ring buffer and offset manager updates remain on the thread calling this iterator.
+ * </p>
+ * <p>
+ * Compressed storage items are decompressed as they are read, before they reach the transformer.
+ * </p>
+ * <p>
+ * When the offset mode is {@link OffsetMode#WATERMARK} the offsets of the task are stored as a single
+ * {@link WatermarkOffsets} entry and listing resumes after the stored watermark, so stored offsets are not read for
+ * each storage item.
+ * </p>
+ * <p>
+ * When the listing checkpoint interval is set in the object offset mode a {@link ListingCheckpoint} is written at most
+ * once per interval so that after a restart listing resumes near the last storage items processed rather than at the
+ * start of the storage.
+ * </p>
+ * <p>
+ * When the connector has assigned the task a key range only the storage items in that range are listed and all of
+ * them are processed by this task.
+ * </p>
  *
  * @param <N>
  *            the native object type.
@@ -63,6 +104,26 @@ public abstract class AbstractSourceRecordIterator<K extends Comparable<K>, N, O
     private final Transformer transformer;
     /** the taskId of this running task */
     private final int taskId;
+    /** the maximum number of tasks */
+    private final int maxTasks;
+    /** {@code true} if the offsets are stored as a watermark */
+    private final boolean watermarkMode;
+    /** The watermark offsets, {@code null} until the first listing or when not in watermark mode */
+    private WatermarkOffsets<K> watermarks;
+    /** The interval between listing checkpoints in nanoseconds, 0 when checkpoints are not written */
+    private final long checkpointInterval;
+    /** The listing checkpoint, {@code null} until the first listing or when checkpoints are not written */
+    private ListingCheckpoint<K> checkpoint;
+    /** The {@link System#nanoTime()} after which the next listing checkpoint may be written */
+    private long nextCheckpoint;
+    /** The keys of the storage items being processed when checkpoints are written */
+    private final TreeSet<K> inProgress = new TreeSet<>();
+    /** The key after which the key range assigned by the connector starts, {@code null} if there is no lower bound */
+    private final String rangeStart;
+    /** The last key of the key range assigned by the connector, {@code null} if there is no upper bound */
+    private final String rangeEnd;
+    /** {@code true} if the connector has assigned this task a key range */
+    private final boolean keyRangeAssigned;
 
     /**
      * The inner iterator to provides a base AbstractSourceRecord for a storage item that has passed the filters and
@@ -91,6 +152,21 @@ public abstract class AbstractSourceRecordIterator<K extends Comparable<K>, N, O
      */
     private final RingBuffer<K> ringBuffer;
 
+    /** The maximum time {@link #hasNext()} waits for a lane event before returning {@code false} */
+    private static final Duration LANE_POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    /** The maximum number of storage items whose stored offsets are read from Kafka in one request */
+    static final int OFFSET_BATCH_SIZE = 1000;
+    /** The lanes that process storage items concurrently, {@code null} when items are processed one at a time */
+    private final ObjectLanes<K, T> lanes;
+    /** The next record from the lanes */
+    private T laneRecord;
+    /** Set by {@link #close()} so that {@link #hasNext()} stops waiting for the lanes */
+    private volatile boolean closed;
+    /** Notified when all records of a storage item have been returned */
+    private Consumer<K> completionListener = nativeKey -> {
+    };
+
     /**
      * Constructor.
      *
@@ -115,11 +191,26 @@ public abstract class AbstractSourceRecordIterator<K extends Comparable<K>, N, O
         this.offsetManager = offsetManager;
         this.transformer = transformer;
         this.taskId = sourceConfig.getTaskId() % maxTasks;
-        this.taskAssignment = new TaskAssignment(distributionType.getDistributionStrategy(maxTasks));
+        this.maxTasks = maxTasks;
+        this.watermarkMode = sourceConfig.getOffsetMode() == OffsetMode.WATERMARK;
+        // the watermark already holds the position to resume listing from.
+        this.checkpointInterval = watermarkMode
+                ? 0
+                : TimeUnit.MILLISECONDS.toNanos(sourceConfig.getListingCheckpointInterval());
+        this.rangeStart = sourceConfig.getDiscoveryRangeStart();
+        this.rangeEnd = sourceConfig.getDiscoveryRangeEnd();
+        this.keyRangeAssigned = rangeStart != null || rangeEnd != null;
+        this.taskAssignment = new TaskAssignment(
+                distributionType.getDistributionStrategy(maxTasks, sourceConfig.getDistributionAssignments()));
         this.fileMatching = new FileMatching(new FilePatternUtils(sourceConfig.getSourceName()));
         this.inner = Collections.emptyIterator();
         this.outer = Collections.emptyIterator();
         this.ringBuffer = new RingBuffer<>(Math.max(1, ringBufferSize));
+        final int objectConcurrency = sourceConfig.getObjectConcurrency();
+        this.lanes = objectConcurrency > 1
+                ? new ObjectLanes<>(getClass().getSimpleName(), objectConcurrency, objectConcurrency * 2,
+                        sourceConfig.getMaxPollRecords())
+                : null;
     }
 
     /**
@@ -183,30 +274,308 @@ public abstract class AbstractSourceRecordIterator<K extends Comparable<K>, N, O
      */
     abstract protected OffsetManager.OffsetManagerKey getOffsetManagerKey(K nativeKey);
 
+    /**
+     * Converts a native key that was written as a string to the watermark offsets, the listing checkpoint or a key
+     * range back into a native key. Used by the {@link OffsetMode#WATERMARK} offset mode, listing checkpoints and key
+     * ranges assigned by the connector.
+     *
+     * @param nativeKey
+     *            the string form of the native key.
+     * @return the native key.
+     */
+    abstract protected K parseNativeKey(String nativeKey);
+
+    /**
+     * Gets the partition map that the watermark offsets or listing checkpoint of this task are stored under. The map
+     * identifies the task, the number of tasks and any key range assigned by the connector as the storage items
+     * assigned to a task depend on them. Implementations may add entries that identify the storage location.
+     *
+     * @return the partition map for the offsets of this task.
+     */
+    protected Map<String, Object> getTaskPartitionMap() {
+        final Map<String, Object> partitionMap = new HashMap<>();
+        partitionMap.put(WatermarkOffsets.TASK_ID, (long) taskId);
+        partitionMap.put(WatermarkOffsets.MAX_TASKS, (long) maxTasks);
+        if (rangeStart != null) {
+            partitionMap.put(SourceConfigFragment.DISCOVERY_RANGE_START, rangeStart);
+        }
+        if (rangeEnd != null) {
+            partitionMap.put(SourceConfigFragment.DISCOVERY_RANGE_END, rangeEnd);
+        }
+        return partitionMap;
+    }
+
     @Override
     final public boolean hasNext() {
+        if (lanes != null) {
+            return lanesHaveNext();
+        }
         if (!outer.hasNext() && lastSeenNativeKey != null) {
-            // update the buffer to contain this new objectKey
-            ringBuffer.add(lastSeenNativeKey);
-            // Remove the last seen from the offsetmanager as the file has been completely processed.
-            offsetManager.removeEntry(getOffsetManagerKey(lastSeenNativeKey));
+            completed(lastSeenNativeKey);
+            lastSeenNativeKey = null;
         }
         if (!inner.hasNext() && !outer.hasNext()) {
-            inner = getNativeItemStream(ringBuffer.getNextEjected()).map(fileMatching)
-                    .filter(taskAssignment)
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .iterator();
+            inner = listItems();
         }
         while (!outer.hasNext() && inner.hasNext()) {
-            outer = convert(inner.next()).iterator();
+            final T sourceRecord = inner.next();
+            lastSeenNativeKey = sourceRecord.getNativeKey();
+            started(sourceRecord);
+            outer = convert(sourceRecord).iterator();
         }
         return outer.hasNext();
     }
 
     @Override
     final public T next() {
-        return outer.next();
+        if (lanes != null) {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final T result = laneRecord;
+            laneRecord = null;
+            return withSourceOffset(result);
+        }
+        return withSourceOffset(outer.next());
+    }
+
+    /**
+     * Returns {@code true} if storage items are being processed concurrently and have not completed. While busy an
+     * {@link #hasNext()} of {@code false} means that no record became available in time, not that the listing was
+     * empty.
+     *
+     * @return {@code true} if storage items are in flight.
+     */
+    public boolean isBusy() {
+        return lanes != null && !lanes.isIdle();
+    }
+
+    /**
+     * Stops any threads used to process storage items concurrently. Records that have not been returned are discarded
+     * and the storage items they came from will be processed again.
+     */
+    public void close() {
+        if (lanes != null) {
+            closed = true;
+            lanes.close();
+            laneRecord = null;
+            inner = Collections.emptyIterator();
+        }
+    }
+
+    /**
+     * Lists the storage items that have passed the filters and are assigned to this task.
+     *
+     * @return an iterator of source records for the storage items.
+     */
+    private Iterator<T> listItems() {
+        K start = ringBuffer.getNextEjected();
+        if (watermarkMode) {
+            if (start == null) {
+                start = getWatermarks().getRestoredWatermark();
+            }
+            getWatermarks().listing();
+        } else if (checkpointInterval > 0) {
+            final K resumeKey = getCheckpoint().getRestoredResumeKey();
+            if (start == null) {
+                start = resumeKey;
+            }
+        }
+        Stream<N> nativeItems;
+        if (keyRangeAssigned) {
+            nativeItems = getNativeItemStream(startOfRange(start));
+            if (rangeEnd != null) {
+                // storage items are listed in key order so listing stops at the end of the range.
+                final K end = parseNativeKey(rangeEnd);
+                nativeItems = nativeItems.takeWhile(nativeItem -> getNativeKey(nativeItem).compareTo(end) <= 0);
+            }
+        } else {
+            nativeItems = getNativeItemStream(start);
+        }
+        final Iterator<T> matched = nativeItems.map(fileMatching)
+                .filter(taskAssignment)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .iterator();
+        // the watermark offsets hold the record counts so the stored offsets are not read for each item.
+        return watermarkMode ? matched : new OffsetPrefetch(matched);
+    }
+
+    /**
+     * Gets the key that listing starts after within the key range assigned by the connector.
+     *
+     * @param start
+     *            the key that listing would start after without a key range. May be {@code null}.
+     * @return the later of the start key and the start of the key range.
+     */
+    private K startOfRange(final K start) {
+        if (rangeStart == null) {
+            return start;
+        }
+        final K startOfRange = parseNativeKey(rangeStart);
+        return start == null || start.compareTo(startOfRange) < 0 ? startOfRange : start;
+    }
+
+    /**
+     * Gets the watermark offsets, reading them from Kafka the first time.
+     *
+     * @return the watermark offsets.
+     */
+    private WatermarkOffsets<K> getWatermarks() {
+        if (watermarks == null) {
+            final Map<String, Object> partitionMap = getTaskPartitionMap();
+            watermarks = new WatermarkOffsets<>(partitionMap,
+                    offsetManager.getOffset(() -> partitionMap).orElse(Collections.emptyMap()), this::parseNativeKey);
+        }
+        return watermarks;
+    }
+
+    /**
+     * Gets the listing checkpoint, reading it from Kafka the first time.
+     *
+     * @return the listing checkpoint.
+     */
+    private ListingCheckpoint<K> getCheckpoint() {
+        if (checkpoint == null) {
+            final Map<String, Object> partitionMap = getTaskPartitionMap();
+            partitionMap.put(ListingCheckpoint.CHECKPOINT, true);
+            checkpoint = new ListingCheckpoint<>(partitionMap,
+                    offsetManager.getOffset(() -> partitionMap).orElse(Collections.emptyMap()), this::parseNativeKey);
+            nextCheckpoint = System.nanoTime() + checkpointInterval;
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Records that processing of a storage item has started. In watermark mode the record count of the storage item is
+     * restored from the watermark offsets.
+     *
+     * @param sourceRecord
+     *            the source record for the storage item.
+     */
+    private void started(final T sourceRecord) {
+        if (checkpoint != null) {
+            inProgress.add(sourceRecord.getNativeKey());
+        }
+        if (watermarks != null) {
+            final long recordCount = watermarks.started(sourceRecord.getNativeKey());
+            if (recordCount > 0) {
+                final O offsetManagerEntry = sourceRecord.getOffsetManagerEntry();
+                offsetManagerEntry.setRecordCount(recordCount);
+                sourceRecord.setOffsetManagerEntry(offsetManagerEntry);
+            }
+        }
+    }
+
+    /**
+     * Sets the source offset of a record that is being returned. In watermark mode the record carries the watermark
+     * offsets. When listing checkpoints are written and one is due the record carries the checkpoint instead of the
+     * offset of its storage item.
+     *
+     * @param sourceRecord
+     *            the record being returned.
+     * @return the record.
+     */
+    private T withSourceOffset(final T sourceRecord) {
+        if (watermarks != null) {
+            sourceRecord.setSourceOffset(watermarks.getPartitionMap(),
+                    watermarks.recorded(sourceRecord.getNativeKey(), sourceRecord.getRecordCount()));
+        } else if (checkpoint != null) {
+            final K resumeKey = ringBuffer.getNextEjected();
+            // listing must not resume after a storage item that is still being processed.
+            if (System.nanoTime() - nextCheckpoint >= 0 && checkpoint.isNewResumeKey(resumeKey)
+                    && (inProgress.isEmpty() || resumeKey.compareTo(inProgress.first()) < 0)) {
+                final O offsetManagerEntry = sourceRecord.getOffsetManagerEntry();
+                sourceRecord.setSourceOffset(checkpoint.getPartitionMap(),
+                        checkpoint.checkpoint(resumeKey, sourceRecord.getNativeKey(),
+                                offsetManagerEntry.getManagerKey().getPartitionMap(),
+                                offsetManagerEntry.getProperties()));
+                nextCheckpoint = System.nanoTime() + checkpointInterval;
+            } else {
+                checkpoint.returned(sourceRecord.getNativeKey());
+            }
+        }
+        return sourceRecord;
+    }
+
+    /**
+     * Records that a storage item has been completely processed.
+     *
+     * @param nativeKey
+     *            the native key of the storage item.
+     */
+    private void completed(final K nativeKey) {
+        // update the buffer to contain this new objectKey
+        ringBuffer.add(nativeKey);
+        // Remove the last seen from the offsetmanager as the file has been completely processed.
+        offsetManager.removeEntry(getOffsetManagerKey(nativeKey));
+        if (watermarks != null) {
+            watermarks.completed(nativeKey);
+        }
+        inProgress.remove(nativeKey);
+        completionListener.accept(nativeKey);
+    }
+
+    /**
+     * Sets the listener that is notified with the native key of a storage item once all of its records have been
+     * returned by {@link #next()}. The listener is called on the thread calling {@link #hasNext()}.
+     *
+     * @param completionListener
+     *            the listener to notify.
+     */
+    public void setCompletionListener(final Consumer<K> completionListener) {
+        this.completionListener = Objects.requireNonNull(completionListener, "completionListener");
+    }
+
+    /**
+     * Implements {@link #hasNext()} when storage items are processed concurrently. Storage items are only listed again
+     * once all items in flight have completed so that none are listed twice. While items are in flight this waits up to
+     * {@link #LANE_POLL_TIMEOUT} for their records, so a slow item does not block the caller, which can tell that the
+     * listing was not empty from {@link #isBusy()}.
+     *
+     * @return {@code true} if a record is available.
+     */
+    private boolean lanesHaveNext() {
+        boolean listed = false;
+        while (laneRecord == null) {
+            if (closed) {
+                return false;
+            }
+            if (!inner.hasNext() && lanes.isIdle()) {
+                if (listed) {
+                    return false;
+                }
+                inner = listItems();
+                listed = true;
+            }
+            while (!lanes.isFull() && inner.hasNext()) {
+                final T sourceRecord = inner.next();
+                started(sourceRecord);
+                lanes.submit(Arrays.asList(sourceRecord.getTopic(), sourceRecord.getPartition()),
+                        sourceRecord.getNativeKey(), () -> convert(sourceRecord));
+            }
+            if (!lanes.isIdle()) {
+                final ObjectLanes.Event<K, T> event;
+                try {
+                    event = lanes.poll(LANE_POLL_TIMEOUT);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                if (event == null) {
+                    return false;
+                }
+                if (event.getError() != null) {
+                    throw event.getError();
+                }
+                if (event.getToken() == null) {
+                    laneRecord = event.getRecord();
+                } else {
+                    completed(event.getToken());
+                }
+            }
+        }
+        return true;
     }
 
     @Override
@@ -225,13 +594,56 @@ public abstract class AbstractSourceRecordIterator<K extends Comparable<K>, N, O
         sourceRecord
                 .setKeyData(transformer.getKeyData(sourceRecord.getNativeKey(), sourceRecord.getTopic(), sourceConfig));
 
-        lastSeenNativeKey = sourceRecord.getNativeKey();
-
+        final CompressionType compressionType = getCompressionType(sourceRecord.getNativeKey());
+        if (compressionType == CompressionType.NONE) {
+            return transformer
+                    .getRecords(getInputStream(sourceRecord), sourceRecord.getNativeItemSize(),
+                            sourceRecord.getContext(), sourceConfig, sourceRecord.getRecordCount())
+                    .map(new Mapper<N, K, O, T>(sourceRecord));
+        }
+        // the size of the decompressed data is not known.
         return transformer
-                .getRecords(getInputStream(sourceRecord), sourceRecord.getNativeItemSize(), sourceRecord.getContext(),
-                        sourceConfig, sourceRecord.getRecordCount())
+                .getRecords(decompress(getInputStream(sourceRecord), compressionType),
+                        Transformer.UNKNOWN_STREAM_LENGTH, sourceRecord.getContext(), sourceConfig,
+                        sourceRecord.getRecordCount())
                 .map(new Mapper<N, K, O, T>(sourceRecord));
+    }
 
+    /**
+     * Gets the compression of a storage item. The configured compression type is used if there is one, otherwise the
+     * compression is detected from the extension of the key.
+     *
+     * @param nativeKey
+     *            the key of the storage item.
+     * @return the compression of the storage item.
+     */
+    private CompressionType getCompressionType(final K nativeKey) {
+        if (sourceConfig.hasCompressionType()) {
+            return sourceConfig.getCompressionType();
+        }
+        return CompressionType.forFileName(String.valueOf(nativeKey));
+    }
+
+    /**
+     * Wraps an input stream supplier so that the streams it supplies are decompressed.
+     *
+     * @param inputStreamIOSupplier
+     *            the supplier of compressed streams.
+     * @param compressionType
+     *            the compression of the streams.
+     * @return the supplier of decompressed streams.
+     */
+    private static IOSupplier<InputStream> decompress(final IOSupplier<InputStream> inputStreamIOSupplier,
+            final CompressionType compressionType) {
+        return () -> {
+            final InputStream compressed = inputStreamIOSupplier.get();
+            try {
+                return compressionType.decompress(compressed);
+            } catch (IOException e) {
+                compressed.close();
+                throw e;
+            }
+        };
     }
 
     /**
@@ -293,10 +705,94 @@ public abstract class AbstractSourceRecordIterator<K extends Comparable<K>, N, O
 
         @Override
         public boolean test(final Optional<T> sourceRecord) {
+            if (keyRangeAssigned) {
+                // only the key range assigned to this task is listed, the distribution type is object_hash.
+                return sourceRecord.isPresent();
+            }
             return sourceRecord.filter(t -> taskId == distributionStrategy.getTaskFor(t.getContext())).isPresent();
         }
     }
 
+    /**
+     * Reads ahead a batch of matched storage items and reads their stored offsets from Kafka in one request, rather
+     * than one request per storage item, before returning them.
+     */
+    class OffsetPrefetch implements Iterator<T> {
+        /** The matched storage items */
+        private final Iterator<T> matched;
+        /** The storage items with their stored offsets */
+        private final Queue<T> batch = new ArrayDeque<>();
+
+        /**
+         * Constructor.
+         *
+         * @param matched
+         *            the matched storage items with new offset manager entries.
+         */
+        OffsetPrefetch(final Iterator<T> matched) {
+            this.matched = matched;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (batch.isEmpty()) {
+                fill();
+            }
+            return !batch.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.poll();
+        }
+
+        private void fill() {
+            final List<T> sourceRecords = new ArrayList<>();
+            final List<OffsetManager.OffsetManagerKey> keys = new ArrayList<>();
+            while (sourceRecords.size() < OFFSET_BATCH_SIZE && matched.hasNext()) {
+                final T sourceRecord = matched.next();
+                sourceRecords.add(sourceRecord);
+                keys.add(sourceRecord.getOffsetManagerEntry().getManagerKey());
+            }
+            if (sourceRecords.isEmpty()) {
+                return;
+            }
+            offsetManager.populateOffsetManager(keys);
+            for (final T sourceRecord : sourceRecords) {
+                final O offsetManagerEntry = sourceRecord.getOffsetManagerEntry();
+                sourceRecord.setOffsetManagerEntry(checkpointed(offsetManager
+                        .getEntry(offsetManagerEntry.getManagerKey(), offsetManagerEntry::fromProperties)
+                        .orElse(offsetManagerEntry)));
+                batch.add(sourceRecord);
+            }
+        }
+
+        /**
+         * Gets the offset manager entry with the most records from the stored offset of a storage item and the offset
+         * written for it with the listing checkpoint.
+         *
+         * @param offsetManagerEntry
+         *            the entry from the stored offset of the storage item.
+         * @return the entry with the most records.
+         */
+        private O checkpointed(final O offsetManagerEntry) {
+            if (checkpoint != null) {
+                final Map<String, Object> offset = checkpoint
+                        .getRestoredOffset(offsetManagerEntry.getManagerKey().getPartitionMap());
+                if (offset != null) {
+                    final O restored = offsetManagerEntry.fromProperties(offset);
+                    if (restored.getRecordCount() > offsetManagerEntry.getRecordCount()) {
+                        return restored;
+                    }
+                }
+            }
+            return offsetManagerEntry;
+        }
+    }
+
     /**
      * Attempts to match the name of the native item and extract the Context from it.
      */
@@ -325,11 +821,8 @@ public abstract class AbstractSourceRecordIterator<K extends Comparable<K>, N, O
                 final Context<K> context = optionalContext.get();
                 overrideContextTopic(context);
                 sourceRecord.setContext(context);
-                O offsetManagerEntry = createOffsetManagerEntry(nativeItem);
-                offsetManagerEntry = offsetManager
-                        .getEntry(offsetManagerEntry.getManagerKey(), offsetManagerEntry::fromProperties)
-                        .orElse(offsetManagerEntry);
-                sourceRecord.setOffsetManagerEntry(offsetManagerEntry);
+                // the stored offsets are read for a batch of items by OffsetPrefetch.
+                sourceRecord.setOffsetManagerEntry(createOffsetManagerEntry(nativeItem));
                 return Optional.of(sourceRecord);
             }
             return Optional.empty();
@@ -16,14 +16,16 @@
 
 package io.aiven.kafka.connect.common.source;
 
+import java.io.File;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 
 import org.apache.kafka.connect.errors.ConnectException;
 import org.apache.kafka.connect.source.SourceRecord;
@@ -36,17 +38,29 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * This class handles extracting records from an iterator and returning them to Kafka. It uses an exponential backoff
- * with jitter to reduce the number of calls to the backend when there is no data. This solution:
+ * This class handles extracting records from an iterator and returning them to Kafka. When the iterator has no data the
+ * polling thread waits before reading from the backend again, doubling the wait up to {@code idle.interval.max.ms} to
+ * reduce the number of calls to the backend. This solution:
  * <ul>
  * <li>When polled this implementation moves available records from the SourceRecord iterator to the return array.</li>
  * <li>if there are no records
  * <ul>
  * <li>{@link #poll()} will return null.</li>
- * <li>The poll will delay no more than approx 5 seconds.</li>
+ * <li>The polling thread waits no more than {@code idle.interval.max.ms} before reading from the backend again.</li>
  * </ul>
  * </li>
  * <li>Upto {@link #maxPollRecords} will be sent in a single poll request</li>
+ * <li>Records are handed from the polling thread to {@link #poll()} in batches of up to
+ * {@code maxPollRecords / BATCHES_PER_POLL} records, so the threads synchronise once per batch rather than once per
+ * record. A batch is handed off before it is full once its first record has waited {@link #BATCH_LINGER_NANOS}.</li>
+ * <li>The estimated bytes of each poll are limited by {@link #maxPollBytes}, and the polling thread waits while the
+ * queued records are estimated to exceed twice that. The estimates are published through
+ * {@link SourceTaskMetricsMBean}.</li>
+ * <li>The records and estimated bytes per second are limited by token buckets on the polling thread. The limits are
+ * initialised from the configuration and may be changed while the task runs through
+ * {@link SourceTaskMetricsMBean}.</li>
+ * <li>The idle wait ends as soon as {@link #wakeUp()} is called, the wake up file changes or the task stops. The
+ * current wait is published through {@link SourceTaskMetricsMBean}.</li>
  * <li>When the connector is stopped any collected records are returned to kafka before stopping.</li>
  * </ul>
  *
@@ -61,6 +75,27 @@ public abstract class AbstractSourceTask extends SourceTask {
      * shutdown.
      */
     public static final Duration MAX_POLL_TIME = Duration.ofSeconds(5);
+
+    /**
+     * The number of batches that make up a full poll. The handoff ring holds twice this many batches.
+     */
+    private static final int BATCHES_PER_POLL = 4;
+
+    /**
+     * The longest time the first record of a batch waits for the batch to fill before the batch is handed off. Checked
+     * before each read from the iterator, so a read that blocks delays the hand off by up to its own duration.
+     */
+    static final long BATCH_LINGER_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * The time the polling thread parks while waiting for space in the handoff ring.
+     */
+    private static final long HANDOFF_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /**
+     * The longest time the polling thread parks at once while throttled, so that it notices when the task stops.
+     */
+    private static final long THROTTLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
     /**
      * The boolean that indicates the connector is stopped.
      */
@@ -77,9 +112,36 @@ public abstract class AbstractSourceTask extends SourceTask {
     private int maxPollRecords;
 
     /**
-     * The transfer queue from concrete implementation to Kafka
+     * The maximum estimated bytes of the records in a poll. Specified in the configuration.
+     */
+    private long maxPollBytes;
+
+    /**
+     * The maximum number of records in a batch.
+     */
+    private int batchSize;
+
+    /**
+     * The estimated bytes at which a batch is handed off.
+     */
+    private long batchBytes;
+
+    /**
+     * The transfer ring of record batches from concrete implementation to Kafka
+     */
+    private BatchRing<RecordBatch> queue;
+
+    /**
+     * The metrics for this task.
+     */
+    private final SourceTaskMetrics metrics = new SourceTaskMetrics();
+
+    /**
+     * Limits the records and bytes per second, reading the limits from the metrics so that they may be changed through
+     * JMX.
      */
-    private LinkedBlockingQueue<SourceRecord> queue;
+    private final ThroughputLimiter throughputLimiter = new ThroughputLimiter(metrics::getMaxRecordsPerSecond,
+            metrics::getMaxBytesPerSecond);
 
     /**
      * The thread that is running the polling of the implementation.
@@ -87,9 +149,9 @@ public abstract class AbstractSourceTask extends SourceTask {
     private final Thread implemtationPollingThread;
 
     /**
-     * The Backoff implementation that executes the delay in the poll loop.
+     * Schedules the reads from the backend while there is no data. Set by {@link #start(Map)}.
      */
-    private final Backoff backoff;
+    private volatile IdleScheduler idleScheduler;
 
     private final BackoffConfig backoffConfig;
 
@@ -122,15 +184,16 @@ public abstract class AbstractSourceTask extends SourceTask {
                 return false;
             }
         };
-        backoff = new Backoff(backoffConfig);
         implemtationPollingThread = new Thread(new Runnable() {
             @Override
             public void run() {
                 try {
                     while (stillPolling()) {
-                        if (!tryAdd()) {
-                            logger.debug("Attempting {}", backoff);
-                            backoff.cleanDelay();
+                        if (tryAdd()) {
+                            idleScheduler.reset();
+                        } else if (!isBusy()) {
+                            idleScheduler.idle();
+                            logger.debug("Idle for {} milliseconds", idleScheduler.getInterval());
                         }
                     }
                 } catch (InterruptedException e) {
@@ -159,6 +222,17 @@ public abstract class AbstractSourceTask extends SourceTask {
      */
     abstract protected Iterator<SourceRecord> getIterator(BackoffConfig config);
 
+    /**
+     * Returns {@code true} if the iterator is still processing storage items although it had no record available. The
+     * polling thread does not idle while the iterator is busy, as {@code hasNext()} only returns {@code false} after
+     * waiting for the items in progress.
+     *
+     * @return {@code true} if the iterator is still processing storage items.
+     */
+    protected boolean isBusy() {
+        return false;
+    }
+
     /**
      * Called by {@link #start} to allows the concrete implementation to configure itself based on properties.
      *
@@ -172,32 +246,145 @@ public abstract class AbstractSourceTask extends SourceTask {
         logger.debug("Starting");
         final SourceCommonConfig config = configure(props);
         maxPollRecords = config.getMaxPollRecords();
-        queue = new LinkedBlockingQueue<>(maxPollRecords * 2);
+        maxPollBytes = config.getMaxPollBytes();
+        batchSize = Math.max(1, maxPollRecords / BATCHES_PER_POLL);
+        batchBytes = Math.max(1, maxPollBytes / BATCHES_PER_POLL);
+        queue = new BatchRing<>(BATCHES_PER_POLL * 2);
+        metrics.setMaxRecordsPerSecond(config.getMaxRecordsPerSecond());
+        metrics.setMaxBytesPerSecond(config.getMaxBytesPerSecond());
+        final String wakeUpFile = config.getIdleWakeUpFile();
+        idleScheduler = new IdleScheduler(config.getIdleIntervalMax(), wakeUpFile == null ? null : new File(wakeUpFile),
+                metrics);
+        metrics.register(props.get("name"), props.get(SourceCommonConfig.TASK_ID));
         sourceRecordIterator = getIterator(backoffConfig);
         implemtationPollingThread.start();
     }
 
     /**
-     * Try to add a SourceRecord to the results.
+     * Try to add a batch of SourceRecords to the results. The batch is handed off when it reaches the batch record
+     * count or estimated bytes, when its first record has waited {@link #BATCH_LINGER_NANOS} or when the iterator has
+     * no more records. When a record has to wait for the throughput
+     * limits the records already read are handed off first, so that {@link #poll()} does not wait for a full batch
+     * while the task is throttled.
      *
      * @return true if successful, false if the iterator is empty.
      */
     private boolean tryAdd() throws InterruptedException {
-        if (queue.remainingCapacity() > 0) {
-            if (sourceRecordIterator.hasNext()) {
-                backoff.reset();
-                final SourceRecord sourceRecord = sourceRecordIterator.next();
-                if (logger.isDebugEnabled()) {
-                    logger.debug("tryAdd() : read record {}", sourceRecord.sourceOffset());
+        RecordBatch batch = new RecordBatch(batchSize);
+        while (!isReady(batch) && sourceRecordIterator.hasNext()) {
+            final SourceRecord sourceRecord = sourceRecordIterator.next();
+            if (logger.isDebugEnabled()) {
+                logger.debug("tryAdd() : read record {}", sourceRecord.sourceOffset());
+            }
+            final long bytes = RecordSizeEstimator.estimate(sourceRecord);
+            final long wait = throughputLimiter.reserve(1, bytes);
+            if (wait > 0) {
+                if (batch.size() > 0) {
+                    handOff(batch);
+                    batch = new RecordBatch(batchSize);
                 }
-                queue.put(sourceRecord);
-                return true;
+                throttle(wait);
             }
+            batch.add(sourceRecord, bytes);
+        }
+        if (batch.size() == 0) {
             logger.info("No records found in tryAdd call");
-        } else {
-            logger.info("No space in queue");
+            return false;
         }
-        return false;
+        handOff(batch);
+        return true;
+    }
+
+    /**
+     * Determines if a batch should be handed off without reading more records.
+     *
+     * @param batch
+     *            the batch being filled.
+     * @return {@code true} if the batch is full or its first record has waited long enough.
+     */
+    private boolean isReady(final RecordBatch batch) {
+        return batch.size() >= batchSize || batch.bytes >= batchBytes
+                || (batch.size() > 0 && System.nanoTime() - batch.firstRecordTime >= BATCH_LINGER_NANOS);
+    }
+
+    /**
+     * Waits until a record may be emitted within the throughput limits. Returns early if the connector stops.
+     *
+     * @param wait
+     *            the nanoseconds to wait as reserved from the throughput limiter.
+     * @throws InterruptedException
+     *             if the polling thread is interrupted while waiting.
+     */
+    private void throttle(final long wait) throws InterruptedException {
+        final long start = System.nanoTime();
+        final long deadline = start + wait;
+        long remaining = wait;
+        while (remaining > 0 && !connectorStopped.get()) {
+            LockSupport.parkNanos(Math.min(remaining, THROTTLE_PARK_NANOS));
+            if (Thread.interrupted()) {
+                throw new InterruptedException("Interrupted while throttled");
+            }
+            remaining = deadline - System.nanoTime();
+        }
+        metrics.throttled(System.nanoTime() - start);
+    }
+
+    /**
+     * Hands a batch to {@link #poll()}, waiting for space in the ring and for the queued bytes to allow it. A batch is
+     * always accepted when nothing is queued so that records larger than the budget still pass. The batch is counted
+     * as queued before it is offered so that {@link #poll()} never subtracts it first, and is dropped and uncounted if
+     * the connector stops while waiting.
+     *
+     * @param batch
+     *            the batch to hand off.
+     * @throws InterruptedException
+     *             if the polling thread is interrupted while waiting.
+     */
+    private void handOff(final RecordBatch batch) throws InterruptedException {
+        while (!hasRoomFor(batch)) {
+            if (connectorStopped.get()) {
+                return;
+            }
+            parkForHandOff();
+        }
+        metrics.queued(batch.size(), batch.bytes);
+        while (!queue.offer(batch)) {
+            if (connectorStopped.get()) {
+                metrics.queued(-batch.size(), -batch.bytes);
+                return;
+            }
+            try {
+                parkForHandOff();
+            } catch (InterruptedException e) {
+                metrics.queued(-batch.size(), -batch.bytes);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Parks the polling thread while waiting to hand off a batch.
+     *
+     * @throws InterruptedException
+     *             if the polling thread is interrupted while waiting.
+     */
+    private void parkForHandOff() throws InterruptedException {
+        LockSupport.parkNanos(HANDOFF_PARK_NANOS);
+        if (Thread.interrupted()) {
+            throw new InterruptedException("Interrupted while waiting for space in the queue");
+        }
+    }
+
+    /**
+     * Determines if the queued bytes allow a batch to be added.
+     *
+     * @param batch
+     *            the batch to add.
+     * @return {@code true} if the batch may be added.
+     */
+    private boolean hasRoomFor(final RecordBatch batch) {
+        final long queuedBytes = metrics.getQueuedBytes();
+        return queuedBytes == 0 || queuedBytes + batch.bytes <= maxPollBytes * 2;
     }
 
     /**
@@ -215,8 +402,7 @@ public abstract class AbstractSourceTask extends SourceTask {
     public final List<SourceRecord> poll() {
         logger.debug("Polling");
         if (stillPolling()) {
-            List<SourceRecord> results = new ArrayList<>(maxPollRecords);
-            results = 0 == queue.drainTo(results, maxPollRecords) ? NULL_RESULT : results;
+            final List<SourceRecord> results = drainBatches();
             if (logger.isDebugEnabled()) {
                 logger.debug("Poll() returning {} SourceRecords.", results == null ? null : results.size());
             }
@@ -226,15 +412,52 @@ public abstract class AbstractSourceTask extends SourceTask {
             return results;
         } else {
             logger.info("Stopping");
+            metrics.unregister();
             closeResources();
             return NULL_RESULT;
         }
     }
 
+    /**
+     * Takes whole batches from the ring until the next batch would exceed {@link #maxPollRecords} or
+     * {@link #maxPollBytes}. The first batch is always taken.
+     *
+     * @return the records from the batches or {@code null} if there were none.
+     */
+    private List<SourceRecord> drainBatches() {
+        RecordBatch batch = queue.peek();
+        if (batch == null) {
+            return NULL_RESULT;
+        }
+        final List<SourceRecord> results = new ArrayList<>(maxPollRecords);
+        long bytes = 0;
+        while (batch != null && (results.isEmpty() || (results.size() + batch.size() <= maxPollRecords
+                && bytes + batch.bytes <= maxPollBytes))) {
+            queue.poll();
+            results.addAll(batch.records);
+            bytes += batch.bytes;
+            batch = queue.peek();
+        }
+        metrics.polled(results.size(), bytes);
+        return results;
+    }
+
     @Override
     public final void stop() {
         logger.debug("Stopping");
         connectorStopped.set(true);
+        wakeUp();
+    }
+
+    /**
+     * Wakes the polling thread if it is waiting because the backend had no data, so that the backend is read again
+     * immediately. May be called from any thread, e.g. by a listener for object created notifications.
+     */
+    public final void wakeUp() {
+        final IdleScheduler scheduler = idleScheduler;
+        if (scheduler != null) {
+            scheduler.wakeUp();
+        }
     }
 
     /**
@@ -246,6 +469,43 @@ public abstract class AbstractSourceTask extends SourceTask {
         return !connectorStopped.get();
     }
 
+    /**
+     * Gets the metrics of this task. For visibility in tests.
+     *
+     * @return the metrics of this task.
+     */
+    final SourceTaskMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * A batch of records and their estimated bytes.
+     */
+    private static final class RecordBatch {
+        /** The records */
+        private final List<SourceRecord> records;
+        /** The estimated bytes of the records */
+        private long bytes;
+        /** The {@link System#nanoTime()} when the first record was added */
+        private long firstRecordTime;
+
+        RecordBatch(final int capacity) {
+            records = new ArrayList<>(capacity);
+        }
+
+        void add(final SourceRecord sourceRecord, final long recordBytes) {
+            if (records.isEmpty()) {
+                firstRecordTime = System.nanoTime();
+            }
+            bytes += recordBytes;
+            records.add(sourceRecord);
+        }
+
+        int size() {
+            return records.size();
+        }
+    }
+
     /**
      * Close any resources the source has open. Called by the IteratorRunnable when it is stopping.
      */
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.kafka.connect.source.SourceRecord;
+
+/**
+ * Tracks the records of storage items until Kafka has acknowledged them.
+ * <p>
+ * The task reports each record it returns with {@link #returned(SourceRecord, Object)}, the iterator reports when it
+ * has returned all records of a storage item with {@link #completed(Object)} and Kafka reports each record it has
+ * written with {@link #acknowledged(SourceRecord)}. A storage item is acknowledged once it is complete and none of its
+ * records are outstanding. Kafka acknowledges the record instances that the task returned, so records are matched by
+ * identity. Acknowledgements arrive on a Kafka producer thread, so all methods are synchronized.
+ * </p>
+ *
+ * @param <K>
+ *            the type of the storage item keys.
+ */
+public final class AcknowledgementTracker<K> {
+    /** The storage item key of each record that has not been acknowledged */
+    private final Map<SourceRecord, K> outstanding = new IdentityHashMap<>();
+    /** The number of outstanding records of each storage item */
+    private final Map<K, Integer> counts = new HashMap<>();
+    /** The storage items whose records have all been returned */
+    private final Set<K> complete = new HashSet<>();
+    /** The storage items that are complete and whose records have all been acknowledged */
+    private final List<K> acknowledged = new ArrayList<>();
+
+    /**
+     * Records that the task returned a record of a storage item.
+     *
+     * @param record
+     *            the record.
+     * @param key
+     *            the key of the storage item.
+     */
+    public synchronized void returned(final SourceRecord record, final K key) {
+        outstanding.put(record, key);
+        counts.merge(key, 1, Integer::sum);
+    }
+
+    /**
+     * Records that all records of a storage item have been returned.
+     *
+     * @param key
+     *            the key of the storage item.
+     */
+    public synchronized void completed(final K key) {
+        if (counts.containsKey(key)) {
+            complete.add(key);
+        } else {
+            acknowledged.add(key);
+        }
+    }
+
+    /**
+     * Records that Kafka acknowledged a record. Records that were not reported as returned are ignored.
+     *
+     * @param record
+     *            the record.
+     */
+    public synchronized void acknowledged(final SourceRecord record) {
+        final K key = outstanding.remove(record);
+        if (key != null && counts.merge(key, -1, Integer::sum) == 0) {
+            counts.remove(key);
+            if (complete.remove(key)) {
+                acknowledged.add(key);
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the storage items that are complete and whose records have all been acknowledged.
+     *
+     * @return the acknowledged storage items in the order they were acknowledged.
+     */
+    public synchronized List<K> drain() {
+        final List<K> result = new ArrayList<>(acknowledged);
+        acknowledged.clear();
+        return result;
+    }
+
+    /**
+     * Gets the number of records that have not been acknowledged.
+     *
+     * @return the number of records that have not been acknowledged.
+     */
+    public synchronized int outstanding() {
+        return outstanding.size();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded lock free ring of batches for exactly one producer thread and one consumer thread.
+ * <p>
+ * The producer calls {@link #offer(Object)} and the consumer calls {@link #peek()} and {@link #poll()}. Neither side
+ * blocks; the producer decides how to wait when the ring is full. Handing off whole batches means the cost of
+ * synchronising the two threads is paid once per batch rather than once per record.
+ * </p>
+ *
+ * @param <B>
+ *            the type of the batches.
+ */
+final class BatchRing<B> {
+    /** The slots holding the batches */
+    private final AtomicReferenceArray<B> slots;
+    /** The mask to convert a sequence number to a slot index */
+    private final int mask;
+    /** The sequence number of the next batch to read. Only written by the consumer */
+    private final AtomicLong head = new AtomicLong();
+    /** The sequence number of the next batch to write. Only written by the producer */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param capacity
+     *            the minimum number of batches the ring can hold. Rounded up to a power of 2.
+     */
+    BatchRing(final int capacity) {
+        final int size = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Gets the number of batches the ring can hold.
+     *
+     * @return the number of batches the ring can hold.
+     */
+    int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Gets the number of batches in the ring.
+     *
+     * @return the number of batches in the ring.
+     */
+    int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    /**
+     * Adds a batch to the ring. Must only be called by the producer.
+     *
+     * @param batch
+     *            the batch to add.
+     * @return {@code true} if the batch was added, {@code false} if the ring is full.
+     */
+    boolean offer(final B batch) {
+        final long sequence = tail.get();
+        if (sequence - head.get() >= slots.length()) {
+            return false;
+        }
+        slots.lazySet((int) sequence & mask, batch);
+        tail.lazySet(sequence + 1);
+        return true;
+    }
+
+    /**
+     * Gets the oldest batch without removing it. Must only be called by the consumer.
+     *
+     * @return the oldest batch or {@code null} if the ring is empty.
+     */
+    B peek() {
+        final long sequence = head.get();
+        return sequence == tail.get() ? null : slots.get((int) sequence & mask);
+    }
+
+    /**
+     * Removes the oldest batch. Must only be called by the consumer.
+     *
+     * @return the oldest batch or {@code null} if the ring is empty.
+     */
+    B poll() {
+        final long sequence = head.get();
+        if (sequence == tail.get()) {
+            return null;
+        }
+        final int index = (int) sequence & mask;
+        final B batch = slots.get(index);
+        slots.lazySet(index, null);
+        head.lazySet(sequence + 1);
+        return batch;
+    }
+}
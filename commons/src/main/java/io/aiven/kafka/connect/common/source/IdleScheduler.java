@@ -0,0 +1,142 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules the listings of an idle source task.
+ * <p>
+ * Each listing that finds no records doubles the time the polling thread waits before listing again, from
+ * {@link #INITIAL_INTERVAL_MS} up to a configured ceiling. The interval is reset as soon as a listing finds records.
+ * The wait ends early when {@link #wakeUp()} is called, e.g. by a listener for object created notifications or when
+ * the task stops, or when the wake up file is modified. The wake up file is checked once per
+ * {@link #WAKE_UP_FILE_CHECK_MS} while waiting.
+ * </p>
+ */
+final class IdleScheduler {
+    /** The interval after the first listing that finds no records */
+    static final long INITIAL_INTERVAL_MS = 100;
+    /** The interval between checks of the wake up file */
+    static final long WAKE_UP_FILE_CHECK_MS = 1000;
+
+    /** The maximum interval */
+    private final long maxInterval;
+    /** The file whose modification wakes the task, {@code null} if there is none */
+    private final File wakeUpFile;
+    /** The metrics the interval is reported to */
+    private final SourceTaskMetrics metrics;
+    /** The last modified time of the wake up file when it was last checked, 0 if it did not exist */
+    private long wakeUpFileModified;
+    /** The current interval, 0 while the listings find records */
+    private long interval;
+    /** {@code true} if {@link #wakeUp()} was called since the last wait ended */
+    private boolean wokenUp;
+
+    /**
+     * Constructor.
+     *
+     * @param maxInterval
+     *            the maximum interval in milliseconds.
+     * @param wakeUpFile
+     *            the file whose modification wakes the task, {@code null} if there is none.
+     * @param metrics
+     *            the metrics the interval is reported to.
+     */
+    IdleScheduler(final long maxInterval, final File wakeUpFile, final SourceTaskMetrics metrics) {
+        this.maxInterval = Math.max(1, maxInterval);
+        this.wakeUpFile = wakeUpFile;
+        this.metrics = metrics;
+        this.wakeUpFileModified = wakeUpFile == null ? 0 : wakeUpFile.lastModified();
+    }
+
+    /**
+     * Gets the current interval.
+     *
+     * @return the current interval in milliseconds, 0 while the listings find records.
+     */
+    synchronized long getInterval() {
+        return interval;
+    }
+
+    /**
+     * Records that a listing found records so that the next idle wait starts at the initial interval.
+     */
+    synchronized void reset() {
+        if (interval != 0) {
+            setInterval(0);
+        }
+    }
+
+    /**
+     * Records that a listing found no records and waits for the next interval, a wake up or a change to the wake up
+     * file.
+     *
+     * @throws InterruptedException
+     *             if the thread is interrupted while waiting.
+     */
+    synchronized void idle() throws InterruptedException {
+        setInterval(interval == 0 ? Math.min(INITIAL_INTERVAL_MS, maxInterval) : Math.min(interval * 2, maxInterval));
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(interval);
+        long remaining = deadline - System.nanoTime();
+        while (!wokenUp && remaining > 0) {
+            if (wakeUpFileChanged()) {
+                wokenUp = true;
+            } else {
+                TimeUnit.NANOSECONDS.timedWait(this,
+                        Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(WAKE_UP_FILE_CHECK_MS)));
+                remaining = deadline - System.nanoTime();
+            }
+        }
+        if (wokenUp) {
+            wokenUp = false;
+            setInterval(0);
+        }
+    }
+
+    /**
+     * Ends the current wait, or the next one if the thread is not waiting, and resets the interval. May be called from
+     * any thread.
+     */
+    synchronized void wakeUp() {
+        wokenUp = true;
+        notifyAll();
+    }
+
+    /**
+     * Checks whether the wake up file was modified since the last check.
+     *
+     * @return {@code true} if the wake up file was modified, created or deleted since the last check.
+     */
+    private boolean wakeUpFileChanged() {
+        if (wakeUpFile == null) {
+            return false;
+        }
+        final long modified = wakeUpFile.lastModified();
+        if (modified == wakeUpFileModified) {
+            return false;
+        }
+        wakeUpFileModified = modified;
+        return true;
+    }
+
+    private void setInterval(final long interval) {
+        this.interval = interval;
+        metrics.idleInterval(interval);
+    }
+}
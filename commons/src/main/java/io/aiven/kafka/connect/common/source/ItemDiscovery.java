@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import java.util.stream.Stream;
+
+/**
+ * Discovers the storage items that a source task processes. The default discovery lists the storage, alternatives
+ * find the storage items without listing it, for example by reading manifest files.
+ *
+ * @param <K>
+ *            the native key type.
+ * @param <N>
+ *            the native storage item type.
+ */
+@FunctionalInterface
+public interface ItemDiscovery<K extends Comparable<K>, N> {
+    /**
+     * Gets a stream of the storage items to process. Discoveries that list the storage return the items in key order
+     * starting after {@code offset}. Discoveries that do not list in key order ignore {@code offset} and return each
+     * storage item once.
+     *
+     * @param offset
+     *            the native key to start after. May be {@code null} to start at the beginning.
+     * @return A stream of native objects. May be empty but not {@code null}.
+     */
+    Stream<N> getNativeItemStream(K offset);
+}
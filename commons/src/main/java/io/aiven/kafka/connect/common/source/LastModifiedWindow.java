@@ -0,0 +1,119 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import io.aiven.kafka.connect.common.config.SourceCommonConfig;
+
+/**
+ * The window of last modified times of the storage items a source task processes.
+ * <p>
+ * The window is bounded by an absolute lower bound or a rolling look-back and an absolute upper bound. The look-back is
+ * measured from the time an item is checked, so items age out of the window while the task runs. Items whose last
+ * modified time is unknown are always within the window. The window is applied to the listed items before they are
+ * matched against the file name template so that items outside of it are never read or checked against the stored
+ * offsets.
+ * </p>
+ */
+public final class LastModifiedWindow {
+    /** The inclusive lower bound, {@code null} if there is no absolute lower bound */
+    private final Instant after;
+    /** The exclusive upper bound, {@code null} if there is no upper bound */
+    private final Instant before;
+    /** The maximum age of an item, zero if the age is not limited */
+    private final Duration lookback;
+    /** The clock the age of an item is measured with */
+    private final Clock clock;
+
+    /**
+     * Constructor.
+     *
+     * @param after
+     *            the inclusive lower bound, {@code null} if there is no absolute lower bound.
+     * @param before
+     *            the exclusive upper bound, {@code null} if there is no upper bound.
+     * @param lookback
+     *            the maximum age of an item, zero if the age is not limited.
+     * @param clock
+     *            the clock the age of an item is measured with.
+     */
+    LastModifiedWindow(final Instant after, final Instant before, final Duration lookback, final Clock clock) {
+        this.after = after;
+        this.before = before;
+        this.lookback = lookback;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates the window configured for a source.
+     *
+     * @param config
+     *            the source configuration.
+     * @return the configured window.
+     */
+    public static LastModifiedWindow from(final SourceCommonConfig config) {
+        return new LastModifiedWindow(config.getLastModifiedAfter(), config.getLastModifiedBefore(),
+                config.getLastModifiedLookback(), Clock.systemUTC());
+    }
+
+    /**
+     * Checks whether the window accepts every item.
+     *
+     * @return {@code true} if the window has no bounds.
+     */
+    public boolean isUnbounded() {
+        return after == null && before == null && lookback.isZero();
+    }
+
+    /**
+     * Checks whether a last modified time is within the window.
+     *
+     * @param lastModified
+     *            the last modified time of an item. May be {@code null} if unknown.
+     * @return {@code true} if the last modified time is within the window or unknown.
+     */
+    public boolean contains(final Instant lastModified) {
+        if (lastModified == null) {
+            return true;
+        }
+        if (after != null && lastModified.isBefore(after)) {
+            return false;
+        }
+        if (before != null && !lastModified.isBefore(before)) {
+            return false;
+        }
+        return lookback.isZero() || !lastModified.isBefore(clock.instant().minus(lookback));
+    }
+
+    /**
+     * Creates a predicate that accepts the items within the window.
+     *
+     * @param lastModified
+     *            the function extracting the last modified time of an item.
+     * @param <T>
+     *            the type of the items.
+     * @return a predicate accepting the items within the window.
+     */
+    public <T> Predicate<T> asPredicate(final Function<T, Instant> lastModified) {
+        return item -> contains(lastModified.apply(item));
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * A listing checkpoint that lets a task restart listing after the storage items it has already processed.
+ * <p>
+ * The checkpoint holds the resume key, the key that listing starts after when the task restarts. Connect stores
+ * offsets only with records, so the checkpoint is written by storing one record under the checkpoint partition
+ * instead of the partition of its storage item. The partition and offset of that storage item are written with the
+ * checkpoint and are kept in every later checkpoint until another record of the storage item has been returned or
+ * the resume key has passed it, so no offset is lost by moving the record.
+ * </p>
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ *
+ * @param <K>
+ *            the key type for the native object.
+ */
+final class ListingCheckpoint<K extends Comparable<K>> {
+    /** The partition map property that identifies the checkpoint partition */
+    static final String CHECKPOINT = "listingCheckpoint";
+    /** The offset property holding the resume key */
+    static final String RESUME_KEY = "resumeKey";
+    /** The offset property holding the number of storage items whose offsets are written with the checkpoint */
+    static final String OBJECT_COUNT = "objectCount";
+    /** The prefix of the offset properties holding the partition maps of the storage items */
+    static final String PARTITION_PREFIX = "partition.";
+    /** The prefix of the offset properties holding the offsets of the storage items */
+    static final String OFFSET_PREFIX = "offset.";
+
+    /** The partition map the checkpoint is stored under */
+    private final Map<String, Object> partitionMap;
+    /** The resume key read from Kafka, {@code null} if there was none */
+    private final K restoredResumeKey;
+    /** The offsets of storage items read from Kafka, keyed by partition map */
+    private final Map<Map<String, Object>, Map<String, Object>> restoredOffsets = new HashMap<>();
+    /** The partition maps and offsets of the storage items whose last returned record was moved to the checkpoint */
+    private final TreeMap<K, Map.Entry<Map<String, Object>, Map<String, Object>>> moved = new TreeMap<>();
+    /** The last resume key written */
+    private K resumeKey;
+
+    /**
+     * Constructor.
+     *
+     * @param partitionMap
+     *            the partition map the checkpoint is stored under.
+     * @param offset
+     *            the checkpoint read from Kafka. May be empty.
+     * @param keyParser
+     *            converts a stored key back into a native key.
+     */
+    ListingCheckpoint(final Map<String, Object> partitionMap, final Map<String, Object> offset,
+            final Function<String, K> keyParser) {
+        this.partitionMap = Map.copyOf(partitionMap);
+        final Object stored = offset.get(RESUME_KEY);
+        this.restoredResumeKey = stored == null ? null : keyParser.apply(stored.toString());
+        this.resumeKey = restoredResumeKey;
+        final Object objectCount = offset.get(OBJECT_COUNT);
+        final int count = objectCount instanceof Number ? ((Number) objectCount).intValue() : 0;
+        for (int i = 0; i < count; i++) {
+            restoredOffsets.put(extract(offset, PARTITION_PREFIX + i + "."), extract(offset, OFFSET_PREFIX + i + "."));
+        }
+    }
+
+    /**
+     * Gets the properties of a map that start with a prefix with the prefix removed.
+     *
+     * @param offset
+     *            the map to extract from.
+     * @param prefix
+     *            the prefix of the properties.
+     * @return the properties with the prefix removed.
+     */
+    private static Map<String, Object> extract(final Map<String, Object> offset, final String prefix) {
+        final Map<String, Object> result = new HashMap<>();
+        for (final Map.Entry<String, Object> entry : offset.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                result.put(entry.getKey().substring(prefix.length()), entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the partition map the checkpoint is stored under.
+     *
+     * @return the partition map the checkpoint is stored under.
+     */
+    Map<String, Object> getPartitionMap() {
+        return partitionMap;
+    }
+
+    /**
+     * Gets the resume key read from Kafka. Listing storage items may start after this key.
+     *
+     * @return the resume key read from Kafka or {@code null} if there was none.
+     */
+    K getRestoredResumeKey() {
+        return restoredResumeKey;
+    }
+
+    /**
+     * Gets the offset of a storage item that was written with the checkpoint read from Kafka.
+     *
+     * @param itemPartitionMap
+     *            the partition map of the storage item.
+     * @return the offset of the storage item or {@code null} if it was not written with the checkpoint.
+     */
+    Map<String, Object> getRestoredOffset(final Map<String, Object> itemPartitionMap) {
+        return restoredOffsets.get(itemPartitionMap);
+    }
+
+    /**
+     * Checks if a new resume key should be written.
+     *
+     * @param candidate
+     *            the key that listing could start after. May be {@code null}.
+     * @return {@code true} if the candidate differs from the last resume key written.
+     */
+    boolean isNewResumeKey(final K candidate) {
+        return candidate != null && (resumeKey == null || candidate.compareTo(resumeKey) > 0);
+    }
+
+    /**
+     * Records that a record of a storage item has been returned with its own offset.
+     *
+     * @param key
+     *            the key of the storage item.
+     */
+    void returned(final K key) {
+        if (!moved.isEmpty()) {
+            moved.remove(key);
+        }
+    }
+
+    /**
+     * Creates the checkpoint offset for a record that is stored under the checkpoint partition.
+     *
+     * @param newResumeKey
+     *            the key that listing starts after when the task restarts.
+     * @param key
+     *            the key of the storage item the record came from.
+     * @param itemPartitionMap
+     *            the partition map of the storage item.
+     * @param itemOffset
+     *            the offset of the storage item including the record.
+     * @return the offset to store with the record.
+     */
+    Map<String, Object> checkpoint(final K newResumeKey, final K key, final Map<String, Object> itemPartitionMap,
+            final Map<String, Object> itemOffset) {
+        resumeKey = newResumeKey;
+        moved.put(key, new AbstractMap.SimpleImmutableEntry<>(itemPartitionMap, itemOffset));
+        // storage items up to the resume key are not listed again.
+        moved.headMap(resumeKey, true).clear();
+        final Map<String, Object> offset = new HashMap<>();
+        offset.put(RESUME_KEY, resumeKey.toString());
+        offset.put(OBJECT_COUNT, (long) moved.size());
+        int index = 0;
+        for (final Map.Entry<Map<String, Object>, Map<String, Object>> entry : moved.values()) {
+            final String partitionPrefix = PARTITION_PREFIX + index + ".";
+            entry.getKey().forEach((name, value) -> offset.put(partitionPrefix + name, value));
+            final String offsetPrefix = OFFSET_PREFIX + index + ".";
+            entry.getValue().forEach((name, value) -> offset.put(offsetPrefix + name, value));
+            index++;
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Processes storage objects concurrently on a fixed number of lanes.
+ * <p>
+ * Each lane is a single thread that processes the objects submitted to it one at a time in submission order. Objects
+ * with equal lane keys are always processed on the same lane so their records are produced in submission order, while
+ * objects on different lanes interleave freely. The records of all lanes are passed to the single consumer through a
+ * bounded queue, so a lane blocks when the consumer falls behind.
+ * </p>
+ * <p>
+ * All methods other than the lane processing itself must be called from the consumer thread.
+ * </p>
+ *
+ * @param <C>
+ *            the type of the token reported when an object has been processed.
+ * @param <R>
+ *            the type of the records.
+ */
+final class ObjectLanes<C, R> {
+    /** The counter used to name the lane threads */
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+    /** The single threaded executors, one per lane */
+    private final ExecutorService[] lanes;
+    /** The events produced by the lanes */
+    private final BlockingQueue<Event<C, R>> events;
+    /** The maximum number of objects submitted but not completed */
+    private final int maxInFlight;
+    /** The number of objects submitted but not completed */
+    private int inFlight;
+
+    /**
+     * Constructor.
+     *
+     * @param name
+     *            the name used for the lane threads.
+     * @param laneCount
+     *            the number of lanes.
+     * @param maxInFlight
+     *            the maximum number of objects submitted but not completed.
+     * @param queueCapacity
+     *            the maximum number of records waiting for the consumer.
+     */
+    ObjectLanes(final String name, final int laneCount, final int maxInFlight, final int queueCapacity) {
+        this.lanes = new ExecutorService[Math.max(1, laneCount)];
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.events = new LinkedBlockingQueue<>(Math.max(1, queueCapacity));
+        final int poolId = POOL_COUNTER.incrementAndGet();
+        for (int i = 0; i < lanes.length; i++) {
+            final String threadName = String.format("%s-lane-%d-%d", name, poolId, i);
+            lanes[i] = Executors.newSingleThreadExecutor(runnable -> { // NOPMD AvoidInstantiatingObjectsInLoops
+                final Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Returns {@code true} if no more objects may be submitted until some have completed.
+     *
+     * @return {@code true} if no more objects may be submitted.
+     */
+    boolean isFull() {
+        return inFlight >= maxInFlight;
+    }
+
+    /**
+     * Returns {@code true} if there are no submitted objects that have not completed.
+     *
+     * @return {@code true} if there are no objects in flight.
+     */
+    boolean isIdle() {
+        return inFlight == 0;
+    }
+
+    /**
+     * Submits an object for processing.
+     *
+     * @param laneKey
+     *            the key that selects the lane. Objects with equal keys are processed in submission order.
+     * @param token
+     *            the token reported by the completion or failure event for the object.
+     * @param records
+     *            the supplier of the records of the object. Called on the lane thread.
+     */
+    void submit(final Object laneKey, final C token, final Supplier<Stream<R>> records) {
+        inFlight++;
+        lanes[Math.floorMod(Objects.hashCode(laneKey), lanes.length)].execute(() -> process(token, records));
+    }
+
+    /**
+     * Processes an object on the lane thread.
+     *
+     * @param token
+     *            the token for the object.
+     * @param records
+     *            the supplier of the records of the object.
+     */
+    private void process(final C token, final Supplier<Stream<R>> records) {
+        try {
+            try (Stream<R> stream = records.get()) {
+                final Iterator<R> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    events.put(new Event<>(null, iterator.next(), null));
+                }
+            } catch (RuntimeException e) { // NOPMD AvoidCatchingGenericException
+                events.put(new Event<>(token, null, e));
+                return;
+            }
+            events.put(new Event<>(token, null, null));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Retrieves the next event, waiting up to the timeout for one to become available.
+     *
+     * @param timeout
+     *            the maximum time to wait.
+     * @return the next event or {@code null} if none became available.
+     * @throws InterruptedException
+     *             if interrupted while waiting.
+     */
+    Event<C, R> poll(final Duration timeout) throws InterruptedException {
+        final Event<C, R> event = events.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        if (event != null && event.getToken() != null) {
+            inFlight--;
+        }
+        return event;
+    }
+
+    /**
+     * Stops the lanes. Objects that are being processed are interrupted.
+     */
+    void close() {
+        for (final ExecutorService lane : lanes) {
+            lane.shutdownNow();
+        }
+        events.clear();
+        inFlight = 0;
+    }
+
+    /**
+     * An event produced by a lane. Either a record, the completion of an object or the failure of an object.
+     *
+     * @param <C>
+     *            the type of the token.
+     * @param <R>
+     *            the type of the record.
+     */
+    static final class Event<C, R> {
+        /** The token of the completed or failed object, {@code null} for records */
+        private final C token;
+        /** The record, {@code null} for completion and failure events */
+        private final R record;
+        /** The failure, {@code null} unless the object failed */
+        private final RuntimeException error;
+
+        private Event(final C token, final R record, final RuntimeException error) {
+            this.token = token;
+            this.record = record;
+            this.error = error;
+        }
+
+        /**
+         * Gets the token of the completed or failed object.
+         *
+         * @return the token or {@code null} if this event is a record.
+         */
+        C getToken() {
+            return token;
+        }
+
+        /**
+         * Gets the record.
+         *
+         * @return the record or {@code null} if this event is a completion or failure.
+         */
+        R getRecord() {
+            return record;
+        }
+
+        /**
+         * Gets the error that caused the object to fail.
+         *
+         * @return the error or {@code null} if the object did not fail.
+         */
+        RuntimeException getError() {
+            return error;
+        }
+    }
+}
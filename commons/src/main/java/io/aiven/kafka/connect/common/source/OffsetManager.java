@@ -19,7 +19,9 @@ package io.aiven.kafka.connect.common.source;
 import static java.util.stream.Collectors.toList;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -37,7 +39,12 @@ public final class OffsetManager<E extends OffsetManager.OffsetManagerEntry<E>>
     private static final Logger LOGGER = LoggerFactory.getLogger(OffsetManager.class);
 
     /**
-     * The local manager data.
+     * The value stored in {@link #offsets} for keys that are known to have no offset data in Kafka.
+     */
+    private static final Map<String, Object> ABSENT = Collections.unmodifiableMap(new HashMap<>());
+
+    /**
+     * The local manager data. Keys that are known to have no offset data map to {@link #ABSENT}.
      */
     private final ConcurrentMap<Map<String, Object>, Map<String, Object>> offsets;
 
@@ -60,7 +67,7 @@ public final class OffsetManager<E extends OffsetManager.OffsetManagerEntry<E>>
     /**
      * Get an entry from the offset manager. This method will return the local copy if it has been created otherwise
      * will get the data from Kafka. If there is not a local copy and not one from Kafka then an empty Optional is
-     * returned
+     * returned and Kafka is not asked for the entry again until it is removed.
      *
      * @param key
      *            the key for the entry.
@@ -69,18 +76,36 @@ public final class OffsetManager<E extends OffsetManager.OffsetManagerEntry<E>>
      * @return the entry.
      */
     public Optional<E> getEntry(final OffsetManagerKey key, final Function<Map<String, Object>, E> creator) {
-        LOGGER.debug("getEntry: {}", key.getPartitionMap());
-        final Map<String, Object> data = offsets.compute(key.getPartitionMap(), (k, v) -> {
-            if (v == null) {
-                final Map<String, Object> kafkaData = context.offsetStorageReader().offset(key.getPartitionMap());
-                LOGGER.debug("Context stored offset map {}", kafkaData);
-                return kafkaData == null || kafkaData.isEmpty() ? null : kafkaData;
-            } else {
-                LOGGER.debug("Previously stored offset map {}", v);
-                return v;
-            }
-        });
-        return data == null ? Optional.empty() : Optional.of(creator.apply(data));
+        return getOffset(key).map(creator);
+    }
+
+    /**
+     * Gets the offset data for a key. This method will return the local copy if it has been created otherwise will get
+     * the data from Kafka. If there is not a local copy and not one from Kafka then an empty Optional is returned and
+     * Kafka is not asked for the data again until it is removed.
+     *
+     * @param key
+     *            the key for the offset data.
+     * @return the offset data.
+     */
+    public Optional<Map<String, Object>> getOffset(final OffsetManagerKey key) {
+        final Map<String, Object> partitionMap = key.getPartitionMap();
+        LOGGER.debug("getOffset: {}", partitionMap);
+        Map<String, Object> data = offsets.get(partitionMap);
+        if (data == null) {
+            // read outside of the map so that a slow offset store does not block other keys.
+            final Map<String, Object> kafkaData = context.offsetStorageReader().offset(partitionMap);
+            LOGGER.debug("Context stored offset map {}", kafkaData);
+            final Map<String, Object> read = kafkaData == null || kafkaData.isEmpty() ? ABSENT : kafkaData;
+            final Map<String, Object> existing = offsets.putIfAbsent(partitionMap, read);
+            data = existing == null ? read : existing;
+        } else {
+            LOGGER.debug("Previously stored offset map {}", data);
+        }
+        if (data == ABSENT) { // NOPMD CompareObjectsWithEquals
+            return Optional.empty();
+        }
+        return Optional.of(data);
     }
 
     /**
@@ -91,27 +116,45 @@ public final class OffsetManager<E extends OffsetManager.OffsetManagerEntry<E>>
      *
      */
     public void addEntry(final OffsetManagerEntry<E> entry) {
-        offsets.put(entry.getManagerKey().getPartitionMap(), entry.getProperties());
+        addEntry(entry.getManagerKey().getPartitionMap(), entry.getProperties());
+    }
+
+    /**
+     * Adds the offset of an entry to the offset manager. For retrieval later.
+     *
+     * @param partitionMap
+     *            the partition map of the entry key.
+     * @param properties
+     *            the properties of the entry. Not modified by the offset manager.
+     */
+    public void addEntry(final Map<String, Object> partitionMap, final Map<String, Object> properties) {
+        offsets.put(partitionMap, properties);
     }
 
     /**
      * Gets any offset information stored in the offsetStorageReader and adds to the local offsets Map. This provides a
-     * performance improvement over when checking if offsets exists individually.
+     * performance improvement over when checking if offsets exists individually. Keys that are already known locally
+     * are not read, and keys without stored offsets are recorded so that {@link #getEntry} does not read them again.
      *
      * @param offsetManagerKeys
      *            A Collection of OffsetManagerKey which identify individual offset entries
      */
     public void populateOffsetManager(final Collection<OffsetManager.OffsetManagerKey> offsetManagerKeys) {
-        final Map<Map<String, Object>, Map<String, Object>> matchingOffsets = new HashMap<>();
-        context.offsetStorageReader()
-                .offsets(offsetManagerKeys.stream().map(OffsetManagerKey::getPartitionMap).collect(toList()))
-                .entrySet()
-                .stream()
-                .filter(entry -> entry.getValue() != null)
-                .forEach(entry -> matchingOffsets.put(entry.getKey(), entry.getValue()));
-        // offsets is multithreaded batching in matchingOffsets is faster
-        offsets.putAll(matchingOffsets);
-
+        final List<Map<String, Object>> partitionMaps = offsetManagerKeys.stream()
+                .map(OffsetManagerKey::getPartitionMap)
+                .filter(partitionMap -> !offsets.containsKey(partitionMap))
+                .distinct()
+                .collect(toList());
+        if (partitionMaps.isEmpty()) {
+            return;
+        }
+        final Map<Map<String, Object>, Map<String, Object>> storedOffsets = context.offsetStorageReader()
+                .offsets(partitionMaps);
+        for (final Map<String, Object> partitionMap : partitionMaps) {
+            final Map<String, Object> stored = storedOffsets == null ? null : storedOffsets.get(partitionMap);
+            // do not replace entries added while the offsets were read.
+            offsets.putIfAbsent(partitionMap, stored == null || stored.isEmpty() ? ABSENT : stored);
+        }
     }
 
     /**
@@ -164,6 +207,20 @@ public final class OffsetManager<E extends OffsetManager.OffsetManagerEntry<E>>
          */
         Map<String, Object> getProperties();
 
+        /**
+         * Extracts the data the entry would have with a different record count, in the format to return to Kafka. Used
+         * to create the offset of every record of a storage item from one entry. The returned map may be immutable.
+         *
+         * @param recordCount
+         *            the record count.
+         * @return the properties in a format to return to Kafka.
+         */
+        default Map<String, Object> getProperties(final long recordCount) {
+            final T copy = fromProperties(getProperties());
+            copy.setRecordCount(recordCount);
+            return copy.getProperties();
+        }
+
         /**
          * Gets the value of the named property. The value returned from a {@code null} key is implementation dependant.
          *
@@ -244,6 +301,14 @@ public final class OffsetManager<E extends OffsetManager.OffsetManagerEntry<E>>
          */
         void incrementRecordCount();
 
+        /**
+         * Sets the record count. Used to resume a storage item whose record count is stored elsewhere.
+         *
+         * @param recordCount
+         *            the record count.
+         */
+        void setRecordCount(long recordCount);
+
         /**
          * Gets the current record count.
          *
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+
+/**
+ * Estimates the memory held by a {@link SourceRecord}.
+ * <p>
+ * The estimate is the size of the key and value data plus a fixed overhead per record. Binary and string data count
+ * their length, primitive values count 8 bytes and structs, maps and collections count their contents. It is intended
+ * to bound memory use, not to match the serialized size exactly.
+ * </p>
+ */
+public final class RecordSizeEstimator {
+    /** The estimated overhead of a record and its offsets */
+    static final long RECORD_OVERHEAD = 128;
+    /** The estimated size of a primitive value */
+    private static final long PRIMITIVE_SIZE = 8;
+
+    private RecordSizeEstimator() {
+        // do not instantiate
+    }
+
+    /**
+     * Estimates the memory held by a source record.
+     *
+     * @param sourceRecord
+     *            the record to estimate.
+     * @return the estimated size in bytes.
+     */
+    public static long estimate(final SourceRecord sourceRecord) {
+        return RECORD_OVERHEAD + estimateValue(sourceRecord.key()) + estimateValue(sourceRecord.value());
+    }
+
+    /**
+     * Estimates the memory held by a Connect value.
+     *
+     * @param value
+     *            the value to estimate. May be {@code null}.
+     * @return the estimated size in bytes.
+     */
+    static long estimateValue(final Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        if (value instanceof ByteBuffer) {
+            return ((ByteBuffer) value).remaining();
+        }
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length();
+        }
+        if (value instanceof Struct) {
+            final Struct struct = (Struct) value;
+            long size = 0;
+            for (final Field field : struct.schema().fields()) {
+                size += estimateValue(struct.get(field));
+            }
+            return size;
+        }
+        if (value instanceof Map) {
+            long size = 0;
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += estimateValue(entry.getKey()) + estimateValue(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof Collection) {
+            long size = 0;
+            for (final Object element : (Collection<?>) value) {
+                size += estimateValue(element);
+            }
+            return size;
+        }
+        return PRIMITIVE_SIZE;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The metrics of an {@link AbstractSourceTask}. Updated by the polling thread and {@code poll()} and read through
+ * JMX.
+ */
+final class SourceTaskMetrics implements SourceTaskMetricsMBean {
+    /** The logger to write to */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SourceTaskMetrics.class);
+    /** The JMX domain of the metrics */
+    static final String DOMAIN = "io.aiven.kafka.connect.source";
+
+    /** The estimated bytes of the queued records */
+    private final AtomicLong queuedBytes = new AtomicLong();
+    /** The number of queued records */
+    private final AtomicLong queuedRecords = new AtomicLong();
+    /** The estimated bytes of the last poll */
+    private volatile long lastPollBytes;
+    /** The number of records in the last poll */
+    private volatile long lastPollRecords;
+    /** The idle listing interval in milliseconds */
+    private volatile long idleInterval;
+    /** The maximum records per second, 0 if unlimited */
+    private volatile long maxRecordsPerSecond;
+    /** The maximum estimated bytes per second, 0 if unlimited */
+    private volatile long maxBytesPerSecond;
+    /** The total throttle time in nanoseconds */
+    private final AtomicLong throttleTime = new AtomicLong();
+    /** The name the metrics are registered under, {@code null} if not registered */
+    private ObjectName objectName;
+
+    /**
+     * Records records added to the queue.
+     *
+     * @param records
+     *            the number of records.
+     * @param bytes
+     *            the estimated bytes of the records.
+     */
+    void queued(final int records, final long bytes) {
+        queuedRecords.addAndGet(records);
+        queuedBytes.addAndGet(bytes);
+    }
+
+    /**
+     * Records records returned by {@code poll()}.
+     *
+     * @param records
+     *            the number of records.
+     * @param bytes
+     *            the estimated bytes of the records.
+     */
+    void polled(final int records, final long bytes) {
+        queuedRecords.addAndGet(-records);
+        queuedBytes.addAndGet(-bytes);
+        lastPollRecords = records;
+        lastPollBytes = bytes;
+    }
+
+    /**
+     * Records the idle listing interval.
+     *
+     * @param interval
+     *            the idle listing interval in milliseconds, 0 while the listings find records.
+     */
+    void idleInterval(final long interval) {
+        idleInterval = interval;
+    }
+
+    /**
+     * Records time the polling thread waited to keep within the throughput limits.
+     *
+     * @param nanos
+     *            the time waited in nanoseconds.
+     */
+    void throttled(final long nanos) {
+        throttleTime.addAndGet(nanos);
+    }
+
+    @Override
+    public long getQueuedBytes() {
+        return queuedBytes.get();
+    }
+
+    @Override
+    public long getQueuedRecords() {
+        return queuedRecords.get();
+    }
+
+    @Override
+    public long getLastPollBytes() {
+        return lastPollBytes;
+    }
+
+    @Override
+    public long getLastPollRecords() {
+        return lastPollRecords;
+    }
+
+    @Override
+    public long getIdleIntervalMs() {
+        return idleInterval;
+    }
+
+    @Override
+    public long getMaxRecordsPerSecond() {
+        return maxRecordsPerSecond;
+    }
+
+    @Override
+    public void setMaxRecordsPerSecond(final long maxRecordsPerSecond) {
+        if (maxRecordsPerSecond < 0) {
+            throw new IllegalArgumentException("maxRecordsPerSecond must not be negative");
+        }
+        this.maxRecordsPerSecond = maxRecordsPerSecond;
+    }
+
+    @Override
+    public long getMaxBytesPerSecond() {
+        return maxBytesPerSecond;
+    }
+
+    @Override
+    public void setMaxBytesPerSecond(final long maxBytesPerSecond) {
+        if (maxBytesPerSecond < 0) {
+            throw new IllegalArgumentException("maxBytesPerSecond must not be negative");
+        }
+        this.maxBytesPerSecond = maxBytesPerSecond;
+    }
+
+    @Override
+    public long getThrottleTimeMs() {
+        return TimeUnit.NANOSECONDS.toMillis(throttleTime.get());
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server, replacing any metrics already registered for the task.
+     * Failures are logged and ignored.
+     *
+     * @param connectorName
+     *            the name of the connector.
+     * @param taskId
+     *            the id of the task.
+     */
+    void register(final String connectorName, final String taskId) {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName name = new ObjectName(String.format("%s:type=source-task-metrics,connector=%s,task=%s",
+                    DOMAIN, ObjectName.quote(String.valueOf(connectorName)), ObjectName.quote(String.valueOf(taskId))));
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+            objectName = name;
+        } catch (JMException e) {
+            LOGGER.warn("Unable to register source task metrics: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the metrics from the platform MBean server if they were registered.
+     */
+    void unregister() {
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (JMException e) {
+                LOGGER.debug("Unable to unregister source task metrics: {}", e.getMessage());
+            }
+            objectName = null;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+/**
+ * The JMX view of the metrics of an {@link AbstractSourceTask}. Registered under the
+ * {@code io.aiven.kafka.connect.source:type=source-task-metrics,connector=<name>,task=<id>} object name.
+ */
+public interface SourceTaskMetricsMBean {
+    /**
+     * Gets the estimated bytes of the records waiting to be returned by {@code poll()}.
+     *
+     * @return the estimated bytes of the queued records.
+     */
+    long getQueuedBytes();
+
+    /**
+     * Gets the number of records waiting to be returned by {@code poll()}.
+     *
+     * @return the number of queued records.
+     */
+    long getQueuedRecords();
+
+    /**
+     * Gets the estimated bytes of the records returned by the last {@code poll()} that returned records.
+     *
+     * @return the estimated bytes of the last poll.
+     */
+    long getLastPollBytes();
+
+    /**
+     * Gets the number of records returned by the last {@code poll()} that returned records.
+     *
+     * @return the number of records in the last poll.
+     */
+    long getLastPollRecords();
+
+    /**
+     * Gets the time the polling thread waits before listing the storage again because the last listing found no
+     * records.
+     *
+     * @return the idle listing interval in milliseconds, 0 while the listings find records.
+     */
+    long getIdleIntervalMs();
+
+    /**
+     * Gets the maximum records per second the task emits.
+     *
+     * @return the maximum records per second, 0 if unlimited.
+     */
+    long getMaxRecordsPerSecond();
+
+    /**
+     * Sets the maximum records per second the task emits. Takes effect immediately.
+     *
+     * @param maxRecordsPerSecond
+     *            the maximum records per second, 0 if unlimited.
+     */
+    void setMaxRecordsPerSecond(long maxRecordsPerSecond);
+
+    /**
+     * Gets the maximum estimated bytes per second the task emits.
+     *
+     * @return the maximum bytes per second, 0 if unlimited.
+     */
+    long getMaxBytesPerSecond();
+
+    /**
+     * Sets the maximum estimated bytes per second the task emits. Takes effect immediately.
+     *
+     * @param maxBytesPerSecond
+     *            the maximum bytes per second, 0 if unlimited.
+     */
+    void setMaxBytesPerSecond(long maxBytesPerSecond);
+
+    /**
+     * Gets the total time the polling thread has waited to keep within the maximum records and bytes per second.
+     *
+     * @return the total throttle time in milliseconds.
+     */
+    long getThrottleTimeMs();
+}
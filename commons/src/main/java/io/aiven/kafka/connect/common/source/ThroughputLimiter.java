@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the records and bytes per second emitted by a source task with a token bucket for each.
+ * <p>
+ * Each bucket holds up to one second of its rate. Reserving more than the bucket holds puts it into debt and returns
+ * the time to wait until the debt is repaid, so records larger than the rate still pass. The rates are read on every
+ * reservation so that they may be changed while the task runs; a rate of 0 does not limit. Only the polling thread
+ * reserves.
+ * </p>
+ */
+final class ThroughputLimiter {
+    /** The bucket of records */
+    private final TokenBucket records;
+    /** The bucket of bytes */
+    private final TokenBucket bytes;
+
+    /**
+     * Constructor.
+     *
+     * @param recordsPerSecond
+     *            supplies the maximum records per second, 0 if unlimited.
+     * @param bytesPerSecond
+     *            supplies the maximum bytes per second, 0 if unlimited.
+     */
+    ThroughputLimiter(final LongSupplier recordsPerSecond, final LongSupplier bytesPerSecond) {
+        this.records = new TokenBucket(recordsPerSecond);
+        this.bytes = new TokenBucket(bytesPerSecond);
+    }
+
+    /**
+     * Takes tokens for records from the buckets.
+     *
+     * @param recordCount
+     *            the number of records.
+     * @param byteCount
+     *            the estimated bytes of the records.
+     * @return the nanoseconds to wait before the records may be emitted, 0 if they may be emitted now.
+     */
+    long reserve(final long recordCount, final long byteCount) {
+        final long now = System.nanoTime();
+        return Math.max(records.reserve(recordCount, now), bytes.reserve(byteCount, now));
+    }
+
+    /**
+     * A token bucket whose rate may change between reservations.
+     */
+    private static final class TokenBucket {
+        /** Supplies the tokens per second, 0 if unlimited */
+        private final LongSupplier rate;
+        /** The tokens available, negative while in debt */
+        private double tokens;
+        /** The {@link System#nanoTime()} of the last refill */
+        private long lastRefill;
+        /** The rate at the last reservation */
+        private long lastRate;
+
+        TokenBucket(final LongSupplier rate) {
+            this.rate = rate;
+        }
+
+        /**
+         * Takes tokens from the bucket.
+         *
+         * @param amount
+         *            the number of tokens.
+         * @param now
+         *            the current {@link System#nanoTime()}.
+         * @return the nanoseconds until the bucket is out of debt, 0 if it is not in debt.
+         */
+        long reserve(final long amount, final long now) {
+            final long currentRate = rate.getAsLong();
+            if (currentRate <= 0) {
+                lastRate = 0;
+                return 0;
+            }
+            if (lastRate == 0) {
+                // newly limited, start with a full bucket.
+                tokens = currentRate;
+            } else {
+                tokens = Math.min(currentRate,
+                        tokens + (now - lastRefill) * (double) currentRate / TimeUnit.SECONDS.toNanos(1));
+            }
+            lastRate = currentRate;
+            lastRefill = now;
+            tokens -= amount;
+            return tokens >= 0 ? 0 : (long) Math.ceil(-tokens * TimeUnit.SECONDS.toNanos(1) / currentRate);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Tracks the offset of a task as a watermark rather than one offset per storage item.
+ * <p>
+ * The watermark is the last key, in listing order, for which the storage item and every storage item listed before it
+ * have been completely processed. Storage items listed after the watermark that have been started are tracked with
+ * their record counts until the watermark passes them. The whole state is written as the offset of every record so
+ * the size of the stored offsets depends on the number of storage items in progress rather than the number of storage
+ * items processed. After a restart listing resumes after the watermark and the tracked storage items resume from their
+ * record counts.
+ * </p>
+ * <p>
+ * Keys must be written in lexicographic order. A storage item written with a key before the watermark after the
+ * watermark has passed it is not processed after a restart. This class is not thread safe.
+ * </p>
+ * <p>
+ * The offset is rebuilt only when the watermark or the tracked storage items change. Between those changes each record
+ * gets a copy of the previous offset with the record count of its storage item updated. Returned offsets are never
+ * modified as Kafka may store them after further records have been produced.
+ * </p>
+ *
+ * @param <K>
+ *            the key type for the native object.
+ */
+final class WatermarkOffsets<K extends Comparable<K>> {
+    /** The partition map property holding the task id */
+    static final String TASK_ID = "taskId";
+    /** The partition map property holding the maximum number of tasks */
+    static final String MAX_TASKS = "maxTasks";
+    /** The offset property holding the watermark key */
+    static final String WATERMARK = "watermark";
+    /** The offset property holding the number of tracked storage items */
+    static final String OBJECT_COUNT = "objectCount";
+    /** The prefix of the offset properties holding the keys of the tracked storage items */
+    static final String OBJECT_KEY_PREFIX = "objectKey.";
+    /** The prefix of the offset properties holding the record counts of the tracked storage items */
+    static final String RECORD_COUNT_PREFIX = "recordCount.";
+
+    /** The partition map the offsets are stored under */
+    private final Map<String, Object> partitionMap;
+    /** The watermark read from Kafka, {@code null} if there was none */
+    private final K restoredWatermark;
+    /** The current watermark, {@code null} if no storage item has been completed */
+    private K watermark;
+    /** The record counts of the storage items after the watermark that have been started */
+    private final TreeMap<K, Long> tracked = new TreeMap<>();
+    /** The tracked storage items that have been completely processed */
+    private final Set<K> completed = new HashSet<>();
+    /** The tracked storage items read from Kafka that have not been listed yet */
+    private final Set<K> restored = new HashSet<>();
+    /** The number of times the storage items have been listed */
+    private int listings;
+    /** The last offset returned, {@code null} if the watermark or the tracked storage items have changed since */
+    private Map<String, Object> offset;
+    /** The index of each tracked storage item in {@link #offset} */
+    private final Map<K, Integer> offsetIndexes = new HashMap<>();
+    /** The record count property names by index, kept between rebuilds of the offset */
+    private final List<String> recordCountNames = new ArrayList<>();
+
+    /**
+     * Constructor.
+     *
+     * @param partitionMap
+     *            the partition map the offsets are stored under.
+     * @param offset
+     *            the offset read from Kafka. May be empty.
+     * @param keyParser
+     *            converts a stored key back into a native key.
+     */
+    WatermarkOffsets(final Map<String, Object> partitionMap, final Map<String, Object> offset,
+            final Function<String, K> keyParser) {
+        this.partitionMap = Map.copyOf(partitionMap);
+        final Object stored = offset.get(WATERMARK);
+        this.restoredWatermark = stored == null ? null : keyParser.apply(stored.toString());
+        this.watermark = restoredWatermark;
+        final Object objectCount = offset.get(OBJECT_COUNT);
+        final int count = objectCount instanceof Number ? ((Number) objectCount).intValue() : 0;
+        for (int i = 0; i < count; i++) {
+            final K key = keyParser.apply(offset.get(OBJECT_KEY_PREFIX + i).toString());
+            tracked.put(key, ((Number) offset.get(RECORD_COUNT_PREFIX + i)).longValue());
+            restored.add(key);
+        }
+    }
+
+    /**
+     * Gets the partition map the offsets are stored under.
+     *
+     * @return the partition map the offsets are stored under.
+     */
+    Map<String, Object> getPartitionMap() {
+        return partitionMap;
+    }
+
+    /**
+     * Gets the watermark read from Kafka. Listing storage items may start after this key.
+     *
+     * @return the watermark read from Kafka or {@code null} if there was none.
+     */
+    K getRestoredWatermark() {
+        return restoredWatermark;
+    }
+
+    /**
+     * Gets the current watermark.
+     *
+     * @return the current watermark or {@code null} if no storage item has been completed.
+     */
+    K getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * Records that the storage items are being listed. Storage items read from Kafka that were not found by the
+     * previous listing no longer exist and are no longer tracked.
+     */
+    void listing() {
+        if (listings++ > 0 && !restored.isEmpty()) {
+            restored.forEach(tracked::remove);
+            restored.clear();
+            offset = null;
+            advance();
+        }
+    }
+
+    /**
+     * Records that processing of a storage item has started.
+     *
+     * @param key
+     *            the key of the storage item.
+     * @return the number of records of the storage item that have already been processed.
+     */
+    long started(final K key) {
+        if (restored.remove(key)) {
+            return tracked.get(key);
+        }
+        if (tracked.put(key, 0L) == null) {
+            offset = null;
+        }
+        return 0;
+    }
+
+    /**
+     * Records that a record has been produced and gets the offset to store with it.
+     *
+     * @param key
+     *            the key of the storage item the record came from.
+     * @param recordCount
+     *            the record count of the storage item including the record.
+     * @return the offset to store with the record.
+     */
+    Map<String, Object> recorded(final K key, final long recordCount) {
+        final Long previous = tracked.replace(key, recordCount);
+        if (offset == null) {
+            offset = buildOffset();
+        } else if (previous != null) {
+            final String name = recordCountNames.get(offsetIndexes.get(key));
+            if (!Long.valueOf(recordCount).equals(offset.get(name))) {
+                final Map<String, Object> updated = new HashMap<>(offset);
+                updated.put(name, recordCount);
+                offset = Collections.unmodifiableMap(updated);
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Builds the offset from the watermark and all tracked storage items.
+     *
+     * @return the offset.
+     */
+    private Map<String, Object> buildOffset() {
+        final Map<String, Object> result = new HashMap<>();
+        if (watermark != null) {
+            result.put(WATERMARK, watermark.toString());
+        }
+        result.put(OBJECT_COUNT, (long) tracked.size());
+        offsetIndexes.clear();
+        int index = 0;
+        for (final Map.Entry<K, Long> entry : tracked.entrySet()) {
+            if (index == recordCountNames.size()) {
+                recordCountNames.add(RECORD_COUNT_PREFIX + index);
+            }
+            result.put(OBJECT_KEY_PREFIX + index, entry.getKey().toString());
+            result.put(recordCountNames.get(index), entry.getValue());
+            offsetIndexes.put(entry.getKey(), index);
+            index++;
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Records that a storage item has been completely processed.
+     *
+     * @param key
+     *            the key of the storage item.
+     */
+    void completed(final K key) {
+        if (tracked.containsKey(key)) {
+            completed.add(key);
+            advance();
+        }
+    }
+
+    /**
+     * Moves the watermark past the completed storage items at the start of the tracked storage items.
+     */
+    private void advance() {
+        while (!tracked.isEmpty() && completed.remove(tracked.firstKey())) {
+            offset = null;
+            final K key = tracked.pollFirstEntry().getKey();
+            if (watermark == null || key.compareTo(watermark) > 0) {
+                watermark = key;
+            }
+        }
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.input;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaAndValue;
+import org.apache.kafka.connect.data.Struct;
+
+import io.confluent.connect.avro.AvroData;
+import org.apache.avro.generic.IndexedRecord;
+
+/**
+ * Converts Avro records of one writer schema to Connect values.
+ * <p>
+ * {@link AvroData#toConnectData(org.apache.avro.Schema, Object)} walks the Avro schema for every record. This converter
+ * walks it once: the Connect schema is built by {@link AvroData} and each record field gets an accessor that reads the
+ * field by position and converts it directly. Records, optional unions, arrays, string keyed maps and primitives
+ * without logical types are compiled. Anything else, such as logical types, bytes, enums and general unions, is
+ * converted by {@link AvroData} so the results are the same.
+ * </p>
+ */
+final class AvroRecordConverter {
+    /** The Connect schema of the records */
+    private final Schema connectSchema;
+    /** The converter of the records */
+    private final ValueConverter converter;
+    /** {@code true} if the converted values do not reference the Avro record */
+    private final boolean copying;
+
+    private AvroRecordConverter(final Schema connectSchema, final ValueConverter converter, final boolean copying) {
+        this.connectSchema = connectSchema;
+        this.converter = converter;
+        this.copying = copying;
+    }
+
+    /**
+     * Compiles the converter for a writer schema.
+     *
+     * @param avroData
+     *            the AvroData that builds the Connect schema and converts the values that are not compiled.
+     * @param avroSchema
+     *            the writer schema.
+     * @return the converter.
+     */
+    static AvroRecordConverter compile(final AvroData avroData, final org.apache.avro.Schema avroSchema) {
+        final Schema connectSchema = avroData.toConnectSchema(avroSchema);
+        final Compiler compiler = new Compiler(avroData);
+        return new AvroRecordConverter(connectSchema, compiler.compileOrFallback(avroSchema, connectSchema),
+                compiler.copying);
+    }
+
+    /**
+     * Gets the Connect schema of the records.
+     *
+     * @return the Connect schema of the records.
+     */
+    Schema getConnectSchema() {
+        return connectSchema;
+    }
+
+    /**
+     * Determines if the converted values are independent of the Avro record, in which case the Avro record may be
+     * reused to read the next record.
+     *
+     * @return {@code true} if the Avro record may be reused after conversion.
+     */
+    boolean allowsReuse() {
+        return copying;
+    }
+
+    /**
+     * Converts a record.
+     *
+     * @param record
+     *            the Avro record written with the schema of this converter.
+     * @return the Connect schema and value.
+     */
+    SchemaAndValue convert(final Object record) {
+        return new SchemaAndValue(connectSchema, converter.convert(record));
+    }
+
+    /**
+     * Converts one Avro value.
+     */
+    @FunctionalInterface
+    private interface ValueConverter {
+        Object convert(Object value);
+    }
+
+    /**
+     * Builds the converters for a schema.
+     */
+    private static final class Compiler {
+        private final AvroData avroData;
+        /** Set to {@code false} when a converter that may return Avro owned data is used */
+        private boolean copying = true;
+
+        Compiler(final AvroData avroData) {
+            this.avroData = avroData;
+        }
+
+        ValueConverter compileOrFallback(final org.apache.avro.Schema avroSchema, final Schema connectSchema) {
+            final ValueConverter compiled = compile(avroSchema, connectSchema);
+            if (compiled != null) {
+                return compiled;
+            }
+            copying = false;
+            return value -> avroData.toConnectData(avroSchema, value).value();
+        }
+
+        /**
+         * Compiles a converter.
+         *
+         * @return the converter or {@code null} if the schema is not supported.
+         */
+        private ValueConverter compile(final org.apache.avro.Schema avroSchema, final Schema connectSchema) {
+            switch (avroSchema.getType()) {
+                case RECORD :
+                    return connectSchema.type() == Schema.Type.STRUCT ? compileRecord(avroSchema, connectSchema) : null;
+                case UNION :
+                    return compileOptional(avroSchema, connectSchema);
+                case ARRAY :
+                    if (connectSchema.type() != Schema.Type.ARRAY) {
+                        return null;
+                    }
+                    final ValueConverter element = compileOrFallback(avroSchema.getElementType(),
+                            connectSchema.valueSchema());
+                    return value -> {
+                        final Collection<?> avroList = (Collection<?>) value;
+                        final List<Object> result = new ArrayList<>(avroList.size());
+                        for (final Object item : avroList) {
+                            result.add(item == null ? null : element.convert(item));
+                        }
+                        return result;
+                    };
+                case MAP :
+                    if (connectSchema.type() != Schema.Type.MAP
+                            || connectSchema.keySchema().type() != Schema.Type.STRING) {
+                        return null;
+                    }
+                    final ValueConverter mapValue = compileOrFallback(avroSchema.getValueType(),
+                            connectSchema.valueSchema());
+                    return value -> {
+                        final Map<?, ?> avroMap = (Map<?, ?>) value;
+                        final Map<String, Object> result = new HashMap<>();
+                        for (final Map.Entry<?, ?> entry : avroMap.entrySet()) {
+                            result.put(entry.getKey().toString(),
+                                    entry.getValue() == null ? null : mapValue.convert(entry.getValue()));
+                        }
+                        return result;
+                    };
+                case STRING :
+                    return isPlain(connectSchema, Schema.Type.STRING) ? Object::toString : null;
+                case INT :
+                    return isPlain(connectSchema, Schema.Type.INT32) ? value -> value : null;
+                case LONG :
+                    return isPlain(connectSchema, Schema.Type.INT64) ? value -> value : null;
+                case FLOAT :
+                    return isPlain(connectSchema, Schema.Type.FLOAT32) ? value -> value : null;
+                case DOUBLE :
+                    return isPlain(connectSchema, Schema.Type.FLOAT64) ? value -> value : null;
+                case BOOLEAN :
+                    return isPlain(connectSchema, Schema.Type.BOOLEAN) ? value -> value : null;
+                default :
+                    return null;
+            }
+        }
+
+        private ValueConverter compileRecord(final org.apache.avro.Schema avroSchema, final Schema connectSchema) {
+            final List<Field> fields = connectSchema.fields();
+            final Field[] connectFields = new Field[fields.size()];
+            final int[] positions = new int[fields.size()];
+            final ValueConverter[] converters = new ValueConverter[fields.size()];
+            for (int i = 0; i < connectFields.length; i++) {
+                connectFields[i] = fields.get(i);
+                final org.apache.avro.Schema.Field avroField = avroSchema.getField(connectFields[i].name());
+                if (avroField == null) {
+                    return null;
+                }
+                positions[i] = avroField.pos();
+                converters[i] = compileOrFallback(avroField.schema(), connectFields[i].schema());
+            }
+            return value -> {
+                final IndexedRecord avroRecord = (IndexedRecord) value;
+                final Struct struct = new Struct(connectSchema);
+                for (int i = 0; i < connectFields.length; i++) {
+                    final Object fieldValue = avroRecord.get(positions[i]);
+                    if (fieldValue != null) {
+                        struct.put(connectFields[i], converters[i].convert(fieldValue));
+                    }
+                }
+                return struct;
+            };
+        }
+
+        /**
+         * Compiles a union of null and one other type, which Connect represents as an optional schema.
+         */
+        private ValueConverter compileOptional(final org.apache.avro.Schema avroSchema, final Schema connectSchema) {
+            final List<org.apache.avro.Schema> types = avroSchema.getTypes();
+            if (types.size() != 2 || !connectSchema.isOptional()) {
+                return null;
+            }
+            final Integer nullIndex = avroSchema.getIndexNamed(org.apache.avro.Schema.Type.NULL.getName());
+            if (nullIndex == null) {
+                return null;
+            }
+            final ValueConverter inner = compile(types.get(1 - nullIndex), connectSchema);
+            if (inner == null) {
+                return null;
+            }
+            return value -> value == null ? null : inner.convert(value);
+        }
+
+        /**
+         * Determines if a Connect schema is a primitive of the expected type without a logical type or other name.
+         */
+        private static boolean isPlain(final Schema connectSchema, final Schema.Type expected) {
+            return connectSchema.type() == expected && connectSchema.name() == null;
+        }
+    }
+
+    /**
+     * A synchronized LRU cache of converters keyed by writer schema.
+     */
+    static final class Cache {
+        private final AvroData avroData;
+        private final Map<org.apache.avro.Schema, AvroRecordConverter> converters;
+        /** The last converter returned, records usually share one writer schema instance */
+        private volatile Entry last;
+
+        /**
+         * Constructor.
+         *
+         * @param avroData
+         *            the AvroData that builds the Connect schemas.
+         * @param maxConverters
+         *            the maximum number of converters to keep.
+         */
+        Cache(final AvroData avroData, final int maxConverters) {
+            this.avroData = avroData;
+            this.converters = new LinkedHashMap<>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(
+                        final Map.Entry<org.apache.avro.Schema, AvroRecordConverter> eldest) {
+                    return size() > maxConverters;
+                }
+            };
+        }
+
+        /**
+         * Gets the converter for a writer schema, compiling it if necessary.
+         *
+         * @param avroSchema
+         *            the writer schema.
+         * @return the converter.
+         */
+        AvroRecordConverter get(final org.apache.avro.Schema avroSchema) {
+            final Entry entry = last;
+            if (entry != null && entry.schema == avroSchema) {
+                return entry.converter;
+            }
+            final AvroRecordConverter converter;
+            synchronized (this) {
+                converter = converters.computeIfAbsent(avroSchema, schema -> compile(avroData, schema));
+            }
+            last = new Entry(avroSchema, converter);
+            return converter;
+        }
+
+        private static final class Entry {
+            private final org.apache.avro.Schema schema;
+            private final AvroRecordConverter converter;
+
+            Entry(final org.apache.avro.Schema schema, final AvroRecordConverter converter) {
+                this.schema = schema;
+                this.converter = converter;
+            }
+        }
+    }
+}
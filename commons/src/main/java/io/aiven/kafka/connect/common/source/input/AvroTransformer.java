@@ -18,8 +18,9 @@ package io.aiven.kafka.connect.common.source.input;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.function.Consumer;
+import java.util.List;
 
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.SchemaAndValue;
@@ -31,26 +32,31 @@ import io.confluent.connect.avro.AvroData;
 import org.apache.avro.file.DataFileStream;
 import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
 import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DecoderFactory;
 import org.apache.commons.io.function.IOSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class AvroTransformer extends Transformer {
 
-    private final AvroData avroData;
+    /** The converters compiled for the writer schemas */
+    private final AvroRecordConverter.Cache converters;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AvroTransformer.class);
 
     AvroTransformer(final AvroData avroData) {
         super();
-        this.avroData = avroData;
+        this.converters = new AvroRecordConverter.Cache(avroData, TransformerFactory.CACHE_SIZE);
     }
 
     @Override
     public StreamSpliterator createSpliterator(final IOSupplier<InputStream> inputStreamIOSupplier,
             final long streamLength, final Context<?> context, final SourceCommonConfig sourceConfig) {
-        return new StreamSpliterator(LOGGER, inputStreamIOSupplier) {
+        final int parallelism = getDecodeParallelism(sourceConfig);
+        return new ChunkingStreamSpliterator<AvroBlock>(LOGGER, inputStreamIOSupplier, parallelism,
+                getChunkDecodePool(parallelism)) {
             private DataFileStream<GenericRecord> dataFileStream;
             private final DatumReader<GenericRecord> datumReader = new GenericDatumReader<>();
 
@@ -61,6 +67,7 @@ public class AvroTransformer extends Transformer {
 
             @Override
             public void doClose() {
+                super.doClose();
                 if (dataFileStream != null) {
                     try {
                         dataFileStream.close();
@@ -71,17 +78,51 @@ public class AvroTransformer extends Transformer {
             }
 
             @Override
-            protected boolean doAdvance(final Consumer<? super SchemaAndValue> action) {
-                if (dataFileStream.hasNext()) {
-                    final GenericRecord record = dataFileStream.next();
-                    action.accept(avroData.toConnectData(record.getSchema(), record));
-                    return true;
+            protected AvroBlock readChunk() throws IOException {
+                if (!dataFileStream.hasNext()) {
+                    return null;
+                }
+                // the block is split at the sync marker, the block buffer is reused by the stream so copy it.
+                final long count = dataFileStream.getBlockCount();
+                final ByteBuffer block = dataFileStream.nextBlock();
+                final byte[] data = new byte[block.remaining()];
+                block.duplicate().get(data);
+                return new AvroBlock(dataFileStream.getSchema(), data, count);
+            }
+
+            @Override
+            protected void decodeChunk(final AvroBlock chunk, final List<SchemaAndValue> output) throws IOException {
+                final AvroRecordConverter converter = converters.get(chunk.schema);
+                final DatumReader<GenericRecord> blockReader = new GenericDatumReader<>(chunk.schema);
+                final BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(chunk.data, null);
+                GenericRecord record = null;
+                for (long i = 0; i < chunk.count; i++) {
+                    // the record is only reused when the converted value holds none of its data.
+                    record = blockReader.read(converter.allowsReuse() ? record : null, decoder);
+                    output.add(converter.convert(record));
                 }
-                return false;
             }
         };
     }
 
+    /**
+     * A decompressed Avro container block.
+     */
+    private static final class AvroBlock {
+        /** The writer schema */
+        final org.apache.avro.Schema schema;
+        /** The binary encoded records */
+        final byte[] data;
+        /** The number of records in the block */
+        final long count;
+
+        AvroBlock(final org.apache.avro.Schema schema, final byte[] data, final long count) {
+            this.schema = schema;
+            this.data = data;
+            this.count = count;
+        }
+    }
+
     @Override
     public SchemaAndValue getKeyData(final Object cloudStorageKey, final String topic,
             final SourceCommonConfig sourceConfig) {
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
 import java.util.function.Consumer;
 
 import org.apache.kafka.connect.data.SchemaAndValue;
@@ -41,6 +42,11 @@ import org.slf4j.LoggerFactory;
  * delivery order as those are dependant upon the Kafka producer and remote consumer configurations. This class will
  * produce the blocks in order and on restart will send any blocks that were not acknowledged by Kafka.
  * </p>
+ * <p>
+ * When the length of the object is known each block is read directly into an array of its final size. When the
+ * {@link io.aiven.kafka.connect.common.config.TransformerFragment#TRANSFORMER_BYTES_DELIMITER} option is set the object
+ * is instead split into records at the delimiter, records are copied once from a reused read buffer.
+ * </p>
  */
 public class ByteArrayTransformer extends Transformer {
     private static final Logger LOGGER = LoggerFactory.getLogger(ByteArrayTransformer.class);
@@ -56,7 +62,14 @@ public class ByteArrayTransformer extends Transformer {
         }
         // The max buffer size for the byte array the default is 4096 if not set by the user.
         final int maxBufferSize = sourceConfig.getTransformerMaxBufferSize();
-        return new StreamSpliterator(LOGGER, inputStreamIOSupplier) {
+        final byte[] delimiter = sourceConfig.getTransformerBytesDelimiter();
+        if (delimiter != null) {
+            return new DelimitedSpliterator(inputStreamIOSupplier, maxBufferSize, delimiter);
+        }
+        // there is no conversion to do so the chunks are not decoded in parallel, but the stream may still be split.
+        return new ChunkingStreamSpliterator<byte[]>(LOGGER, inputStreamIOSupplier) {
+            /** The number of bytes not yet read or {@code UNKNOWN_STREAM_LENGTH} */
+            private long remaining = streamLength;
 
             @Override
             protected void inputOpened(final InputStream input) {
@@ -64,28 +77,148 @@ public class ByteArrayTransformer extends Transformer {
             }
 
             @Override
-            protected void doClose() {
-                // nothing to do.
+            protected byte[] readChunk() throws IOException {
+                if (remaining == 0) {
+                    return null;
+                }
+                final byte[] chunk = new byte[remaining > 0 ? (int) Math.min(maxBufferSize, remaining) : maxBufferSize];
+                final int read = IOUtils.read(inputStream, chunk);
+                if (remaining > 0) {
+                    remaining -= read;
+                    if (read < chunk.length) {
+                        // the object is shorter than reported.
+                        remaining = 0;
+                    }
+                }
+                if (read == 0) {
+                    return null;
+                }
+                return read == chunk.length ? chunk : Arrays.copyOf(chunk, read);
             }
 
             @Override
-            protected boolean doAdvance(final Consumer<? super SchemaAndValue> action) {
+            protected void decodeChunk(final byte[] chunk, final List<SchemaAndValue> output) {
+                output.add(new SchemaAndValue(null, chunk));
+            }
+        };
+    }
+
+    /**
+     * Splits the input into records at a delimiter. Records longer than the maximum buffer size are split at that size.
+     */
+    private static final class DelimitedSpliterator extends ChunkingStreamSpliterator<byte[]> {
+        /** The size of the first read buffer */
+        private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+        /** The largest array size that can safely be allocated */
+        private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+        /** The maximum size of a record */
+        private final int maxRecordSize;
+        /** The delimiter */
+        private final byte[] delimiter;
+        /** The read buffer, grows up to the maximum record size plus the delimiter length */
+        private byte[] buffer;
+        /** The start of the unprocessed data in the buffer */
+        private int position;
+        /** The end of the data in the buffer */
+        private int limit;
+        /** The position the next delimiter search starts from */
+        private int searchFrom;
+        /** Set when the input has been exhausted */
+        private boolean endOfInput;
+
+        DelimitedSpliterator(final IOSupplier<InputStream> inputStreamIOSupplier, final int maxRecordSize,
+                final byte[] delimiter) {
+            super(LOGGER, inputStreamIOSupplier);
+            this.maxRecordSize = Math.min(maxRecordSize, MAX_ARRAY_SIZE - delimiter.length);
+            this.delimiter = delimiter.clone();
+            this.buffer = new byte[Math.min(INITIAL_BUFFER_SIZE, this.maxRecordSize + delimiter.length)];
+        }
+
+        @Override
+        protected void inputOpened(final InputStream input) {
+            // nothing to do
+        }
 
-                try {
-                    final byte[] buffer = new byte[maxBufferSize];
-                    final byte[] chunk = Arrays.copyOf(buffer, IOUtils.read(inputStream, buffer));
-                    if (chunk.length > 0) {
-                        action.accept(new SchemaAndValue(null, chunk));
-                        return true;
+        @Override
+        protected byte[] readChunk() throws IOException {
+            while (true) {
+                final int found = indexOfDelimiter();
+                if (found >= 0) {
+                    final byte[] record = Arrays.copyOfRange(buffer, position, found);
+                    position = found + delimiter.length;
+                    searchFrom = position;
+                    return record;
+                }
+                final int available = limit - position;
+                if (available >= maxRecordSize + delimiter.length || (endOfInput && available > maxRecordSize)) {
+                    // no delimiter within the maximum record size.
+                    final byte[] record = Arrays.copyOfRange(buffer, position, position + maxRecordSize);
+                    position += maxRecordSize;
+                    searchFrom = position;
+                    return record;
+                }
+                if (endOfInput) {
+                    if (limit > position) {
+                        final byte[] record = Arrays.copyOfRange(buffer, position, limit);
+                        position = limit;
+                        return record;
                     }
+                    return null;
+                }
+                fill();
+            }
+        }
 
-                    return false;
-                } catch (IOException e) {
-                    LOGGER.error("Error trying to advance inputStream: {}", e.getMessage(), e);
+        /**
+         * Searches the buffered data for the delimiter. Only delimiters that end within the maximum record size are
+         * found.
+         *
+         * @return the index of the delimiter or -1 if not found.
+         */
+        private int indexOfDelimiter() {
+            final int last = (int) Math.min(limit - delimiter.length, (long) position + maxRecordSize);
+            for (int i = searchFrom; i <= last; i++) {
+                if (buffer[i] == delimiter[0] && matchesAt(i)) {
+                    return i;
+                }
+            }
+            searchFrom = Math.max(searchFrom, last + 1);
+            return -1;
+        }
+
+        private boolean matchesAt(final int index) {
+            for (int j = 1; j < delimiter.length; j++) {
+                if (buffer[index + j] != delimiter[j]) {
                     return false;
                 }
             }
-        };
+            return true;
+        }
+
+        /**
+         * Moves the unprocessed data to the start of the buffer, growing it if it is full, and reads more input.
+         *
+         * @throws IOException
+         *             on read error.
+         */
+        private void fill() throws IOException {
+            if (position > 0) {
+                System.arraycopy(buffer, position, buffer, 0, limit - position);
+                limit -= position;
+                searchFrom -= position;
+                position = 0;
+            }
+            if (limit == buffer.length) {
+                buffer = Arrays.copyOf(buffer,
+                        (int) Math.min((long) maxRecordSize + delimiter.length, buffer.length * 2L));
+            }
+            final int read = inputStream.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                endOfInput = true;
+            } else {
+                limit += read;
+            }
+        }
     }
 
     /**
@@ -16,33 +16,71 @@
 
 package io.aiven.kafka.connect.common.source.input;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.function.Consumer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+import org.apache.kafka.connect.data.Date;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.SchemaAndValue;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.data.Time;
+import org.apache.kafka.connect.data.Timestamp;
+import org.apache.kafka.connect.errors.DataException;
 import org.apache.kafka.connect.json.JsonConverter;
 
 import io.aiven.kafka.connect.common.config.SourceCommonConfig;
 import io.aiven.kafka.connect.common.source.task.Context;
 
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import org.apache.commons.io.function.IOSupplier;
-import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Reads JSON values from an object. Values may be on separate lines, span several lines or be concatenated, and a top
+ * level array may optionally be unwrapped into one record per element.
+ * <p>
+ * The object is read as raw bytes and split into chunks at top level value boundaries by a scan that only tracks
+ * nesting and strings. Each chunk is parsed with a single streaming Jackson parser that builds the Connect values
+ * directly, so no intermediate strings or trees are created. When schemas are enabled each value is a
+ * {@code {"schema": ..., "payload": ...}} envelope and the Connect schema is cached by the bytes of the schema so that
+ * identical schemas are only parsed once.
+ * </p>
+ */
 public class JsonTransformer extends Transformer {
 
     private final JsonConverter jsonConverter;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JsonTransformer.class);
 
+    /** The number of bytes read into a chunk before it is split at a value boundary and decoded */
+    private static final int CHUNK_BYTES = 64 * 1024;
+
+    /** The name of the schema field of an envelope */
+    private static final String ENVELOPE_SCHEMA = "schema";
+
+    /** The name of the payload field of an envelope */
+    private static final String ENVELOPE_PAYLOAD = "payload";
+
     final ObjectMapper objectMapper = new ObjectMapper();
 
+    /** The Connect schemas of the envelopes read so far keyed by the bytes of their JSON schema */
+    private final SchemaCache schemaCache = new SchemaCache(TransformerFactory.CACHE_SIZE);
+
     JsonTransformer(final JsonConverter jsonConverter) {
         super();
         this.jsonConverter = jsonConverter;
@@ -51,54 +89,580 @@ public class JsonTransformer extends Transformer {
     @Override
     public StreamSpliterator createSpliterator(final IOSupplier<InputStream> inputStreamIOSupplier,
             final long streamLength, final Context<?> context, final SourceCommonConfig sourceConfig) {
-        return new StreamSpliterator(LOGGER, inputStreamIOSupplier) {
-            BufferedReader reader;
+        final boolean schemasEnabled = sourceConfig != null && sourceConfig.isTransformerJsonSchemasEnabled();
+        final boolean unwrapArrays = sourceConfig != null && sourceConfig.isTransformerJsonUnwrapArrays();
+        final int parallelism = getDecodeParallelism(sourceConfig);
+        return new ChunkingStreamSpliterator<JsonChunk>(LOGGER, inputStreamIOSupplier, parallelism,
+                getChunkDecodePool(parallelism)) {
+            private final ValueScanner scanner = new ValueScanner(unwrapArrays);
+            private InputStream input;
+            private byte[] buffer = new byte[CHUNK_BYTES];
+            /** The number of bytes in the buffer */
+            private int limit;
+            /** The position in the object of the first byte in the buffer */
+            private long position;
+            private boolean endOfInput;
+            private boolean readFailed;
 
             @Override
             protected void inputOpened(final InputStream input) {
-                reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
-
+                this.input = input;
             }
 
             @Override
-            public void doClose() {
-                if (reader != null) {
+            protected JsonChunk readChunk() throws IOException {
+                if (readFailed) {
+                    return null;
+                }
+                while (true) {
+                    final int boundary = scanner.getBoundary();
+                    if (boundary > 0 && (limit >= CHUNK_BYTES || endOfInput)) {
+                        return take(boundary);
+                    }
+                    if (endOfInput) {
+                        // anything left is an incomplete value, pass it on so the parser reports it.
+                        return ValueScanner.isBlank(buffer, 0, limit) ? null : take(limit);
+                    }
+                    if (limit == buffer.length) {
+                        // a single value is larger than the buffer.
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    }
+                    final int read;
                     try {
-                        reader.close();
+                        read = input.read(buffer, limit, buffer.length - limit);
                     } catch (IOException e) {
-                        LOGGER.error("Error closing reader: {}", e.getMessage(), e);
+                        if (boundary == 0) {
+                            throw e;
+                        }
+                        // return the values read before the error, the next read reports the end of the data.
+                        LOGGER.error("Error reading input stream: {}", e.getMessage(), e);
+                        readFailed = true;
+                        return take(boundary);
+                    }
+                    if (read < 0) {
+                        endOfInput = true;
+                        scanner.endOfInput(limit);
+                    } else {
+                        scanner.scan(buffer, limit, limit + read);
+                        limit += read;
                     }
                 }
             }
 
+            /**
+             * Removes the first bytes of the buffer as a chunk.
+             *
+             * @param length
+             *            the number of bytes to remove.
+             * @return the chunk.
+             */
+            private JsonChunk take(final int length) {
+                final JsonChunk chunk = new JsonChunk(Arrays.copyOf(buffer, length), position);
+                System.arraycopy(buffer, length, buffer, 0, limit - length);
+                limit -= length;
+                position += length;
+                scanner.shift(length);
+                return chunk;
+            }
+
             @Override
-            public boolean doAdvance(final Consumer<? super SchemaAndValue> action) {
-                String line = null;
-                try {
-                    // remove blank and empty lines.
-                    while (StringUtils.isBlank(line)) {
-                        line = reader.readLine();
-                        if (line == null) {
-                            // end of file
-                            return false;
-                        }
+            protected void decodeChunk(final JsonChunk chunk, final List<SchemaAndValue> output) throws IOException {
+                try (JsonParser parser = objectMapper.getFactory().createParser(chunk.data)) {
+                    JsonToken token = parser.nextToken();
+                    while (token != null) {
+                        output.add(schemasEnabled
+                                ? readEnvelope(parser, token, chunk.data)
+                                : new SchemaAndValue(null, readValue(parser, token)));
+                        token = parser.nextToken();
                     }
-                    line = line.trim();
-                    // toConnectData does not actually use topic in the conversion so its fine if it is null.
-                    action.accept(jsonConverter.toConnectData(context.getTopic().orElse(null),
-                            line.getBytes(StandardCharsets.UTF_8)));
-                    return true;
-                } catch (IOException e) {
-                    LOGGER.error("Error reading input stream: {}", e.getMessage(), e);
-                    return false;
+                } catch (JsonProcessingException e) {
+                    final JsonLocation location = e.getLocation();
+                    final long offset = chunk.position + (location == null ? 0 : location.getByteOffset());
+                    throw new DataException(String.format("Invalid JSON near byte %d of the object: %s", offset,
+                            e.getOriginalMessage()), e);
                 }
             }
         };
     }
 
+    /**
+     * Reads a schema and payload envelope.
+     *
+     * @param parser
+     *            the parser positioned on the first token of the envelope.
+     * @param token
+     *            the current token.
+     * @param data
+     *            the bytes the parser reads.
+     * @return the schema and value of the payload.
+     * @throws IOException
+     *             on parse error.
+     */
+    private SchemaAndValue readEnvelope(final JsonParser parser, final JsonToken token, final byte[] data)
+            throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            throw envelopeError();
+        }
+        Schema schema = null;
+        boolean hasSchema = false;
+        TokenBuffer pendingPayload = null;
+        boolean hasPayload = false;
+        Object value = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.currentName();
+            final JsonToken valueToken = parser.nextToken();
+            if (ENVELOPE_SCHEMA.equals(name) && !hasSchema) {
+                hasSchema = true;
+                schema = readSchema(parser, valueToken, data);
+                if (pendingPayload != null) {
+                    try (JsonParser payloadParser = pendingPayload.asParser()) {
+                        value = convert(schema, payloadParser, payloadParser.nextToken());
+                    }
+                }
+            } else if (ENVELOPE_PAYLOAD.equals(name) && !hasPayload) {
+                hasPayload = true;
+                if (hasSchema) {
+                    value = convert(schema, parser, valueToken);
+                } else {
+                    // the payload precedes the schema, keep its tokens until the schema is known.
+                    pendingPayload = new TokenBuffer(parser);
+                    pendingPayload.copyCurrentStructure(parser);
+                }
+            } else {
+                throw envelopeError();
+            }
+        }
+        if (!hasSchema || !hasPayload) {
+            throw envelopeError();
+        }
+        return new SchemaAndValue(schema, value);
+    }
+
+    private static DataException envelopeError() {
+        return new DataException("JSON values with schemas enabled must be an object with \"" + ENVELOPE_SCHEMA
+                + "\" and \"" + ENVELOPE_PAYLOAD + "\" fields and may not contain additional fields.");
+    }
+
+    /**
+     * Reads the schema of an envelope, parsing it only if the same bytes have not been seen before.
+     *
+     * @param parser
+     *            the parser positioned on the first token of the schema.
+     * @param token
+     *            the current token.
+     * @param data
+     *            the bytes the parser reads.
+     * @return the Connect schema or {@code null} if the schema is JSON null.
+     * @throws IOException
+     *             on parse error.
+     */
+    private Schema readSchema(final JsonParser parser, final JsonToken token, final byte[] data) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new DataException("The \"" + ENVELOPE_SCHEMA + "\" field must be an object or null.");
+        }
+        final int start = (int) parser.currentTokenLocation().getByteOffset();
+        parser.skipChildren();
+        final int end = (int) parser.currentLocation().getByteOffset();
+        Schema schema = schemaCache.get(ByteBuffer.wrap(data, start, end - start));
+        if (schema == null) {
+            schema = jsonConverter.asConnectSchema(objectMapper.readTree(data, start, end - start));
+            schemaCache.put(ByteBuffer.wrap(Arrays.copyOfRange(data, start, end)), schema);
+        }
+        return schema;
+    }
+
+    /**
+     * Reads a value without a schema. Objects become maps, arrays become lists, integers become longs and other numbers
+     * become doubles.
+     *
+     * @param parser
+     *            the parser positioned on the first token of the value.
+     * @param token
+     *            the current token.
+     * @return the value.
+     * @throws IOException
+     *             on parse error.
+     */
+    private static Object readValue(final JsonParser parser, final JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT :
+                final Map<String, Object> map = new LinkedHashMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String name = parser.currentName();
+                    map.put(name, readValue(parser, parser.nextToken()));
+                }
+                return map;
+            case START_ARRAY :
+                final List<Object> list = new ArrayList<>();
+                JsonToken element = parser.nextToken();
+                while (element != JsonToken.END_ARRAY) {
+                    list.add(readValue(parser, element));
+                    element = parser.nextToken();
+                }
+                return list;
+            case VALUE_STRING :
+                return parser.getText();
+            case VALUE_NUMBER_INT :
+                return parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+                        ? parser.getBigIntegerValue().longValue()
+                        : parser.getLongValue();
+            case VALUE_NUMBER_FLOAT :
+                return parser.getDoubleValue();
+            case VALUE_TRUE :
+                return Boolean.TRUE;
+            case VALUE_FALSE :
+                return Boolean.FALSE;
+            case VALUE_NULL :
+                return null;
+            default :
+                throw new DataException("Unexpected JSON token " + token);
+        }
+    }
+
+    /**
+     * Reads a value with a schema.
+     *
+     * @param schema
+     *            the schema of the value. May be {@code null} to read the value without a schema.
+     * @param parser
+     *            the parser positioned on the first token of the value.
+     * @param token
+     *            the current token.
+     * @return the value.
+     * @throws IOException
+     *             on parse error.
+     */
+    private static Object convert(final Schema schema, final JsonParser parser, final JsonToken token)
+            throws IOException {
+        if (schema == null) {
+            return readValue(parser, token);
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return nullValue(schema);
+        }
+        switch (schema.type()) {
+            case INT8 :
+                return (byte) parser.getIntValue();
+            case INT16 :
+                return (short) parser.getIntValue();
+            case INT32 :
+                if (Date.LOGICAL_NAME.equals(schema.name())) {
+                    return Date.toLogical(schema, parser.getIntValue());
+                }
+                if (Time.LOGICAL_NAME.equals(schema.name())) {
+                    return Time.toLogical(schema, parser.getIntValue());
+                }
+                return parser.getIntValue();
+            case INT64 :
+                if (Timestamp.LOGICAL_NAME.equals(schema.name())) {
+                    return Timestamp.toLogical(schema, parser.getLongValue());
+                }
+                return parser.getLongValue();
+            case FLOAT32 :
+                return parser.getFloatValue();
+            case FLOAT64 :
+                return parser.getDoubleValue();
+            case BOOLEAN :
+                return parser.getBooleanValue();
+            case STRING :
+                expect(token, JsonToken.VALUE_STRING, schema);
+                return parser.getText();
+            case BYTES :
+                if (Decimal.LOGICAL_NAME.equals(schema.name()) && token.isNumeric()) {
+                    return parser.getDecimalValue();
+                }
+                expect(token, JsonToken.VALUE_STRING, schema);
+                final byte[] bytes = parser.getBinaryValue();
+                return Decimal.LOGICAL_NAME.equals(schema.name()) ? Decimal.toLogical(schema, bytes) : bytes;
+            case ARRAY :
+                expect(token, JsonToken.START_ARRAY, schema);
+                final List<Object> list = new ArrayList<>();
+                JsonToken element = parser.nextToken();
+                while (element != JsonToken.END_ARRAY) {
+                    list.add(convert(schema.valueSchema(), parser, element));
+                    element = parser.nextToken();
+                }
+                return list;
+            case MAP :
+                return convertMap(schema, parser, token);
+            case STRUCT :
+                expect(token, JsonToken.START_OBJECT, schema);
+                final Struct struct = new Struct(schema);
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final Field field = schema.field(parser.currentName());
+                    final JsonToken fieldToken = parser.nextToken();
+                    if (field == null) {
+                        parser.skipChildren();
+                    } else {
+                        struct.put(field, convert(field.schema(), parser, fieldToken));
+                    }
+                }
+                for (final Field field : schema.fields()) {
+                    if (struct.getWithoutDefault(field.name()) == null) {
+                        struct.put(field, nullValue(field.schema()));
+                    }
+                }
+                return struct;
+            default :
+                throw new DataException("Unknown schema type: " + schema.type());
+        }
+    }
+
+    /**
+     * Reads a map. Maps with string keys are JSON objects, other maps are arrays of key and value pairs.
+     */
+    private static Map<Object, Object> convertMap(final Schema schema, final JsonParser parser, final JsonToken token)
+            throws IOException {
+        final Map<Object, Object> map = new LinkedHashMap<>();
+        if (schema.keySchema().type() == Schema.Type.STRING) {
+            expect(token, JsonToken.START_OBJECT, schema);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String key = parser.currentName();
+                map.put(key, convert(schema.valueSchema(), parser, parser.nextToken()));
+            }
+            return map;
+        }
+        expect(token, JsonToken.START_ARRAY, schema);
+        JsonToken entry = parser.nextToken();
+        while (entry != JsonToken.END_ARRAY) {
+            expect(entry, JsonToken.START_ARRAY, schema);
+            final Object key = convert(schema.keySchema(), parser, parser.nextToken());
+            final Object value = convert(schema.valueSchema(), parser, parser.nextToken());
+            if (parser.nextToken() != JsonToken.END_ARRAY) {
+                throw new DataException("Found invalid map entry instead of array tuple");
+            }
+            map.put(key, value);
+            entry = parser.nextToken();
+        }
+        return map;
+    }
+
+    private static void expect(final JsonToken token, final JsonToken expected, final Schema schema) {
+        if (token != expected) {
+            throw new DataException("Unexpected JSON token " + token + " for schema type " + schema.type());
+        }
+    }
+
+    private static Object nullValue(final Schema schema) {
+        if (schema.defaultValue() != null) {
+            return schema.defaultValue();
+        }
+        if (schema.isOptional()) {
+            return null;
+        }
+        throw new DataException("Invalid null value for required " + schema.type() + " field");
+    }
+
     @Override
     public SchemaAndValue getKeyData(final Object cloudStorageKey, final String topic,
             final SourceCommonConfig sourceConfig) {
         return new SchemaAndValue(null, ((String) cloudStorageKey).getBytes(StandardCharsets.UTF_8));
     }
+
+    /**
+     * A run of complete top level JSON values.
+     */
+    private static final class JsonChunk {
+        /** The bytes of the values */
+        private final byte[] data;
+        /** The position of the first byte in the object */
+        private final long position;
+
+        JsonChunk(final byte[] data, final long position) {
+            this.data = data;
+            this.position = position;
+        }
+    }
+
+    /**
+     * Finds the ends of top level JSON values in a byte stream without parsing them. Only nesting, strings and bare
+     * scalars are tracked. When arrays are unwrapped the brackets and separating commas of top level arrays are
+     * overwritten with spaces so that the elements become top level values.
+     */
+    static final class ValueScanner {
+        private final boolean unwrapArrays;
+        /** The nesting depth below the top level, not counting an unwrapped array */
+        private int depth;
+        private boolean inString;
+        private boolean escaped;
+        /** {@code true} while inside a bare top level scalar such as a number or {@code true} */
+        private boolean inScalar;
+        /** {@code true} while inside an unwrapped top level array */
+        private boolean inArray;
+        /** The index after the last complete top level value */
+        private int boundary;
+
+        ValueScanner(final boolean unwrapArrays) {
+            this.unwrapArrays = unwrapArrays;
+        }
+
+        /**
+         * Gets the index after the last complete top level value.
+         *
+         * @return the index after the last complete top level value, 0 if there is none.
+         */
+        int getBoundary() {
+            return boundary;
+        }
+
+        /**
+         * Scans bytes, may overwrite the brackets and commas of unwrapped arrays.
+         *
+         * @param data
+         *            the data to scan.
+         * @param from
+         *            the first index to scan.
+         * @param to
+         *            the index after the last byte to scan.
+         */
+        void scan(final byte[] data, final int from, final int to) { // NOPMD complexity of a byte level scanner
+            for (int i = from; i < to; i++) {
+                final byte current = data[i];
+                if (inString) {
+                    if (escaped) {
+                        escaped = false;
+                    } else if (current == '\\') {
+                        escaped = true;
+                    } else if (current == '"') {
+                        inString = false;
+                        if (depth == 0) {
+                            boundary = i + 1;
+                        }
+                    }
+                    continue;
+                }
+                if (inScalar) {
+                    if (!isScalarEnd(current)) {
+                        continue;
+                    }
+                    inScalar = false;
+                    boundary = i;
+                }
+                switch (current) {
+                    case '"' :
+                        inString = true;
+                        break;
+                    case '[' :
+                        if (depth == 0 && unwrapArrays && !inArray) {
+                            inArray = true;
+                            data[i] = ' ';
+                        } else {
+                            depth++;
+                        }
+                        break;
+                    case '{' :
+                        depth++;
+                        break;
+                    case ']' :
+                    case '}' :
+                        if (depth > 0) {
+                            depth--;
+                            if (depth == 0) {
+                                boundary = i + 1;
+                            }
+                        } else if (inArray && current == ']') {
+                            inArray = false;
+                            data[i] = ' ';
+                        } else {
+                            // unbalanced, let the parser report it.
+                            boundary = i + 1;
+                        }
+                        break;
+                    case ',' :
+                        if (depth == 0 && inArray) {
+                            data[i] = ' ';
+                        }
+                        break;
+                    case ' ' :
+                    case '\t' :
+                    case '\r' :
+                    case '\n' :
+                        break;
+                    default :
+                        if (depth == 0) {
+                            inScalar = true;
+                        }
+                }
+            }
+        }
+
+        /**
+         * Completes a trailing top level scalar at the end of the input.
+         *
+         * @param limit
+         *            the index after the last byte of the input.
+         */
+        void endOfInput(final int limit) {
+            if (inScalar) {
+                inScalar = false;
+                boundary = limit;
+            }
+        }
+
+        /**
+         * Adjusts the scanner after bytes have been removed from the start of the data.
+         *
+         * @param length
+         *            the number of bytes removed. Must not be more than the boundary.
+         */
+        void shift(final int length) {
+            boundary = Math.max(0, boundary - length);
+        }
+
+        private static boolean isScalarEnd(final byte value) {
+            switch (value) {
+                case ' ' :
+                case '\t' :
+                case '\r' :
+                case '\n' :
+                case ',' :
+                case '"' :
+                case '[' :
+                case ']' :
+                case '{' :
+                case '}' :
+                    return true;
+                default :
+                    return false;
+            }
+        }
+
+        static boolean isBlank(final byte[] data, final int from, final int to) {
+            for (int i = from; i < to; i++) {
+                if (data[i] != ' ' && data[i] != '\t' && data[i] != '\r' && data[i] != '\n') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A synchronized LRU cache of Connect schemas.
+     */
+    private static final class SchemaCache {
+        private final Map<ByteBuffer, Schema> schemas;
+
+        SchemaCache(final int maxSchemas) {
+            this.schemas = new LinkedHashMap<>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<ByteBuffer, Schema> eldest) {
+                    return size() > maxSchemas;
+                }
+            };
+        }
+
+        synchronized Schema get(final ByteBuffer key) {
+            return schemas.get(key);
+        }
+
+        synchronized void put(final ByteBuffer key, final Schema schema) {
+            schemas.put(key, schema);
+        }
+    }
 }
@@ -16,6 +16,7 @@
 
 package io.aiven.kafka.connect.common.source.input;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -24,32 +25,59 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.apache.kafka.connect.data.SchemaAndValue;
 
 import io.aiven.kafka.connect.common.config.SourceCommonConfig;
+import io.aiven.kafka.connect.common.config.TransformerFragment;
 import io.aiven.kafka.connect.common.source.input.parquet.LocalInputFile;
+import io.aiven.kafka.connect.common.source.input.parquet.ParallelRowGroupReader;
+import io.aiven.kafka.connect.common.source.input.parquet.ParquetFilterExpression;
+import io.aiven.kafka.connect.common.source.input.parquet.ParquetProjection;
+import io.aiven.kafka.connect.common.source.input.parquet.RangedInputFile;
 import io.aiven.kafka.connect.common.source.task.Context;
 
 import io.confluent.connect.avro.AvroData;
+import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.commons.compress.utils.IOUtils;
 import org.apache.commons.io.function.IOSupplier;
+import org.apache.hadoop.conf.Configuration;
 import org.apache.parquet.avro.AvroParquetReader;
+import org.apache.parquet.avro.AvroReadSupport;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.InputFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class ParquetTransformer extends Transformer {
 
-    private final AvroData avroData;
+    /** The counter used to name the decode pools */
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+    /** The converters compiled for the record schemas */
+    private final AvroRecordConverter.Cache converters;
+
+    /** The pool that decodes row groups concurrently, created on first use and shared by all files */
+    private ExecutorService decodePool;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ParquetTransformer.class);
 
     ParquetTransformer(final AvroData avroData) {
         super();
-        this.avroData = avroData;
+        this.converters = new AvroRecordConverter.Cache(avroData, TransformerFactory.CACHE_SIZE);
     }
 
     @Override
@@ -62,19 +90,32 @@ public class ParquetTransformer extends Transformer {
     public StreamSpliterator createSpliterator(final IOSupplier<InputStream> inputStreamIOSupplier,
             final long streamLength, final Context<?> context, final SourceCommonConfig sourceConfig) {
 
-        return new StreamSpliterator(LOGGER, inputStreamIOSupplier) {
+        final RangedIOSupplier rangedIOSupplier = useRangedReads(inputStreamIOSupplier, streamLength, sourceConfig)
+                ? (RangedIOSupplier) inputStreamIOSupplier
+                : null;
+        // when using ranged reads the spliterator input stream is not used so do not open the whole object.
+        final IOSupplier<InputStream> spliteratorSupplier = rangedIOSupplier == null
+                ? inputStreamIOSupplier
+                : InputStream::nullInputStream;
 
-            private ParquetReader<GenericRecord> reader;
+        return new StreamSpliterator(LOGGER, spliteratorSupplier) {
+
+            private RecordReader reader;
             private File parquetFile;
 
             @Override
             protected void inputOpened(final InputStream input) throws IOException {
+                if (rangedIOSupplier != null) {
+                    reader = createReader(new RangedInputFile(rangedIOSupplier, streamLength,
+                            getBlockSize(sourceConfig), getCacheBlocks(sourceConfig)), sourceConfig);
+                    return;
+                }
                 final String timestamp = String.valueOf(Instant.now().toEpochMilli());
 
                 try {
                     // Create a temporary file for the Parquet data
-                    parquetFile = File.createTempFile(context.getTopic().orElse("topic") + "_"
-                            + context.getPartition().orElse(null) + "_" + timestamp, ".parquet");
+                    parquetFile = createSpoolFile(context.getTopic().orElse("topic") + "_"
+                            + context.getPartition().orElse(null) + "_" + timestamp, sourceConfig);
                 } catch (IOException e) {
                     LOGGER.error("Error creating temp file for Parquet data: {}", e.getMessage(), e);
                     throw e;
@@ -83,8 +124,7 @@ public class ParquetTransformer extends Transformer {
                 try (OutputStream outputStream = Files.newOutputStream(parquetFile.toPath())) {
                     IOUtils.copy(input, outputStream); // Copy input stream to temporary file
                 }
-                reader = AvroParquetReader.<GenericRecord>builder(new LocalInputFile(parquetFile.toPath())).build();
-
+                reader = createReader(new LocalInputFile(parquetFile.toPath()), sourceConfig);
             }
 
             @Override
@@ -104,9 +144,9 @@ public class ParquetTransformer extends Transformer {
             @Override
             protected boolean doAdvance(final Consumer<? super SchemaAndValue> action) {
                 try {
-                    final GenericRecord record = reader.read();
-                    if (record != null) {
-                        action.accept(avroData.toConnectData(record.getSchema(), record)); // Pass record to the stream
+                    final SchemaAndValue value = reader.read();
+                    if (value != null) {
+                        action.accept(value); // Pass record to the stream
                         return true;
                     }
                 } catch (IOException e) {
@@ -117,6 +157,195 @@ public class ParquetTransformer extends Transformer {
         };
     }
 
+    /**
+     * Reads the converted records of a Parquet file.
+     */
+    private interface RecordReader extends Closeable {
+        /**
+         * Reads the next record.
+         *
+         * @return the next record or {@code null} if there are no more records.
+         * @throws IOException
+         *             on IO error.
+         */
+        SchemaAndValue read() throws IOException;
+    }
+
+    private SchemaAndValue toSchemaAndValue(final GenericRecord record) {
+        return converters.get(record.getSchema()).convert(record);
+    }
+
+    /**
+     * Creates the reader for the input file. If a projection is configured only the projected columns (and those
+     * referenced by the filter) are read. If a filter is configured it is pushed down to Parquet so that row groups can
+     * be skipped based on column statistics and dictionaries. If more than one decode thread is configured the row
+     * groups are decoded concurrently and returned in file order.
+     *
+     * @param inputFile
+     *            the input file to read.
+     * @param sourceConfig
+     *            the source configuration, may be {@code null}.
+     * @return the record reader.
+     * @throws IOException
+     *             on IO error.
+     */
+    private RecordReader createReader(final InputFile inputFile, final SourceCommonConfig sourceConfig)
+            throws IOException {
+        final List<String> projection = sourceConfig == null ? List.of() : sourceConfig.getParquetProjection();
+        final String filter = sourceConfig == null ? null : sourceConfig.getParquetFilter();
+        final int threads = sourceConfig == null ? 1 : sourceConfig.getParquetDecodeThreads();
+        final boolean hasProjection = projection != null && !projection.isEmpty();
+        final boolean hasFilter = filter != null && !filter.isBlank();
+        if (!hasProjection && !hasFilter && threads <= 1) {
+            return sequentialReader(AvroParquetReader.<GenericRecord>builder(inputFile).build());
+        }
+
+        final ParquetMetadata footer;
+        try (ParquetFileReader fileReader = ParquetFileReader.open(inputFile)) {
+            footer = fileReader.getFooter();
+        }
+        final Configuration conf = new Configuration();
+        final Set<String> columns = hasProjection ? new LinkedHashSet<>(projection) : new LinkedHashSet<>();
+        final FilterCompat.Filter rowFilter;
+        if (hasFilter) {
+            final ParquetFilterExpression expression = ParquetFilterExpression.parse(filter);
+            rowFilter = FilterCompat.get(expression.toPredicate(footer.getFileMetaData().getSchema()));
+            columns.addAll(expression.getTopLevelColumns());
+        } else {
+            rowFilter = FilterCompat.NOOP;
+        }
+        if (hasProjection) {
+            final Schema projected = ParquetProjection
+                    .project(ParquetProjection.fileSchema(footer.getFileMetaData(), conf), columns);
+            AvroReadSupport.setRequestedProjection(conf, projected);
+            AvroReadSupport.setAvroReadSchema(conf, projected);
+        }
+
+        final List<BlockMetaData> rowGroups = footer.getBlocks();
+        if (threads <= 1 || rowGroups.size() <= 1) {
+            return sequentialReader(
+                    AvroParquetReader.<GenericRecord>builder(inputFile).withConf(conf).withFilter(rowFilter).build());
+        }
+        // a file range selects the row groups whose midpoint is in the range, so each range selects one row group.
+        final List<IOSupplier<ParquetReader<GenericRecord>>> rowGroupReaders = new ArrayList<>();
+        for (final BlockMetaData rowGroup : rowGroups) {
+            rowGroupReaders.add(() -> AvroParquetReader.<GenericRecord>builder(inputFile)
+                    .withConf(conf)
+                    .withFilter(rowFilter)
+                    .withFileRange(rowGroup.getStartingPos(), rowGroup.getStartingPos() + rowGroup.getCompressedSize())
+                    .build());
+        }
+        final ParallelRowGroupReader<SchemaAndValue> parallelReader = new ParallelRowGroupReader<>(rowGroupReaders,
+                this::toSchemaAndValue, getDecodePool(threads), sourceConfig.getParquetDecodeLookahead());
+        return new RecordReader() {
+            @Override
+            public SchemaAndValue read() throws IOException {
+                return parallelReader.read();
+            }
+
+            @Override
+            public void close() {
+                parallelReader.close();
+            }
+        };
+    }
+
+    /**
+     * Gets the pool that decodes row groups concurrently, creating it on first use. Files may be read concurrently
+     * when several objects are processed at once, so the pool is shared and bounds the decode threads of the task.
+     *
+     * @param threads
+     *            the number of threads in the pool.
+     * @return the pool that decodes row groups.
+     */
+    private synchronized ExecutorService getDecodePool(final int threads) {
+        if (decodePool == null) {
+            final int poolId = POOL_COUNTER.incrementAndGet();
+            final AtomicInteger threadCounter = new AtomicInteger();
+            decodePool = Executors.newFixedThreadPool(threads, runnable -> {
+                final Thread thread = new Thread(runnable,
+                        String.format("parquet-decoder-%d-%d", poolId, threadCounter.incrementAndGet()));
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return decodePool;
+    }
+
+    /**
+     * Shuts down the pools that decode row groups and chunks, if they were created.
+     */
+    @Override
+    public synchronized void close() {
+        super.close();
+        if (decodePool != null) {
+            decodePool.shutdownNow();
+            decodePool = null;
+        }
+    }
+
+    private RecordReader sequentialReader(final ParquetReader<GenericRecord> parquetReader) {
+        return new RecordReader() {
+            @Override
+            public SchemaAndValue read() throws IOException {
+                final GenericRecord record = parquetReader.read();
+                return record == null ? null : toSchemaAndValue(record);
+            }
+
+            @Override
+            public void close() throws IOException {
+                parquetReader.close();
+            }
+        };
+    }
+
+    /**
+     * Determines if the Parquet data can be read with ranged reads.
+     *
+     * @param inputStreamIOSupplier
+     *            the input stream supplier.
+     * @param streamLength
+     *            the length of the stream.
+     * @param sourceConfig
+     *            the source configuration, may be {@code null}.
+     * @return {@code true} if ranged reads should be used.
+     */
+    private static boolean useRangedReads(final IOSupplier<InputStream> inputStreamIOSupplier,
+            final long streamLength, final SourceCommonConfig sourceConfig) {
+        return inputStreamIOSupplier instanceof RangedIOSupplier && streamLength > 0 && sourceConfig != null
+                && sourceConfig.isParquetRangedReadEnabled();
+    }
+
+    private static int getBlockSize(final SourceCommonConfig sourceConfig) {
+        final int blockSize = sourceConfig.getParquetRangedBlockSize();
+        return blockSize > 0 ? blockSize : TransformerFragment.DEFAULT_PARQUET_RANGED_BLOCK_SIZE;
+    }
+
+    private static int getCacheBlocks(final SourceCommonConfig sourceConfig) {
+        return Math.max(0, sourceConfig.getParquetRangedCacheBlocks());
+    }
+
+    /**
+     * Creates the file the Parquet data is spooled to. Uses the configured spool directory if set, otherwise the system
+     * temporary directory.
+     *
+     * @param prefix
+     *            the file name prefix.
+     * @param sourceConfig
+     *            the source configuration, may be {@code null}.
+     * @return the spool file.
+     * @throws IOException
+     *             if the file can not be created.
+     */
+    static File createSpoolFile(final String prefix, final SourceCommonConfig sourceConfig) throws IOException {
+        final String spoolDirectory = sourceConfig == null ? null : sourceConfig.getParquetSpoolDirectory();
+        if (spoolDirectory == null) {
+            return File.createTempFile(prefix, ".parquet");
+        }
+        final Path directory = Files.createDirectories(Path.of(spoolDirectory));
+        return File.createTempFile(prefix, ".parquet", directory.toFile());
+    }
+
     static void deleteTmpFile(final Path parquetFile) {
         if (Files.exists(parquetFile)) {
             try {
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.input;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.commons.io.function.IOSupplier;
+
+/**
+ * An {@link IOSupplier} of {@link InputStream} that can also supply a byte range of the underlying storage object.
+ * Storage clients that support ranged reads (e.g. HTTP {@code Range} requests) return instances of this interface so
+ * that transformers which need random access, like the Parquet transformer, can read only the parts of the object they
+ * need instead of the whole object.
+ */
+public interface RangedIOSupplier extends IOSupplier<InputStream> {
+
+    /**
+     * Gets an input stream over a range of the underlying object.
+     *
+     * @param position
+     *            the zero based position of the first byte to read.
+     * @param length
+     *            the number of bytes to read.
+     * @return an InputStream that returns at most {@code length} bytes starting at {@code position}.
+     * @throws IOException
+     *             on IO error.
+     */
+    InputStream getRange(long position, long length) throws IOException;
+}
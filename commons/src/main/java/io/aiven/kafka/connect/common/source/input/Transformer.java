@@ -18,8 +18,21 @@ package io.aiven.kafka.connect.common.source.input;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Spliterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -35,6 +48,12 @@ public abstract class Transformer {
 
     public final static long UNKNOWN_STREAM_LENGTH = -1;
 
+    /** The counter used to name the chunk decode pools */
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+    /** The pool that decodes chunks concurrently, created on first use and shared by all objects */
+    private ExecutorService chunkDecodePool;
+
     public final Stream<SchemaAndValue> getRecords(final IOSupplier<InputStream> inputStreamIOSupplier,
             final long streamLength, final Context<?> context, final SourceCommonConfig sourceConfig,
             final long skipRecords) {
@@ -63,6 +82,43 @@ public abstract class Transformer {
 
     public abstract SchemaAndValue getKeyData(Object cloudStorageKey, String topic, SourceCommonConfig sourceConfig);
 
+    /**
+     * Gets the pool that decodes chunks concurrently, creating it on first use. Objects may be read concurrently when
+     * several objects are processed at once, so the pool is shared and bounds the decode threads of the task.
+     *
+     * @param parallelism
+     *            the number of threads in the pool.
+     * @return the pool that decodes chunks, or {@code null} if {@code parallelism} is less than 2 and chunks are
+     *         decoded on the calling thread.
+     */
+    protected final synchronized ExecutorService getChunkDecodePool(final int parallelism) {
+        if (parallelism < 2) {
+            return null;
+        }
+        if (chunkDecodePool == null) {
+            final int poolId = POOL_COUNTER.incrementAndGet();
+            final AtomicInteger threadCounter = new AtomicInteger();
+            chunkDecodePool = Executors.newFixedThreadPool(parallelism, runnable -> {
+                final Thread thread = new Thread(runnable,
+                        String.format("chunk-decoder-%d-%d", poolId, threadCounter.incrementAndGet()));
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return chunkDecodePool;
+    }
+
+    /**
+     * Releases the resources held by the transformer, such as thread pools. Called when the task stops.
+     * Implementations that override this method must call it.
+     */
+    public synchronized void close() {
+        if (chunkDecodePool != null) {
+            chunkDecodePool.shutdownNow();
+            chunkDecodePool = null;
+        }
+    }
+
     /**
      * A Spliterator that performs various checks on the opening/closing of the input stream.
      */
@@ -142,6 +198,29 @@ public abstract class Transformer {
          */
         abstract protected void inputOpened(InputStream input) throws IOException;
 
+        /**
+         * Opens the input stream if it has not been opened.
+         *
+         * @return {@code true} if the input stream is open, {@code false} if this spliterator is closed or the input
+         *         stream could not be opened.
+         */
+        protected final boolean openInput() {
+            if (closed) {
+                return false;
+            }
+            if (inputStream == null) {
+                try {
+                    inputStream = inputStreamIOSupplier.get();
+                    inputOpened(inputStream);
+                } catch (IOException e) {
+                    logger.error("Error trying to open inputStream: {}", e.getMessage(), e);
+                    close();
+                    return false;
+                }
+            }
+            return true;
+        }
+
         @Override
         public final boolean tryAdvance(final Consumer<? super SchemaAndValue> action) {
             if (closed) {
@@ -149,15 +228,8 @@ public abstract class Transformer {
             }
             boolean result = false;
             try {
-                if (inputStream == null) {
-                    try {
-                        inputStream = inputStreamIOSupplier.get();
-                        inputOpened(inputStream);
-                    } catch (IOException e) {
-                        logger.error("Error trying to open inputStream: {}", e.getMessage(), e);
-                        close();
-                        return false;
-                    }
+                if (!openInput()) {
+                    return false;
                 }
                 result = doAdvance(action);
             } catch (RuntimeException e) { // NOPMD must catch runtime exception here.
@@ -169,8 +241,305 @@ public abstract class Transformer {
             return result;
         }
 
+        /**
+         * Splitting is not supported by default. Implementations that can split their input override this method.
+         *
+         * @return {@code null}
+         */
+        @Override
+        public Spliterator<SchemaAndValue> trySplit() { // NOPMD returning null is reqruied by API
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.NONNULL;
+        }
+    }
+
+    /**
+     * A StreamSpliterator that reads the input in chunks of whole records and decodes each chunk into records.
+     * <p>
+     * Chunks are read sequentially on the calling thread. Decoding, which is usually the expensive part, can then be
+     * done elsewhere:
+     * </p>
+     * <ul>
+     * <li>{@link #trySplit()} returns a spliterator over the next chunk so parallel streams may decode chunks on other
+     * threads.</li>
+     * <li>When {@code parallelism} is greater than 1, up to {@code parallelism} chunks are decoded ahead on the decode
+     * pool of the transformer, see {@link Transformer#getChunkDecodePool(int)}, while the records are still returned
+     * in encounter order.</li>
+     * </ul>
+     * <p>
+     * If decoding fails part way through a chunk, the records decoded before the failure are returned before the error
+     * is reported. This matches the record by record behaviour.
+     * </p>
+     *
+     * @param <C>
+     *            the type of the chunk.
+     */
+    protected abstract static class ChunkingStreamSpliterator<C> extends StreamSpliterator {
+        /** The maximum number of chunks decoded ahead */
+        private final int parallelism;
+        /** The pool the chunks are decoded ahead on, {@code null} when chunks are decoded on the calling thread */
+        private final ExecutorService decodePool;
+        /** The chunks being decoded ahead, in encounter order */
+        private final Deque<Future<DecodedChunk>> pending = new ArrayDeque<>();
+        /** The chunk currently being returned */
+        private DecodedChunk current = DecodedChunk.EMPTY;
+        /** Set when the last chunk has been read */
+        private boolean exhausted;
+
+        /**
+         * Constructor for a spliterator that decodes chunks on the calling thread.
+         *
+         * @param logger
+         *            The logger for this Spliterator to use.
+         * @param inputStreamIOSupplier
+         *            the InputStream supplier
+         */
+        protected ChunkingStreamSpliterator(final Logger logger, final IOSupplier<InputStream> inputStreamIOSupplier) {
+            this(logger, inputStreamIOSupplier, 1, null);
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param logger
+         *            The logger for this Spliterator to use.
+         * @param inputStreamIOSupplier
+         *            the InputStream supplier
+         * @param parallelism
+         *            the maximum number of chunks to decode ahead on the decode pool. Values less than 2 decode on the
+         *            calling thread.
+         * @param decodePool
+         *            the pool to decode chunks on, from {@link Transformer#getChunkDecodePool(int)}. May be
+         *            {@code null} when {@code parallelism} is less than 2. Not shut down by this spliterator.
+         */
+        protected ChunkingStreamSpliterator(final Logger logger, final IOSupplier<InputStream> inputStreamIOSupplier,
+                final int parallelism, final ExecutorService decodePool) {
+            super(logger, inputStreamIOSupplier);
+            this.parallelism = decodePool == null ? 1 : parallelism;
+            this.decodePool = decodePool;
+        }
+
+        /**
+         * Reads the next chunk from the input. Called on the thread that advances the spliterator.
+         *
+         * @return the next chunk or {@code null} if there are no more chunks.
+         * @throws IOException
+         *             on IO error.
+         */
+        protected abstract C readChunk() throws IOException;
+
+        /**
+         * Decodes the records of a chunk. May be called concurrently on different threads for different chunks.
+         *
+         * @param chunk
+         *            the chunk to decode.
+         * @param output
+         *            the list to add the decoded records to.
+         * @throws IOException
+         *             on IO error.
+         */
+        protected abstract void decodeChunk(C chunk, List<SchemaAndValue> output) throws IOException;
+
+        private C nextChunk() {
+            if (exhausted) {
+                return null;
+            }
+            try {
+                final C chunk = readChunk();
+                exhausted = chunk == null;
+                return chunk;
+            } catch (IOException e) {
+                logger.error("Error reading input stream: {}", e.getMessage(), e);
+                exhausted = true;
+                return null;
+            }
+        }
+
+        private DecodedChunk decode(final C chunk) {
+            final List<SchemaAndValue> output = new ArrayList<>();
+            try {
+                decodeChunk(chunk, output);
+                return new DecodedChunk(output, null);
+            } catch (IOException e) {
+                return new DecodedChunk(output, new UncheckedIOException(e));
+            } catch (RuntimeException e) { // NOPMD errors are reported after the decoded records.
+                return new DecodedChunk(output, e);
+            }
+        }
+
+        private void fill() {
+            while (pending.size() < parallelism) {
+                final C chunk = nextChunk();
+                if (chunk == null) {
+                    return;
+                }
+                pending.add(decodePool.submit(() -> decode(chunk)));
+            }
+        }
+
+        /**
+         * Waits for a chunk that is being decoded ahead.
+         *
+         * @param future
+         *            the chunk being decoded.
+         * @return the decoded chunk.
+         */
+        private DecodedChunk await(final Future<DecodedChunk> future) {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new DecodedChunk(List.of(), new UncheckedIOException(
+                        new InterruptedIOException("Interrupted while decoding a chunk: " + e.getMessage())));
+            } catch (ExecutionException e) {
+                // decode() reports exceptions with the chunk, so only errors are thrown by the task.
+                final Throwable cause = e.getCause();
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+
+        private DecodedChunk nextDecoded() {
+            if (parallelism < 2) {
+                final C chunk = nextChunk();
+                return chunk == null ? null : decode(chunk);
+            }
+            fill();
+            final Future<DecodedChunk> next = pending.poll();
+            if (next == null) {
+                return null;
+            }
+            fill();
+            return await(next);
+        }
+
+        @Override
+        protected final boolean doAdvance(final Consumer<? super SchemaAndValue> action) {
+            while (!current.hasNext()) {
+                final DecodedChunk next = nextDecoded();
+                if (next == null) {
+                    return false;
+                }
+                current = next;
+            }
+            action.accept(current.next());
+            return true;
+        }
+
+        @Override
+        public final Spliterator<SchemaAndValue> trySplit() {
+            try {
+                if (!openInput()) {
+                    return null;
+                }
+                // the prefix is any records already decoded, the chunks being decoded, or else the next chunk.
+                final Deque<Supplier<DecodedChunk>> prefix = new ArrayDeque<>();
+                if (current.hasNext()) {
+                    final DecodedChunk remaining = current;
+                    prefix.add(() -> remaining);
+                    current = DecodedChunk.EMPTY;
+                }
+                while (!pending.isEmpty()) {
+                    final Future<DecodedChunk> future = pending.poll();
+                    prefix.add(() -> await(future));
+                }
+                if (prefix.isEmpty()) {
+                    final C chunk = nextChunk();
+                    if (chunk == null) {
+                        return null;
+                    }
+                    prefix.add(() -> decode(chunk));
+                }
+                return new DecodedChunkSpliterator(prefix);
+            } catch (RuntimeException e) { // NOPMD must catch runtime exception here.
+                logger.error("Error trying to split data: {}", e.getMessage(), e);
+                return null;
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return exhausted && pending.isEmpty() && !current.hasNext() ? 0 : Long.MAX_VALUE;
+        }
+
+        /**
+         * Cancels any chunks being decoded. Implementations that override this method must call it.
+         */
+        @Override
+        protected void doClose() {
+            pending.forEach(task -> task.cancel(true));
+            pending.clear();
+        }
+    }
+
+    /**
+     * The records decoded from a chunk and the error, if any, that stopped the decoding.
+     */
+    private static final class DecodedChunk {
+        static final DecodedChunk EMPTY = new DecodedChunk(List.of(), null);
+        private final Iterator<SchemaAndValue> records;
+        private RuntimeException error;
+
+        DecodedChunk(final List<SchemaAndValue> records, final RuntimeException error) {
+            this.records = records.iterator();
+            this.error = error;
+        }
+
+        boolean hasNext() {
+            if (records.hasNext()) {
+                return true;
+            }
+            if (error != null) {
+                final RuntimeException toThrow = error;
+                error = null; // NOPMD only report the error once
+                throw toThrow;
+            }
+            return false;
+        }
+
+        SchemaAndValue next() {
+            return records.next();
+        }
+    }
+
+    /**
+     * A spliterator over chunks that have been split from a {@link ChunkingStreamSpliterator}. The chunks are decoded
+     * by the thread that traverses this spliterator.
+     */
+    private static final class DecodedChunkSpliterator implements Spliterator<SchemaAndValue> {
+        private final Deque<Supplier<DecodedChunk>> chunks;
+        private DecodedChunk current = DecodedChunk.EMPTY;
+
+        DecodedChunkSpliterator(final Deque<Supplier<DecodedChunk>> chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super SchemaAndValue> action) {
+            while (!current.hasNext()) {
+                final Supplier<DecodedChunk> next = chunks.poll();
+                if (next == null) {
+                    return false;
+                }
+                current = next.get();
+            }
+            action.accept(current.next());
+            return true;
+        }
+
         @Override
-        public final Spliterator<SchemaAndValue> trySplit() { // NOPMD returning null is reqruied by API
+        public Spliterator<SchemaAndValue> trySplit() { // NOPMD returning null is reqruied by API
             return null;
         }
 
@@ -184,4 +553,15 @@ public abstract class Transformer {
             return Spliterator.ORDERED | Spliterator.NONNULL;
         }
     }
+
+    /**
+     * Gets the configured decode parallelism.
+     *
+     * @param sourceConfig
+     *            the source configuration, may be {@code null}.
+     * @return the decode parallelism, 1 if not configured.
+     */
+    protected static int getDecodeParallelism(final SourceCommonConfig sourceConfig) {
+        return sourceConfig == null ? 1 : Math.max(1, sourceConfig.getTransformerDecodeParallelism());
+    }
 }
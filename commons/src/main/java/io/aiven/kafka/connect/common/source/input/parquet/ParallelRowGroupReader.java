@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.input.parquet;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.apache.avro.generic.GenericRecord;
+import org.apache.commons.io.function.IOSupplier;
+import org.apache.parquet.hadoop.ParquetReader;
+
+/**
+ * Reads the row groups of a Parquet file concurrently on an executor while returning the records in file order.
+ * <p>
+ * Each row group is read by its own {@link ParquetReader} and its records are converted on the worker thread. At most
+ * {@code lookahead} row groups are decoded or waiting to be consumed at any time, which bounds the memory used to the
+ * size of that many decoded row groups. The executor is owned by the caller and may be shared by several readers, so
+ * worker threads are not created for each file.
+ * </p>
+ *
+ * @param <T>
+ *            the type of the converted records.
+ */
+public final class ParallelRowGroupReader<T> implements Closeable {
+
+    /** The suppliers of readers for each row group, in file order */
+    private final List<IOSupplier<ParquetReader<GenericRecord>>> rowGroupReaders;
+    /** The converter for the records */
+    private final Function<GenericRecord, T> converter;
+    /** The maximum number of row groups decoded ahead of the consumer */
+    private final int lookahead;
+    /** The executor the row groups are decoded on */
+    private final ExecutorService executor;
+    /** The row groups that have been submitted but not consumed, in file order */
+    private final Deque<Future<List<T>>> pending = new ArrayDeque<>();
+    /** The index of the next row group to submit */
+    private int nextRowGroup;
+    /** The records of the current row group */
+    private Iterator<T> current = Collections.emptyIterator();
+
+    /**
+     * Constructor.
+     *
+     * @param rowGroupReaders
+     *            the suppliers of readers for each row group in file order.
+     * @param converter
+     *            the converter for the records, called on the worker threads.
+     * @param executor
+     *            the executor the row groups are decoded on. Not shut down by this reader.
+     * @param lookahead
+     *            the maximum number of row groups decoded ahead of the consumer.
+     */
+    public ParallelRowGroupReader(final List<IOSupplier<ParquetReader<GenericRecord>>> rowGroupReaders,
+            final Function<GenericRecord, T> converter, final ExecutorService executor, final int lookahead) {
+        this.rowGroupReaders = new ArrayList<>(rowGroupReaders);
+        this.converter = converter;
+        this.lookahead = Math.max(1, lookahead);
+        this.executor = executor;
+        fill();
+    }
+
+    /**
+     * Submits row groups until the lookahead is full or all row groups have been submitted.
+     */
+    private void fill() {
+        while (pending.size() < lookahead && nextRowGroup < rowGroupReaders.size()) {
+            final IOSupplier<ParquetReader<GenericRecord>> readerSupplier = rowGroupReaders.get(nextRowGroup++);
+            pending.add(executor.submit(() -> decode(readerSupplier)));
+        }
+    }
+
+    private List<T> decode(final IOSupplier<ParquetReader<GenericRecord>> readerSupplier) throws IOException {
+        final List<T> result = new ArrayList<>();
+        try (ParquetReader<GenericRecord> reader = readerSupplier.get()) {
+            GenericRecord record = reader.read();
+            while (record != null) {
+                result.add(converter.apply(record));
+                record = reader.read();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the next record or {@code null} if there are no more records.
+     * @throws IOException
+     *             if a row group could not be read.
+     */
+    public T read() throws IOException {
+        while (!current.hasNext()) {
+            final Future<List<T>> next = pending.poll();
+            if (next == null) {
+                return null;
+            }
+            fill();
+            try {
+                current = next.get().iterator();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for row group: " + e.getMessage());
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+        return current.next();
+    }
+
+    /**
+     * Cancels the row groups that have been submitted but not consumed. The executor is left running.
+     */
+    @Override
+    public void close() {
+        pending.forEach(future -> future.cancel(true));
+        pending.clear();
+    }
+}
@@ -0,0 +1,445 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.input.parquet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators.BooleanColumn;
+import org.apache.parquet.filter2.predicate.Operators.Column;
+import org.apache.parquet.filter2.predicate.Operators.SupportsLtGt;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+
+/**
+ * A simple filter expression that is converted into a Parquet {@link FilterPredicate}. Parquet uses the predicate to
+ * skip row groups based on column statistics and dictionaries, and to drop the non-matching rows of the row groups that
+ * are read.
+ * <p>
+ * The expression grammar is:
+ * </p>
+ *
+ * <pre>
+ * expression := term ( OR term )*
+ * term       := factor ( AND factor )*
+ * factor     := NOT factor | '(' expression ')' | column operator literal
+ * operator   := '=' | '==' | '!=' | '&lt;&gt;' | '&lt;' | '&lt;=' | '&gt;' | '&gt;='
+ * literal    := number | 'quoted string' | true | false | null
+ * </pre>
+ * <p>
+ * Columns are dotted paths into the Parquet schema, keywords are case insensitive. For example
+ * {@code tenant = 'acme' and (amount > 100 or priority = true)}. The literal is converted to the physical type of the
+ * column when the expression is bound to the schema of the file.
+ * </p>
+ */
+public final class ParquetFilterExpression {
+
+    /** The root node of the parsed expression */
+    private final Node root;
+
+    private ParquetFilterExpression(final Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Parses a filter expression.
+     *
+     * @param expression
+     *            the expression to parse.
+     * @return the parsed expression.
+     * @throws IllegalArgumentException
+     *             if the expression is not valid.
+     */
+    public static ParquetFilterExpression parse(final String expression) {
+        final Parser parser = new Parser(tokenize(expression));
+        final Node root = parser.expression();
+        if (parser.hasNext()) {
+            throw new IllegalArgumentException(
+                    String.format("Unexpected '%s' in filter expression '%s'", parser.peek().text, expression));
+        }
+        return new ParquetFilterExpression(root);
+    }
+
+    /**
+     * Gets the top level columns referenced by this expression.
+     *
+     * @return the set of top level column names referenced by this expression.
+     */
+    public Set<String> getTopLevelColumns() {
+        final Set<String> result = new LinkedHashSet<>();
+        root.collectColumns(result);
+        return Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * Converts this expression to a Parquet FilterPredicate for the schema.
+     *
+     * @param schema
+     *            the schema of the Parquet file.
+     * @return the FilterPredicate.
+     * @throws IllegalArgumentException
+     *             if a column is not in the schema, is not a primitive column, or a literal can not be converted to the
+     *             column type.
+     */
+    public FilterPredicate toPredicate(final MessageType schema) {
+        return root.toPredicate(schema);
+    }
+
+    /**
+     * A node in the parsed expression.
+     */
+    private interface Node {
+        FilterPredicate toPredicate(MessageType schema);
+
+        void collectColumns(Set<String> columns);
+    }
+
+    /**
+     * The types of token in an expression.
+     */
+    private enum TokenType {
+        IDENTIFIER, STRING, OPERATOR, OPEN, CLOSE
+    }
+
+    /**
+     * A token in an expression.
+     */
+    private static final class Token {
+        final TokenType type;
+        final String text;
+
+        Token(final TokenType type, final String text) {
+            this.type = type;
+            this.text = text;
+        }
+
+        boolean isKeyword(final String keyword) {
+            return type == TokenType.IDENTIFIER && keyword.equalsIgnoreCase(text);
+        }
+    }
+
+    private static List<Token> tokenize(final String expression) {
+        final List<Token> tokens = new ArrayList<>();
+        int pos = 0;
+        while (pos < expression.length()) {
+            final char chr = expression.charAt(pos);
+            if (Character.isWhitespace(chr)) {
+                pos++;
+            } else if (chr == '(') {
+                tokens.add(new Token(TokenType.OPEN, "("));
+                pos++;
+            } else if (chr == ')') {
+                tokens.add(new Token(TokenType.CLOSE, ")"));
+                pos++;
+            } else if (chr == '\'') {
+                final StringBuilder value = new StringBuilder();
+                pos++;
+                boolean terminated = false;
+                while (pos < expression.length() && !terminated) {
+                    final char next = expression.charAt(pos++);
+                    if (next != '\'') {
+                        value.append(next);
+                    } else if (pos < expression.length() && expression.charAt(pos) == '\'') {
+                        value.append('\'');
+                        pos++;
+                    } else {
+                        terminated = true;
+                    }
+                }
+                if (!terminated) {
+                    throw new IllegalArgumentException("Unterminated string in filter expression: " + expression);
+                }
+                tokens.add(new Token(TokenType.STRING, value.toString()));
+            } else if ("=!<>".indexOf(chr) >= 0) {
+                final int start = pos++;
+                while (pos < expression.length() && "=<>".indexOf(expression.charAt(pos)) >= 0) {
+                    pos++;
+                }
+                tokens.add(new Token(TokenType.OPERATOR, expression.substring(start, pos)));
+            } else if (isIdentifierChar(chr)) {
+                final int start = pos;
+                while (pos < expression.length() && isIdentifierChar(expression.charAt(pos))) {
+                    pos++;
+                }
+                tokens.add(new Token(TokenType.IDENTIFIER, expression.substring(start, pos)));
+            } else {
+                throw new IllegalArgumentException(
+                        String.format("Unexpected character '%s' in filter expression: %s", chr, expression));
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isIdentifierChar(final char chr) {
+        return Character.isLetterOrDigit(chr) || chr == '_' || chr == '.' || chr == '$' || chr == '-' || chr == '+';
+    }
+
+    /**
+     * Recursive descent parser for the expression tokens.
+     */
+    private static final class Parser {
+        private final List<Token> tokens;
+        private int pos;
+
+        Parser(final List<Token> tokens) {
+            this.tokens = tokens;
+        }
+
+        boolean hasNext() {
+            return pos < tokens.size();
+        }
+
+        Token peek() {
+            return tokens.get(pos);
+        }
+
+        Token next() {
+            if (!hasNext()) {
+                throw new IllegalArgumentException("Unexpected end of filter expression");
+            }
+            return tokens.get(pos++);
+        }
+
+        Node expression() {
+            Node left = term();
+            while (hasNext() && peek().isKeyword("or")) {
+                next();
+                final Node lhs = left;
+                final Node rhs = term();
+                left = new Node() {
+                    @Override
+                    public FilterPredicate toPredicate(final MessageType schema) {
+                        return FilterApi.or(lhs.toPredicate(schema), rhs.toPredicate(schema));
+                    }
+
+                    @Override
+                    public void collectColumns(final Set<String> columns) {
+                        lhs.collectColumns(columns);
+                        rhs.collectColumns(columns);
+                    }
+                };
+            }
+            return left;
+        }
+
+        Node term() {
+            Node left = factor();
+            while (hasNext() && peek().isKeyword("and")) {
+                next();
+                final Node lhs = left;
+                final Node rhs = factor();
+                left = new Node() {
+                    @Override
+                    public FilterPredicate toPredicate(final MessageType schema) {
+                        return FilterApi.and(lhs.toPredicate(schema), rhs.toPredicate(schema));
+                    }
+
+                    @Override
+                    public void collectColumns(final Set<String> columns) {
+                        lhs.collectColumns(columns);
+                        rhs.collectColumns(columns);
+                    }
+                };
+            }
+            return left;
+        }
+
+        Node factor() {
+            final Token token = next();
+            if (token.isKeyword("not")) {
+                final Node inner = factor();
+                return new Node() {
+                    @Override
+                    public FilterPredicate toPredicate(final MessageType schema) {
+                        return FilterApi.not(inner.toPredicate(schema));
+                    }
+
+                    @Override
+                    public void collectColumns(final Set<String> columns) {
+                        inner.collectColumns(columns);
+                    }
+                };
+            }
+            if (token.type == TokenType.OPEN) {
+                final Node inner = expression();
+                if (next().type != TokenType.CLOSE) {
+                    throw new IllegalArgumentException("Missing ')' in filter expression");
+                }
+                return inner;
+            }
+            if (token.type != TokenType.IDENTIFIER) {
+                throw new IllegalArgumentException(
+                        String.format("Expected column name but found '%s' in filter expression", token.text));
+            }
+            final Token operator = next();
+            if (operator.type != TokenType.OPERATOR) {
+                throw new IllegalArgumentException(
+                        String.format("Expected operator but found '%s' in filter expression", operator.text));
+            }
+            final Token literal = next();
+            if (literal.type != TokenType.STRING && literal.type != TokenType.IDENTIFIER) {
+                throw new IllegalArgumentException(
+                        String.format("Expected literal but found '%s' in filter expression", literal.text));
+            }
+            return new Comparison(token.text, Operator.forSymbol(operator.text), literal);
+        }
+    }
+
+    /**
+     * The comparison operators.
+     */
+    private enum Operator {
+        EQ, NOT_EQ, LT, LT_EQ, GT, GT_EQ;
+
+        static Operator forSymbol(final String symbol) {
+            switch (symbol) {
+                case "=" :
+                case "==" :
+                    return EQ;
+                case "!=" :
+                case "<>" :
+                    return NOT_EQ;
+                case "<" :
+                    return LT;
+                case "<=" :
+                    return LT_EQ;
+                case ">" :
+                    return GT;
+                case ">=" :
+                    return GT_EQ;
+                default :
+                    throw new IllegalArgumentException("Unknown operator in filter expression: " + symbol);
+            }
+        }
+    }
+
+    /**
+     * A comparison of a column with a literal.
+     */
+    private static final class Comparison implements Node {
+        private final String column;
+        private final Operator operator;
+        private final Token literal;
+
+        Comparison(final String column, final Operator operator, final Token literal) {
+            this.column = column;
+            this.operator = operator;
+            this.literal = literal;
+            if (isNull() && operator != Operator.EQ && operator != Operator.NOT_EQ) {
+                throw new IllegalArgumentException(
+                        String.format("Only '=' and '!=' may be used with null for column %s", column));
+            }
+        }
+
+        private boolean isNull() {
+            return literal.type == TokenType.IDENTIFIER && literal.isKeyword("null");
+        }
+
+        @Override
+        public void collectColumns(final Set<String> columns) {
+            final int dot = column.indexOf('.');
+            columns.add(dot < 0 ? column : column.substring(0, dot));
+        }
+
+        @Override
+        public FilterPredicate toPredicate(final MessageType schema) {
+            final String[] path = column.split("\\.");
+            if (!schema.containsPath(path)) {
+                throw new IllegalArgumentException(String.format("Filter column %s is not in the schema", column));
+            }
+            final Type type = schema.getType(path);
+            if (!type.isPrimitive()) {
+                throw new IllegalArgumentException(String.format("Filter column %s is not a primitive", column));
+            }
+            final PrimitiveType.PrimitiveTypeName typeName = type.asPrimitiveType().getPrimitiveTypeName();
+            try {
+                switch (typeName) {
+                    case INT32 :
+                        return compare(FilterApi.intColumn(column), isNull() ? null : Integer.valueOf(literal.text));
+                    case INT64 :
+                        return compare(FilterApi.longColumn(column), isNull() ? null : Long.valueOf(literal.text));
+                    case FLOAT :
+                        return compare(FilterApi.floatColumn(column), isNull() ? null : Float.valueOf(literal.text));
+                    case DOUBLE :
+                        return compare(FilterApi.doubleColumn(column),
+                                isNull() ? null : Double.valueOf(literal.text));
+                    case BINARY :
+                    case FIXED_LEN_BYTE_ARRAY :
+                        return compare(FilterApi.binaryColumn(column),
+                                isNull() ? null : Binary.fromString(literal.text));
+                    case BOOLEAN :
+                        return compareBoolean(FilterApi.booleanColumn(column));
+                    default :
+                        throw new IllegalArgumentException(
+                                String.format("Filter column %s has unsupported type %s", column, typeName));
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(
+                        String.format("Value '%s' is not valid for filter column %s of type %s", literal.text, column,
+                                typeName),
+                        e);
+            }
+        }
+
+        private <T extends Comparable<T>, C extends Column<T> & SupportsLtGt> FilterPredicate compare(final C col,
+                final T value) {
+            switch (operator) {
+                case EQ :
+                    return FilterApi.eq(col, value);
+                case NOT_EQ :
+                    return FilterApi.notEq(col, value);
+                case LT :
+                    return FilterApi.lt(col, value);
+                case LT_EQ :
+                    return FilterApi.ltEq(col, value);
+                case GT :
+                    return FilterApi.gt(col, value);
+                default :
+                    return FilterApi.gtEq(col, value);
+            }
+        }
+
+        private FilterPredicate compareBoolean(final BooleanColumn col) {
+            final Boolean value;
+            if (isNull()) {
+                value = null;
+            } else if ("true".equalsIgnoreCase(literal.text) || "false".equalsIgnoreCase(literal.text)) {
+                value = Boolean.valueOf(literal.text.toLowerCase(Locale.ROOT));
+            } else {
+                throw new IllegalArgumentException(
+                        String.format("Value '%s' is not valid for boolean filter column %s", literal.text, column));
+            }
+            switch (operator) {
+                case EQ :
+                    return FilterApi.eq(col, value);
+                case NOT_EQ :
+                    return FilterApi.notEq(col, value);
+                default :
+                    throw new IllegalArgumentException(
+                            String.format("Only '=' and '!=' may be used with boolean filter column %s", column));
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.input.parquet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.avro.Schema;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.avro.AvroSchemaConverter;
+import org.apache.parquet.avro.AvroWriteSupport;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates Avro projection schemas for Parquet files so that only the requested columns are read and decoded.
+ */
+public final class ParquetProjection {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParquetProjection.class);
+
+    /** The key of the Avro schema in the metadata written by older versions of parquet-avro */
+    private static final String OLD_AVRO_SCHEMA = "avro.schema";
+
+    private ParquetProjection() {
+        // do not instantiate
+    }
+
+    /**
+     * Gets the Avro schema of the Parquet file. The Avro schema written by parquet-avro is used if present, otherwise the
+     * Avro schema is converted from the Parquet schema.
+     *
+     * @param metaData
+     *            the Parquet file metadata.
+     * @param conf
+     *            the configuration for the schema conversion.
+     * @return the Avro schema of the file.
+     */
+    public static Schema fileSchema(final FileMetaData metaData, final Configuration conf) {
+        String avroSchema = metaData.getKeyValueMetaData().get(AvroWriteSupport.AVRO_SCHEMA);
+        if (avroSchema == null) {
+            avroSchema = metaData.getKeyValueMetaData().get(OLD_AVRO_SCHEMA);
+        }
+        return avroSchema == null
+                ? new AvroSchemaConverter(conf).convert(metaData.getSchema())
+                : new Schema.Parser().parse(avroSchema);
+    }
+
+    /**
+     * Creates a record schema containing only the named top level fields of the file schema, in file order. Names that
+     * are not fields of the file schema are logged and ignored.
+     *
+     * @param fileSchema
+     *            the Avro schema of the file.
+     * @param fieldNames
+     *            the names of the fields to project.
+     * @return the projected schema.
+     * @throws IllegalArgumentException
+     *             if none of the named fields are in the file schema.
+     */
+    public static Schema project(final Schema fileSchema, final Collection<String> fieldNames) {
+        for (final String name : fieldNames) {
+            if (fileSchema.getField(name) == null) {
+                LOGGER.warn("Projected field {} is not in the schema of the Parquet file and will be ignored", name);
+            }
+        }
+        final List<Schema.Field> fields = new ArrayList<>();
+        for (final Schema.Field field : fileSchema.getFields()) {
+            if (fieldNames.contains(field.name())) {
+                fields.add(new Schema.Field(field, field.schema()));
+            }
+        }
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException(
+                    String.format("None of the projected fields %s are in the Parquet file schema", fieldNames));
+        }
+        return Schema.createRecord(fileSchema.getName(), fileSchema.getDoc(), fileSchema.getNamespace(),
+                fileSchema.isError(), fields);
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.input.parquet;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.aiven.kafka.connect.common.source.input.RangedIOSupplier;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.SeekableInputStream;
+
+/**
+ * A Parquet {@link InputFile} that reads the storage object through ranged reads. Parquet reads the footer from the end
+ * of the file first and then only the column chunks it needs, so only those byte ranges are retrieved from the storage.
+ * <p>
+ * Small reads (footer length, footer, page headers) are served from a small LRU cache of fixed size blocks. Reads that
+ * are at least one block long (column chunks) bypass the cache and are retrieved with a single ranged read.
+ * </p>
+ */
+public final class RangedInputFile implements InputFile {
+
+    /** The supplier of ranges */
+    private final RangedIOSupplier rangedIOSupplier;
+    /** The length of the object */
+    private final long length;
+    /** The size of a cached block */
+    private final int blockSize;
+    /** The block cache shared by all streams opened on this file */
+    private final BlockCache cache;
+    /** The number of ranged reads issued, for diagnostics and testing */
+    private long rangeRequests;
+
+    /**
+     * Constructor.
+     *
+     * @param rangedIOSupplier
+     *            the supplier of ranges.
+     * @param length
+     *            the length of the object.
+     * @param blockSize
+     *            the size of the cached blocks.
+     * @param maxCachedBlocks
+     *            the maximum number of blocks to cache. Zero disables the cache.
+     */
+    public RangedInputFile(final RangedIOSupplier rangedIOSupplier, final long length, final int blockSize,
+            final int maxCachedBlocks) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be greater than zero");
+        }
+        this.rangedIOSupplier = rangedIOSupplier;
+        this.length = length;
+        this.blockSize = blockSize;
+        this.cache = new BlockCache(maxCachedBlocks);
+    }
+
+    @Override
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Gets the number of ranged reads that have been issued against the storage.
+     *
+     * @return the number of ranged reads that have been issued.
+     */
+    public synchronized long getRangeRequests() {
+        return rangeRequests;
+    }
+
+    @Override
+    public SeekableInputStream newStream() {
+        return new RangedSeekableInputStream();
+    }
+
+    /**
+     * Reads {@code len} bytes starting at {@code position} into the buffer.
+     *
+     * @param position
+     *            the position in the object.
+     * @param buffer
+     *            the buffer to read into.
+     * @param offset
+     *            the offset in the buffer.
+     * @param len
+     *            the number of bytes to read.
+     * @throws IOException
+     *             on IO error.
+     */
+    private void readAt(final long position, final byte[] buffer, final int offset, final int len) throws IOException {
+        if (len >= blockSize) {
+            fetch(position, buffer, offset, len);
+            return;
+        }
+        long pos = position;
+        int off = offset;
+        int remaining = len;
+        while (remaining > 0) {
+            final long blockIndex = pos / blockSize;
+            final byte[] block = getBlock(blockIndex);
+            final int blockOffset = (int) (pos - blockIndex * blockSize);
+            final int count = Math.min(remaining, block.length - blockOffset);
+            System.arraycopy(block, blockOffset, buffer, off, count);
+            pos += count;
+            off += count;
+            remaining -= count;
+        }
+    }
+
+    private byte[] getBlock(final long blockIndex) throws IOException {
+        byte[] block = cache.get(blockIndex);
+        if (block == null) {
+            final long start = blockIndex * blockSize;
+            block = new byte[(int) Math.min(blockSize, length - start)];
+            fetch(start, block, 0, block.length);
+            cache.put(blockIndex, block);
+        }
+        return block;
+    }
+
+    private void fetch(final long position, final byte[] buffer, final int offset, final int len) throws IOException {
+        synchronized (this) {
+            rangeRequests++;
+        }
+        try (InputStream input = rangedIOSupplier.getRange(position, len)) {
+            IOUtils.readFully(input, buffer, offset, len);
+        }
+    }
+
+    /**
+     * A synchronized LRU cache of blocks.
+     */
+    private static final class BlockCache {
+        private final int maxBlocks;
+        private final Map<Long, byte[]> blocks;
+
+        BlockCache(final int maxBlocks) {
+            this.maxBlocks = maxBlocks;
+            this.blocks = new LinkedHashMap<>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Long, byte[]> eldest) {
+                    return size() > BlockCache.this.maxBlocks;
+                }
+            };
+        }
+
+        synchronized byte[] get(final long blockIndex) {
+            return blocks.get(blockIndex);
+        }
+
+        synchronized void put(final long blockIndex, final byte[] block) {
+            if (maxBlocks > 0) {
+                blocks.put(blockIndex, block);
+            }
+        }
+    }
+
+    /**
+     * The seekable input stream that reads through the ranged reads.
+     */
+    private final class RangedSeekableInputStream extends SeekableInputStream {
+        /** The current position in the object */
+        private long pos;
+
+        @Override
+        public long getPos() {
+            return pos;
+        }
+
+        @Override
+        public void seek(final long newPos) throws IOException {
+            if (newPos < 0 || newPos > length) {
+                throw new EOFException("Attempt to seek to " + newPos + " in object of length " + length);
+            }
+            pos = newPos;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int start, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            final int count = (int) Math.min(len, length - pos);
+            if (count <= 0) {
+                return -1;
+            }
+            readAt(pos, bytes, start, count);
+            pos += count;
+            return count;
+        }
+
+        @Override
+        public long skip(final long count) {
+            final long skipped = Math.max(0, Math.min(count, length - pos));
+            pos += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, length - pos);
+        }
+
+        @Override
+        public void readFully(final byte[] bytes) throws IOException {
+            readFully(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public void readFully(final byte[] bytes, final int start, final int len) throws IOException {
+            if (pos + len > length) {
+                throw new EOFException("Reached the end of stream with " + (length - pos) + " bytes left to read");
+            }
+            readAt(pos, bytes, start, len);
+            pos += len;
+        }
+
+        @Override
+        public int read(final ByteBuffer buf) throws IOException {
+            final int count = (int) Math.min(buf.remaining(), length - pos);
+            if (count <= 0) {
+                return buf.hasRemaining() ? -1 : 0;
+            }
+            readInto(buf, count);
+            return count;
+        }
+
+        @Override
+        public void readFully(final ByteBuffer buf) throws IOException {
+            if (pos + buf.remaining() > length) {
+                throw new EOFException("Reached the end of stream with " + (length - pos) + " bytes left to read");
+            }
+            readInto(buf, buf.remaining());
+        }
+
+        private void readInto(final ByteBuffer buf, final int count) throws IOException {
+            if (buf.hasArray()) {
+                readAt(pos, buf.array(), buf.arrayOffset() + buf.position(), count);
+                buf.position(buf.position() + count);
+            } else {
+                final byte[] bytes = new byte[count];
+                readAt(pos, bytes, 0, count);
+                buf.put(bytes, 0, count);
+            }
+            pos += count;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package io.aiven.kafka.connect.common.source.input.utils;
 
+import java.util.Map;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -31,7 +32,10 @@ import org.slf4j.LoggerFactory;
 /**
  * FilePatternUtils allows the construction of a regex pattern to extract the
  * {@link io.aiven.kafka.connect.common.source.task.Context Context} from an Object Key.
- *
+ * <p>
+ * Patterns made of literal text and placeholders are matched by a {@link KeyTemplateMatcher} compiled from the
+ * pattern, other patterns by the regex. Both give the same contexts.
+ * </p>
  */
 public final class FilePatternUtils {
     private static final Logger LOGGER = LoggerFactory.getLogger(FilePatternUtils.class);
@@ -50,8 +54,17 @@ public final class FilePatternUtils {
     public static final String NUMBER_REGEX_PATTERN = "(?:\\d+)";
     public static final String TOPIC_NAMED_GROUP_REGEX_PATTERN = "(?<" + PATTERN_TOPIC_KEY + ">[a-zA-Z0-9\\-_.]+)";
     public static final String START_OFFSET = "Start offset";
+    /** The characters that make a part of the pattern a regular expression rather than literal text */
+    private static final String REGEX_META_CHARACTERS = "\\^$.|?*+()[]{}";
+    /** The regular expression for the value of each placeholder that a shard may be listed by */
+    private static final Map<String, String> PLACEHOLDER_VALUE_PATTERNS = Map.of(TOPIC_PATTERN,
+            "[a-zA-Z0-9\\-_.]+", PARTITION_PATTERN, "\\d+", START_OFFSET_PATTERN, "\\d+", TIMESTAMP_PATTERN,
+            "\\d+");
 
+    private final String expectedSourceNameFormat;
     private final Pattern pattern;
+    /** Matches the pattern without the regex, {@code null} if the pattern uses other regex syntax */
+    private final KeyTemplateMatcher keyMatcher;
     private final boolean startOffsetConfigured;
     private final boolean partitionConfigured;
     private final boolean topicConfigured;
@@ -65,7 +78,9 @@ public final class FilePatternUtils {
      * @see #process(Comparable)
      */
     public FilePatternUtils(final String pattern) {
+        this.expectedSourceNameFormat = pattern;
         this.pattern = configurePattern(pattern);
+        this.keyMatcher = KeyTemplateMatcher.compile(pattern).orElse(null);
         startOffsetConfigured = pattern.contains(START_OFFSET_PATTERN);
         partitionConfigured = pattern.contains(PARTITION_PATTERN);
         topicConfigured = pattern.contains(TOPIC_PATTERN);
@@ -113,72 +128,166 @@ public final class FilePatternUtils {
      *            the data type of the source name.
      */
     public <K extends Comparable<K>> Optional<Context<K>> process(final K sourceName) {
-        final Optional<Matcher> matcher = fileMatches(sourceName.toString());
-        if (matcher.isPresent()) {
-            final Context<K> ctx = new Context<>(sourceName);
-            getTopic(matcher.get(), sourceName.toString()).ifPresent(ctx::setTopic);
-            getPartitionId(matcher.get(), sourceName.toString()).ifPresent(ctx::setPartition);
-            getOffset(matcher.get(), sourceName.toString()).ifPresent(ctx::setOffset);
-            return Optional.of(ctx);
-        }
-        LOGGER.debug("{} did not match pattern and was skipped for processing.", sourceName);
-        return Optional.empty();
-
+        final String name = sourceName.toString();
+        if (name == null) {
+            throw new IllegalArgumentException("filePattern and sourceName must not be null");
+        }
+        return keyMatcher == null ? processWithPattern(sourceName, name) : processWithMatcher(sourceName, name);
     }
 
-    private Optional<Matcher> fileMatches(final String sourceName) {
-        return matchPattern(sourceName);
+    private <K extends Comparable<K>> Optional<Context<K>> processWithMatcher(final K sourceName, final String name) {
+        final int[] bounds = keyMatcher.match(name);
+        if (bounds == null) {
+            LOGGER.debug("{} did not match pattern and was skipped for processing.", sourceName);
+            return Optional.empty();
+        }
+        final Context<K> ctx = new Context<>(sourceName);
+        if (bounds[KeyTemplateMatcher.TOPIC] >= 0) {
+            ctx.setTopic(name.substring(bounds[KeyTemplateMatcher.TOPIC], bounds[KeyTemplateMatcher.TOPIC + 1]));
+        }
+        if (bounds[KeyTemplateMatcher.PARTITION] >= 0) {
+            setPartition(ctx, name, bounds[KeyTemplateMatcher.PARTITION], bounds[KeyTemplateMatcher.PARTITION + 1]);
+        }
+        if (bounds[KeyTemplateMatcher.START_OFFSET] >= 0) {
+            setOffset(ctx, name, bounds[KeyTemplateMatcher.START_OFFSET], bounds[KeyTemplateMatcher.START_OFFSET + 1]);
+        }
+        return Optional.of(ctx);
     }
 
-    private Optional<String> getTopic(final Matcher matcher, final String sourceName) {
-
-        try {
-            return Optional.of(matcher.group(PATTERN_TOPIC_KEY));
-        } catch (IllegalArgumentException ex) {
-            // It is possible that when checking for the group it does not match and returns an
-            // illegalArgumentException
-            if (topicConfigured) {
-                LOGGER.warn("Unable to extract Topic from {} and 'topics' not configured.", sourceName);
-            }
+    private <K extends Comparable<K>> Optional<Context<K>> processWithPattern(final K sourceName, final String name) {
+        final Matcher matcher = pattern.matcher(name);
+        if (!matcher.find()) {
+            LOGGER.debug("{} did not match pattern and was skipped for processing.", sourceName);
             return Optional.empty();
         }
-
+        final Context<K> ctx = new Context<>(sourceName);
+        // the named groups only exist when their placeholders are in the pattern.
+        if (topicConfigured && matcher.start(PATTERN_TOPIC_KEY) >= 0) {
+            ctx.setTopic(matcher.group(PATTERN_TOPIC_KEY));
+        }
+        if (partitionConfigured && matcher.start(PATTERN_PARTITION_KEY) >= 0) {
+            setPartition(ctx, name, matcher.start(PATTERN_PARTITION_KEY), matcher.end(PATTERN_PARTITION_KEY));
+        }
+        if (startOffsetConfigured && matcher.start(PATTERN_START_OFFSET_KEY) >= 0) {
+            setOffset(ctx, name, matcher.start(PATTERN_START_OFFSET_KEY), matcher.end(PATTERN_START_OFFSET_KEY));
+        }
+        return Optional.of(ctx);
     }
 
-    private Optional<Integer> getPartitionId(final Matcher matcher, final String sourceName) {
-        try {
-            return Optional.of(Integer.parseInt(matcher.group(PATTERN_PARTITION_KEY)));
-        } catch (IllegalArgumentException e) {
-            // It is possible that when checking for the group it does not match and returns an
-            // illegalStateException, Number format exception is also covered by this in this case.
-            if (partitionConfigured) {
-                LOGGER.warn("Unable to extract Partition id from {}.", sourceName);
-            }
-            return Optional.empty();
+    private void setPartition(final Context<?> ctx, final String name, final int start, final int end) {
+        final long partition = parseDigits(name, start, end, Integer.MAX_VALUE);
+        if (partition < 0) {
+            LOGGER.warn("Unable to extract Partition id from {}.", name);
+        } else {
+            ctx.setPartition((int) partition);
         }
+    }
 
+    private void setOffset(final Context<?> ctx, final String name, final int start, final int end) {
+        final long offset = parseDigits(name, start, end, Long.MAX_VALUE);
+        if (offset < 0) {
+            LOGGER.warn("Unable to extract start offset from {}.", name);
+        } else {
+            ctx.setOffset(offset);
+        }
     }
 
-    private Optional<Long> getOffset(final Matcher matcher, final String sourceName) {
-        try {
-            return Optional.of(Long.parseLong(matcher.group(PATTERN_START_OFFSET_KEY)));
-        } catch (IllegalArgumentException e) {
-            // It is possible that when checking for the group it does not match and returns an
-            // illegalStateException, Number format exception is also covered by this in this case.
-            if (startOffsetConfigured) {
-                LOGGER.warn("Unable to extract start offset from {}.", sourceName);
+    /**
+     * Parses the digits matched by a placeholder without throwing.
+     *
+     * @param value
+     *            the text holding the digits.
+     * @param start
+     *            the index of the first digit.
+     * @param end
+     *            the index after the last digit.
+     * @param max
+     *            the greatest value allowed.
+     * @return the number or {@code -1} if it is greater than {@code max}.
+     */
+    static long parseDigits(final CharSequence value, final int start, final int end, final long max) {
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            final int digit = value.charAt(i) - '0';
+            if (result > (max - digit) / 10) {
+                return -1;
             }
-            return Optional.empty();
+            result = result * 10 + digit;
         }
-
+        return result;
     }
 
-    private Optional<Matcher> matchPattern(final String sourceName) {
-        if (sourceName == null) {
-            throw new IllegalArgumentException("filePattern and sourceName must not be null");
+    /**
+     * Gets the prefix shards that source names matching this pattern can be listed by. The pattern must start with
+     * literal text followed by a placeholder and a literal character, for example
+     * {@code topics/{{topic}}/{{partition}}-{{start_offset}}}. Source names are assumed to start with the pattern, so
+     * every source name lies under the literal prefix and the value up to the first delimiter identifies its shard.
+     *
+     * @return the prefix shards or an empty {@code Optional} if the pattern does not start with literal text, a
+     *         placeholder and a literal delimiter.
+     */
+    public Optional<PrefixShards> getPrefixShards() {
+        int end = 0;
+        while (end < expectedSourceNameFormat.length()
+                && REGEX_META_CHARACTERS.indexOf(expectedSourceNameFormat.charAt(end)) < 0) {
+            end++;
         }
-        final Matcher matcher = pattern.matcher(sourceName);
-        return matcher.find() ? Optional.of(matcher) : Optional.empty();
+        final String prefix = expectedSourceNameFormat.substring(0, end);
+        for (final Map.Entry<String, String> placeholder : PLACEHOLDER_VALUE_PATTERNS.entrySet()) {
+            final int delimiterIndex = end + placeholder.getKey().length();
+            if (expectedSourceNameFormat.startsWith(placeholder.getKey(), end)
+                    && delimiterIndex < expectedSourceNameFormat.length()
+                    && REGEX_META_CHARACTERS.indexOf(expectedSourceNameFormat.charAt(delimiterIndex)) < 0) {
+                return Optional.of(new PrefixShards(prefix, expectedSourceNameFormat.charAt(delimiterIndex),
+                        Pattern.compile(placeholder.getValue())));
+            }
+        }
+        return Optional.empty();
     }
 
+    /**
+     * The literal prefix, shard placeholder and delimiter at the start of a file pattern. Each shard is the literal
+     * prefix followed by a placeholder value and the delimiter, so shards are disjoint key ranges in key order.
+     */
+    public static final class PrefixShards {
+        private final String prefix;
+        private final String delimiter;
+        private final Pattern valuePattern;
+
+        private PrefixShards(final String prefix, final char delimiter, final Pattern valuePattern) {
+            this.prefix = prefix;
+            this.delimiter = String.valueOf(delimiter);
+            this.valuePattern = valuePattern;
+        }
+
+        /**
+         * Gets the literal text that all source names start with.
+         *
+         * @return the literal text that all source names start with.
+         */
+        public String getPrefix() {
+            return prefix;
+        }
+
+        /**
+         * Gets the literal text that ends the shard placeholder.
+         *
+         * @return the literal text that ends the shard placeholder.
+         */
+        public String getDelimiter() {
+            return delimiter;
+        }
+
+        /**
+         * Checks whether a value may be substituted for the shard placeholder. Shards with other values can not
+         * contain matching source names.
+         *
+         * @param value
+         *            the text between the prefix and the delimiter.
+         * @return {@code true} if the value matches the placeholder.
+         */
+        public boolean isShardValue(final String value) {
+            return valuePattern.matcher(value).matches();
+        }
+    }
 }
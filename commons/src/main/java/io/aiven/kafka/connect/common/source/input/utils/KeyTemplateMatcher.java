@@ -0,0 +1,305 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.input.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Matches source names against a file name template without regular expressions.
+ * <p>
+ * The template is compiled into a fixed sequence of literal text, single character wildcards ({@code .}) and
+ * placeholders, optionally followed by {@code .*} and {@code $}. Matching gives the same result as a {@code find()}
+ * with the regular expression built by {@link FilePatternUtils}: the leftmost match wins and each placeholder takes the
+ * longest value that lets the rest of the template match. Source names that do not contain the longest literal text of
+ * the template are rejected without scanning, and when the template starts with literal text only the positions of
+ * that text are tried.
+ * </p>
+ * <p>
+ * Templates with other regular expression syntax are not compiled, see {@link #compile(String)}. Instances are
+ * immutable and thread safe.
+ * </p>
+ */
+final class KeyTemplateMatcher {
+    /** The index of the start of the topic in the bounds returned by {@link #match(String)}, the end follows it */
+    static final int TOPIC = 0;
+    /** The index of the start of the partition in the bounds returned by {@link #match(String)}, the end follows it */
+    static final int PARTITION = 2;
+    /** The index of the start of the start offset in the bounds returned by {@link #match(String)} */
+    static final int START_OFFSET = 4;
+
+    /** The segments of the template */
+    private final Segment[] segments;
+    /** The smallest number of characters a matching source name has */
+    private final int minLength;
+    /** The longest literal text in the template, every matching source name contains it */
+    private final String requiredLiteral;
+
+    private KeyTemplateMatcher(final List<Segment> segments) {
+        this.segments = segments.toArray(new Segment[0]);
+        int length = 0;
+        String longest = "";
+        for (final Segment segment : segments) {
+            length += segment.minLength();
+            if (segment.kind == Kind.LITERAL && segment.literal.length() > longest.length()) {
+                longest = segment.literal;
+            }
+        }
+        this.minLength = length;
+        this.requiredLiteral = longest;
+    }
+
+    /**
+     * Compiles a file name template. The template must already have been accepted by {@link FilePatternUtils}, which
+     * rejects templates that are not valid regular expressions.
+     *
+     * @param template
+     *            the file name template.
+     * @return the matcher or an empty {@code Optional} if the template uses regular expression syntax other than
+     *         {@code .}, a trailing {@code .*} and a trailing {@code $}.
+     */
+    static Optional<KeyTemplateMatcher> compile(final String template) {
+        final List<Segment> segments = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        int index = 0;
+        while (index < template.length()) {
+            final Segment placeholder = placeholderAt(template, index);
+            if (placeholder != null) {
+                addLiteral(segments, literal);
+                segments.add(placeholder);
+                index = template.indexOf("}}", index) + 2;
+            } else if (template.startsWith(".*", index)) {
+                addLiteral(segments, literal);
+                segments.add(new Segment(Kind.ANY_TAIL, null, -1));
+                index += 2;
+            } else if (template.charAt(index) == '$' && index == template.length() - 1) {
+                addLiteral(segments, literal);
+                segments.add(new Segment(Kind.END, null, -1));
+                index++;
+            } else if (template.charAt(index) == '.') {
+                addLiteral(segments, literal);
+                segments.add(new Segment(Kind.ANY_CHARACTER, null, -1));
+                index++;
+            } else if ("\\^$|?*+()[]{}".indexOf(template.charAt(index)) < 0) {
+                literal.append(template.charAt(index));
+                index++;
+            } else {
+                return Optional.empty();
+            }
+        }
+        addLiteral(segments, literal);
+        // .* is only supported where nothing but $ follows it.
+        for (int i = 0; i < segments.size(); i++) {
+            if (segments.get(i).kind == Kind.ANY_TAIL && i < segments.size() - 1
+                    && !(i == segments.size() - 2 && segments.get(i + 1).kind == Kind.END)) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(new KeyTemplateMatcher(segments));
+    }
+
+    private static Segment placeholderAt(final String template, final int index) {
+        if (template.startsWith(FilePatternUtils.TOPIC_PATTERN, index)) {
+            return new Segment(Kind.TOPIC_VALUE, null, TOPIC);
+        }
+        if (template.startsWith(FilePatternUtils.PARTITION_PATTERN, index)) {
+            return new Segment(Kind.NUMBER, null, PARTITION);
+        }
+        if (template.startsWith(FilePatternUtils.START_OFFSET_PATTERN, index)) {
+            return new Segment(Kind.NUMBER, null, START_OFFSET);
+        }
+        if (template.startsWith(FilePatternUtils.TIMESTAMP_PATTERN, index)) {
+            return new Segment(Kind.NUMBER, null, -1);
+        }
+        return null;
+    }
+
+    private static void addLiteral(final List<Segment> segments, final StringBuilder literal) {
+        if (literal.length() > 0) {
+            segments.add(new Segment(Kind.LITERAL, literal.toString(), -1));
+            literal.setLength(0);
+        }
+    }
+
+    /**
+     * Finds the template in a source name.
+     *
+     * @param sourceName
+     *            the source name.
+     * @return the start and end of the topic, partition and start offset at {@link #TOPIC}, {@link #PARTITION} and
+     *         {@link #START_OFFSET}, {@code -1} for values that are not in the template, or {@code null} if the source
+     *         name does not match.
+     */
+    int[] match(final String sourceName) {
+        final int length = sourceName.length();
+        if (length < minLength || !sourceName.contains(requiredLiteral)) {
+            return null;
+        }
+        final int[] bounds = { -1, -1, -1, -1, -1, -1 };
+        final Segment first = segments.length == 0 ? null : segments[0];
+        int start = first != null && first.kind == Kind.LITERAL ? sourceName.indexOf(first.literal) : 0;
+        while (start >= 0 && start <= length - minLength) {
+            if (matchFrom(sourceName, 0, start, bounds)) {
+                return bounds;
+            }
+            if (first != null && first.kind == Kind.LITERAL) {
+                start = sourceName.indexOf(first.literal, start + 1);
+            } else if (first != null && first.isValue()) {
+                // a match starting inside a run of value characters could only end where one starting at the
+                // beginning of the run could, so the rest of the run is skipped.
+                start = first.runEnd(sourceName, start) + 1;
+            } else {
+                start++;
+            }
+        }
+        return null;
+    }
+
+    private boolean matchFrom(final String sourceName, final int segmentIndex, final int position,
+            final int[] bounds) {
+        if (segmentIndex == segments.length) {
+            return true;
+        }
+        final Segment segment = segments[segmentIndex];
+        switch (segment.kind) {
+            case LITERAL :
+                return sourceName.startsWith(segment.literal, position)
+                        && matchFrom(sourceName, segmentIndex + 1, position + segment.literal.length(), bounds);
+            case ANY_CHARACTER :
+                return position < sourceName.length() && !isLineTerminator(sourceName.charAt(position))
+                        && matchFrom(sourceName, segmentIndex + 1, position + 1, bounds);
+            case ANY_TAIL :
+                for (int end = lineEnd(sourceName, position); end >= position; end--) {
+                    if (matchFrom(sourceName, segmentIndex + 1, end, bounds)) {
+                        return true;
+                    }
+                }
+                return false;
+            case END :
+                return isEnd(sourceName, position);
+            default :
+                for (int end = segment.runEnd(sourceName, position); end > position; end--) {
+                    if (matchFrom(sourceName, segmentIndex + 1, end, bounds)) {
+                        if (segment.group >= 0) {
+                            bounds[segment.group] = position;
+                            bounds[segment.group + 1] = end;
+                        }
+                        return true;
+                    }
+                }
+                return false;
+        }
+    }
+
+    private static int lineEnd(final String sourceName, final int position) {
+        int end = position;
+        while (end < sourceName.length() && !isLineTerminator(sourceName.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Checks whether {@code $} matches at a position: at the end of the source name or before a line terminator that
+     * ends it.
+     */
+    private static boolean isEnd(final String sourceName, final int position) {
+        final int remaining = sourceName.length() - position;
+        if (remaining == 0) {
+            return true;
+        }
+        if (remaining == 2) {
+            return sourceName.charAt(position) == '\r' && sourceName.charAt(position + 1) == '\n';
+        }
+        if (remaining == 1 && isLineTerminator(sourceName.charAt(position))) {
+            // not between the characters of a \r\n terminator.
+            return !(sourceName.charAt(position) == '\n' && position > 0 && sourceName.charAt(position - 1) == '\r');
+        }
+        return false;
+    }
+
+    private static boolean isLineTerminator(final char character) {
+        return character == '\n' || character == '\r' || character == '\u0085' || character == '\u2028'
+                || character == '\u2029';
+    }
+
+    /** The kinds of template segments */
+    private enum Kind {
+        /** Literal text */
+        LITERAL,
+        /** Any character but a line terminator, {@code .} */
+        ANY_CHARACTER,
+        /** Any characters up to a line terminator, a trailing {@code .*} */
+        ANY_TAIL,
+        /** The end of the source name, a trailing {@code $} */
+        END,
+        /** One or more topic name characters */
+        TOPIC_VALUE,
+        /** One or more digits */
+        NUMBER
+    }
+
+    /** A segment of a template */
+    private static final class Segment {
+        private final Kind kind;
+        private final String literal;
+        private final int group;
+
+        Segment(final Kind kind, final String literal, final int group) {
+            this.kind = kind;
+            this.literal = literal;
+            this.group = group;
+        }
+
+        boolean isValue() {
+            return kind == Kind.TOPIC_VALUE || kind == Kind.NUMBER;
+        }
+
+        int minLength() {
+            switch (kind) {
+                case LITERAL :
+                    return literal.length();
+                case ANY_TAIL :
+                case END :
+                    return 0;
+                default :
+                    return 1;
+            }
+        }
+
+        /**
+         * Gets the end of the run of value characters starting at a position.
+         */
+        int runEnd(final String sourceName, final int position) {
+            int end = position;
+            while (end < sourceName.length() && accepts(sourceName.charAt(end))) {
+                end++;
+            }
+            return end;
+        }
+
+        private boolean accepts(final char character) {
+            if (character >= '0' && character <= '9') {
+                return true;
+            }
+            return kind == Kind.TOPIC_VALUE && (character >= 'a' && character <= 'z'
+                    || character >= 'A' && character <= 'Z' || character == '-' || character == '_'
+                    || character == '.');
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package io.aiven.kafka.connect.common.source.task;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -30,11 +32,33 @@ import java.util.function.Function;
 public final class DistributionStrategy {
     private int maxTasks;
     private final Function<Context<?>, Optional<Long>> mutation;
+    private final Function<Context<?>, Optional<String>> unit;
+    private final Map<String, Integer> assignments;
     public final static int UNDEFINED = -1;
 
     public DistributionStrategy(final Function<Context<?>, Optional<Long>> creator, final int maxTasks) {
+        this(creator, context -> Optional.empty(), Collections.emptyMap(), maxTasks);
+    }
+
+    /**
+     * Creates a distribution strategy where some units of distribution have been assigned to tasks.
+     *
+     * @param creator
+     *            the mutation used for units that have not been assigned.
+     * @param unit
+     *            the function that gets the unit of distribution from the context.
+     * @param assignments
+     *            the tasks assigned to units. May be {@code null} if no units have been assigned.
+     * @param maxTasks
+     *            the maximum number of tasks.
+     */
+    public DistributionStrategy(final Function<Context<?>, Optional<Long>> creator,
+            final Function<Context<?>, Optional<String>> unit, final Map<String, Integer> assignments,
+            final int maxTasks) {
         assertPositiveInteger(maxTasks);
         this.mutation = creator;
+        this.unit = unit;
+        this.assignments = assignments == null ? Collections.emptyMap() : Map.copyOf(assignments);
         this.maxTasks = maxTasks;
     }
 
@@ -53,6 +77,13 @@ public final class DistributionStrategy {
      * @return the taskId which this particular task should be assigned to.
      */
     public int getTaskFor(final Context<?> ctx) {
+        if (!assignments.isEmpty()) {
+            final Integer assigned = unit.apply(ctx).map(assignments::get).orElse(null);
+            // assignments made for a different number of tasks are ignored.
+            if (assigned != null && assigned < maxTasks) {
+                return assigned;
+            }
+        }
         return mutation.apply(ctx).map(aLong -> Math.floorMod(aLong, maxTasks)).orElse(UNDEFINED);
     }
 
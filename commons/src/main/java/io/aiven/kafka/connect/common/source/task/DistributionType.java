@@ -17,6 +17,7 @@
 package io.aiven.kafka.connect.common.source.task;
 
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
@@ -29,21 +30,29 @@ public enum DistributionType {
      * Object_Hash takes the context and uses the storage key implementation to get a hash value of the storage key and
      * return a modulus of that relative to the number of maxTasks to decide which task should process a given object
      */
-    OBJECT_HASH("object_hash",
-            context -> context.getStorageKey().isPresent()
-                    ? Optional.of((long) context.getStorageKey().get().hashCode())
-                    : Optional.empty()),
+    OBJECT_HASH("object_hash", DistributionType::storageKeyHash, DistributionType::storageKeyUnit, false),
     /**
      * Partition takes the context and requires the context contain the partition id for it to be able to decide the
      * distribution across the max tasks, using a modulus to ensure even distribution against the configured max tasks
      */
-    PARTITION("partition",
-            context -> context.getPartition().isPresent()
-                    ? Optional.of((long) context.getPartition().get())
-                    : Optional.empty());
+    PARTITION("partition", DistributionType::partitionNumber, DistributionType::partitionUnit, false),
+    /**
+     * Object_Size distributes objects like {@link #OBJECT_HASH} until the connector has listed the object sizes. The
+     * connector then assigns the largest objects to tasks so that each task processes a similar number of bytes, the
+     * remaining objects are distributed by hash.
+     */
+    OBJECT_SIZE("object_size", DistributionType::storageKeyHash, DistributionType::storageKeyUnit, true),
+    /**
+     * Partition_Size distributes objects like {@link #PARTITION} until the connector has listed the object sizes. The
+     * connector then assigns the partitions with the most bytes to tasks so that each task processes a similar number
+     * of bytes. All objects of a partition are processed by the same task so the partition ordering is kept.
+     */
+    PARTITION_SIZE("partition_size", DistributionType::partitionNumber, DistributionType::partitionUnit, true);
 
     private final String name;
     private final Function<Context<?>, Optional<Long>> mutation;
+    private final Function<Context<?>, Optional<String>> unit;
+    private final boolean sizeAware;
 
     public String value() {
         return name;
@@ -56,10 +65,68 @@ public enum DistributionType {
      *            the name of the ObjectDistributionStrategy
      * @param mutation
      *            the mutation required to get the correct details from the context for distribution
+     * @param unit
+     *            the function that gets the unit of distribution, all objects of a unit are processed by one task
+     * @param sizeAware
+     *            {@code true} if the connector assigns units to tasks by size
      */
-    DistributionType(final String name, final Function<Context<?>, Optional<Long>> mutation) {
+    DistributionType(final String name, final Function<Context<?>, Optional<Long>> mutation,
+            final Function<Context<?>, Optional<String>> unit, final boolean sizeAware) {
         this.name = name;
         this.mutation = mutation;
+        this.unit = unit;
+        this.sizeAware = sizeAware;
+    }
+
+    private static Optional<Long> storageKeyHash(final Context<?> context) {
+        return context.getStorageKey().map(storageKey -> (long) storageKey.hashCode());
+    }
+
+    private static Optional<String> storageKeyUnit(final Context<?> context) {
+        return context.getStorageKey().map(Object::toString);
+    }
+
+    private static Optional<Long> partitionNumber(final Context<?> context) {
+        return context.getPartition().map(Integer::longValue);
+    }
+
+    private static Optional<String> partitionUnit(final Context<?> context) {
+        return context.getPartition().map(String::valueOf);
+    }
+
+    /**
+     * Checks whether the connector assigns objects to tasks by size.
+     *
+     * @return {@code true} if the connector assigns objects to tasks by size.
+     */
+    public boolean isSizeAware() {
+        return sizeAware;
+    }
+
+    /**
+     * Gets the unit of distribution of an object, all objects of a unit are processed by one task. The unit is the
+     * storage key for object distributions and the partition for partition distributions.
+     *
+     * @param context
+     *            the context of the object.
+     * @return the unit or an empty {@code Optional} if the context does not hold it.
+     */
+    public Optional<String> getUnit(final Context<?> context) {
+        return unit.apply(context);
+    }
+
+    /**
+     * Gets the task that processes a unit when it has not been assigned by size.
+     *
+     * @param unit
+     *            the unit returned by {@link #getUnit(Context)}.
+     * @param maxTasks
+     *            the maximum number of tasks.
+     * @return the task that processes the unit.
+     */
+    public int getDefaultTaskFor(final String unit, final int maxTasks) {
+        final long value = this == PARTITION || this == PARTITION_SIZE ? Long.parseLong(unit) : unit.hashCode();
+        return (int) Math.floorMod(value, (long) maxTasks);
     }
 
     public static DistributionType forName(final String name) {
@@ -85,4 +152,18 @@ public enum DistributionType {
     public DistributionStrategy getDistributionStrategy(final int maxTasks) {
         return new DistributionStrategy(mutation, maxTasks);
     }
+
+    /**
+     * Returns a configured Distribution Strategy that processes the assigned units on the assigned tasks.
+     *
+     * @param maxTasks
+     *            the maximum number of configured tasks for this connector
+     * @param assignments
+     *            the tasks assigned to units by the connector. Units that are not assigned are distributed as by
+     *            {@link #getDistributionStrategy(int)}.
+     * @return a configured Distribution Strategy.
+     */
+    public DistributionStrategy getDistributionStrategy(final int maxTasks, final Map<String, Integer> assignments) {
+        return new DistributionStrategy(mutation, unit, assignments, maxTasks);
+    }
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import io.aiven.kafka.connect.common.config.SourceConfigFragment;
+
+/**
+ * Divides the keys of the storage items into contiguous key ranges, one per task, so that each key is listed by one
+ * task only.
+ * <p>
+ * The connector adds every key it lists. A fixed size random sample of the keys is kept so that the memory used does
+ * not depend on the number of storage items, and the range boundaries are the quantiles of the sample. New storage
+ * items are written all over the key space, so the connector lists the whole storage into a new instance each time it
+ * checks the ranges.
+ * </p>
+ * <p>
+ * A task with the range {@code (start, end]} lists the storage items after {@code start} and stops after {@code end}.
+ * The first range has no start and the last range has no end. This class is not thread safe.
+ * </p>
+ */
+public final class KeyRangeDiscovery {
+    /** The default number of keys kept in the sample */
+    public static final int DEFAULT_SAMPLE_SIZE = 10_000;
+    /** The seed of the random sampling so that the same keys produce the same ranges */
+    private static final long SEED = 0x5EED;
+
+    /** The sampled keys */
+    private final String[] sample;
+    /** The random generator for the sampling */
+    private final Random random = new Random(SEED);
+    /** The number of keys added */
+    private long keyCount;
+    /** The greatest key added */
+    private String lastKey;
+
+    /**
+     * Constructor.
+     *
+     * @param sampleSize
+     *            the number of keys kept in the sample.
+     */
+    public KeyRangeDiscovery(final int sampleSize) {
+        this.sample = new String[Math.max(1, sampleSize)];
+    }
+
+    /**
+     * Adds a listed key.
+     *
+     * @param key
+     *            the key to add.
+     */
+    public void add(final String key) {
+        if (keyCount < sample.length) {
+            sample[(int) keyCount] = key;
+        } else {
+            // reservoir sampling keeps each key with equal probability.
+            final long index = (long) (random.nextDouble() * (keyCount + 1));
+            if (index < sample.length) {
+                sample[(int) index] = key;
+            }
+        }
+        keyCount++;
+        if (lastKey == null || key.compareTo(lastKey) > 0) {
+            lastKey = key;
+        }
+    }
+
+    /**
+     * Gets the greatest key added.
+     *
+     * @return the greatest key added or {@code null} if no keys have been added.
+     */
+    public String getLastKey() {
+        return lastKey;
+    }
+
+    /**
+     * Gets the number of keys added.
+     *
+     * @return the number of keys added.
+     */
+    public long getKeyCount() {
+        return keyCount;
+    }
+
+    /**
+     * Gets the sampled keys in order.
+     *
+     * @return the sampled keys in order.
+     */
+    private String[] sortedSample() {
+        final String[] sorted = Arrays.copyOf(sample, (int) Math.min(keyCount, sample.length));
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Gets the boundaries of the key ranges. The boundary at index {@code i} is the last key of the range of task
+     * {@code i}. There are fewer than {@code maxTasks - 1} boundaries when there are too few keys to give every task a
+     * range.
+     *
+     * @param maxTasks
+     *            the number of tasks.
+     * @return the boundaries of the key ranges in order. May be empty.
+     */
+    public List<String> getBoundaries(final int maxTasks) {
+        final String[] sorted = sortedSample();
+        final List<String> boundaries = new ArrayList<>();
+        for (int task = 1; task < maxTasks; task++) {
+            final int index = (int) ((long) task * sorted.length / maxTasks) - 1;
+            if (index >= 0 && (boundaries.isEmpty()
+                    || sorted[index].compareTo(boundaries.get(boundaries.size() - 1)) > 0)) {
+                boundaries.add(sorted[index]);
+            }
+        }
+        return boundaries;
+    }
+
+    /**
+     * Checks if the sampled keys are still spread evenly across key ranges.
+     *
+     * @param boundaries
+     *            the boundaries of the key ranges.
+     * @param maxTasks
+     *            the number of tasks.
+     * @param tolerance
+     *            the fraction by which the keys in a range may exceed an even share.
+     * @return {@code true} if no range holds more than its share of the keys plus the tolerance.
+     */
+    public boolean isBalanced(final List<String> boundaries, final int maxTasks, final double tolerance) {
+        final String[] sorted = sortedSample();
+        final double limit = Math.max(1.0, (double) sorted.length / maxTasks) * (1 + tolerance);
+        int start = 0;
+        for (int range = 0; range <= boundaries.size(); range++) {
+            int end = sorted.length;
+            if (range < boundaries.size()) {
+                final int found = Arrays.binarySearch(sorted, start, sorted.length, boundaries.get(range));
+                end = found >= 0 ? found + 1 : -found - 1;
+                // include duplicates of the boundary key.
+                while (end < sorted.length && sorted[end].equals(boundaries.get(range))) {
+                    end++;
+                }
+            }
+            if (end - start > limit) {
+                return false;
+            }
+            start = end;
+        }
+        return true;
+    }
+
+    /**
+     * Sets the key range of a task in its configuration.
+     *
+     * @param taskProperties
+     *            the configuration of the task.
+     * @param boundaries
+     *            the boundaries of the key ranges. Must not be empty.
+     * @param taskId
+     *            the task id.
+     */
+    public static void assignRange(final Map<String, String> taskProperties, final List<String> boundaries,
+            final int taskId) {
+        final int last = boundaries.size();
+        // tasks after the last range are given an empty range.
+        final String start = taskId == 0 ? null : boundaries.get(Math.min(taskId, last) - 1);
+        final String end;
+        if (taskId < last) {
+            end = boundaries.get(taskId);
+        } else {
+            end = taskId == last ? null : start;
+        }
+        if (start != null) {
+            taskProperties.put(SourceConfigFragment.DISCOVERY_RANGE_START, start);
+        }
+        if (end != null) {
+            taskProperties.put(SourceConfigFragment.DISCOVERY_RANGE_END, end);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.task;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import io.aiven.kafka.connect.common.config.SourceConfigFragment;
+
+/**
+ * Assigns units of distribution to tasks by the number of bytes in them, for the size aware
+ * {@link DistributionType distribution types}.
+ * <p>
+ * The connector adds the size of every object it lists to the unit of the object, which is the object itself or its
+ * partition. The largest units are assigned with a greedy bin packing: units are taken from the largest to the
+ * smallest and each is given to the task with the fewest bytes, the lowest task id winning ties, so the same sizes
+ * always produce the same assignments. At most {@link #MAX_ASSIGNMENTS} units are assigned so that the task
+ * configuration stays small, the bytes of the other units are assumed to be spread evenly by the default distribution.
+ * Only twice that many units are kept, the bytes of the smallest units are merged into that remainder.
+ * </p>
+ * <p>
+ * The connector lists the whole bucket into a new instance each time, so the sizes reflect the objects that currently
+ * exist. This class is not thread safe.
+ * </p>
+ */
+public final class SizeAwareDistribution {
+    /** The maximum number of units assigned to tasks */
+    public static final int MAX_ASSIGNMENTS = 500;
+    /** Orders units from the most to the fewest bytes, then by unit */
+    private static final Comparator<Map.Entry<String, Long>> LARGEST_FIRST = Map.Entry.<String, Long>comparingByValue()
+            .reversed()
+            .thenComparing(Map.Entry.comparingByKey());
+
+    /** The distribution type that defines the units */
+    private final DistributionType distributionType;
+    /** The bytes in each kept unit */
+    private final Map<String, Long> unitBytes = new HashMap<>();
+    /** The bytes in units that are no longer kept */
+    private long otherBytes;
+    /** The greatest key added */
+    private String lastKey;
+
+    /**
+     * Constructor.
+     *
+     * @param distributionType
+     *            the size aware distribution type that defines the units.
+     */
+    public SizeAwareDistribution(final DistributionType distributionType) {
+        if (!distributionType.isSizeAware()) {
+            throw new IllegalArgumentException(distributionType + " is not size aware");
+        }
+        this.distributionType = distributionType;
+    }
+
+    /**
+     * Adds a listed object.
+     *
+     * @param key
+     *            the key of the object.
+     * @param size
+     *            the size of the object in bytes.
+     * @param context
+     *            the context of the object or {@code null} if the key does not match the file name template.
+     */
+    public void add(final String key, final long size, final Context<?> context) {
+        if (lastKey == null || key.compareTo(lastKey) > 0) {
+            lastKey = key;
+        }
+        if (context != null) {
+            distributionType.getUnit(context).ifPresent(unit -> unitBytes.merge(unit, size, Long::sum));
+            if (unitBytes.size() > 2 * MAX_ASSIGNMENTS) {
+                final List<Map.Entry<String, Long>> smallest = unitBytes.entrySet()
+                        .stream()
+                        .sorted(LARGEST_FIRST)
+                        .skip(MAX_ASSIGNMENTS)
+                        .collect(Collectors.toList());
+                for (final Map.Entry<String, Long> entry : smallest) {
+                    otherBytes += entry.getValue();
+                    unitBytes.remove(entry.getKey());
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the greatest key added.
+     *
+     * @return the greatest key added or {@code null} if no keys have been added.
+     */
+    public String getLastKey() {
+        return lastKey;
+    }
+
+    /**
+     * Checks whether any units have been added.
+     *
+     * @return {@code true} if any units have been added.
+     */
+    public boolean hasUnits() {
+        return !unitBytes.isEmpty();
+    }
+
+    /**
+     * Assigns the largest units to tasks.
+     *
+     * @param maxTasks
+     *            the maximum number of tasks.
+     * @return the task of each assigned unit.
+     */
+    public Map<String, Integer> getAssignments(final int maxTasks) {
+        final List<Map.Entry<String, Long>> units = unitBytes.entrySet()
+                .stream()
+                .sorted(LARGEST_FIRST)
+                .collect(Collectors.toList());
+        long remainder = otherBytes;
+        for (int i = MAX_ASSIGNMENTS; i < units.size(); i++) {
+            remainder += units.get(i).getValue();
+        }
+        final long[] loads = new long[maxTasks];
+        Arrays.fill(loads, remainder / maxTasks);
+        final Map<String, Integer> assignments = new TreeMap<>();
+        for (final Map.Entry<String, Long> unit : units.subList(0, Math.min(MAX_ASSIGNMENTS, units.size()))) {
+            int task = 0;
+            for (int i = 1; i < maxTasks; i++) {
+                if (loads[i] < loads[task]) {
+                    task = i;
+                }
+            }
+            loads[task] += unit.getValue();
+            assignments.put(unit.getKey(), task);
+        }
+        return assignments;
+    }
+
+    /**
+     * Checks whether the assignments still divide the bytes about as evenly as new assignments would.
+     *
+     * @param assignments
+     *            the current assignments.
+     * @param maxTasks
+     *            the maximum number of tasks.
+     * @param tolerance
+     *            the fraction by which the most bytes given to a task may exceed the most bytes that new assignments
+     *            would give to a task.
+     * @return {@code true} if the assignments are balanced.
+     */
+    public boolean isBalanced(final Map<String, Integer> assignments, final int maxTasks, final double tolerance) {
+        return getMaxLoad(assignments, maxTasks) <= getMaxLoad(getAssignments(maxTasks), maxTasks)
+                * (1 + tolerance);
+    }
+
+    /**
+     * Gets the most bytes given to one task.
+     *
+     * @param assignments
+     *            the assignments.
+     * @param maxTasks
+     *            the maximum number of tasks.
+     * @return the most bytes given to one task.
+     */
+    private long getMaxLoad(final Map<String, Integer> assignments, final int maxTasks) {
+        final long[] loads = new long[maxTasks];
+        Arrays.fill(loads, otherBytes / maxTasks);
+        for (final Map.Entry<String, Long> unit : unitBytes.entrySet()) {
+            final Integer assigned = assignments.get(unit.getKey());
+            final int task = assigned != null && assigned < maxTasks
+                    ? assigned
+                    : distributionType.getDefaultTaskFor(unit.getKey(), maxTasks);
+            loads[task] += unit.getValue();
+        }
+        return Arrays.stream(loads).max().orElse(0);
+    }
+
+    /**
+     * Sets the assignments in the properties of a task.
+     *
+     * @param taskProperties
+     *            the properties of the task.
+     * @param assignments
+     *            the assignments returned by {@link #getAssignments(int)}.
+     */
+    public static void assign(final Map<String, String> taskProperties, final Map<String, Integer> assignments) {
+        final List<String> entries = new ArrayList<>();
+        for (final Map.Entry<String, Integer> assignment : assignments.entrySet()) {
+            entries.add(URLEncoder.encode(assignment.getKey(), StandardCharsets.UTF_8) + "=" + assignment.getValue());
+        }
+        taskProperties.put(SourceConfigFragment.DISTRIBUTION_ASSIGNMENTS, String.join(",", entries));
+    }
+
+    /**
+     * Parses the assignments set by {@link #assign(Map, Map)}.
+     *
+     * @param value
+     *            the property value. May be {@code null}.
+     * @return the task of each assigned unit.
+     */
+    public static Map<String, Integer> parseAssignments(final String value) {
+        final Map<String, Integer> assignments = new HashMap<>();
+        if (value != null && !value.isEmpty()) {
+            for (final String entry : value.split(",")) {
+                final int separator = entry.lastIndexOf('=');
+                assignments.put(URLDecoder.decode(entry.substring(0, separator), StandardCharsets.UTF_8),
+                        Integer.parseInt(entry.substring(separator + 1)));
+            }
+        }
+        return assignments;
+    }
+}
@@ -27,6 +27,7 @@ import java.nio.charset.StandardCharsets;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.EnumSource;
 
 class CompressionTypeTest {
@@ -40,6 +41,13 @@ class CompressionTypeTest {
         assertThat(new String(decompressed, StandardCharsets.UTF_8)).isEqualTo(testText);
     }
 
+    @ParameterizedTest
+    @CsvSource({ "topic-0-100.gz,GZIP", "dir/topic-0-100.avro.zst,ZSTD", "topic-0-100.snappy,SNAPPY",
+            "topic-0-100,NONE", "topic-0-100.jsonl,NONE", "gz,NONE" })
+    void testForFileName(final String fileName, final CompressionType expected) {
+        assertThat(CompressionType.forFileName(fileName)).isEqualTo(expected);
+    }
+
     private byte[] compress(final byte[] input, final CompressionType compressionType) throws IOException {
         final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         try (var stream = new ByteArrayInputStream(input);
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+class AbstractManifestDiscoveryTest {
+
+    @Test
+    void testManifestsAreReadOnce() {
+        final TestDiscovery discovery = new TestDiscovery();
+        discovery.manifests.put("m1", List.of("a", "b"));
+        discovery.manifests.put("m2", List.of());
+        discovery.manifests.put("m3", List.of("c"));
+
+        assertThat(discovery.getNativeItemStream(null).collect(Collectors.toList())).containsExactly("a", "b", "c");
+        assertThat(discovery.getConsumedManifests()).containsExactlyInAnyOrder("m1", "m2", "m3");
+        assertThat(discovery.closed).containsExactly("m1", "m2", "m3");
+
+        discovery.manifests.put("m4", List.of("d"));
+        assertThat(discovery.getNativeItemStream("c").collect(Collectors.toList())).containsExactly("d");
+        assertThat(discovery.getNativeItemStream("d")).isEmpty();
+        assertThat(discovery.read).containsExactly("m1", "m2", "m3", "m4");
+    }
+
+    @Test
+    void testPartlyReadManifestIsReadAgain() {
+        final TestDiscovery discovery = new TestDiscovery();
+        discovery.manifests.put("m1", List.of("a"));
+        discovery.manifests.put("m2", List.of("b", "c"));
+
+        final Iterator<String> items = discovery.getNativeItemStream(null).iterator();
+        assertThat(items.next()).isEqualTo("a");
+        assertThat(items.next()).isEqualTo("b");
+        assertThat(discovery.getConsumedManifests()).containsExactly("m1");
+        assertThat(discovery.notified).containsExactly("m1");
+
+        assertThat(discovery.getNativeItemStream(null).collect(Collectors.toList())).containsExactly("b", "c");
+        assertThat(discovery.getConsumedManifests()).containsExactlyInAnyOrder("m1", "m2");
+        assertThat(discovery.notified).containsExactly("m1", "m2");
+    }
+
+    /**
+     * A discovery that reads manifests from a map.
+     */
+    private static final class TestDiscovery extends AbstractManifestDiscovery<String, String> {
+        private final Map<String, List<String>> manifests = new LinkedHashMap<>();
+        private final List<String> read = new ArrayList<>();
+        private final List<String> closed = new ArrayList<>();
+        private final List<String> notified = new ArrayList<>();
+
+        @Override
+        protected Stream<String> listManifests() {
+            return new ArrayList<>(manifests.keySet()).stream();
+        }
+
+        @Override
+        protected Iterator<String> readManifest(final String manifestKey) {
+            read.add(manifestKey);
+            return new ClosingIterator(manifestKey, manifests.get(manifestKey).iterator());
+        }
+
+        @Override
+        protected void manifestConsumed(final String manifestKey) {
+            notified.add(manifestKey);
+        }
+
+        private final class ClosingIterator implements Iterator<String>, Closeable {
+            private final String manifestKey;
+            private final Iterator<String> delegate;
+
+            ClosingIterator(final String manifestKey, final Iterator<String> delegate) {
+                this.manifestKey = manifestKey;
+                this.delegate = delegate;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return delegate.hasNext();
+            }
+
+            @Override
+            public String next() {
+                return delegate.next();
+            }
+
+            @Override
+            public void close() {
+                closed.add(manifestKey);
+            }
+        }
+    }
+}
@@ -19,12 +19,31 @@ package io.aiven.kafka.connect.common.source;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.source.SourceRecord;
+
+import io.aiven.kafka.connect.common.config.SourceCommonConfig;
 
 import org.apache.commons.lang3.time.StopWatch;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
 
 class AbstractSourceTaskTest {
 
@@ -33,6 +52,247 @@ class AbstractSourceTaskTest {
      */
     private static final long TIMING_DELTA_MS = 250;
 
+    /**
+     * The poll interval used while waiting for the polling thread.
+     */
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    /**
+     * The task under test, stopped after each test.
+     */
+    private StubTask task;
+
+    @AfterEach
+    void stopTask() {
+        if (task != null) {
+            task.stop();
+            task.poll();
+        }
+    }
+
+    /**
+     * Creates a configuration for a task.
+     *
+     * @param maxPollRecords
+     *            the maximum records in a poll.
+     * @param maxPollBytes
+     *            the maximum estimated bytes in a poll.
+     * @return the configuration.
+     */
+    private static SourceCommonConfig config(final int maxPollRecords, final long maxPollBytes) {
+        final SourceCommonConfig config = mock(SourceCommonConfig.class);
+        when(config.getMaxPollRecords()).thenReturn(maxPollRecords);
+        when(config.getMaxPollBytes()).thenReturn(maxPollBytes);
+        when(config.getIdleIntervalMax()).thenReturn(1000L);
+        return config;
+    }
+
+    /**
+     * Creates a record whose estimated size is {@link RecordSizeEstimator#RECORD_OVERHEAD} plus the value size.
+     *
+     * @param valueSize
+     *            the size of the value.
+     * @return the record.
+     */
+    private static SourceRecord record(final int valueSize) {
+        return new SourceRecord(Map.of("partition", 0), Map.of("offset", 0), "topic", 0, Schema.BYTES_SCHEMA,
+                new byte[valueSize]);
+    }
+
+    /**
+     * Starts a task.
+     *
+     * @param config
+     *            the configuration of the task.
+     * @param iterator
+     *            the iterator the task reads records from.
+     * @return the started task.
+     */
+    private StubTask start(final SourceCommonConfig config, final StubIterator iterator) {
+        task = new StubTask(config, iterator);
+        task.start(Map.of("name", "AbstractSourceTaskTest"));
+        return task;
+    }
+
+    /**
+     * Waits until the polling thread has queued a number of records.
+     *
+     * @param records
+     *            the number of records.
+     */
+    private void awaitQueued(final long records) {
+        await().atMost(Duration.ofSeconds(5))
+                .pollInterval(POLL_INTERVAL)
+                .until(() -> task.getMetrics().getQueuedRecords() == records);
+    }
+
+    @Test
+    void testRecordsAreHandedOffInBatches() {
+        final StubIterator iterator = new StubIterator();
+        iterator.add(12, 10);
+        // batches of 9 / 4 = 2 records.
+        start(config(9, 1_000_000), iterator);
+        awaitQueued(12);
+
+        assertThat(task.poll()).as("whole batches up to max poll records").hasSize(8);
+        assertThat(task.poll()).hasSize(4);
+        assertThat(task.poll()).isNull();
+        assertThat(task.getMetrics().getQueuedRecords()).isZero();
+    }
+
+    @Test
+    void testPartialBatchIsHandedOffAfterLinger() {
+        final StubIterator iterator = new StubIterator();
+        iterator.waitMs = 1000;
+        final ScheduledExecutorService feeder = Executors.newSingleThreadScheduledExecutor();
+        try {
+            // one record every 20 milliseconds takes 2 seconds to fill a batch of 400 / 4 = 100 records.
+            feeder.scheduleAtFixedRate(() -> iterator.add(1, 10), 0, 20, TimeUnit.MILLISECONDS);
+            start(config(400, 1_000_000), iterator);
+            final StopWatch stopWatch = StopWatch.createStarted();
+            final List<SourceRecord> records = await().atMost(Duration.ofSeconds(1))
+                    .pollInterval(POLL_INTERVAL)
+                    .until(task::poll, result -> result != null);
+            assertThat(records).hasSizeLessThan(100);
+            assertThat(stopWatch.getTime())
+                    .isLessThan(TimeUnit.NANOSECONDS.toMillis(AbstractSourceTask.BATCH_LINGER_NANOS) + TIMING_DELTA_MS);
+        } finally {
+            feeder.shutdownNow();
+        }
+    }
+
+    @Test
+    void testBatchesAndPollsAreBoundedByBytes() {
+        final StubIterator iterator = new StubIterator();
+        // 400 byte records fill a batch of 4000 / 4 = 1000 bytes after 3 records.
+        iterator.add(12, 400 - (int) RecordSizeEstimator.RECORD_OVERHEAD);
+        start(config(100, 4000), iterator);
+        awaitQueued(12);
+        assertThat(task.getMetrics().getQueuedBytes()).isEqualTo(12 * 400);
+
+        assertThat(task.poll()).as("whole batches up to max poll bytes").hasSize(9);
+        assertThat(task.getMetrics().getLastPollBytes()).isEqualTo(9 * 400);
+        assertThat(task.poll()).hasSize(3);
+        assertThat(task.getMetrics().getQueuedBytes()).isZero();
+    }
+
+    @Test
+    void testQueuedBytesApplyBackPressure() {
+        final StubIterator iterator = new StubIterator();
+        // each 528 byte record is a batch, 3 batches fit in twice the max poll bytes of 1000.
+        iterator.add(5, 400);
+        start(config(100, 1000), iterator);
+        awaitQueued(3);
+        await().during(Duration.ofMillis(200))
+                .atMost(Duration.ofSeconds(1))
+                .until(() -> task.getMetrics().getQueuedRecords() == 3);
+
+        assertThat(task.poll()).as("the first batch is always taken").hasSize(1);
+        // the fourth record is queued and the last record waits for room in the queue.
+        await().atMost(Duration.ofSeconds(1)).pollInterval(POLL_INTERVAL).until(iterator.records::isEmpty);
+        await().during(Duration.ofMillis(200))
+                .atMost(Duration.ofSeconds(1))
+                .until(() -> task.getMetrics().getQueuedRecords() == 3);
+    }
+
+    @Test
+    void testWaitingBatchIsDroppedOnStop() {
+        final StubIterator iterator = new StubIterator();
+        iterator.add(5, 400);
+        start(config(100, 1000), iterator);
+        awaitQueued(3);
+        // the fourth record waits for room in the queue.
+        await().atMost(Duration.ofSeconds(1)).pollInterval(POLL_INTERVAL).until(() -> iterator.records.size() == 1);
+
+        task.stop();
+        assertThat(task.poll()).isNull();
+        assertThat(task.closed).isTrue();
+        await().during(Duration.ofMillis(200))
+                .atMost(Duration.ofSeconds(1))
+                .until(() -> task.getMetrics().getQueuedRecords() == 3);
+        assertThat(iterator.records).as("no records are read after the task stops").hasSize(1);
+    }
+
+    /**
+     * Waits until the idle interval has grown to its maximum.
+     */
+    private void awaitMaxIdleInterval() {
+        await().atMost(Duration.ofSeconds(5))
+                .pollInterval(POLL_INTERVAL)
+                .until(() -> task.getMetrics().getIdleIntervalMs() == 1000);
+    }
+
+    @Test
+    void testIdleIntervalGrowsAndIsResetByRecords() {
+        final StubIterator iterator = new StubIterator();
+        start(config(100, 1_000_000), iterator);
+        awaitMaxIdleInterval();
+
+        iterator.add(1, 10);
+        await().atMost(Duration.ofSeconds(2)).pollInterval(POLL_INTERVAL).until(task::poll, result -> result != null);
+        await().atMost(Duration.ofSeconds(1))
+                .pollInterval(POLL_INTERVAL)
+                .until(() -> task.getMetrics().getIdleIntervalMs() <= IdleScheduler.INITIAL_INTERVAL_MS);
+    }
+
+    @Test
+    void testWakeUpEndsTheIdleWait() {
+        final StubIterator iterator = new StubIterator();
+        start(config(100, 1_000_000), iterator);
+        awaitMaxIdleInterval();
+
+        final int calls = iterator.hasNextCalls.get();
+        iterator.add(1, 10);
+        task.wakeUp();
+        await().atMost(Duration.ofMillis(500)).pollInterval(POLL_INTERVAL).until(task::poll, result -> result != null);
+        assertThat(iterator.hasNextCalls.get()).isGreaterThan(calls);
+    }
+
+    @Test
+    void testBusyTaskDoesNotIdle() {
+        final StubIterator iterator = new StubIterator();
+        // like a busy iterator, hasNext() waits before reporting that no record is available.
+        iterator.waitMs = 20;
+        task = new StubTask(config(100, 1_000_000), iterator);
+        task.busy = true;
+        task.start(Map.of("name", "AbstractSourceTaskTest"));
+
+        await().during(Duration.ofMillis(300))
+                .atMost(Duration.ofSeconds(1))
+                .until(() -> task.getMetrics().getIdleIntervalMs() == 0);
+        assertThat(iterator.hasNextCalls.get()).isGreaterThan(5);
+
+        task.busy = false;
+        await().atMost(Duration.ofSeconds(1))
+                .pollInterval(POLL_INTERVAL)
+                .until(() -> task.getMetrics().getIdleIntervalMs() > 0);
+    }
+
+    @Test
+    void testPartialBatchIsHandedOffBeforeThrottling() {
+        final StubIterator iterator = new StubIterator();
+        iterator.add(10, 10);
+        final SourceCommonConfig config = config(400, 1_000_000);
+        // the bucket starts with 5 records, then each record waits 200 milliseconds.
+        when(config.getMaxRecordsPerSecond()).thenReturn(5L);
+        final StopWatch stopWatch = StopWatch.createStarted();
+        start(config, iterator);
+
+        final List<SourceRecord> first = await().atMost(Duration.ofSeconds(1))
+                .pollInterval(POLL_INTERVAL)
+                .until(task::poll, result -> result != null);
+        assertThat(first).as("the records read before the throttle").hasSize(5);
+
+        final AtomicInteger total = new AtomicInteger(first.size());
+        await().atMost(Duration.ofSeconds(5)).pollInterval(POLL_INTERVAL).until(() -> {
+            final List<SourceRecord> records = task.poll();
+            return total.addAndGet(records == null ? 0 : records.size()) == 10;
+        });
+        stopWatch.stop();
+        assertThat(stopWatch.getTime()).isGreaterThanOrEqualTo(Duration.ofSeconds(1).toMillis() - TIMING_DELTA_MS);
+        assertThat(task.getMetrics().getThrottleTimeMs()).isPositive();
+    }
+
     @Test
     void timerTest() {
         final AbstractSourceTask.Timer timer = new AbstractSourceTask.Timer(Duration.ofSeconds(1));
@@ -156,4 +416,92 @@ class AbstractSourceTaskTest {
         }
         assertThat(backoff.estimatedDelay()).isEqualTo(maxDelay);
     }
+
+    /**
+     * An iterator of the records added by a test. {@link #hasNext()} waits up to {@link #waitMs} for a record.
+     */
+    private static final class StubIterator implements Iterator<SourceRecord> {
+        /** The records that have not been read */
+        private final BlockingQueue<SourceRecord> records = new LinkedBlockingQueue<>();
+        /** The number of calls to {@link #hasNext()} */
+        private final AtomicInteger hasNextCalls = new AtomicInteger();
+        /** The time {@link #hasNext()} waits for a record in milliseconds */
+        private volatile long waitMs;
+        /** The record returned by the next call to {@link #next()} */
+        private SourceRecord nextRecord;
+
+        void add(final int count, final int valueSize) {
+            for (int i = 0; i < count; i++) {
+                records.add(record(valueSize));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            hasNextCalls.incrementAndGet();
+            if (nextRecord == null) {
+                try {
+                    nextRecord = waitMs > 0 ? records.poll(waitMs, TimeUnit.MILLISECONDS) : records.poll();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return nextRecord != null;
+        }
+
+        @Override
+        public SourceRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final SourceRecord result = nextRecord;
+            nextRecord = null;
+            return result;
+        }
+    }
+
+    /**
+     * A task that reads from a {@link StubIterator}.
+     */
+    private static final class StubTask extends AbstractSourceTask {
+        /** The configuration returned by {@link #configure(Map)} */
+        private final SourceCommonConfig config;
+        /** The iterator the records are read from */
+        private final StubIterator iterator;
+        /** Set when the resources are closed */
+        private volatile boolean closed;
+        /** The value returned by {@link #isBusy()} */
+        private volatile boolean busy;
+
+        StubTask(final SourceCommonConfig config, final StubIterator iterator) {
+            super(LoggerFactory.getLogger(StubTask.class));
+            this.config = config;
+            this.iterator = iterator;
+        }
+
+        @Override
+        public String version() {
+            return "test";
+        }
+
+        @Override
+        protected Iterator<SourceRecord> getIterator(final BackoffConfig config) {
+            return iterator;
+        }
+
+        @Override
+        protected SourceCommonConfig configure(final Map<String, String> props) {
+            return config;
+        }
+
+        @Override
+        protected boolean isBusy() {
+            return busy;
+        }
+
+        @Override
+        protected void closeResources() {
+            closed = true;
+        }
+    }
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.kafka.connect.source.SourceRecord;
+
+import org.junit.jupiter.api.Test;
+
+class AcknowledgementTrackerTest {
+
+    private static SourceRecord record(final String value) {
+        return new SourceRecord(null, null, "topic", 0, null, value);
+    }
+
+    @Test
+    void testItemIsAcknowledgedAfterCompletionAndAllAcks() {
+        final AcknowledgementTracker<String> tracker = new AcknowledgementTracker<>();
+        final SourceRecord first = record("a");
+        final SourceRecord second = record("a");
+        tracker.returned(first, "item");
+        tracker.returned(second, "item");
+        tracker.acknowledged(first);
+        assertThat(tracker.drain()).as("item is not complete").isEmpty();
+
+        tracker.completed("item");
+        assertThat(tracker.drain()).as("a record is outstanding").isEmpty();
+
+        tracker.acknowledged(second);
+        assertThat(tracker.drain()).containsExactly("item");
+        assertThat(tracker.drain()).isEmpty();
+        assertThat(tracker.outstanding()).isZero();
+    }
+
+    @Test
+    void testAcksBeforeCompletion() {
+        final AcknowledgementTracker<String> tracker = new AcknowledgementTracker<>();
+        final SourceRecord sourceRecord = record("a");
+        tracker.returned(sourceRecord, "item");
+        tracker.acknowledged(sourceRecord);
+        assertThat(tracker.drain()).isEmpty();
+
+        tracker.completed("item");
+        assertThat(tracker.drain()).containsExactly("item");
+    }
+
+    @Test
+    void testItemWithoutRecordsIsAcknowledgedOnCompletion() {
+        final AcknowledgementTracker<String> tracker = new AcknowledgementTracker<>();
+        tracker.completed("empty");
+        assertThat(tracker.drain()).containsExactly("empty");
+    }
+
+    @Test
+    void testRecordsAreMatchedByIdentity() {
+        final AcknowledgementTracker<String> tracker = new AcknowledgementTracker<>();
+        final SourceRecord sourceRecord = record("a");
+        tracker.returned(sourceRecord, "item");
+        tracker.completed("item");
+
+        tracker.acknowledged(record("a"));
+        assertThat(tracker.drain()).as("an equal record is not the returned record").isEmpty();
+        assertThat(tracker.outstanding()).isOne();
+
+        tracker.acknowledged(sourceRecord);
+        assertThat(tracker.drain()).containsExactly("item");
+    }
+
+    @Test
+    void testItemsAreTrackedIndependently() {
+        final AcknowledgementTracker<String> tracker = new AcknowledgementTracker<>();
+        final SourceRecord first = record("a");
+        final SourceRecord second = record("b");
+        tracker.returned(first, "first");
+        tracker.completed("first");
+        tracker.returned(second, "second");
+        tracker.completed("second");
+
+        tracker.acknowledged(second);
+        assertThat(tracker.drain()).containsExactly("second");
+        tracker.acknowledged(first);
+        assertThat(tracker.drain()).containsExactly("first");
+    }
+}
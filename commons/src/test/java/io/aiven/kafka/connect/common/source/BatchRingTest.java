@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class BatchRingTest {
+
+    @ParameterizedTest
+    @CsvSource({ "0,1", "1,1", "2,2", "3,4", "8,8", "9,16" })
+    void testCapacityIsRoundedToPowerOfTwo(final int requested, final int expected) {
+        assertThat(new BatchRing<List<String>>(requested).capacity()).isEqualTo(expected);
+    }
+
+    @Test
+    void testOfferPeekAndPoll() {
+        final BatchRing<List<String>> ring = new BatchRing<>(2);
+        assertThat(ring.peek()).isNull();
+        assertThat(ring.poll()).isNull();
+
+        assertThat(ring.offer(List.of("a", "b"))).isTrue();
+        assertThat(ring.offer(List.of("c"))).isTrue();
+        assertThat(ring.offer(List.of("d"))).as("ring is full").isFalse();
+        assertThat(ring.size()).isEqualTo(2);
+
+        assertThat(ring.peek()).containsExactly("a", "b");
+        assertThat(ring.poll()).containsExactly("a", "b");
+        assertThat(ring.offer(List.of("d"))).isTrue();
+        assertThat(ring.poll()).containsExactly("c");
+        assertThat(ring.poll()).containsExactly("d");
+        assertThat(ring.poll()).isNull();
+        assertThat(ring.size()).isZero();
+    }
+
+    @Test
+    void testSingleProducerSingleConsumer() throws InterruptedException {
+        final int batches = 1000;
+        final BatchRing<List<Integer>> ring = new BatchRing<>(4);
+        final Thread producer = new Thread(() -> {
+            for (int i = 0; i < batches; i++) {
+                final List<Integer> batch = List.of(i * 2, i * 2 + 1);
+                while (!ring.offer(batch)) {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+
+        final List<Integer> received = new ArrayList<>();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received.size() < batches * 2 && System.nanoTime() < deadline) {
+            final List<Integer> batch = ring.poll();
+            if (batch == null) {
+                Thread.yield();
+            } else {
+                received.addAll(batch);
+            }
+        }
+        producer.join();
+
+        assertThat(received).hasSize(batches * 2);
+        for (int i = 0; i < received.size(); i++) {
+            assertThat(received.get(i)).isEqualTo(i);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class IdleSchedulerTest {
+
+    @Test
+    void testIntervalDoublesUpToTheMaximumAndResets() throws InterruptedException {
+        final SourceTaskMetrics metrics = new SourceTaskMetrics();
+        final IdleScheduler scheduler = new IdleScheduler(300, null, metrics);
+        assertThat(scheduler.getInterval()).isZero();
+
+        scheduler.idle();
+        assertThat(scheduler.getInterval()).isEqualTo(IdleScheduler.INITIAL_INTERVAL_MS);
+        scheduler.idle();
+        assertThat(scheduler.getInterval()).isEqualTo(200);
+        scheduler.idle();
+        assertThat(scheduler.getInterval()).isEqualTo(300);
+        scheduler.idle();
+        assertThat(scheduler.getInterval()).isEqualTo(300);
+        assertThat(metrics.getIdleIntervalMs()).isEqualTo(300);
+
+        scheduler.reset();
+        assertThat(scheduler.getInterval()).isZero();
+        assertThat(metrics.getIdleIntervalMs()).isZero();
+    }
+
+    @Test
+    void testWakeUpBeforeWaitingResetsTheInterval() throws InterruptedException {
+        final IdleScheduler scheduler = new IdleScheduler(TimeUnit.MINUTES.toMillis(10), null,
+                new SourceTaskMetrics());
+        scheduler.idle();
+        scheduler.wakeUp();
+        scheduler.idle();
+        assertThat(scheduler.getInterval()).isZero();
+    }
+
+    @Test
+    void testWakeUpEndsTheWait() throws InterruptedException {
+        final IdleScheduler scheduler = new IdleScheduler(TimeUnit.MINUTES.toMillis(10), null,
+                new SourceTaskMetrics());
+        while (scheduler.getInterval() < 800) {
+            scheduler.idle();
+        }
+
+        final Thread waker = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            scheduler.wakeUp();
+        });
+        waker.start();
+        final long start = System.nanoTime();
+        scheduler.idle();
+        final long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        waker.join();
+        assertThat(waited).as("the wait of 1600 milliseconds ended early").isLessThan(1600);
+        assertThat(scheduler.getInterval()).isZero();
+    }
+
+    @Test
+    void testWakeUpFileEndsTheWait(@TempDir final Path tempDir) throws InterruptedException, IOException {
+        final File wakeUpFile = tempDir.resolve("wakeup").toFile();
+        final IdleScheduler scheduler = new IdleScheduler(TimeUnit.MINUTES.toMillis(10), wakeUpFile,
+                new SourceTaskMetrics());
+        Files.writeString(wakeUpFile.toPath(), "wake up");
+
+        scheduler.idle();
+        assertThat(scheduler.getInterval()).as("the file change ended the wait").isZero();
+        scheduler.idle();
+        assertThat(scheduler.getInterval()).as("the unchanged file does not end the wait")
+                .isEqualTo(IdleScheduler.INITIAL_INTERVAL_MS);
+    }
+}
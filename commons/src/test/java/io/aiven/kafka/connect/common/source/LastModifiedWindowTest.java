@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class LastModifiedWindowTest {
+    private static final Instant NOW = Instant.parse("2025-01-10T12:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @Test
+    void testUnboundedWindowContainsEverything() {
+        final LastModifiedWindow window = new LastModifiedWindow(null, null, Duration.ZERO, CLOCK);
+        assertThat(window.isUnbounded()).isTrue();
+        assertThat(window.contains(Instant.EPOCH)).isTrue();
+        assertThat(window.contains(NOW.plus(Duration.ofDays(365)))).isTrue();
+    }
+
+    @Test
+    void testAbsoluteBounds() {
+        final Instant after = Instant.parse("2025-01-01T00:00:00Z");
+        final Instant before = Instant.parse("2025-01-02T00:00:00Z");
+        final LastModifiedWindow window = new LastModifiedWindow(after, before, Duration.ZERO, CLOCK);
+        assertThat(window.isUnbounded()).isFalse();
+        assertThat(window.contains(after.minusMillis(1))).isFalse();
+        assertThat(window.contains(after)).as("lower bound is inclusive").isTrue();
+        assertThat(window.contains(before.minusMillis(1))).isTrue();
+        assertThat(window.contains(before)).as("upper bound is exclusive").isFalse();
+    }
+
+    @Test
+    void testLookbackIsMeasuredFromTheClock() {
+        final LastModifiedWindow window = new LastModifiedWindow(null, null, Duration.ofHours(6), CLOCK);
+        assertThat(window.isUnbounded()).isFalse();
+        assertThat(window.contains(NOW.minus(Duration.ofHours(6)))).isTrue();
+        assertThat(window.contains(NOW.minus(Duration.ofHours(6)).minusMillis(1))).isFalse();
+        assertThat(window.contains(NOW)).isTrue();
+    }
+
+    @Test
+    void testUnknownLastModifiedIsContained() {
+        final LastModifiedWindow window = new LastModifiedWindow(NOW, null, Duration.ZERO, CLOCK);
+        assertThat(window.contains(null)).isTrue();
+    }
+
+    @Test
+    void testPredicate() {
+        final LastModifiedWindow window = new LastModifiedWindow(null, NOW, Duration.ofHours(1), CLOCK);
+        final List<Instant> items = List.of(NOW.minus(Duration.ofHours(2)), NOW.minus(Duration.ofMinutes(30)), NOW);
+        assertThat(items.stream()
+                .filter(window.asPredicate(Function.identity()))
+                .collect(Collectors.toList())).containsExactly(NOW.minus(Duration.ofMinutes(30)));
+    }
+}
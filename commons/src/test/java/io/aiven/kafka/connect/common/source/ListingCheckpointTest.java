@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+class ListingCheckpointTest {
+
+    private static final Map<String, Object> PARTITION = Map.of(ListingCheckpoint.CHECKPOINT, true);
+
+    private static Map<String, Object> partition(final String key) {
+        return Map.of("bucket", "bucket", "objectKey", key);
+    }
+
+    private static Map<String, Object> offset(final long recordCount) {
+        return Map.of("recordCount", recordCount);
+    }
+
+    @Test
+    void testEmptyCheckpoint() {
+        final ListingCheckpoint<String> underTest = new ListingCheckpoint<>(PARTITION, Map.of(), Function.identity());
+        assertThat(underTest.getRestoredResumeKey()).isNull();
+        assertThat(underTest.getRestoredOffset(partition("a"))).isNull();
+        assertThat(underTest.isNewResumeKey(null)).isFalse();
+        assertThat(underTest.isNewResumeKey("a")).isTrue();
+    }
+
+    @Test
+    void testCheckpointKeepsOffsetsOfMovedRecords() {
+        final ListingCheckpoint<String> underTest = new ListingCheckpoint<>(PARTITION, Map.of(), Function.identity());
+        underTest.checkpoint("a", "c", partition("c"), offset(3));
+        assertThat(underTest.isNewResumeKey("a")).isFalse();
+
+        // the last record returned from d was moved to the checkpoint so its offset must be kept.
+        underTest.returned("c");
+        Map<String, Object> checkpoint = underTest.checkpoint("b", "d", partition("d"), offset(1));
+        assertThat(checkpoint).containsEntry(ListingCheckpoint.RESUME_KEY, "b")
+                .containsEntry(ListingCheckpoint.OBJECT_COUNT, 1L)
+                .containsEntry(ListingCheckpoint.PARTITION_PREFIX + "0.objectKey", "d")
+                .containsEntry(ListingCheckpoint.OFFSET_PREFIX + "0.recordCount", 1L);
+
+        checkpoint = underTest.checkpoint("c", "e", partition("e"), offset(7));
+        assertThat(checkpoint).containsEntry(ListingCheckpoint.OBJECT_COUNT, 2L);
+
+        final ListingCheckpoint<String> restored = new ListingCheckpoint<>(PARTITION, checkpoint,
+                Function.identity());
+        assertThat(restored.getRestoredResumeKey()).isEqualTo("c");
+        assertThat(restored.getRestoredOffset(partition("d"))).isEqualTo(offset(1));
+        assertThat(restored.getRestoredOffset(partition("e"))).isEqualTo(offset(7));
+        assertThat(restored.getRestoredOffset(partition("c"))).isNull();
+
+        // keys up to the resume key are not listed again.
+        checkpoint = underTest.checkpoint("d", "f", partition("f"), offset(2));
+        assertThat(checkpoint).containsEntry(ListingCheckpoint.OBJECT_COUNT, 2L)
+                .containsEntry(ListingCheckpoint.PARTITION_PREFIX + "0.objectKey", "e")
+                .containsEntry(ListingCheckpoint.PARTITION_PREFIX + "1.objectKey", "f");
+    }
+}
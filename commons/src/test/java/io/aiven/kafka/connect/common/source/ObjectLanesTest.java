@@ -0,0 +1,165 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ObjectLanesTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private ObjectLanes<String, String> underTest;
+
+    @AfterEach
+    void closeLanes() {
+        if (underTest != null) {
+            underTest.close();
+        }
+    }
+
+    /**
+     * Creates the records of an object.
+     *
+     * @param object
+     *            the name of the object.
+     * @param count
+     *            the number of records.
+     * @param delayMs
+     *            the delay before the first record.
+     * @return the records of the object.
+     */
+    private static Stream<String> records(final String object, final int count, final long delayMs) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return IntStream.range(0, count).mapToObj(i -> object + "-" + i);
+    }
+
+    @Test
+    void testRecordsOfALaneKeyAreInSubmissionOrder() throws InterruptedException {
+        underTest = new ObjectLanes<>("test", 3, 6, 100);
+        final Map<String, String> laneKeys = new HashMap<>();
+        for (int i = 0; i < 6; i++) {
+            final String object = "object" + i;
+            final String laneKey = "partition" + i % 2;
+            laneKeys.put(object, laneKey);
+            // the earlier objects are the slowest so that later objects on other lanes overtake them.
+            final long delay = (6 - i) * 20L;
+            underTest.submit(laneKey, object, () -> records(object, 3, delay));
+        }
+        assertThat(underTest.isFull()).isTrue();
+
+        final Map<String, List<String>> recordsByLaneKey = new HashMap<>();
+        final List<String> completed = new ArrayList<>();
+        while (!underTest.isIdle()) {
+            final ObjectLanes.Event<String, String> event = underTest.poll(TIMEOUT);
+            assertThat(event).isNotNull();
+            assertThat(event.getError()).isNull();
+            if (event.getToken() == null) {
+                final String object = event.getRecord().substring(0, event.getRecord().indexOf('-'));
+                recordsByLaneKey.computeIfAbsent(laneKeys.get(object), k -> new ArrayList<>()).add(event.getRecord());
+            } else {
+                completed.add(event.getToken());
+            }
+        }
+
+        assertThat(completed).containsExactlyInAnyOrder("object0", "object1", "object2", "object3", "object4",
+                "object5");
+        assertThat(recordsByLaneKey.get("partition0")).containsExactly("object0-0", "object0-1", "object0-2",
+                "object2-0", "object2-1", "object2-2", "object4-0", "object4-1", "object4-2");
+        assertThat(recordsByLaneKey.get("partition1")).containsExactly("object1-0", "object1-1", "object1-2",
+                "object3-0", "object3-1", "object3-2", "object5-0", "object5-1", "object5-2");
+    }
+
+    @Test
+    void testFailureIsReportedWithTheToken() throws InterruptedException {
+        underTest = new ObjectLanes<>("test", 2, 4, 100);
+        final IllegalStateException failure = new IllegalStateException("failed to read");
+        underTest.submit("partition0", "good", () -> records("good", 1, 0));
+        // the object fails after its first record.
+        underTest.submit("partition1", "bad",
+                () -> Stream.concat(records("bad", 1, 0), Stream.<String>generate(() -> {
+                    throw failure;
+                })));
+
+        final List<String> records = new ArrayList<>();
+        final Map<String, RuntimeException> errors = new HashMap<>();
+        while (!underTest.isIdle()) {
+            final ObjectLanes.Event<String, String> event = underTest.poll(TIMEOUT);
+            assertThat(event).isNotNull();
+            if (event.getToken() == null) {
+                records.add(event.getRecord());
+            } else {
+                errors.put(event.getToken(), event.getError());
+            }
+        }
+        assertThat(records).containsExactlyInAnyOrder("good-0", "bad-0");
+        assertThat(errors).containsEntry("bad", failure);
+        assertThat(errors.get("good")).isNull();
+    }
+
+    @Test
+    void testCloseInterruptsBlockedLanes() throws InterruptedException {
+        underTest = new ObjectLanes<>("test", 1, 2, 1);
+        final CountDownLatch streamClosed = new CountDownLatch(1);
+        underTest.submit("partition0", "endless",
+                () -> Stream.iterate(0, i -> i + 1).map(String::valueOf).onClose(streamClosed::countDown));
+        // the queue holds one record so the lane blocks on the second.
+        assertThat(underTest.poll(TIMEOUT)).isNotNull();
+        assertThat(underTest.isIdle()).isFalse();
+
+        underTest.close();
+        assertThat(underTest.isIdle()).isTrue();
+        assertThat(streamClosed.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)).as("lane was interrupted").isTrue();
+    }
+
+    @Test
+    void testPollReturnsNullWhenNoEventArrives() throws InterruptedException {
+        underTest = new ObjectLanes<>("test", 1, 1, 10);
+        final CountDownLatch release = new CountDownLatch(1);
+        underTest.submit("partition0", "slow", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return records("slow", 1, 0);
+        });
+        assertThat(underTest.poll(Duration.ofMillis(50))).isNull();
+        assertThat(underTest.isIdle()).isFalse();
+
+        release.countDown();
+        assertThat(underTest.poll(TIMEOUT).getRecord()).isEqualTo("slow-0");
+        assertThat(underTest.poll(TIMEOUT).getToken()).isEqualTo("slow");
+        assertThat(underTest.isIdle()).isTrue();
+    }
+}
@@ -82,6 +82,19 @@ final class OffsetManagerTest {
         assertThat(result).isNotPresent();
     }
 
+    @Test
+    void testMissingEntryIsOnlyReadOnce() {
+        final Map<String, Object> partitionKey = Map.of("segment1", "topic1");
+        when(offsetStorageReader.offset(partitionKey)).thenReturn(null);
+
+        assertThat(offsetManager.getEntry(() -> partitionKey, ExampleOffsetManagerEntry::new)).isNotPresent();
+        assertThat(offsetManager.getEntry(() -> partitionKey, ExampleOffsetManagerEntry::new)).isNotPresent();
+        offsetManager.populateOffsetManager(List.of(() -> partitionKey));
+
+        verify(offsetStorageReader, times(1)).offset(partitionKey);
+        verify(offsetStorageReader, times(0)).offsets(anyCollection());
+    }
+
     @Test
     void testPopulateOffsetManagerWithPartitionMapsNoExistingEntries() {
         final List<OffsetManager.OffsetManagerKey> partitionMaps = new ArrayList<>();
@@ -98,11 +111,11 @@ final class OffsetManagerTest {
         offsetManager.populateOffsetManager(partitionMaps);
         verify(offsetStorageReader, times(1)).offsets(anyList());
 
-        // No Existing entries so we expect nothing to exist and for it to try check the offsets again.
+        // No Existing entries so we expect nothing to exist and the absence to be remembered.
         final Optional<ExampleOffsetManagerEntry> result = offsetManager
                 .getEntry(() -> partitionMaps.get(0).getPartitionMap(), ExampleOffsetManagerEntry::new);
         assertThat(result).isEmpty();
-        verify(offsetStorageReader, times(1)).offset(eq(partitionMaps.get(0).getPartitionMap()));
+        verify(offsetStorageReader, times(0)).offset(eq(partitionMaps.get(0).getPartitionMap()));
 
     }
 
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+
+import org.junit.jupiter.api.Test;
+
+class RecordSizeEstimatorTest {
+
+    private static SourceRecord record(final Object key, final Object value) {
+        return new SourceRecord(Map.of(), Map.of(), "topic", null, null, key, null, value);
+    }
+
+    @Test
+    void testBinaryAndStringValues() {
+        assertThat(RecordSizeEstimator.estimate(record(null, null))).isEqualTo(RecordSizeEstimator.RECORD_OVERHEAD);
+        assertThat(RecordSizeEstimator.estimate(record("key", new byte[1000])))
+                .isEqualTo(RecordSizeEstimator.RECORD_OVERHEAD + 3 + 1000);
+        assertThat(RecordSizeEstimator.estimate(record(null, ByteBuffer.allocate(20))))
+                .isEqualTo(RecordSizeEstimator.RECORD_OVERHEAD + 20);
+    }
+
+    @Test
+    void testStructuredValues() {
+        final Schema schema = SchemaBuilder.struct()
+                .field("name", Schema.STRING_SCHEMA)
+                .field("id", Schema.INT64_SCHEMA)
+                .field("tags", SchemaBuilder.array(Schema.STRING_SCHEMA).build())
+                .build();
+        final Struct struct = new Struct(schema).put("name", "abcde").put("id", 1L).put("tags", List.of("a", "bc"));
+        assertThat(RecordSizeEstimator.estimateValue(struct)).isEqualTo(5 + 8 + 1 + 2);
+        assertThat(RecordSizeEstimator.estimateValue(Map.of("key", 12, "other", "xy"))).isEqualTo(3 + 8 + 5 + 2);
+    }
+}
@@ -66,4 +66,66 @@ class RingBufferTest {
         buffer.add(OBJECT_KEY + 1);
         assertThat(buffer.getNextEjected()).isEqualTo(OBJECT_KEY + 1);
     }
+
+    @Test
+    void testContainsForgetsEjectedEntries() {
+        final RingBuffer<String> buffer = new RingBuffer<>(3);
+        for (int i = 0; i < 5; i++) {
+            buffer.add(OBJECT_KEY + i);
+        }
+        assertThat(buffer.contains(OBJECT_KEY + 1)).isFalse();
+        assertThat(buffer.contains(OBJECT_KEY + 2)).isTrue();
+        assertThat(buffer.head()).isEqualTo(OBJECT_KEY + 2);
+        assertThat(buffer.tail()).isEqualTo(OBJECT_KEY + 4);
+    }
+
+    @Test
+    void testDuplicatesAllowedAndRemovedOneAtATime() {
+        final RingBuffer<String> buffer = new RingBuffer<>(4, RingBuffer.DuplicateHandling.ALLOW);
+        buffer.add(OBJECT_KEY);
+        buffer.add(OBJECT_KEY + 1);
+        buffer.add(OBJECT_KEY);
+
+        buffer.remove(OBJECT_KEY);
+        assertThat(buffer.contains(OBJECT_KEY)).isTrue();
+        assertThat(buffer.head()).isEqualTo(OBJECT_KEY + 1);
+        buffer.remove(OBJECT_KEY);
+        assertThat(buffer.contains(OBJECT_KEY)).isFalse();
+        assertThat(buffer.tail()).isEqualTo(OBJECT_KEY + 1);
+    }
+
+    @Test
+    void testDeleteMovesDuplicateToTail() {
+        final RingBuffer<String> buffer = new RingBuffer<>(3, RingBuffer.DuplicateHandling.DELETE);
+        buffer.add(OBJECT_KEY + 0);
+        buffer.add(OBJECT_KEY + 1);
+        buffer.add(OBJECT_KEY + 2);
+        // removing the head leaves room so nothing is ejected.
+        assertThat(buffer.add(OBJECT_KEY + 0)).isNull();
+        assertThat(buffer.head()).isEqualTo(OBJECT_KEY + 1);
+        assertThat(buffer.tail()).isEqualTo(OBJECT_KEY + 0);
+        // removing from the middle leaves a gap that is reclaimed.
+        buffer.add(OBJECT_KEY + 2);
+        assertThat(buffer.add(OBJECT_KEY + 3)).isEqualTo(OBJECT_KEY + 1);
+        assertThat(buffer.getNextEjected()).isEqualTo(OBJECT_KEY + 0);
+        assertThat(buffer.tail()).isEqualTo(OBJECT_KEY + 3);
+    }
+
+    @Test
+    void testRemoveFindsItemsMovedByCompaction() {
+        final RingBuffer<String> buffer = new RingBuffer<>(3, RingBuffer.DuplicateHandling.DELETE);
+        buffer.add(OBJECT_KEY + 0);
+        buffer.add(OBJECT_KEY + 1);
+        buffer.add(OBJECT_KEY + 2);
+        // the gap left by 1 is closed before 1 is added again, moving 2.
+        buffer.add(OBJECT_KEY + 1);
+        buffer.remove(OBJECT_KEY + 2);
+        assertThat(buffer.contains(OBJECT_KEY + 2)).isFalse();
+        assertThat(buffer.head()).isEqualTo(OBJECT_KEY + 0);
+        assertThat(buffer.tail()).isEqualTo(OBJECT_KEY + 1);
+        assertThat(buffer.add(OBJECT_KEY + 3)).isNull();
+        assertThat(buffer.add(OBJECT_KEY + 4)).isEqualTo(OBJECT_KEY + 0);
+        assertThat(buffer.add(OBJECT_KEY + 5)).isEqualTo(OBJECT_KEY + 1);
+        assertThat(buffer.head()).isEqualTo(OBJECT_KEY + 3);
+    }
 }
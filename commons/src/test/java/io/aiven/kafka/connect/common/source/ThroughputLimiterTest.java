@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class ThroughputLimiterTest {
+
+    @Test
+    void testUnlimitedNeverWaits() {
+        final ThroughputLimiter limiter = new ThroughputLimiter(() -> 0, () -> 0);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(limiter.reserve(1, Integer.MAX_VALUE)).isZero();
+        }
+    }
+
+    @Test
+    void testRecordsBeyondTheBurstWait() {
+        final ThroughputLimiter limiter = new ThroughputLimiter(() -> 10, () -> 0);
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.reserve(1, 100)).as("record %s is within the burst", i).isZero();
+        }
+        assertThat(limiter.reserve(1, 100)).isBetween(TimeUnit.MILLISECONDS.toNanos(50),
+                TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void testBytesLargerThanTheRateGoIntoDebt() {
+        final ThroughputLimiter limiter = new ThroughputLimiter(() -> 0, () -> 1000);
+        assertThat(limiter.reserve(1, 3000)).isBetween(TimeUnit.MILLISECONDS.toNanos(1900),
+                TimeUnit.MILLISECONDS.toNanos(2000));
+    }
+
+    @Test
+    void testRateChangesTakeEffectImmediately() {
+        final AtomicLong rate = new AtomicLong(1);
+        final ThroughputLimiter limiter = new ThroughputLimiter(rate::get, () -> 0);
+        assertThat(limiter.reserve(1, 0)).isZero();
+        assertThat(limiter.reserve(1, 0)).isPositive();
+
+        rate.set(0);
+        assertThat(limiter.reserve(1, 0)).as("no limit").isZero();
+
+        rate.set(5);
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.reserve(1, 0)).as("a new limit starts with a full bucket").isZero();
+        }
+        assertThat(limiter.reserve(1, 0)).isPositive();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+class WatermarkOffsetsTest {
+
+    private static final Map<String, Object> PARTITION = Map.of(WatermarkOffsets.TASK_ID, 0L,
+            WatermarkOffsets.MAX_TASKS, 1L);
+
+    private static WatermarkOffsets<String> watermarkOffsets(final Map<String, Object> offset) {
+        final WatermarkOffsets<String> result = new WatermarkOffsets<>(PARTITION, offset, Function.identity());
+        result.listing();
+        return result;
+    }
+
+    @Test
+    void testWatermarkAdvancesInListingOrder() {
+        final WatermarkOffsets<String> underTest = watermarkOffsets(Map.of());
+        assertThat(underTest.getRestoredWatermark()).isNull();
+
+        assertThat(underTest.started("a")).isZero();
+        assertThat(underTest.started("b")).isZero();
+        assertThat(underTest.started("c")).isZero();
+        underTest.recorded("b", 2);
+
+        underTest.completed("b");
+        assertThat(underTest.getWatermark()).as("a is still in progress").isNull();
+
+        final Map<String, Object> offset = underTest.recorded("a", 1);
+        assertThat(offset).containsEntry(WatermarkOffsets.OBJECT_COUNT, 3L)
+                .containsEntry(WatermarkOffsets.OBJECT_KEY_PREFIX + "0", "a")
+                .containsEntry(WatermarkOffsets.RECORD_COUNT_PREFIX + "0", 1L)
+                .containsEntry(WatermarkOffsets.OBJECT_KEY_PREFIX + "1", "b")
+                .containsEntry(WatermarkOffsets.RECORD_COUNT_PREFIX + "1", 2L)
+                .containsEntry(WatermarkOffsets.OBJECT_KEY_PREFIX + "2", "c")
+                .containsEntry(WatermarkOffsets.RECORD_COUNT_PREFIX + "2", 0L)
+                .doesNotContainKey(WatermarkOffsets.WATERMARK);
+
+        underTest.completed("a");
+        assertThat(underTest.getWatermark()).isEqualTo("b");
+        assertThat(underTest.recorded("c", 1)).containsOnly(Map.entry(WatermarkOffsets.WATERMARK, "b"),
+                Map.entry(WatermarkOffsets.OBJECT_COUNT, 1L), Map.entry(WatermarkOffsets.OBJECT_KEY_PREFIX + "0", "c"),
+                Map.entry(WatermarkOffsets.RECORD_COUNT_PREFIX + "0", 1L));
+
+        underTest.completed("c");
+        assertThat(underTest.getWatermark()).isEqualTo("c");
+        assertThat(underTest.recorded("c", 1)).containsOnly(Map.entry(WatermarkOffsets.WATERMARK, "c"),
+                Map.entry(WatermarkOffsets.OBJECT_COUNT, 0L));
+    }
+
+    @Test
+    void testReturnedOffsetsAreNotModified() {
+        final WatermarkOffsets<String> underTest = watermarkOffsets(Map.of());
+        underTest.started("a");
+        underTest.started("b");
+        final Map<String, Object> first = underTest.recorded("a", 1);
+        final Map<String, Object> second = underTest.recorded("b", 1);
+        assertThat(first).containsEntry(WatermarkOffsets.RECORD_COUNT_PREFIX + "1", 0L);
+        assertThat(second).containsEntry(WatermarkOffsets.RECORD_COUNT_PREFIX + "0", 1L)
+                .containsEntry(WatermarkOffsets.RECORD_COUNT_PREFIX + "1", 1L);
+        assertThat(underTest.recorded("b", 1)).as("unchanged offset is reused").isSameAs(second);
+
+        underTest.started("c");
+        assertThat(underTest.recorded("a", 2)).containsEntry(WatermarkOffsets.OBJECT_COUNT, 3L)
+                .containsEntry(WatermarkOffsets.OBJECT_KEY_PREFIX + "2", "c")
+                .containsEntry(WatermarkOffsets.RECORD_COUNT_PREFIX + "0", 2L);
+        underTest.completed("a");
+        assertThat(underTest.recorded("b", 2)).containsOnly(Map.entry(WatermarkOffsets.WATERMARK, "a"),
+                Map.entry(WatermarkOffsets.OBJECT_COUNT, 2L), Map.entry(WatermarkOffsets.OBJECT_KEY_PREFIX + "0", "b"),
+                Map.entry(WatermarkOffsets.RECORD_COUNT_PREFIX + "0", 2L),
+                Map.entry(WatermarkOffsets.OBJECT_KEY_PREFIX + "1", "c"),
+                Map.entry(WatermarkOffsets.RECORD_COUNT_PREFIX + "1", 0L));
+        assertThat(second).hasSize(5).containsEntry(WatermarkOffsets.RECORD_COUNT_PREFIX + "1", 1L);
+    }
+
+    @Test
+    void testRestoredOffsetsResumeTrackedObjects() {
+        final WatermarkOffsets<String> original = watermarkOffsets(Map.of());
+        original.started("a");
+        original.started("b");
+        original.started("c");
+        original.completed("a");
+        original.recorded("b", 5);
+        original.completed("c");
+        final Map<String, Object> stored = original.recorded("b", 6);
+
+        final WatermarkOffsets<String> underTest = watermarkOffsets(stored);
+        assertThat(underTest.getRestoredWatermark()).isEqualTo("a");
+        assertThat(underTest.started("b")).isEqualTo(6L);
+        assertThat(underTest.recorded("b", 7)).as("c is kept until it is listed again")
+                .containsEntry(WatermarkOffsets.OBJECT_COUNT, 2L)
+                .containsEntry(WatermarkOffsets.OBJECT_KEY_PREFIX + "1", "c");
+        underTest.completed("b");
+        assertThat(underTest.getWatermark()).isEqualTo("b");
+        assertThat(underTest.started("c")).as("c had been completed with no records").isZero();
+        underTest.completed("c");
+        assertThat(underTest.getWatermark()).isEqualTo("c");
+    }
+
+    @Test
+    void testRestoredObjectsThatAreNotListedAreDropped() {
+        final Map<String, Object> stored = Map.of(WatermarkOffsets.WATERMARK, "a", WatermarkOffsets.OBJECT_COUNT, 2L,
+                WatermarkOffsets.OBJECT_KEY_PREFIX + "0", "b", WatermarkOffsets.RECORD_COUNT_PREFIX + "0", 3L,
+                WatermarkOffsets.OBJECT_KEY_PREFIX + "1", "c", WatermarkOffsets.RECORD_COUNT_PREFIX + "1", 4L);
+        final WatermarkOffsets<String> underTest = watermarkOffsets(stored);
+        assertThat(underTest.started("c")).isEqualTo(4L);
+        underTest.completed("c");
+        assertThat(underTest.getWatermark()).as("b has not been listed").isEqualTo("a");
+
+        // b was deleted so it is not found by the first listing.
+        underTest.listing();
+        assertThat(underTest.getWatermark()).isEqualTo("c");
+        assertThat(underTest.recorded("c", 4)).doesNotContainKey(WatermarkOffsets.OBJECT_KEY_PREFIX + "0");
+    }
+}
@@ -102,6 +102,11 @@ public class ExampleOffsetManagerEntry implements OffsetManager.OffsetManagerEnt
         recordCount++;
     }
 
+    @Override
+    public void setRecordCount(final long recordCount) {
+        this.recordCount = (int) recordCount;
+    }
+
     @Override
     public long getRecordCount() {
         return recordCount;
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.input;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.connect.data.SchemaAndValue;
+
+import io.confluent.connect.avro.AvroData;
+import org.apache.avro.Conversions;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
+import org.junit.jupiter.api.Test;
+
+final class AvroRecordConverterTest {
+
+    private final AvroData avroData = new AvroData(10);
+
+    private static final Schema ADDRESS = SchemaBuilder.record("Address")
+            .fields()
+            .requiredString("street")
+            .optionalInt("number")
+            .endRecord();
+
+    private static final Schema SIMPLE = SchemaBuilder.record("Simple")
+            .fields()
+            .requiredString("name")
+            .requiredLong("id")
+            .optionalDouble("score")
+            .requiredBoolean("active")
+            .name("tags")
+            .type()
+            .array()
+            .items()
+            .stringType()
+            .noDefault()
+            .name("counts")
+            .type()
+            .map()
+            .values()
+            .intType()
+            .noDefault()
+            .name("address")
+            .type(ADDRESS)
+            .noDefault()
+            .endRecord();
+
+    private static final Schema DECIMAL = LogicalTypes.decimal(9, 2).addToSchema(Schema.create(Schema.Type.BYTES));
+
+    private static final Schema MIXED = SchemaBuilder.record("Mixed")
+            .fields()
+            .requiredString("name")
+            .requiredBytes("payload")
+            .name("colour")
+            .type()
+            .enumeration("Colour")
+            .symbols("RED", "GREEN")
+            .noDefault()
+            .name("amount")
+            .type(DECIMAL)
+            .noDefault()
+            .name("either")
+            .type()
+            .unionOf()
+            .intType()
+            .and()
+            .stringType()
+            .endUnion()
+            .noDefault()
+            .endRecord();
+
+    private GenericRecord simpleRecord(final String name) {
+        final GenericRecord address = new GenericData.Record(ADDRESS);
+        address.put("street", new Utf8("Main"));
+        address.put("number", null);
+        final GenericRecord record = new GenericData.Record(SIMPLE);
+        record.put("name", new Utf8(name));
+        record.put("id", 42L);
+        record.put("score", 1.5);
+        record.put("active", true);
+        record.put("tags", new GenericData.Array<>(SIMPLE.getField("tags").schema(), List.of(new Utf8("a"))));
+        record.put("counts", Map.of(new Utf8("x"), 1));
+        record.put("address", address);
+        return record;
+    }
+
+    @Test
+    void testCompiledRecordMatchesAvroData() {
+        final GenericRecord record = simpleRecord("first");
+        final AvroRecordConverter converter = AvroRecordConverter.compile(avroData, SIMPLE);
+
+        final SchemaAndValue expected = avroData.toConnectData(SIMPLE, record);
+        final SchemaAndValue actual = converter.convert(record);
+
+        assertThat(actual.schema()).isEqualTo(expected.schema());
+        assertThat(actual.value()).isEqualTo(expected.value());
+        assertThat(converter.allowsReuse()).isTrue();
+    }
+
+    @Test
+    void testFallbackTypesMatchAvroData() {
+        final GenericRecord record = new GenericData.Record(MIXED);
+        record.put("name", "mixed");
+        record.put("payload", ByteBuffer.wrap(new byte[] { 1, 2, 3 }));
+        record.put("colour", new GenericData.EnumSymbol(MIXED.getField("colour").schema(), "GREEN"));
+        record.put("amount", new Conversions.DecimalConversion().toBytes(new BigDecimal("12.34"), DECIMAL,
+                DECIMAL.getLogicalType()));
+        record.put("either", new Utf8("text"));
+        final AvroRecordConverter converter = AvroRecordConverter.compile(avroData, MIXED);
+
+        final SchemaAndValue expected = avroData.toConnectData(MIXED, record);
+        record.put("payload", ByteBuffer.wrap(new byte[] { 1, 2, 3 }));
+        record.put("amount", new Conversions.DecimalConversion().toBytes(new BigDecimal("12.34"), DECIMAL,
+                DECIMAL.getLogicalType()));
+
+        assertThat(converter.convert(record).value()).isEqualTo(expected.value());
+        assertThat(converter.allowsReuse()).isFalse();
+    }
+
+    @Test
+    void testCacheReturnsSameConverterForEqualSchemas() {
+        final AvroRecordConverter.Cache cache = new AvroRecordConverter.Cache(avroData, 10);
+        final AvroRecordConverter converter = cache.get(SIMPLE);
+
+        assertThat(cache.get(SIMPLE)).isSameAs(converter);
+        assertThat(cache.get(new Schema.Parser().parse(SIMPLE.toString()))).isSameAs(converter);
+        assertThat(cache.get(MIXED)).isNotSameAs(converter);
+    }
+}
@@ -18,6 +18,7 @@ package io.aiven.kafka.connect.common.source.input;
 
 import static io.aiven.kafka.connect.common.source.input.Transformer.UNKNOWN_STREAM_LENGTH;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -26,8 +27,10 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.kafka.connect.data.SchemaAndValue;
 import org.apache.kafka.connect.data.Struct;
@@ -118,6 +121,65 @@ final class AvroTransformerTest {
         assertThat(records).isEmpty();
     }
 
+    @Test
+    void testReadAvroRecordsParallelDecode() throws Exception {
+        final byte[] avroData = generateMultiBlockAvroData(500);
+        when(sourceCommonConfig.getTransformerDecodeParallelism()).thenReturn(4);
+
+        final List<Integer> ids = avroTransformer
+                .getRecords(() -> new ByteArrayInputStream(avroData), avroData.length, new Context<>("storage-key"),
+                        sourceCommonConfig, 3)
+                .map(sv -> ((Struct) sv.value()).getInt32("id"))
+                .collect(Collectors.toList());
+
+        assertThat(ids).hasSize(497).isSorted();
+        assertThat(ids.get(0)).isEqualTo(3);
+    }
+
+    @Test
+    void testSplitAtBlockBoundaries() throws Exception {
+        final byte[] avroData = generateMultiBlockAvroData(500);
+
+        final Transformer.StreamSpliterator spliterator = avroTransformer.createSpliterator(
+                () -> new ByteArrayInputStream(avroData), avroData.length, new Context<>("storage-key"),
+                sourceCommonConfig);
+        final Spliterator<SchemaAndValue> prefix = spliterator.trySplit();
+        assertThat(prefix).isNotNull();
+        final List<Integer> ids = new ArrayList<>();
+        prefix.forEachRemaining(sv -> ids.add(((Struct) sv.value()).getInt32("id")));
+        assertThat(ids).isNotEmpty().hasSizeLessThan(500);
+        spliterator.forEachRemaining(sv -> ids.add(((Struct) sv.value()).getInt32("id")));
+        assertThat(ids).hasSize(500).isSorted();
+
+        final List<Integer> parallelIds = StreamSupport
+                .stream(avroTransformer.createSpliterator(() -> new ByteArrayInputStream(avroData), avroData.length,
+                        new Context<>("storage-key"), sourceCommonConfig), true)
+                .map(sv -> ((Struct) sv.value()).getInt32("id"))
+                .collect(Collectors.toList());
+        assertThat(parallelIds).isEqualTo(ids);
+    }
+
+    /**
+     * Generates Avro data with a small sync interval so that the records are written in many blocks.
+     */
+    private static byte[] generateMultiBlockAvroData(final int numRecs) throws IOException {
+        final Schema schema = new Schema.Parser().parse("{\"type\": \"record\", \"name\": \"TestRecord\", "
+                + "\"fields\": [{\"name\": \"message\", \"type\": \"string\"}, "
+                + "{\"name\": \"id\", \"type\": \"int\"}]}");
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (DataFileWriter<GenericRecord> dataFileWriter = new DataFileWriter<>(new GenericDatumWriter<>(schema))) {
+            dataFileWriter.setSyncInterval(64);
+            dataFileWriter.create(schema, outputStream);
+            for (int i = 0; i < numRecs; i++) {
+                final GenericRecord avroRecord = new GenericData.Record(schema); // NOPMD
+                avroRecord.put("message", "message " + i);
+                avroRecord.put("id", i);
+                dataFileWriter.append(avroRecord);
+            }
+        }
+        return outputStream.toByteArray();
+    }
+
     static ByteArrayOutputStream generateMockAvroData(final int numRecs) throws IOException {
         final String schemaJson = "{\n" + "  \"type\": \"record\",\n" + "  \"name\": \"TestRecord\",\n"
                 + "  \"fields\": [\n" + "    {\"name\": \"message\", \"type\": \"string\"},\n"
@@ -23,6 +23,7 @@ import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -115,4 +116,33 @@ final class ByteArrayTransformerTest {
         // Should only get called once per splitIterator
         verify(sourceCommonConfig, times(1)).getTransformerMaxBufferSize();
     }
+
+    @Test
+    void testGetRecordsWithUnknownLength() {
+        final byte[] data = { 1, 2, 3, 4, 5, 6, 7 };
+        when(sourceCommonConfig.getTransformerMaxBufferSize()).thenReturn(3);
+
+        final List<byte[]> recs = byteArrayTransformer
+                .getRecords(() -> new ByteArrayInputStream(data), Transformer.UNKNOWN_STREAM_LENGTH, context,
+                        sourceCommonConfig, 0)
+                .map(rec -> (byte[]) rec.value())
+                .collect(Collectors.toList());
+
+        assertThat(recs).containsExactly(new byte[] { 1, 2, 3 }, new byte[] { 4, 5, 6 }, new byte[] { 7 });
+    }
+
+    @Test
+    void testGetRecordsWithDelimiter() {
+        final byte[] data = "first\r\nsecond record\r\n\r\nlast".getBytes(StandardCharsets.UTF_8);
+        when(sourceCommonConfig.getTransformerMaxBufferSize()).thenReturn(8);
+        when(sourceCommonConfig.getTransformerBytesDelimiter()).thenReturn("\r\n".getBytes(StandardCharsets.UTF_8));
+
+        final List<String> recs = byteArrayTransformer
+                .getRecords(() -> new ByteArrayInputStream(data), (long) data.length, context, sourceCommonConfig, 1)
+                .map(rec -> new String((byte[]) rec.value(), StandardCharsets.UTF_8))
+                .collect(Collectors.toList());
+
+        // the first record is skipped and "second record" is longer than the maximum so it is split.
+        assertThat(recs).containsExactly("second r", "ecord", "", "last");
+    }
 }
@@ -19,6 +19,7 @@ package io.aiven.kafka.connect.common.source.input;
 import static io.aiven.kafka.connect.common.config.TransformerFragment.SCHEMAS_ENABLE;
 import static io.aiven.kafka.connect.common.source.input.Transformer.UNKNOWN_STREAM_LENGTH;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -26,13 +27,17 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.SchemaAndValue;
+import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.json.JsonConverter;
 
 import io.aiven.kafka.connect.common.config.SourceCommonConfig;
@@ -116,6 +121,106 @@ final class JsonTransformerTest {
 
     }
 
+    @Test
+    void testHandleValueDataParallelDecode() {
+        final byte[] data = getJsonRecs(20_000).getBytes(StandardCharsets.UTF_8);
+        when(sourceCommonConfig.getTransformerDecodeParallelism()).thenReturn(4);
+
+        final List<String> expected = new ArrayList<>();
+        for (int i = 10; i < 20_000; i++) {
+            expected.add("value" + i);
+        }
+
+        final Stream<SchemaAndValue> records = jsonTransformer.getRecords(() -> new ByteArrayInputStream(data),
+                UNKNOWN_STREAM_LENGTH, context, sourceCommonConfig, 10L);
+
+        assertThat(records.parallel().map(sv -> ((Map) sv.value()).get("key")).collect(Collectors.toList()))
+                .containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void testParallelDecodeUsesThePoolOfTheTransformer() {
+        final byte[] data = getJsonRecs(20_000).getBytes(StandardCharsets.UTF_8);
+        when(sourceCommonConfig.getTransformerDecodeParallelism()).thenReturn(3);
+        final List<Thread> otherDecoderThreads = decoderThreads();
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(jsonTransformer.getRecords(() -> new ByteArrayInputStream(data), UNKNOWN_STREAM_LENGTH,
+                    context, sourceCommonConfig, 0L).count()).isEqualTo(20_000L);
+        }
+        final List<Thread> poolThreads = decoderThreads();
+        poolThreads.removeAll(otherDecoderThreads);
+        assertThat(poolThreads).as("both objects are decoded on one pool").hasSizeBetween(1, 3);
+
+        jsonTransformer.close();
+        await().atMost(Duration.ofSeconds(5)).until(() -> poolThreads.stream().noneMatch(Thread::isAlive));
+    }
+
+    private static List<Thread> decoderThreads() {
+        return Thread.getAllStackTraces()
+                .keySet()
+                .stream()
+                .filter(thread -> thread.isAlive() && thread.getName().startsWith("chunk-decoder-"))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void testHandleConcatenatedAndMultiLineJson() {
+        final String json = "{\"key\":\"value0\"}{\"key\":\n\"value1\"}\n\n  {\n \"key\": \"value2\", \"long\": 12, "
+                + "\"double\": 1.5, \"list\": [1, \"a\"], \"map\": {\"x\": null}}";
+
+        final List<SchemaAndValue> records = jsonTransformer
+                .getRecords(() -> new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+                        UNKNOWN_STREAM_LENGTH, context, sourceCommonConfig, 0)
+                .collect(Collectors.toList());
+
+        assertThat(records).extracting(sv -> ((Map) sv.value()).get("key"))
+                .containsExactly("value0", "value1", "value2");
+        final Map<?, ?> last = (Map<?, ?>) records.get(2).value();
+        assertThat(last.get("long")).isEqualTo(12L);
+        assertThat(last.get("double")).isEqualTo(1.5);
+        assertThat(last.get("list")).isEqualTo(List.of(1L, "a"));
+        assertThat((Map<?, ?>) last.get("map")).containsEntry("x", null);
+    }
+
+    @Test
+    void testHandleArrayWrappedJson() {
+        when(sourceCommonConfig.isTransformerJsonUnwrapArrays()).thenReturn(true);
+        final String json = "[{\"key\":\"value0\"},\n{\"key\":\"value1\"}]\n{\"key\":\"value2\"}\n"
+                + "[{\"key\":\"value3\"}]";
+
+        final Stream<SchemaAndValue> records = jsonTransformer.getRecords(
+                () -> new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), UNKNOWN_STREAM_LENGTH, context,
+                sourceCommonConfig, 0);
+
+        assertThat(records).extracting(sv -> ((Map) sv.value()).get("key"))
+                .containsExactly("value0", "value1", "value2", "value3");
+    }
+
+    @Test
+    void testHandleSchemaEnvelopes() {
+        when(sourceCommonConfig.isTransformerJsonSchemasEnabled()).thenReturn(true);
+        final String schema = "{\"type\":\"struct\",\"fields\":[{\"field\":\"name\",\"type\":\"string\"},"
+                + "{\"field\":\"age\",\"type\":\"int32\",\"optional\":true}]}";
+        final String json = "{\"schema\":" + schema + ",\"payload\":{\"name\":\"a\",\"age\":1}}\n"
+                + "{\"payload\":{\"name\":\"b\"},\"schema\":" + schema + "}\n";
+
+        final List<SchemaAndValue> records = jsonTransformer
+                .getRecords(() -> new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+                        UNKNOWN_STREAM_LENGTH, context, sourceCommonConfig, 0)
+                .collect(Collectors.toList());
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).schema().type()).isEqualTo(Schema.Type.STRUCT);
+        assertThat(records.get(1).schema()).as("identical schemas are parsed once").isSameAs(records.get(0).schema());
+        final Struct first = (Struct) records.get(0).value();
+        assertThat(first.getString("name")).isEqualTo("a");
+        assertThat(first.getInt32("age")).isEqualTo(1);
+        final Struct second = (Struct) records.get(1).value();
+        assertThat(second.getString("name")).isEqualTo("b");
+        assertThat(second.getInt32("age")).isNull();
+    }
+
     @Test
     void testHandleValueDataWithInvalidJson() throws IOException {
         final InputStream invalidJsonInputStream = new ByteArrayInputStream(
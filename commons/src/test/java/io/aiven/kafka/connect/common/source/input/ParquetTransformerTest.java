@@ -17,6 +17,7 @@
 package io.aiven.kafka.connect.common.source.input;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
@@ -29,24 +30,37 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.kafka.connect.data.Field;
 import org.apache.kafka.connect.data.SchemaAndValue;
 import org.apache.kafka.connect.data.Struct;
 
 import io.aiven.kafka.connect.common.config.ParquetTestingFixture;
 import io.aiven.kafka.connect.common.config.SourceCommonConfig;
+import io.aiven.kafka.connect.common.source.input.parquet.LocalInputFile;
 import io.aiven.kafka.connect.common.source.task.Context;
 
 import io.confluent.connect.avro.AvroData;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.function.IOSupplier;
+import org.apache.parquet.avro.AvroParquetWriter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.io.LocalOutputFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -116,6 +130,153 @@ final class ParquetTransformerTest {
                 .containsExactlyElementsOf(expected);
     }
 
+    @Test
+    void testGetRecordsWithRangedReads() throws Exception {
+        final byte[] mockParquetData = generateMockParquetData();
+        final AtomicInteger fullReads = new AtomicInteger();
+        final AtomicInteger rangedReads = new AtomicInteger();
+        final RangedIOSupplier rangedIOSupplier = new RangedIOSupplier() {
+            @Override
+            public InputStream get() {
+                fullReads.incrementAndGet();
+                return new ByteArrayInputStream(mockParquetData);
+            }
+
+            @Override
+            public InputStream getRange(final long position, final long length) {
+                rangedReads.incrementAndGet();
+                return new ByteArrayInputStream(mockParquetData, (int) position, (int) length);
+            }
+        };
+        final SourceCommonConfig s3SourceConfig = mock(SourceCommonConfig.class);
+        when(s3SourceConfig.isParquetRangedReadEnabled()).thenReturn(true);
+        when(s3SourceConfig.getParquetRangedBlockSize()).thenReturn(1024);
+        when(s3SourceConfig.getParquetRangedCacheBlocks()).thenReturn(2);
+
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add("name" + i);
+        }
+        final List<SchemaAndValue> records = parquetTransformer
+                .getRecords(rangedIOSupplier, mockParquetData.length, context, s3SourceConfig, 0L)
+                .collect(Collectors.toList());
+
+        assertThat(records).extracting(SchemaAndValue::value)
+                .extracting(sv -> ((Struct) sv).getString("name"))
+                .containsExactlyElementsOf(expected);
+        assertThat(fullReads).hasValue(0);
+        assertThat(rangedReads.get()).isPositive();
+    }
+
+    @Test
+    void testSpoolDirectory(@TempDir final Path spoolDir) throws IOException {
+        final SourceCommonConfig s3SourceConfig = mock(SourceCommonConfig.class);
+        when(s3SourceConfig.getParquetSpoolDirectory()).thenReturn(spoolDir.resolve("spool").toString());
+
+        final File spoolFile = ParquetTransformer.createSpoolFile("test-topic_0", s3SourceConfig);
+        try {
+            assertThat(spoolFile.toPath().getParent()).isEqualTo(spoolDir.resolve("spool"));
+        } finally {
+            ParquetTransformer.deleteTmpFile(spoolFile.toPath());
+        }
+    }
+
+    @Test
+    void testGetRecordsWithProjection() throws Exception {
+        final byte[] mockParquetData = generateMockParquetData();
+        final SourceCommonConfig s3SourceConfig = mock(SourceCommonConfig.class);
+        when(s3SourceConfig.getParquetProjection()).thenReturn(List.of("name", "not-a-field"));
+
+        final List<SchemaAndValue> records = parquetTransformer
+                .getRecords(() -> new ByteArrayInputStream(mockParquetData), mockParquetData.length, context,
+                        s3SourceConfig, 0L)
+                .collect(Collectors.toList());
+
+        assertThat(records).hasSize(100);
+        final Struct first = (Struct) records.get(0).value();
+        assertThat(first.schema().fields()).extracting(Field::name).containsExactly("name");
+        assertThat(first.getString("name")).isEqualTo("name0");
+    }
+
+    @Test
+    void testGetRecordsWithFilter() throws Exception {
+        final byte[] mockParquetData = generateMockParquetData();
+        final SourceCommonConfig s3SourceConfig = mock(SourceCommonConfig.class);
+        when(s3SourceConfig.getParquetProjection()).thenReturn(List.of("email"));
+        when(s3SourceConfig.getParquetFilter()).thenReturn("name = 'name5' or (name >= 'name97' and age = 30)");
+
+        final List<SchemaAndValue> records = parquetTransformer
+                .getRecords(() -> new ByteArrayInputStream(mockParquetData), mockParquetData.length, context,
+                        s3SourceConfig, 0L)
+                .collect(Collectors.toList());
+
+        // the filter columns are added to the projection
+        assertThat(records).extracting(SchemaAndValue::value)
+                .extracting(sv -> ((Struct) sv).getString("name"))
+                .containsExactly("name5", "name97", "name98", "name99");
+        assertThat(((Struct) records.get(0).value()).schema().fields()).extracting(Field::name)
+                .containsExactly("name", "age", "email");
+    }
+
+    @Test
+    void testGetRecordsWithParallelDecode(@TempDir final Path tempDir) throws Exception {
+        final Schema schema = SchemaBuilder.record("value")
+                .fields()
+                .requiredString("name")
+                .requiredInt("id")
+                .endRecord();
+        final Path path = tempDir.resolve("row-groups.parquet");
+        try (ParquetWriter<GenericRecord> writer = AvroParquetWriter.<GenericRecord>builder(new LocalOutputFile(path))
+                .withSchema(schema)
+                .withRowGroupSize(2048L)
+                .withPageSize(512)
+                .build()) {
+            for (int i = 0; i < 2000; i++) {
+                final GenericRecord record = new GenericData.Record(schema);
+                record.put("name", "name" + i);
+                record.put("id", i);
+                writer.write(record);
+            }
+        }
+        try (ParquetFileReader fileReader = ParquetFileReader.open(new LocalInputFile(path))) {
+            assertThat(fileReader.getRowGroups()).hasSizeGreaterThan(2);
+        }
+        final byte[] parquetData = Files.readAllBytes(path);
+        final SourceCommonConfig s3SourceConfig = mock(SourceCommonConfig.class);
+        when(s3SourceConfig.getParquetDecodeThreads()).thenReturn(3);
+        when(s3SourceConfig.getParquetDecodeLookahead()).thenReturn(2);
+        final List<Thread> otherDecoderThreads = decoderThreads();
+
+        final List<Integer> ids = parquetTransformer
+                .getRecords(() -> new ByteArrayInputStream(parquetData), parquetData.length, context, s3SourceConfig,
+                        10L)
+                .map(sv -> ((Struct) sv.value()).getInt32("id"))
+                .collect(Collectors.toList());
+
+        assertThat(ids).hasSize(1990).isSorted();
+        assertThat(ids.get(0)).isEqualTo(10);
+
+        // a second object is decoded on the same pool.
+        assertThat(parquetTransformer
+                .getRecords(() -> new ByteArrayInputStream(parquetData), parquetData.length, context, s3SourceConfig,
+                        0L)
+                .count()).isEqualTo(2000L);
+        final List<Thread> poolThreads = decoderThreads();
+        poolThreads.removeAll(otherDecoderThreads);
+        assertThat(poolThreads).hasSizeBetween(1, 3);
+
+        parquetTransformer.close();
+        await().atMost(Duration.ofSeconds(5)).until(() -> poolThreads.stream().noneMatch(Thread::isAlive));
+    }
+
+    private static List<Thread> decoderThreads() {
+        return Thread.getAllStackTraces()
+                .keySet()
+                .stream()
+                .filter(thread -> thread.isAlive() && thread.getName().startsWith("parquet-decoder-"))
+                .collect(Collectors.toList());
+    }
+
     @Test
     void testGetRecordsWithInvalidData() {
         final byte[] invalidData = "invalid data".getBytes(StandardCharsets.UTF_8);
@@ -133,8 +133,8 @@ class TransformerStreamingTest {
         lst.add(Arguments.of(TransformerFactory.getTransformer(InputFormat.AVRO),
                 AvroTransformerTest.generateMockAvroData(100).toByteArray(),
                 new SourceCommonConfig(
-                        FileNameFragment.update(
-                                SourceConfigFragment.update(OutputFormatFragment.update(new ConfigDef(), null))),
+                        FileNameFragment.update(TransformerFragment.update(
+                                SourceConfigFragment.update(OutputFormatFragment.update(new ConfigDef(), null)))),
                         props) {
                 }, 100));
         lst.add(Arguments.of(TransformerFactory.getTransformer(InputFormat.BYTES),
@@ -147,15 +147,15 @@ class TransformerStreamingTest {
         lst.add(Arguments.of(TransformerFactory.getTransformer(InputFormat.JSONL),
                 JsonTransformerTest.getJsonRecs(100).getBytes(StandardCharsets.UTF_8),
                 new SourceCommonConfig(
-                        FileNameFragment.update(
-                                SourceConfigFragment.update(OutputFormatFragment.update(new ConfigDef(), null))),
+                        FileNameFragment.update(TransformerFragment.update(
+                                SourceConfigFragment.update(OutputFormatFragment.update(new ConfigDef(), null)))),
                         props) {
                 }, 100));
         lst.add(Arguments.of(TransformerFactory.getTransformer(InputFormat.PARQUET),
                 ParquetTransformerTest.generateMockParquetData(),
                 new SourceCommonConfig(
-                        FileNameFragment.update(
-                                SourceConfigFragment.update(OutputFormatFragment.update(new ConfigDef(), null))),
+                        FileNameFragment.update(TransformerFragment.update(
+                                SourceConfigFragment.update(OutputFormatFragment.update(new ConfigDef(), null)))),
                         props) {
                 }, 100));
         return lst.stream();
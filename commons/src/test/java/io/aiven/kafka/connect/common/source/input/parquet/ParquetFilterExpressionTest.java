@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.input.parquet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+final class ParquetFilterExpressionTest {
+
+    private static final MessageType SCHEMA = MessageTypeParser.parseMessageType("message test { "
+            + "required binary tenant (UTF8); required int32 count; optional int64 amount; required double price; "
+            + "required boolean active; optional group address { optional binary city (UTF8); } }");
+
+    @Test
+    void testSimpleComparison() {
+        final FilterPredicate predicate = ParquetFilterExpression.parse("tenant = 'acme'").toPredicate(SCHEMA);
+        assertThat(predicate).isEqualTo(FilterApi.eq(FilterApi.binaryColumn("tenant"), Binary.fromString("acme")));
+    }
+
+    @Test
+    void testPrecedence() {
+        final FilterPredicate predicate = ParquetFilterExpression
+                .parse("count > 5 OR amount <= 100 and not active = true")
+                .toPredicate(SCHEMA);
+        assertThat(predicate).isEqualTo(FilterApi.or(FilterApi.gt(FilterApi.intColumn("count"), 5),
+                FilterApi.and(FilterApi.ltEq(FilterApi.longColumn("amount"), 100L),
+                        FilterApi.not(FilterApi.eq(FilterApi.booleanColumn("active"), true)))));
+    }
+
+    @Test
+    void testParenthesesAndNestedColumns() {
+        final ParquetFilterExpression expression = ParquetFilterExpression
+                .parse("(address.city != 'O''Brien' or price < 1.5) and amount != null");
+        assertThat(expression.toPredicate(SCHEMA)).isEqualTo(FilterApi.and(
+                FilterApi.or(FilterApi.notEq(FilterApi.binaryColumn("address.city"), Binary.fromString("O'Brien")),
+                        FilterApi.lt(FilterApi.doubleColumn("price"), 1.5)),
+                FilterApi.notEq(FilterApi.longColumn("amount"), null)));
+        assertThat(expression.getTopLevelColumns()).containsExactly("address", "price", "amount");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "tenant", "tenant =", "tenant = 'acme", "(tenant = 'acme'", "tenant = 'a' x",
+            "tenant ~ 'a'", "amount < null", "= 5" })
+    void testInvalidSyntax(final String expression) {
+        assertThatThrownBy(() -> ParquetFilterExpression.parse(expression))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "missing = 1", "address = 'x'", "count = 'abc'", "active > true", "active = maybe" })
+    void testInvalidForSchema(final String expression) {
+        final ParquetFilterExpression parsed = ParquetFilterExpression.parse(expression);
+        assertThatThrownBy(() -> parsed.toPredicate(SCHEMA)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
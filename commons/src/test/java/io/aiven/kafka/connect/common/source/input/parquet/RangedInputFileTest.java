@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.input.parquet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.aiven.kafka.connect.common.config.ParquetTestingFixture;
+import io.aiven.kafka.connect.common.source.input.RangedIOSupplier;
+
+import org.apache.avro.generic.GenericRecord;
+import org.apache.parquet.avro.AvroParquetReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.io.SeekableInputStream;
+import org.junit.jupiter.api.Test;
+
+final class RangedInputFileTest {
+
+    /**
+     * A RangedIOSupplier over a byte array that records the ranges requested.
+     */
+    private static final class ByteArrayRangedIOSupplier implements RangedIOSupplier {
+        private final byte[] data;
+        private final List<long[]> ranges = new ArrayList<>();
+        private int fullReads;
+
+        ByteArrayRangedIOSupplier(final byte[] data) {
+            this.data = data.clone();
+        }
+
+        @Override
+        public InputStream get() {
+            fullReads++;
+            return new ByteArrayInputStream(data);
+        }
+
+        @Override
+        public InputStream getRange(final long position, final long length) {
+            ranges.add(new long[] { position, length });
+            return new ByteArrayInputStream(data, (int) position, (int) length);
+        }
+    }
+
+    private static byte[] sequence(final int length) {
+        final byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+
+    @Test
+    void testSmallReadsAreCached() throws IOException {
+        final ByteArrayRangedIOSupplier supplier = new ByteArrayRangedIOSupplier(sequence(100));
+        final RangedInputFile inputFile = new RangedInputFile(supplier, 100, 16, 4);
+        try (SeekableInputStream stream = inputFile.newStream()) {
+            stream.seek(92);
+            final byte[] footer = new byte[8];
+            stream.readFully(footer);
+            assertThat(footer).containsExactly(92, 93, 94, 95, 96, 97, 98, 99);
+            assertThat(stream.getPos()).isEqualTo(100);
+            assertThat(stream.read()).isEqualTo(-1);
+
+            stream.seek(90);
+            assertThat(stream.read()).isEqualTo(90);
+        }
+        // the footer spans blocks 80-95 and 96-99, the read of position 90 is served from the cache
+        assertThat(supplier.ranges).hasSize(2);
+        assertThat(supplier.ranges.get(0)).containsExactly(80, 16);
+        assertThat(supplier.ranges.get(1)).containsExactly(96, 4);
+        assertThat(supplier.fullReads).isZero();
+    }
+
+    @Test
+    void testLargeReadsBypassCache() throws IOException {
+        final ByteArrayRangedIOSupplier supplier = new ByteArrayRangedIOSupplier(sequence(100));
+        final RangedInputFile inputFile = new RangedInputFile(supplier, 100, 16, 4);
+        try (SeekableInputStream stream = inputFile.newStream()) {
+            stream.seek(10);
+            final ByteBuffer buffer = ByteBuffer.allocate(40);
+            stream.readFully(buffer);
+            assertThat(buffer.position()).isEqualTo(40);
+            assertThat(buffer.array()[0]).isEqualTo((byte) 10);
+            assertThat(buffer.array()[39]).isEqualTo((byte) 49);
+
+            final ByteBuffer direct = ByteBuffer.allocateDirect(20);
+            stream.readFully(direct);
+            direct.flip();
+            assertThat(direct.get()).isEqualTo((byte) 50);
+        }
+        assertThat(supplier.ranges).hasSize(2);
+        assertThat(supplier.ranges.get(0)).containsExactly(10, 40);
+        assertThat(supplier.ranges.get(1)).containsExactly(50, 20);
+    }
+
+    @Test
+    void testReadFullyPastEndThrows() throws IOException {
+        final ByteArrayRangedIOSupplier supplier = new ByteArrayRangedIOSupplier(sequence(10));
+        final RangedInputFile inputFile = new RangedInputFile(supplier, 10, 4, 2);
+        try (SeekableInputStream stream = inputFile.newStream()) {
+            stream.seek(8);
+            assertThatThrownBy(() -> stream.readFully(new byte[4])).isInstanceOf(EOFException.class);
+            assertThatThrownBy(() -> stream.seek(11)).isInstanceOf(EOFException.class);
+        }
+    }
+
+    @Test
+    void testReadParquetWithoutFullDownload() throws IOException {
+        final Path parquetFileDir = Files.createTempDirectory("parquet_tests");
+        final Path path = ParquetTestingFixture.writeParquetFile(parquetFileDir.resolve("users.parquet"), "name");
+        final ByteArrayRangedIOSupplier supplier = new ByteArrayRangedIOSupplier(Files.readAllBytes(path));
+        final RangedInputFile inputFile = new RangedInputFile(supplier, Files.size(path), 64, 4);
+
+        int count = 0;
+        try (ParquetReader<GenericRecord> reader = AvroParquetReader.<GenericRecord>builder(inputFile).build()) {
+            GenericRecord record = reader.read();
+            while (record != null) {
+                assertThat(record.get("name").toString()).isEqualTo("name" + count);
+                count++;
+                record = reader.read();
+            }
+        }
+        assertThat(count).isEqualTo(100);
+        assertThat(supplier.fullReads).isZero();
+        assertThat(inputFile.getRangeRequests()).isEqualTo(supplier.ranges.size()).isPositive();
+    }
+}
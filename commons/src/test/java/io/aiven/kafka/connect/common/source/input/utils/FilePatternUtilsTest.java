@@ -70,4 +70,54 @@ class FilePatternUtilsTest {
         assertThat(ctx.get().getOffset().get()).isEqualTo(expectedOffset);
     }
 
+    @ParameterizedTest
+    @CsvSource({ "topics/{{topic}}/{{partition}}-{{start_offset}}, topics/, /, logs-2.a, logs/2",
+            "{{partition}}-{{start_offset}}-{{topic}}.txt, '', -, 12, a1",
+            "partition={{partition}}/{{topic}}, partition=, /, 0, x" })
+    void checkPrefixShards(final String expectedSourceFormat, final String expectedPrefix,
+            final String expectedDelimiter, final String shardValue, final String otherValue) {
+        final Optional<FilePatternUtils.PrefixShards> shards = new FilePatternUtils(expectedSourceFormat)
+                .getPrefixShards();
+        assertThat(shards.isPresent()).isTrue();
+        assertThat(shards.get().getPrefix()).isEqualTo(expectedPrefix);
+        assertThat(shards.get().getDelimiter()).isEqualTo(expectedDelimiter);
+        assertThat(shards.get().isShardValue(shardValue)).isTrue();
+        assertThat(shards.get().isShardValue(otherValue)).isFalse();
+    }
+
+    @ParameterizedTest
+    @CsvSource({ ".*", "{{topic}}", "logs.{{topic}}/{{partition}}", "{{topic}}.{{partition}}", "[a-z]+{{partition}}-" })
+    void checkNoPrefixShards(final String expectedSourceFormat) {
+        assertThat(new FilePatternUtils(expectedSourceFormat).getPrefixShards().isPresent()).isFalse();
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "{{topic}}-{{partition}}-{{start_offset}}.txt, x/logs-1-0001.txt",
+            "[a-z]+/{{topic}}-{{partition}}-{{start_offset}}.txt, x/logs-1-0001.txt",
+            "topics/{{topic}}/{{partition}}/.*$, topics/logs/1/0001.txt",
+            "(topics|tables)/{{topic}}/{{partition}}/.*$, tables/logs/1/0001.txt" })
+    void checkCompiledAndRegexPatternsGiveTheSameContext(final String expectedSourceFormat, final String sourceName) {
+        final Optional<Context<String>> ctx = new FilePatternUtils(expectedSourceFormat).process(sourceName);
+        assertThat(ctx.isPresent()).isTrue();
+        assertThat(ctx.get().getTopic()).isEqualTo(Optional.of("logs"));
+        assertThat(ctx.get().getPartition()).isEqualTo(Optional.of(1));
+        assertThat(ctx.get().getStorageKey()).isEqualTo(Optional.of(sourceName));
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "{{topic}}-{{partition}}-{{start_offset}}", "[a-z]+-{{partition}}-{{start_offset}}" })
+    void checkValuesTooLargeAreNotSet(final String expectedSourceFormat) {
+        final Optional<Context<String>> ctx = new FilePatternUtils(expectedSourceFormat)
+                .process("logs-2147483648-9223372036854775808");
+        assertThat(ctx.isPresent()).isTrue();
+        assertThat(ctx.get().getPartition().isPresent()).isFalse();
+        assertThat(ctx.get().getOffset().isPresent()).isFalse();
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "{{topic}}-{{partition}}.txt, logs-1.avro", "topics/{{topic}}/{{partition}}/.*$, tables/logs/1/a",
+            "[a-z]+-{{partition}}.txt, logs-x.txt" })
+    void checkNoMatch(final String expectedSourceFormat, final String sourceName) {
+        assertThat(new FilePatternUtils(expectedSourceFormat).process(sourceName).isPresent()).isFalse();
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.input.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+final class KeyTemplateMatcherTest {
+
+    private static String value(final String sourceName, final int[] bounds, final int index) {
+        return bounds[index] < 0 ? null : sourceName.substring(bounds[index], bounds[index + 1]);
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "{{topic}}-{{partition}}-{{start_offset}}, logs-1-2-0003, logs-1, 2, 0003",
+            "{{topic}}-{{partition}}-{{start_offset}}, prefix/logs-1-0003.avro, logs, 1, 0003",
+            "{{partition}}-{{start_offset}}-{{topic}}.txt, x12-3-logs.txt, logs, 12, 3",
+            "topics/{{topic}}/{{partition}}/.*$, a/topics/logs/7/file, logs, 7, ",
+            "{{topic}}.{{partition}}, logs.a.1, logs.a, 1, " })
+    void testLongestLeftmostMatch(final String template, final String sourceName, final String topic,
+            final String partition, final String startOffset) {
+        final KeyTemplateMatcher matcher = KeyTemplateMatcher.compile(template).orElseThrow();
+        final int[] bounds = matcher.match(sourceName);
+        assertThat(bounds).isNotNull();
+        assertThat(value(sourceName, bounds, KeyTemplateMatcher.TOPIC)).isEqualTo(topic);
+        assertThat(value(sourceName, bounds, KeyTemplateMatcher.PARTITION)).isEqualTo(partition);
+        assertThat(value(sourceName, bounds, KeyTemplateMatcher.START_OFFSET)).isEqualTo(startOffset);
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "{{topic}}-{{partition}}.txt, logs-1.avro", "topics/{{topic}}/{{partition}}, tables/logs/1",
+            "a{{partition}}$, a1b", "{{topic}}-{{partition}}, -1", "{{start_offset}}, ''" })
+    void testNoMatch(final String template, final String sourceName) {
+        assertThat(KeyTemplateMatcher.compile(template).orElseThrow().match(sourceName)).isNull();
+    }
+
+    @Test
+    void testEndBeforeFinalLineTerminator() {
+        final KeyTemplateMatcher matcher = KeyTemplateMatcher.compile("a{{partition}}$").orElseThrow();
+        assertThat(matcher.match("a1\n")).isNotNull();
+        assertThat(matcher.match("a1\r\n")).isNotNull();
+        assertThat(matcher.match("a1\n\n")).isNull();
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "[a-z]+-{{partition}}", "{{topic}}-\\d+", "(a|b)/{{partition}}", ".*/{{partition}}", "^{{topic}}",
+            "{{topic}}$-" })
+    void testRegexSyntaxIsNotCompiled(final String template) {
+        assertThat(KeyTemplateMatcher.compile(template)).isEmpty();
+    }
+}
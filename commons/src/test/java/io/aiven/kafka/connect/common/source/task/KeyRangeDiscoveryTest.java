@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.aiven.kafka.connect.common.config.SourceConfigFragment;
+
+import org.junit.jupiter.api.Test;
+
+final class KeyRangeDiscoveryTest {
+
+    private static String key(final int index) {
+        return String.format("key-%04d", index);
+    }
+
+    @Test
+    void testBoundariesDivideKeysEvenly() {
+        final KeyRangeDiscovery underTest = new KeyRangeDiscovery(100);
+        for (int i = 0; i < 1000; i++) {
+            underTest.add(key(i));
+        }
+        assertThat(underTest.getKeyCount()).isEqualTo(1000);
+        assertThat(underTest.getLastKey()).isEqualTo(key(999));
+
+        final List<String> boundaries = underTest.getBoundaries(4);
+        assertThat(boundaries).hasSize(3).isSorted();
+        assertThat(underTest.isBalanced(boundaries, 4, 0.5)).isTrue();
+    }
+
+    @Test
+    void testNewKeysAfterTheLastRangeUnbalanceTheRanges() {
+        final KeyRangeDiscovery underTest = new KeyRangeDiscovery(100);
+        for (int i = 0; i < 1000; i++) {
+            underTest.add(key(i));
+        }
+        final List<String> boundaries = underTest.getBoundaries(4);
+        for (int i = 1000; i < 3000; i++) {
+            underTest.add(key(i));
+        }
+        assertThat(underTest.isBalanced(boundaries, 4, 0.5)).isFalse();
+        assertThat(underTest.isBalanced(underTest.getBoundaries(4), 4, 0.5)).isTrue();
+    }
+
+    @Test
+    void testFewerKeysThanTasks() {
+        final KeyRangeDiscovery underTest = new KeyRangeDiscovery(100);
+        assertThat(underTest.getBoundaries(3)).isEmpty();
+        underTest.add("a");
+        underTest.add("b");
+        underTest.add("c");
+        final List<String> boundaries = underTest.getBoundaries(4);
+        assertThat(boundaries).containsExactly("a", "b");
+
+        final Map<String, String> first = new HashMap<>();
+        KeyRangeDiscovery.assignRange(first, boundaries, 0);
+        assertThat(first).containsOnly(Map.entry(SourceConfigFragment.DISCOVERY_RANGE_END, "a"));
+
+        final Map<String, String> second = new HashMap<>();
+        KeyRangeDiscovery.assignRange(second, boundaries, 1);
+        assertThat(second).containsOnly(Map.entry(SourceConfigFragment.DISCOVERY_RANGE_START, "a"),
+                Map.entry(SourceConfigFragment.DISCOVERY_RANGE_END, "b"));
+
+        final Map<String, String> third = new HashMap<>();
+        KeyRangeDiscovery.assignRange(third, boundaries, 2);
+        assertThat(third).containsOnly(Map.entry(SourceConfigFragment.DISCOVERY_RANGE_START, "b"));
+
+        final Map<String, String> fourth = new HashMap<>();
+        KeyRangeDiscovery.assignRange(fourth, boundaries, 3);
+        assertThat(fourth).as("an empty range")
+                .containsOnly(Map.entry(SourceConfigFragment.DISCOVERY_RANGE_START, "b"),
+                        Map.entry(SourceConfigFragment.DISCOVERY_RANGE_END, "b"));
+    }
+}
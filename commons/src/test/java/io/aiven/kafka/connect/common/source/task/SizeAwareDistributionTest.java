@@ -0,0 +1,137 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.aiven.kafka.connect.common.config.SourceConfigFragment;
+
+import org.junit.jupiter.api.Test;
+
+final class SizeAwareDistributionTest {
+
+    private static Context<String> context(final String key, final Integer partition) {
+        final Context<String> context = new Context<>(key);
+        context.setPartition(partition);
+        return context;
+    }
+
+    @Test
+    void testLargestObjectsAreSpreadOverTasks() {
+        final SizeAwareDistribution underTest = new SizeAwareDistribution(DistributionType.OBJECT_SIZE);
+        underTest.add("a", 100, context("a", null));
+        underTest.add("c", 60, context("c", null));
+        underTest.add("b", 50, context("b", null));
+        underTest.add("d", 40, context("d", null));
+        assertThat(underTest.getLastKey()).isEqualTo("d");
+
+        // a goes to task 0, c to task 1, b to task 1 (60 < 100), d to task 0 (100 < 110)
+        assertThat(underTest.getAssignments(2)).containsExactly(Map.entry("a", 0), Map.entry("b", 1),
+                Map.entry("c", 1), Map.entry("d", 0));
+    }
+
+    @Test
+    void testPartitionsAreAssignedByTotalBytes() {
+        final SizeAwareDistribution underTest = new SizeAwareDistribution(DistributionType.PARTITION_SIZE);
+        underTest.add("topic-0-1", 10, context("topic-0-1", 0));
+        underTest.add("topic-0-2", 10, context("topic-0-2", 0));
+        underTest.add("topic-1-1", 15, context("topic-1-1", 1));
+        underTest.add("topic-2-1", 5, context("topic-2-1", 2));
+        underTest.add("unmatched", 1000, null);
+
+        assertThat(underTest.getLastKey()).isEqualTo("unmatched");
+        assertThat(underTest.getAssignments(2)).containsOnly(Map.entry("0", 0), Map.entry("1", 1),
+                Map.entry("2", 1));
+    }
+
+    @Test
+    void testAssignmentsAreDeterministic() {
+        final SizeAwareDistribution first = new SizeAwareDistribution(DistributionType.OBJECT_SIZE);
+        final SizeAwareDistribution second = new SizeAwareDistribution(DistributionType.OBJECT_SIZE);
+        for (int i = 0; i < 100; i++) {
+            first.add("key-" + i, i % 7, context("key-" + i, null));
+            second.add("key-" + (99 - i), (99 - i) % 7, context("key-" + (99 - i), null));
+        }
+        assertThat(first.getAssignments(3)).isEqualTo(second.getAssignments(3));
+    }
+
+    @Test
+    void testOnlyTheLargestUnitsAreAssigned() {
+        final SizeAwareDistribution underTest = new SizeAwareDistribution(DistributionType.OBJECT_SIZE);
+        final int units = SizeAwareDistribution.MAX_ASSIGNMENTS * 3;
+        for (int i = 0; i < units; i++) {
+            final String key = String.format("key-%05d", i);
+            underTest.add(key, i, context(key, null));
+        }
+        final Map<String, Integer> assignments = underTest.getAssignments(4);
+        assertThat(assignments).hasSize(SizeAwareDistribution.MAX_ASSIGNMENTS)
+                .containsKey(String.format("key-%05d", units - 1))
+                .doesNotContainKey("key-00000");
+        assertThat(underTest.isBalanced(assignments, 4, 0.1)).isTrue();
+    }
+
+    @Test
+    void testNewLargeObjectUnbalancesTheAssignments() {
+        final SizeAwareDistribution underTest = new SizeAwareDistribution(DistributionType.OBJECT_SIZE);
+        for (int i = 0; i < 8; i++) {
+            underTest.add("key-" + i, 10, context("key-" + i, null));
+        }
+        final Map<String, Integer> assignments = underTest.getAssignments(4);
+        assertThat(underTest.isBalanced(assignments, 4, 0.5)).isTrue();
+
+        for (int i = 8; i < 12; i++) {
+            underTest.add("key-" + i, 100, context("key-" + i, null));
+        }
+        assertThat(underTest.isBalanced(assignments, 4, 0.5)).isFalse();
+        assertThat(underTest.isBalanced(underTest.getAssignments(4), 4, 0.5)).isTrue();
+    }
+
+    @Test
+    void testAssignmentsRoundTripThroughTaskProperties() {
+        final Map<String, Integer> assignments = Map.of("a,b", 0, "c=d", 1, "e%f g", 2);
+        final Map<String, String> props = new HashMap<>();
+        SizeAwareDistribution.assign(props, assignments);
+        assertThat(props).containsOnlyKeys(SourceConfigFragment.DISTRIBUTION_ASSIGNMENTS);
+        assertThat(SizeAwareDistribution.parseAssignments(props.get(SourceConfigFragment.DISTRIBUTION_ASSIGNMENTS)))
+                .isEqualTo(assignments);
+        assertThat(SizeAwareDistribution.parseAssignments(null)).isEmpty();
+        assertThat(SizeAwareDistribution.parseAssignments("")).isEmpty();
+    }
+
+    @Test
+    void testStrategyUsesAssignmentsAndFallsBack() {
+        final DistributionStrategy strategy = DistributionType.PARTITION_SIZE.getDistributionStrategy(3,
+                Map.of("1", 2, "4", 5));
+        // assigned
+        assertThat(strategy.getTaskFor(context("key", 1))).isEqualTo(2);
+        // assigned to a task that does not exist, falls back to the partition
+        assertThat(strategy.getTaskFor(context("key", 4))).isEqualTo(1);
+        // not assigned
+        assertThat(strategy.getTaskFor(context("key", 5))).isEqualTo(2);
+        assertThat(DistributionType.PARTITION_SIZE.getDefaultTaskFor("5", 3)).isEqualTo(2);
+    }
+
+    @Test
+    void testRequiresSizeAwareType() {
+        assertThatThrownBy(() -> new SizeAwareDistribution(DistributionType.OBJECT_HASH))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
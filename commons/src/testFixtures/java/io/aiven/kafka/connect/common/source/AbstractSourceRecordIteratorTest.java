@@ -23,7 +23,9 @@ import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -39,6 +41,7 @@ import java.util.Queue;
 import org.apache.kafka.connect.source.SourceTaskContext;
 import org.apache.kafka.connect.storage.OffsetStorageReader;
 
+import io.aiven.kafka.connect.common.config.CompressionType;
 import io.aiven.kafka.connect.common.config.SourceCommonConfig;
 import io.aiven.kafka.connect.common.format.AvroTestDataFixture;
 import io.aiven.kafka.connect.common.format.JsonTestDataFixture;
@@ -335,6 +338,83 @@ public abstract class AbstractSourceRecordIteratorTest<K extends Comparable<K>,
         assertThat(iterator).isExhausted();
     }
 
+    /**
+     * Verifies that an object with a compression extension is decompressed before it is transformed.
+     */
+    @Test
+    void testCompressedObjectIsDecompressed() throws IOException {
+        final byte[] testData = new byte[6000];
+        for (int i = 0; i < testData.length; i++) {
+            testData[i] = ((Integer) i).byteValue();
+        }
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream output = CompressionType.GZIP.compress(compressed)) {
+            output.write(testData);
+        }
+        createClientMutator().reset()
+                .addObject(createKFrom(FILE_NAME + CompressionType.GZIP.extension()),
+                        ByteBuffer.wrap(compressed.toByteArray()))
+                .endOfBlock()
+                .build();
+
+        final Transformer transformer = TransformerFactory.getTransformer(InputFormat.BYTES);
+        final SourceCommonConfig config = mockSourceConfig(FILE_PATTERN, 0, 1, null);
+        when(config.getInputFormat()).thenReturn(InputFormat.BYTES);
+        final AbstractSourceRecordIterator<K, N, O, T> iterator = createSourceRecordIterator(config, offsetManager,
+                transformer);
+
+        assertThat(iterator.hasNext()).isTrue();
+        assertThat((byte[]) iterator.next().getValue().value()).isEqualTo(Arrays.copyOf(testData, 4096));
+        assertThat(iterator.hasNext()).isTrue();
+        assertThat((byte[]) iterator.next().getValue().value()).isEqualTo(Arrays.copyOfRange(testData, 4096, 6000));
+        assertThat(iterator).isExhausted();
+    }
+
+    /**
+     * Processes objects for two partitions concurrently and verifies that the records for each partition are returned
+     * in listing order.
+     */
+    @Test
+    void testConcurrentObjectsKeepPartitionOrder() {
+        final byte[] testData = new byte[4096 * 3];
+        final ClientMutator<N, K, ?> mutator = createClientMutator().reset();
+        final List<K> keys = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final K objectKey = createKFrom(String.format("topic-%05d-%d.txt", i % 2, i));
+            keys.add(objectKey);
+            mutator.addObject(objectKey, ByteBuffer.wrap(testData));
+        }
+        mutator.endOfBlock().build();
+
+        final Transformer transformer = TransformerFactory.getTransformer(InputFormat.BYTES);
+        final SourceCommonConfig config = mockSourceConfig(FILE_PATTERN, 0, 1, null);
+        when(config.getInputFormat()).thenReturn(InputFormat.BYTES);
+        when(config.getObjectConcurrency()).thenReturn(3);
+        when(config.getMaxPollRecords()).thenReturn(4);
+        final AbstractSourceRecordIterator<K, N, O, T> iterator = createSourceRecordIterator(config, offsetManager,
+                transformer);
+        try {
+            final Map<Integer, List<Pair<K, Long>>> byPartition = new HashMap<>();
+            while (iterator.hasNext()) {
+                final T sourceRecord = iterator.next();
+                byPartition.computeIfAbsent(sourceRecord.getPartition(), p -> new ArrayList<>())
+                        .add(Pair.of(sourceRecord.getNativeKey(), sourceRecord.getRecordCount()));
+            }
+            assertThat(byPartition).containsOnlyKeys(0, 1);
+            for (final int partition : byPartition.keySet()) {
+                final List<Pair<K, Long>> expected = new ArrayList<>();
+                for (int i = partition; i < keys.size(); i += 2) {
+                    for (long count = 1; count <= 3; count++) {
+                        expected.add(Pair.of(keys.get(i), count));
+                    }
+                }
+                assertThat(byPartition.get(partition)).containsExactlyElementsOf(expected);
+            }
+        } finally {
+            iterator.close();
+        }
+    }
+
     /**
      * A mutator of the mocked client used by the iterator under test.
      * <p>
@@ -211,6 +211,47 @@ public abstract class AbstractSourceRecordTest<N, K extends Comparable<K>, O ext
         assertThat(duplicate.getNativeKey()).isSameAs(sourceRecord.getNativeKey());
     }
 
+    @Test
+    void testDuplicatesKeepTheirRecordCount() {
+        final Context<K> context = new Context<>(createKFrom(TEST_OBJECT_KEY_TXT));
+        context.setPartition(1);
+        context.setTopic(TEST_TOPIC);
+
+        final T sourceRecord = createSourceRecord();
+        sourceRecord.setOffsetManagerEntry(createOffsetManagerEntry(TEST_OBJECT_KEY_TXT));
+        sourceRecord.setContext(context);
+        sourceRecord.setKeyData(new SchemaAndValue(null, "key"));
+
+        sourceRecord.incrementRecordCount();
+        final T first = sourceRecord.duplicate();
+        first.setValueData(new SchemaAndValue(null, "first"));
+        sourceRecord.incrementRecordCount();
+        final T second = sourceRecord.duplicate();
+        second.setValueData(new SchemaAndValue(null, "second"));
+        assertThat(first.getRecordCount()).isEqualTo(1);
+        assertThat(first.getOffsetManagerEntry().getRecordCount()).isEqualTo(1);
+        assertThat(second.getRecordCount()).isEqualTo(2);
+
+        final OffsetManager<O> offsetManager = (OffsetManager<O>) mock(OffsetManager.class);
+        final SourceRecord firstResult = first.getSourceRecord(ErrorsTolerance.NONE, offsetManager);
+        final SourceRecord secondResult = second.getSourceRecord(ErrorsTolerance.NONE, offsetManager);
+        assertThat(firstResult.sourcePartition()).isEqualTo(secondResult.sourcePartition());
+        assertThat(firstResult.sourceOffset()).isEqualTo(first.getOffsetManagerEntry().getProperties());
+        assertThat(secondResult.sourceOffset()).isEqualTo(second.getOffsetManagerEntry().getProperties());
+        assertThat(firstResult.sourceOffset()).isNotEqualTo(secondResult.sourceOffset());
+        assertThat(firstResult.value()).isEqualTo("first");
+        assertThat(secondResult.topic()).isEqualTo(TEST_TOPIC);
+        assertThat(secondResult.kafkaPartition()).isEqualTo(1);
+
+        // incrementing a duplicate does not change the record it was duplicated from.
+        first.incrementRecordCount();
+        assertThat(first.getRecordCount()).isEqualTo(2);
+        assertThat(sourceRecord.getRecordCount()).isEqualTo(2);
+        sourceRecord.incrementRecordCount();
+        assertThat(first.getRecordCount()).isEqualTo(2);
+        assertThat(second.getRecordCount()).isEqualTo(2);
+    }
+
     @Test
     void offsetManagerEntryTest() {
         final O offsetManagerEntry = createOffsetManagerEntry(TEST_OBJECT_KEY_TXT);
@@ -35,6 +35,7 @@ import io.aiven.kafka.connect.common.config.CompressionType;
 import io.aiven.kafka.connect.common.config.ConfigFragment;
 import io.aiven.kafka.connect.common.config.FileNameFragment;
 import io.aiven.kafka.connect.common.config.SourceConfigFragment;
+import io.aiven.kafka.connect.common.config.enums.ArchiveAction;
 import io.aiven.kafka.connect.common.config.validators.FileCompressionTypeValidator;
 import io.aiven.kafka.connect.common.config.validators.NonEmptyPassword;
 import io.aiven.kafka.connect.common.config.validators.OutputFieldsValidator;
@@ -133,6 +134,11 @@ public final class S3ConfigFragment extends ConfigFragment {
     public static final String AWS_S3_RETRY_BACKOFF_MAX_RETRIES_CONFIG = "aws.s3.backoff.max.retries";
 
     public static final String FETCH_PAGE_SIZE = "aws.s3.fetch.page.size";
+    public static final String FETCH_PARALLELISM = "aws.s3.fetch.parallelism";
+    public static final String AWS_S3_MANIFEST_BUCKET = "aws.s3.manifest.bucket";
+    public static final String AWS_S3_ARCHIVE_ACTION = "aws.s3.archive.action";
+    public static final String AWS_S3_ARCHIVE_BUCKET = "aws.s3.archive.bucket";
+    public static final String AWS_S3_ARCHIVE_PREFIX = "aws.s3.archive.prefix";
     /** @deprecated use SourceConfigFragment.RING_BUFFER_SIZE */
     @Deprecated
     public static final String AWS_S3_FETCH_BUFFER_SIZE = "aws.s3.fetch.buffer.size";
@@ -249,6 +255,36 @@ public final class S3ConfigFragment extends ConfigFragment {
                 ConfigDef.Importance.MEDIUM, "AWS S3 Fetch page size", GROUP_AWS, ++awsGroupCounter,
                 ConfigDef.Width.NONE, FETCH_PAGE_SIZE);
 
+        configDef.define(FETCH_PARALLELISM, ConfigDef.Type.INT, 1, ConfigDef.Range.between(1, 64),
+                ConfigDef.Importance.LOW,
+                "The number of key prefix shards derived from the file name template that are listed concurrently. "
+                        + "1 lists the bucket sequentially.",
+                GROUP_AWS, ++awsGroupCounter, ConfigDef.Width.NONE, FETCH_PARALLELISM);
+
+        configDef.define(AWS_S3_MANIFEST_BUCKET, ConfigDef.Type.STRING, null, new BucketNameValidator(),
+                ConfigDef.Importance.LOW,
+                "The bucket holding the manifest files when listing.mode is manifest, e.g. the destination bucket "
+                        + "of an S3 Inventory. Defaults to " + AWS_S3_BUCKET_NAME_CONFIG + ".",
+                GROUP_AWS, ++awsGroupCounter, ConfigDef.Width.NONE, AWS_S3_MANIFEST_BUCKET);
+
+        configDef.define(AWS_S3_ARCHIVE_ACTION, ConfigDef.Type.STRING, ArchiveAction.NONE.name(),
+                new ArchiveActionValidator(), ConfigDef.Importance.LOW,
+                "What the source connector does with an object once all of its records have been acknowledged by "
+                        + "Kafka. 'none' leaves the object in place. 'copy' copies it to " + AWS_S3_ARCHIVE_PREFIX
+                        + ". 'move' copies it to " + AWS_S3_ARCHIVE_PREFIX + " and deletes it. 'delete' deletes it.",
+                GROUP_AWS, ++awsGroupCounter, ConfigDef.Width.NONE, AWS_S3_ARCHIVE_ACTION);
+
+        configDef.define(AWS_S3_ARCHIVE_BUCKET, ConfigDef.Type.STRING, null, new BucketNameValidator(),
+                ConfigDef.Importance.LOW,
+                "The bucket objects are copied to when " + AWS_S3_ARCHIVE_ACTION + " is copy or move. Defaults to "
+                        + AWS_S3_BUCKET_NAME_CONFIG + ".",
+                GROUP_AWS, ++awsGroupCounter, ConfigDef.Width.NONE, AWS_S3_ARCHIVE_BUCKET);
+
+        configDef.define(AWS_S3_ARCHIVE_PREFIX, ConfigDef.Type.STRING, null, new ConfigDef.NonEmptyString(),
+                ConfigDef.Importance.LOW,
+                "The prefix prepended to the key of an object when it is copied to the archive bucket, e.g. archive/",
+                GROUP_AWS, ++awsGroupCounter, ConfigDef.Width.NONE, AWS_S3_ARCHIVE_PREFIX);
+
         configDef.define(AWS_S3_FETCH_BUFFER_SIZE, ConfigDef.Type.INT, 1000, new ConfigDef.Validator() {
             ConfigDef.Range range = ConfigDef.Range.atLeast(1);
 
@@ -438,6 +474,30 @@ public final class S3ConfigFragment extends ConfigFragment {
         }
     }
 
+    /**
+     * Validates the archive settings of the source connector. Objects copied into the listed prefix of the source
+     * bucket would be listed and processed again, so the archive prefix must lie outside of it.
+     */
+    public void validateArchive() {
+        final ArchiveAction archiveAction = getArchiveAction();
+        if (!archiveAction.copies()) {
+            return;
+        }
+        final String archivePrefix = getAwsS3ArchivePrefix();
+        if (archivePrefix == null) {
+            throw new ConfigException(String.format("%s must be set when %s is %s", AWS_S3_ARCHIVE_PREFIX,
+                    AWS_S3_ARCHIVE_ACTION, archiveAction.name()));
+        }
+        if (getAwsS3ArchiveBucket().equals(getAwsS3BucketName())) {
+            final String prefix = getAwsS3Prefix();
+            if (prefix == null || archivePrefix.startsWith(prefix)) {
+                throw new ConfigException(String.format(
+                        "%s must be outside of %s when objects are archived to the source bucket, set %s or %s",
+                        AWS_S3_ARCHIVE_PREFIX, AWS_S3_PREFIX_CONFIG, AWS_S3_PREFIX_CONFIG, AWS_S3_ARCHIVE_BUCKET));
+            }
+        }
+    }
+
     public void validateBucket() {
         if (Objects.isNull(cfg.getString(AWS_S3_BUCKET_NAME_CONFIG)) && Objects.isNull(cfg.getString(AWS_S3_BUCKET))) {
             throw new ConfigException(String.format("Neither %s nor %s properties have been set",
@@ -468,6 +528,20 @@ public final class S3ConfigFragment extends ConfigFragment {
 
     }
 
+    private static class ArchiveActionValidator implements ConfigDef.Validator {
+        @Override
+        public void ensureValid(final String name, final Object value) {
+            if (value != null) {
+                ArchiveAction.forName((String) value);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.stream(ArchiveAction.values()).map(ArchiveAction::name).collect(Collectors.joining(", "));
+        }
+    }
+
     private static class BucketNameValidator implements ConfigDef.Validator {
         @Override
         public void ensureValid(final String name, final Object value) {
@@ -641,6 +715,28 @@ public final class S3ConfigFragment extends ConfigFragment {
         return cfg.getInt(FETCH_PAGE_SIZE);
     }
 
+    public int getFetchParallelism() {
+        return cfg.getInt(FETCH_PARALLELISM);
+    }
+
+    public String getAwsS3ManifestBucket() {
+        final String manifestBucket = cfg.getString(AWS_S3_MANIFEST_BUCKET);
+        return manifestBucket == null ? getAwsS3BucketName() : manifestBucket;
+    }
+
+    public ArchiveAction getArchiveAction() {
+        return ArchiveAction.forName(cfg.getString(AWS_S3_ARCHIVE_ACTION));
+    }
+
+    public String getAwsS3ArchiveBucket() {
+        final String archiveBucket = cfg.getString(AWS_S3_ARCHIVE_BUCKET);
+        return archiveBucket == null ? getAwsS3BucketName() : archiveBucket;
+    }
+
+    public String getAwsS3ArchivePrefix() {
+        return cfg.getString(AWS_S3_ARCHIVE_PREFIX);
+    }
+
     /**
      * Handle moving deprecated values.
      *
@@ -678,6 +774,18 @@ public final class S3ConfigFragment extends ConfigFragment {
             return setValue(AWS_SECRET_ACCESS_KEY_CONFIG, accessKeySecret);
         }
 
+        public Setter archiveAction(final ArchiveAction archiveAction) {
+            return setValue(AWS_S3_ARCHIVE_ACTION, archiveAction.name());
+        }
+
+        public Setter archiveBucket(final String archiveBucket) {
+            return setValue(AWS_S3_ARCHIVE_BUCKET, archiveBucket);
+        }
+
+        public Setter archivePrefix(final String archivePrefix) {
+            return setValue(AWS_S3_ARCHIVE_PREFIX, archivePrefix);
+        }
+
         public Setter bucketName(final String bucketName) {
             return setValue(AWS_S3_BUCKET_NAME_CONFIG, bucketName);
         }
@@ -702,6 +810,14 @@ public final class S3ConfigFragment extends ConfigFragment {
             return setValue(FETCH_PAGE_SIZE, fetchPageSize);
         }
 
+        public Setter fetchParallelism(final int fetchParallelism) {
+            return setValue(FETCH_PARALLELISM, fetchParallelism);
+        }
+
+        public Setter manifestBucket(final String manifestBucket) {
+            return setValue(AWS_S3_MANIFEST_BUCKET, manifestBucket);
+        }
+
         public Setter partSize(final int partSize) {
             return setValue(AWS_S3_PART_SIZE, partSize);
         }
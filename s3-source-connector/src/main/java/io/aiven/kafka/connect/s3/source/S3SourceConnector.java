@@ -20,15 +20,25 @@ import static io.aiven.kafka.connect.common.config.CommonConfig.TASK_ID;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.kafka.common.config.ConfigDef;
 import org.apache.kafka.connect.connector.Task;
 import org.apache.kafka.connect.source.SourceConnector;
 
+import io.aiven.kafka.connect.common.config.enums.DiscoveryMode;
+import io.aiven.kafka.connect.common.source.task.DistributionType;
+import io.aiven.kafka.connect.common.source.input.utils.FilePatternUtils;
+import io.aiven.kafka.connect.common.source.task.KeyRangeDiscovery;
+import io.aiven.kafka.connect.common.source.task.SizeAwareDistribution;
 import io.aiven.kafka.connect.s3.source.config.S3SourceConfig;
+import io.aiven.kafka.connect.s3.source.utils.AWSV2SourceClient;
 import io.aiven.kafka.connect.s3.source.utils.Version;
 
 import org.slf4j.Logger;
@@ -37,13 +47,46 @@ import org.slf4j.LoggerFactory;
 /**
  * S3SourceConnector is a Kafka Connect Connector implementation that watches a S3 bucket and generates tasks to ingest
  * contents.
+ * <p>
+ * When the discovery mode is {@link DiscoveryMode#CONNECTOR} the connector lists the bucket and assigns each task a
+ * range of keys so that each key is listed by one task only. New keys are listed periodically and the tasks are
+ * reconfigured when the ranges no longer divide the keys evenly. Until the first listing completes every task lists
+ * the whole bucket.
+ * </p>
+ * <p>
+ * When the distribution type is size aware the connector lists the object sizes in the same way and assigns the
+ * largest objects or partitions to tasks so that the tasks process a similar number of bytes. The tasks are
+ * reconfigured when new assignments would divide the bytes noticeably more evenly. Until the first listing completes
+ * the objects are distributed by hash or partition.
+ * </p>
  */
 public class S3SourceConnector extends SourceConnector {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(S3SourceConnector.class);
 
+    /**
+     * The fraction by which the keys in a range, or the bytes assigned to a task, may exceed an even share before the
+     * tasks are reconfigured
+     */
+    private static final double RANGE_TOLERANCE = 0.5;
+
     private Map<String, String> configProperties;
 
+    /** Lists the bucket when the connector assigns key ranges, {@code null} otherwise */
+    private ScheduledExecutorService discoveryExecutor;
+    /** The client used to list the bucket */
+    private AWSV2SourceClient discoveryClient;
+    /** The maximum number of tasks */
+    private int maxTasks;
+    /** The boundaries of the key ranges assigned to the tasks, {@code null} until the first listing completes */
+    private volatile List<String> boundaries;
+    /** The size aware distribution type used to assign objects or partitions to tasks */
+    private DistributionType distributionType;
+    /** Extracts the partition from the listed keys */
+    private FilePatternUtils filePatternUtils;
+    /** The tasks assigned to objects or partitions by size, {@code null} until the first listing completes */
+    private volatile Map<String, Integer> assignments;
+
     @Override
     public ConfigDef config() {
         return S3SourceConfig.configDef();
@@ -65,6 +108,14 @@ public class S3SourceConnector extends SourceConnector {
         for (int i = 0; i < maxTasks; i++) {
             final var props = new HashMap<>(configProperties); // NOPMD
             props.put(TASK_ID, String.valueOf(i));
+            final List<String> current = boundaries;
+            if (current != null) {
+                KeyRangeDiscovery.assignRange(props, current, i);
+            }
+            final Map<String, Integer> currentAssignments = assignments;
+            if (currentAssignments != null) {
+                SizeAwareDistribution.assign(props, currentAssignments);
+            }
             taskProps.add(props);
         }
         return taskProps;
@@ -75,10 +126,93 @@ public class S3SourceConnector extends SourceConnector {
         Objects.requireNonNull(properties, "properties haven't been set");
         configProperties = Map.copyOf(properties);
         LOGGER.info("Start S3 Source connector");
+        final S3SourceConfig config = new S3SourceConfig(properties);
+        final boolean keyRanges = config.getDiscoveryMode() == DiscoveryMode.CONNECTOR;
+        final boolean bySize = config.getDistributionType().isSizeAware();
+        if ((keyRanges || bySize) && config.getMaxTasks() > 1) {
+            maxTasks = config.getMaxTasks();
+            discoveryClient = new AWSV2SourceClient(config);
+            final Runnable listing;
+            if (keyRanges) {
+                listing = this::discover;
+            } else {
+                distributionType = config.getDistributionType();
+                filePatternUtils = new FilePatternUtils(config.getSourceName());
+                listing = this::discoverSizes;
+            }
+            discoveryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "S3SourceConnector-discovery");
+                thread.setDaemon(true);
+                return thread;
+            });
+            discoveryExecutor.scheduleWithFixedDelay(listing, 0, config.getDiscoveryInterval(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Lists the whole bucket and requests a reconfiguration of the tasks if the key ranges no longer divide the keys
+     * evenly. New objects are written all over the key space, e.g. under every partition, so listing only the keys
+     * after the last key seen would miss most of them. The connector is the only one listing, so the cost does not
+     * grow with the number of tasks.
+     */
+    private void discover() {
+        try {
+            final KeyRangeDiscovery discovery = new KeyRangeDiscovery(KeyRangeDiscovery.DEFAULT_SAMPLE_SIZE);
+            final Iterator<String> keys = discoveryClient.getListOfObjectKeys(null);
+            keys.forEachRemaining(discovery::add);
+            final List<String> current = boundaries;
+            if (current == null ? discovery.getKeyCount() > 0
+                    : !discovery.isBalanced(current, maxTasks, RANGE_TOLERANCE)) {
+                final List<String> updated = List.copyOf(discovery.getBoundaries(maxTasks));
+                if (!updated.isEmpty() && !updated.equals(current)) {
+                    LOGGER.info("Assigning {} keys to {} tasks in ranges ending at {}", discovery.getKeyCount(),
+                            maxTasks, updated);
+                    boundaries = updated;
+                    context.requestTaskReconfiguration();
+                }
+            }
+        } catch (RuntimeException e) { // NOPMD AvoidCatchingGenericException
+            // the executor stops scheduling a task that throws.
+            LOGGER.warn("Listing the bucket to assign key ranges failed, retrying at the next interval", e);
+        }
+    }
+
+    /**
+     * Lists the whole bucket and requests a reconfiguration of the tasks if new assignments would divide the bytes
+     * noticeably more evenly. As in {@link #discover()} the bucket is listed from the start because new objects are
+     * written all over the key space, and the sizes are counted afresh so that deleted or archived objects no longer
+     * count.
+     */
+    private void discoverSizes() {
+        try {
+            final SizeAwareDistribution sizeDistribution = new SizeAwareDistribution(distributionType);
+            discoveryClient.getS3ObjectStream(null)
+                    .forEach(s3Object -> sizeDistribution.add(s3Object.key(), s3Object.size(),
+                            filePatternUtils.process(s3Object.key()).orElse(null)));
+            final Map<String, Integer> current = assignments;
+            if (current == null ? sizeDistribution.hasUnits()
+                    : !sizeDistribution.isBalanced(current, maxTasks, RANGE_TOLERANCE)) {
+                final Map<String, Integer> updated = Map.copyOf(sizeDistribution.getAssignments(maxTasks));
+                if (!updated.equals(current)) {
+                    LOGGER.info("Assigning {} objects or partitions to {} tasks by size", updated.size(), maxTasks);
+                    assignments = updated;
+                    context.requestTaskReconfiguration();
+                }
+            }
+        } catch (RuntimeException e) { // NOPMD AvoidCatchingGenericException
+            // the executor stops scheduling a task that throws.
+            LOGGER.warn("Listing the bucket to assign objects by size failed, retrying at the next interval", e);
+        }
     }
 
     @Override
     public void stop() {
         LOGGER.info("Stop S3 Source connector");
+        if (discoveryExecutor != null) {
+            discoveryExecutor.shutdownNow();
+            discoveryExecutor = null;
+            discoveryClient.shutdown();
+        }
     }
 }
@@ -16,18 +16,26 @@
 
 package io.aiven.kafka.connect.s3.source;
 
+import java.time.Duration;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.kafka.connect.source.SourceRecord;
 
 import io.aiven.kafka.connect.common.config.SourceCommonConfig;
+import io.aiven.kafka.connect.common.config.enums.ArchiveAction;
+import io.aiven.kafka.connect.common.source.AbstractSourceRecordIterator;
+import io.aiven.kafka.connect.common.source.AcknowledgementTracker;
 import io.aiven.kafka.connect.common.source.AbstractSourceTask;
 import io.aiven.kafka.connect.common.source.OffsetManager;
 import io.aiven.kafka.connect.common.source.input.Transformer;
 import io.aiven.kafka.connect.s3.source.config.S3SourceConfig;
 import io.aiven.kafka.connect.s3.source.utils.AWSV2SourceClient;
+import io.aiven.kafka.connect.s3.source.utils.S3ObjectArchiver;
 import io.aiven.kafka.connect.s3.source.utils.S3OffsetManagerEntry;
 import io.aiven.kafka.connect.s3.source.utils.S3SourceRecord;
 import io.aiven.kafka.connect.s3.source.utils.S3SourceRecordIterator;
@@ -58,6 +66,17 @@ public class S3SourceTask extends AbstractSourceTask {
     /** The offset manager this task uses */
     private OffsetManager<S3OffsetManagerEntry> offsetManager;
     private S3SourceConfig s3SourceConfig;
+    /** Tracks the records of each object until Kafka acknowledges them, {@code null} if objects are not archived */
+    private AcknowledgementTracker<String> acknowledgementTracker;
+    /** The archiver of acknowledged objects, {@code null} if objects are not archived */
+    private S3ObjectArchiver archiver;
+    /** Runs the archiver, {@code null} if objects are not archived */
+    private ScheduledExecutorService archiveExecutor;
+
+    /** The delay between archiving the objects acknowledged since the last run */
+    private static final Duration ARCHIVE_INTERVAL = Duration.ofSeconds(5);
+    /** The maximum time to wait for an archive run in progress when the task stops */
+    private static final Duration ARCHIVE_SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
 
     public S3SourceTask() {
         super(LOGGER);
@@ -105,7 +124,12 @@ public class S3SourceTask extends AbstractSourceTask {
             @Override
             public SourceRecord next() {
                 final S3SourceRecord s3SourceRecord = s3SourceRecordIterator.next();
-                return s3SourceRecord.getSourceRecord(s3SourceConfig.getErrorsTolerance(), offsetManager);
+                final SourceRecord sourceRecord = s3SourceRecord.getSourceRecord(s3SourceConfig.getErrorsTolerance(),
+                        offsetManager);
+                if (sourceRecord != null && acknowledgementTracker != null) {
+                    acknowledgementTracker.returned(sourceRecord, s3SourceRecord.getNativeKey());
+                }
+                return sourceRecord;
             }
         };
         return IteratorUtils.filteredIterator(inner, Objects::nonNull);
@@ -117,12 +141,68 @@ public class S3SourceTask extends AbstractSourceTask {
         this.s3SourceConfig = new S3SourceConfig(props);
         this.transformer = s3SourceConfig.getTransformer();
         offsetManager = new OffsetManager<>(context);
-        awsv2SourceClient = new AWSV2SourceClient(s3SourceConfig);
-        setS3SourceRecordIterator(
-                new S3SourceRecordIterator(s3SourceConfig, offsetManager, this.transformer, awsv2SourceClient));
+        awsv2SourceClient = createSourceClient(s3SourceConfig);
+        final S3SourceRecordIterator iterator = new S3SourceRecordIterator(s3SourceConfig, offsetManager,
+                this.transformer, awsv2SourceClient);
+        if (s3SourceConfig.getArchiveAction() != ArchiveAction.NONE) {
+            startArchiving(iterator);
+        }
+        setS3SourceRecordIterator(iterator);
         return s3SourceConfig;
     }
 
+    /**
+     * Starts archiving the objects whose records have all been acknowledged by Kafka.
+     *
+     * @param iterator
+     *            the iterator that reports when all records of an object have been returned.
+     */
+    private void startArchiving(final S3SourceRecordIterator iterator) {
+        acknowledgementTracker = new AcknowledgementTracker<>();
+        iterator.setCompletionListener(acknowledgementTracker::completed);
+        archiver = new S3ObjectArchiver(s3SourceConfig, awsv2SourceClient, acknowledgementTracker);
+        archiveExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "S3SourceTask-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        archiveExecutor.scheduleWithFixedDelay(this::archive, ARCHIVE_INTERVAL.toMillis(),
+                ARCHIVE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the archive executor, waiting for a run in progress to finish so that the objects it has taken from the
+     * tracker are archived before the client is closed.
+     */
+    private void stopArchiving() {
+        archiveExecutor.shutdown();
+        try {
+            if (!archiveExecutor.awaitTermination(ARCHIVE_SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("Archiving acknowledged objects did not finish within {}", ARCHIVE_SHUTDOWN_TIMEOUT);
+                archiveExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            archiveExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        archiveExecutor = null;
+    }
+
+    /**
+     * Archives the objects acknowledged since the last run.
+     */
+    private void archive() {
+        try {
+            final int archived = archiver.archive();
+            if (archived > 0) {
+                LOGGER.info("Applied {} to {} acknowledged objects", s3SourceConfig.getArchiveAction(), archived);
+            }
+        } catch (RuntimeException e) { // NOPMD AvoidCatchingGenericException
+            // the executor stops scheduling a task that throws.
+            LOGGER.warn("Archiving acknowledged objects failed, retrying at the next interval", e);
+        }
+    }
+
     @Override
     public void commit() {
         LOGGER.info("Committed all records through last poll()");
@@ -133,6 +213,20 @@ public class S3SourceTask extends AbstractSourceTask {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Kafka Acked record {}, see readme for details", (Map<String, Object>) record.sourceOffset());
         }
+        if (acknowledgementTracker != null) {
+            acknowledgementTracker.acknowledged(record);
+        }
+    }
+
+    /**
+     * Creates the client for the source bucket. Protected to be overridden in testing implementation.
+     *
+     * @param config
+     *            the configuration for the client.
+     * @return the client for the source bucket.
+     */
+    protected AWSV2SourceClient createSourceClient(final S3SourceConfig config) {
+        return new AWSV2SourceClient(config);
     }
 
     /**
@@ -145,8 +239,25 @@ public class S3SourceTask extends AbstractSourceTask {
         s3SourceRecordIterator = iterator;
     }
 
+    @Override
+    protected boolean isBusy() {
+        return s3SourceRecordIterator instanceof AbstractSourceRecordIterator
+                && ((AbstractSourceRecordIterator<?, ?, ?, ?>) s3SourceRecordIterator).isBusy();
+    }
+
     @Override
     protected void closeResources() {
+        if (s3SourceRecordIterator instanceof AbstractSourceRecordIterator) {
+            ((AbstractSourceRecordIterator<?, ?, ?, ?>) s3SourceRecordIterator).close();
+        }
+        if (archiveExecutor != null) {
+            stopArchiving();
+            // archive the objects acknowledged since the last run before the client is closed.
+            archive();
+        }
+        if (transformer != null) {
+            transformer.close();
+        }
         awsv2SourceClient.shutdown();
     }
 
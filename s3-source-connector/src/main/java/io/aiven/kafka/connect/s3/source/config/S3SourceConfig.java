@@ -26,6 +26,7 @@ import io.aiven.kafka.connect.common.config.FileNameFragment;
 import io.aiven.kafka.connect.common.config.SourceCommonConfig;
 import io.aiven.kafka.connect.common.config.SourceConfigFragment;
 import io.aiven.kafka.connect.common.config.TransformerFragment;
+import io.aiven.kafka.connect.common.config.enums.ArchiveAction;
 import io.aiven.kafka.connect.config.s3.S3ConfigFragment;
 import io.aiven.kafka.connect.iam.AwsCredentialProviderFactory;
 import io.aiven.kafka.connect.iam.AwsStsEndpointConfig;
@@ -67,6 +68,7 @@ final public class S3SourceConfig extends SourceCommonConfig {
         // e.g. SourceConfigFragment, FileNameFragment, TransformerFragment and OutputFormatFragment are all
         // validated in SourceCommonConfig.
         s3ConfigFragment.validate();
+        s3ConfigFragment.validateArchive();
     }
 
     public AwsStsRole getStsRole() {
@@ -133,6 +135,26 @@ final public class S3SourceConfig extends SourceCommonConfig {
         return s3ConfigFragment.getFetchPageSize();
     }
 
+    public int getFetchParallelism() {
+        return s3ConfigFragment.getFetchParallelism();
+    }
+
+    public String getAwsS3ManifestBucket() {
+        return s3ConfigFragment.getAwsS3ManifestBucket();
+    }
+
+    public ArchiveAction getArchiveAction() {
+        return s3ConfigFragment.getArchiveAction();
+    }
+
+    public String getAwsS3ArchiveBucket() {
+        return s3ConfigFragment.getAwsS3ArchiveBucket();
+    }
+
+    public String getAwsS3ArchivePrefix() {
+        return s3ConfigFragment.getAwsS3ArchivePrefix();
+    }
+
     public AwsCredentialsProvider getAwsV2Provider() {
         return awsCredentialsProviderFactory.getAwsV2Provider(s3ConfigFragment);
     }
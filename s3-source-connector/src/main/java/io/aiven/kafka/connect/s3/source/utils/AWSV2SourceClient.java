@@ -17,21 +17,35 @@
 package io.aiven.kafka.connect.s3.source.utils;
 
 import java.io.InputStream;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import io.aiven.kafka.connect.common.source.LastModifiedWindow;
+import io.aiven.kafka.connect.common.source.input.RangedIOSupplier;
+import io.aiven.kafka.connect.common.source.input.utils.FilePatternUtils;
 import io.aiven.kafka.connect.s3.source.config.S3ClientFactory;
 import io.aiven.kafka.connect.s3.source.config.S3SourceConfig;
 
-import org.apache.commons.io.function.IOSupplier;
 import org.apache.commons.lang3.StringUtils;
-import software.amazon.awssdk.core.ResponseBytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Error;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
 /**
@@ -39,10 +53,17 @@ import software.amazon.awssdk.services.s3.model.S3Object;
  * and authentication to AWS and returns useable objects to the AbstractSourceRecordIterator.
  */
 public class AWSV2SourceClient {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AWSV2SourceClient.class);
+    /** The maximum number of keys of a multi-object delete request */
+    public static final int MAX_DELETE_KEYS = 1000;
 
     private final S3SourceConfig s3SourceConfig;
     private final S3Client s3Client;
     private final String bucketName;
+    /** The prefix shards of the file name template, empty if the bucket is listed sequentially */
+    private final Optional<FilePatternUtils.PrefixShards> prefixShards;
+    /** The executor listing the prefix shards, {@code null} if the bucket is listed sequentially */
+    private final ExecutorService listingExecutor;
 
     private Predicate<S3Object> filterPredicate = s3Object -> s3Object.size() > 0;
 
@@ -66,16 +87,49 @@ public class AWSV2SourceClient {
         this.s3SourceConfig = s3SourceConfig;
         this.s3Client = s3Client;
         this.bucketName = s3SourceConfig.getAwsS3BucketName();
+        final int parallelism = s3SourceConfig.getFetchParallelism();
+        this.prefixShards = parallelism > 1
+                ? new FilePatternUtils(s3SourceConfig.getSourceName()).getPrefixShards()
+                : Optional.empty();
+        if (prefixShards.isPresent()) {
+            final AtomicInteger threadCounter = new AtomicInteger();
+            this.listingExecutor = Executors.newFixedThreadPool(parallelism, runnable -> {
+                final Thread thread = new Thread(runnable,
+                        String.format("s3-listing-%s-%d", bucketName, threadCounter.incrementAndGet()));
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            if (parallelism > 1) {
+                LOGGER.warn("The file name template {} does not start with a literal prefix and a placeholder "
+                        + "followed by a delimiter, the bucket is listed sequentially.",
+                        s3SourceConfig.getSourceName());
+            }
+            this.listingExecutor = null;
+        }
+        final LastModifiedWindow lastModifiedWindow = LastModifiedWindow.from(s3SourceConfig);
+        if (!lastModifiedWindow.isUnbounded()) {
+            this.filterPredicate = filterPredicate.and(lastModifiedWindow.asPredicate(S3Object::lastModified));
+        }
     }
 
     /**
-     * Creates a stream from which we will create an iterator.
+     * Creates a stream from which we will create an iterator. When {@code aws.s3.fetch.parallelism} is greater than 1
+     * and the file name template starts with a literal prefix and a delimited placeholder the prefix shards of the
+     * template are listed concurrently, otherwise the bucket is listed sequentially.
      *
      * @param startToken
      *            the beginning key, or {@code null} to start at the beginning.
      * @return a Stream of S3Objects for the current state of the S3 storage.
      */
     public Stream<S3Object> getS3ObjectStream(final String startToken) {
+        if (prefixShards.isPresent()) {
+            return new ShardedObjectListing(s3Client, bucketName, listingExecutor,
+                    s3SourceConfig.getFetchParallelism(), s3SourceConfig.getFetchPageSize())
+                    .list(s3SourceConfig.getAwsS3Prefix(), prefixShards.get(),
+                            StringUtils.defaultIfBlank(startToken, null))
+                    .flatMap(response -> response.contents().stream().filter(filterPredicate));
+        }
         final ListObjectsV2Request request = ListObjectsV2Request.builder()
                 .bucket(bucketName)
                 .maxKeys(s3SourceConfig.getFetchPageSize())
@@ -98,6 +152,50 @@ public class AWSV2SourceClient {
         }).flatMap(response -> response.contents().stream().filter(filterPredicate));
     }
 
+    /**
+     * Lists all objects under a prefix of a bucket without applying the object filters.
+     *
+     * @param bucket
+     *            the bucket to list.
+     * @param prefix
+     *            the prefix to list.
+     * @return a Stream of the S3Objects under the prefix in key order.
+     */
+    public Stream<S3Object> listObjects(final String bucket, final String prefix) {
+        final ListObjectsV2Request request = ListObjectsV2Request.builder().bucket(bucket).prefix(prefix).build();
+        return Stream.iterate(s3Client.listObjectsV2(request), Objects::nonNull,
+                response -> response.isTruncated()
+                        ? s3Client.listObjectsV2(
+                                request.toBuilder().continuationToken(response.nextContinuationToken()).build())
+                        : null)
+                .flatMap(response -> response.contents().stream());
+    }
+
+    /**
+     * Opens a stream on the content of an object of a bucket. Unlike {@link #getObject(String)} the content is not
+     * read into memory first.
+     *
+     * @param bucket
+     *            the bucket of the object.
+     * @param objectKey
+     *            the key of the object.
+     * @return a stream on the content of the object.
+     */
+    public InputStream getObjectStream(final String bucket, final String objectKey) {
+        return s3Client.getObject(GetObjectRequest.builder().bucket(bucket).key(objectKey).build());
+    }
+
+    /**
+     * Checks whether an object passes the filters applied to listed objects.
+     *
+     * @param s3Object
+     *            the object to check.
+     * @return {@code true} if the object passes the filters.
+     */
+    public boolean accepts(final S3Object s3Object) {
+        return filterPredicate.test(s3Object);
+    }
+
     /**
      * Gets an iterator of keys from the current S3 storage.
      *
@@ -109,13 +207,77 @@ public class AWSV2SourceClient {
         return getS3ObjectStream(startToken).map(S3Object::key).iterator();
     }
 
-    public IOSupplier<InputStream> getObject(final String objectKey) {
-        final GetObjectRequest getObjectRequest = GetObjectRequest.builder().bucket(bucketName).key(objectKey).build();
-        final ResponseBytes<GetObjectResponse> s3ObjectResponse = s3Client.getObjectAsBytes(getObjectRequest);
-        return s3ObjectResponse::asInputStream;
+    /**
+     * Gets a supplier for the content of an object. The object is not retrieved until the supplier is called. The
+     * supplier also supports ranged reads so that formats that require random access only retrieve the parts of the
+     * object they need.
+     *
+     * @param objectKey
+     *            the key of the object to retrieve.
+     * @return a RangedIOSupplier for the object content.
+     */
+    public RangedIOSupplier getObject(final String objectKey) {
+        return new RangedIOSupplier() {
+            @Override
+            public InputStream get() {
+                return s3Client.getObjectAsBytes(GetObjectRequest.builder().bucket(bucketName).key(objectKey).build())
+                        .asInputStream();
+            }
+
+            @Override
+            public InputStream getRange(final long position, final long length) {
+                final GetObjectRequest request = GetObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(objectKey)
+                        .range("bytes=" + position + "-" + (position + length - 1))
+                        .build();
+                return s3Client.getObjectAsBytes(request).asInputStream();
+            }
+        };
+    }
+
+    /**
+     * Copies an object of the source bucket.
+     *
+     * @param objectKey
+     *            the key of the object to copy.
+     * @param destinationBucket
+     *            the bucket to copy the object to.
+     * @param destinationKey
+     *            the key of the copy.
+     */
+    public void copyObject(final String objectKey, final String destinationBucket, final String destinationKey) {
+        s3Client.copyObject(CopyObjectRequest.builder()
+                .sourceBucket(bucketName)
+                .sourceKey(objectKey)
+                .destinationBucket(destinationBucket)
+                .destinationKey(destinationKey)
+                .build());
+    }
+
+    /**
+     * Deletes objects of the source bucket with a single multi-object delete request.
+     *
+     * @param objectKeys
+     *            the keys of the objects to delete. At most {@link #MAX_DELETE_KEYS} keys.
+     * @return the errors of the objects that could not be deleted.
+     */
+    public List<S3Error> deleteObjects(final Collection<String> objectKeys) {
+        final List<ObjectIdentifier> identifiers = objectKeys.stream()
+                .map(key -> ObjectIdentifier.builder().key(key).build())
+                .collect(Collectors.toList());
+        return s3Client
+                .deleteObjects(DeleteObjectsRequest.builder()
+                        .bucket(bucketName)
+                        .delete(Delete.builder().objects(identifiers).quiet(true).build())
+                        .build())
+                .errors();
     }
 
     public void shutdown() {
+        if (listingExecutor != null) {
+            listingExecutor.shutdownNow();
+        }
         s3Client.close();
     }
 
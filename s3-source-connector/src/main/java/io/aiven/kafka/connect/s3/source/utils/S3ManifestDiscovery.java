@@ -0,0 +1,440 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.s3.source.utils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.kafka.connect.errors.ConnectException;
+
+import io.aiven.kafka.connect.common.source.AbstractManifestDiscovery;
+import io.aiven.kafka.connect.s3.source.config.S3SourceConfig;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Discovers the S3 objects to process from manifest files under {@code listing.manifest.prefix} of the manifest
+ * bucket. Two manifest formats are read:
+ * <ul>
+ * <li>S3 Inventory manifests, keys ending with {@value #INVENTORY_MANIFEST}. Each inventory lists the whole bucket, so
+ * only the newest manifest of each inventory configuration is read. The CSV inventory files listed by the manifest are
+ * read, rows for other buckets, old versions and delete markers are skipped. Once an inventory has been consumed the
+ * rows of later inventories of the same configuration that were last modified before it was created, less
+ * {@link #INVENTORY_CUTOFF_MARGIN}, are skipped as they were returned from the earlier inventory. The inventory must
+ * include the {@code Size} field.</li>
+ * <li>Connector manifests, keys ending with {@value #CONNECTOR_MANIFEST}. Each line holds an object key and its size in
+ * bytes separated by a tab. Blank lines and lines starting with {@code #} are ignored.</li>
+ * </ul>
+ * Other objects under the prefix, such as the inventory files themselves, are ignored. Entries are filtered like
+ * listed objects.
+ */
+public final class S3ManifestDiscovery extends AbstractManifestDiscovery<String, S3Object> {
+    /** The key suffix of S3 Inventory manifests */
+    static final String INVENTORY_MANIFEST = "manifest.json";
+    /** The key suffix of connector manifests */
+    static final String CONNECTOR_MANIFEST = ".manifest";
+
+    /**
+     * The time before the creation of a consumed inventory after which rows of later inventories are still returned,
+     * as objects written shortly before an inventory was created may be missing from it
+     */
+    static final Duration INVENTORY_CUTOFF_MARGIN = Duration.ofHours(1);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(S3ManifestDiscovery.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /** The client that reads the manifests */
+    private final AWSV2SourceClient sourceClient;
+    /** The bucket holding the objects to process */
+    private final String bucket;
+    /** The bucket holding the manifests */
+    private final String manifestBucket;
+    /** The key prefix of the manifests */
+    private final String manifestPrefix;
+    /** The creation time of each inventory manifest that is being read */
+    private final Map<String, Instant> creationTimes = new HashMap<>();
+    /** The time before which rows are skipped for each inventory configuration that has had an inventory consumed */
+    private final Map<String, Instant> cutoffs = new HashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param s3SourceConfig
+     *            the source configuration.
+     * @param sourceClient
+     *            the client that reads the manifests.
+     */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "source client has stores mutable fields")
+    public S3ManifestDiscovery(final S3SourceConfig s3SourceConfig, final AWSV2SourceClient sourceClient) {
+        this.sourceClient = sourceClient;
+        this.bucket = s3SourceConfig.getAwsS3BucketName();
+        this.manifestBucket = s3SourceConfig.getAwsS3ManifestBucket();
+        this.manifestPrefix = s3SourceConfig.getListingManifestPrefix();
+    }
+
+    @Override
+    protected Stream<String> listManifests() {
+        final List<String> manifests = sourceClient.listObjects(manifestBucket, manifestPrefix)
+                .map(S3Object::key)
+                .filter(key -> key.endsWith(INVENTORY_MANIFEST) || key.endsWith(CONNECTOR_MANIFEST))
+                .collect(Collectors.toList());
+        // the inventories of a configuration are in folders named by their creation time, so the newest sorts last.
+        final Map<String, String> newestInventories = new HashMap<>();
+        manifests.stream()
+                .filter(key -> key.endsWith(INVENTORY_MANIFEST))
+                .forEach(key -> newestInventories.merge(inventoryConfiguration(key), key,
+                        (current, other) -> current.compareTo(other) >= 0 ? current : other));
+        return manifests.stream()
+                .filter(key -> key.endsWith(CONNECTOR_MANIFEST)
+                        || key.equals(newestInventories.get(inventoryConfiguration(key))));
+    }
+
+    /**
+     * Gets the inventory configuration of an inventory manifest. S3 Inventory writes the manifests of a configuration
+     * to {@code destination-prefix/source-bucket/configuration-id/creation-time/manifest.json}.
+     *
+     * @param manifestKey
+     *            the key of the inventory manifest.
+     * @return the key prefix of the configuration, the key up to the folder of the creation time.
+     */
+    static String inventoryConfiguration(final String manifestKey) {
+        final int folder = manifestKey.lastIndexOf('/');
+        final int configuration = folder > 0 ? manifestKey.lastIndexOf('/', folder - 1) : -1;
+        return configuration < 0 ? "" : manifestKey.substring(0, configuration);
+    }
+
+    @Override
+    protected void manifestConsumed(final String manifestKey) {
+        final Instant creationTime = creationTimes.remove(manifestKey);
+        if (creationTime != null) {
+            cutoffs.put(inventoryConfiguration(manifestKey), creationTime.minus(INVENTORY_CUTOFF_MARGIN));
+        }
+    }
+
+    @Override
+    protected Iterator<S3Object> readManifest(final String manifestKey) throws IOException {
+        if (manifestKey.endsWith(CONNECTOR_MANIFEST)) {
+            return new ConnectorManifestReader(open(manifestKey, false));
+        }
+        final JsonNode manifest;
+        try (InputStream input = sourceClient.getObjectStream(manifestBucket, manifestKey)) {
+            manifest = OBJECT_MAPPER.readTree(input);
+        }
+        final String sourceBucket = manifest.path("sourceBucket").asText(bucket);
+        if (!bucket.equals(sourceBucket)) {
+            LOGGER.warn("Skipping inventory manifest {} of bucket {}", manifestKey, sourceBucket);
+            return Collections.emptyIterator();
+        }
+        final String fileFormat = manifest.path("fileFormat").asText();
+        if (!"CSV".equalsIgnoreCase(fileFormat)) {
+            throw new ConnectException(
+                    String.format("Inventory manifest %s has file format %s, only CSV is supported", manifestKey,
+                            fileFormat));
+        }
+        final List<String> schema = Arrays.stream(manifest.path("fileSchema").asText().split(","))
+                .map(String::trim)
+                .collect(Collectors.toList());
+        final List<String> files = new ArrayList<>();
+        manifest.path("files").forEach(file -> files.add(file.path("key").asText()));
+        final String creationTimestamp = manifest.path("creationTimestamp").asText();
+        if (!creationTimestamp.isEmpty()) {
+            creationTimes.put(manifestKey, Instant.ofEpochMilli(Long.parseLong(creationTimestamp)));
+        }
+        return new InventoryReader(new InventorySchema(manifestKey, schema), files.iterator(),
+                cutoffs.get(inventoryConfiguration(manifestKey)));
+    }
+
+    /**
+     * Opens a manifest or inventory file for reading.
+     *
+     * @param key
+     *            the key of the file.
+     * @param gzip
+     *            {@code true} if the file is compressed with gzip.
+     * @return a reader of the file.
+     * @throws IOException
+     *             if the file can not be opened.
+     */
+    private BufferedReader open(final String key, final boolean gzip) throws IOException {
+        final InputStream input = sourceClient.getObjectStream(manifestBucket, key);
+        try {
+            return new BufferedReader(
+                    new InputStreamReader(gzip ? new GZIPInputStream(input) : input, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Splits a CSV line into fields. Fields may be quoted, a quote in a quoted field is escaped by doubling it.
+     *
+     * @param line
+     *            the line to split.
+     * @return the fields of the line.
+     */
+    static List<String> splitCsv(final String line) {
+        final List<String> fields = new ArrayList<>();
+        final StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            final char character = line.charAt(i);
+            if (quoted) {
+                if (character == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (character == '"') {
+                    quoted = false;
+                } else {
+                    field.append(character);
+                }
+            } else if (character == '"') {
+                quoted = true;
+            } else if (character == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(character);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Base class for iterators that read S3 objects from lines of text and skip the objects that are filtered out.
+     */
+    private abstract class LineReader implements Iterator<S3Object>, Closeable {
+        private S3Object next;
+
+        /**
+         * Reads the next object.
+         *
+         * @return the next object or {@code null} if there are no more objects.
+         * @throws IOException
+         *             if the object can not be read.
+         */
+        protected abstract S3Object read() throws IOException;
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null) {
+                    final S3Object s3Object = read();
+                    if (s3Object == null) {
+                        return false;
+                    }
+                    if (sourceClient.accepts(s3Object)) {
+                        next = s3Object;
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public S3Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final S3Object result = next;
+            next = null;
+            return result;
+        }
+    }
+
+    /**
+     * Reads a connector manifest.
+     */
+    private final class ConnectorManifestReader extends LineReader {
+        private final BufferedReader reader;
+
+        ConnectorManifestReader(final BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        protected S3Object read() throws IOException {
+            String line = reader.readLine();
+            while (line != null) {
+                if (StringUtils.isNotBlank(line) && !line.startsWith("#")) {
+                    final int tab = line.lastIndexOf('\t');
+                    if (tab < 0) {
+                        throw new ConnectException("Connector manifest line must hold a key and a size: " + line);
+                    }
+                    return S3Object.builder()
+                            .key(line.substring(0, tab))
+                            .size(Long.parseLong(line.substring(tab + 1).trim()))
+                            .build();
+                }
+                line = reader.readLine();
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * The positions of the fields of an inventory file.
+     */
+    private static final class InventorySchema {
+        private final int bucket;
+        private final int key;
+        private final int size;
+        private final int lastModified;
+        private final int isLatest;
+        private final int isDeleteMarker;
+
+        InventorySchema(final String manifestKey, final List<String> fields) {
+            final List<String> names = fields.stream()
+                    .map(name -> name.toLowerCase(Locale.ROOT))
+                    .collect(Collectors.toList());
+            bucket = names.indexOf("bucket");
+            key = names.indexOf("key");
+            size = names.indexOf("size");
+            lastModified = names.indexOf("lastmodifieddate");
+            isLatest = names.indexOf("islatest");
+            isDeleteMarker = names.indexOf("isdeletemarker");
+            if (key < 0 || size < 0) {
+                throw new ConnectException(
+                        String.format("Inventory manifest %s must include the Key and Size fields", manifestKey));
+            }
+        }
+    }
+
+    /**
+     * Reads the CSV inventory files listed by an inventory manifest.
+     */
+    private final class InventoryReader extends LineReader {
+        private final InventorySchema schema;
+        private final Iterator<String> files;
+        /** The time before which rows are skipped, {@code null} if no rows are skipped by time */
+        private final Instant cutoff;
+        private BufferedReader reader;
+
+        InventoryReader(final InventorySchema schema, final Iterator<String> files, final Instant cutoff) {
+            this.schema = schema;
+            this.files = files;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected S3Object read() throws IOException {
+            while (true) {
+                if (reader == null) {
+                    if (!files.hasNext()) {
+                        return null;
+                    }
+                    reader = open(files.next(), true);
+                }
+                final String line = reader.readLine();
+                if (line == null) {
+                    reader.close();
+                    reader = null;
+                } else if (StringUtils.isNotBlank(line)) {
+                    final S3Object s3Object = parse(splitCsv(line));
+                    if (s3Object != null) {
+                        return s3Object;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Creates the S3 object for a row of an inventory file.
+         *
+         * @param row
+         *            the fields of the row.
+         * @return the S3 object or {@code null} if the row is for another bucket, an old version, a delete marker or an
+         *         object last modified before the cutoff.
+         */
+        private S3Object parse(final List<String> row) {
+            final String size = field(row, schema.size);
+            if (schema.bucket >= 0 && !bucket.equals(field(row, schema.bucket))
+                    || "false".equalsIgnoreCase(field(row, schema.isLatest))
+                    || "true".equalsIgnoreCase(field(row, schema.isDeleteMarker)) || size.isEmpty()) {
+                return null;
+            }
+            // inventory keys are URL encoded.
+            final S3Object.Builder builder = S3Object.builder()
+                    .key(URLDecoder.decode(field(row, schema.key), StandardCharsets.UTF_8))
+                    .size(Long.parseLong(size));
+            final String lastModified = field(row, schema.lastModified);
+            if (!lastModified.isEmpty()) {
+                final Instant lastModifiedTime = Instant.parse(lastModified);
+                if (cutoff != null && lastModifiedTime.isBefore(cutoff)) {
+                    return null;
+                }
+                builder.lastModified(lastModifiedTime);
+            }
+            return builder.build();
+        }
+
+        /**
+         * Gets a field of a row.
+         *
+         * @param row
+         *            the fields of the row.
+         * @param index
+         *            the index of the field, negative if the inventory does not include the field.
+         * @return the field or an empty string if the row does not have the field.
+         */
+        private String field(final List<String> row, final int index) {
+            return index >= 0 && index < row.size() ? row.get(index) : "";
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (reader != null) {
+                reader.close();
+                reader = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.s3.source.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.aiven.kafka.connect.common.config.enums.ArchiveAction;
+import io.aiven.kafka.connect.common.source.AcknowledgementTracker;
+import io.aiven.kafka.connect.s3.source.config.S3SourceConfig;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.model.S3Error;
+
+/**
+ * Archives the objects whose records have all been acknowledged by Kafka so that they are no longer listed.
+ * <p>
+ * Each call to {@link #archive()} takes the acknowledged objects from the tracker, copies them to the archive prefix
+ * when the action copies and deletes them in batches of multi-object delete requests when the action deletes. An
+ * object that fails to copy is not deleted. Failures are logged and the object is left in place.
+ * </p>
+ */
+public final class S3ObjectArchiver {
+    private static final Logger LOGGER = LoggerFactory.getLogger(S3ObjectArchiver.class);
+
+    /** The client for the source bucket */
+    private final AWSV2SourceClient sourceClient;
+    /** The tracker providing the acknowledged objects */
+    private final AcknowledgementTracker<String> tracker;
+    /** The action to apply to acknowledged objects */
+    private final ArchiveAction action;
+    /** The bucket objects are copied to */
+    private final String archiveBucket;
+    /** The prefix prepended to the key of a copied object */
+    private final String archivePrefix;
+
+    /**
+     * Constructor.
+     *
+     * @param s3SourceConfig
+     *            the configuration providing the archive settings.
+     * @param sourceClient
+     *            the client for the source bucket.
+     * @param tracker
+     *            the tracker providing the acknowledged objects.
+     */
+    public S3ObjectArchiver(final S3SourceConfig s3SourceConfig, final AWSV2SourceClient sourceClient,
+            final AcknowledgementTracker<String> tracker) {
+        this.sourceClient = sourceClient;
+        this.tracker = tracker;
+        this.action = s3SourceConfig.getArchiveAction();
+        this.archiveBucket = s3SourceConfig.getAwsS3ArchiveBucket();
+        this.archivePrefix = s3SourceConfig.getAwsS3ArchivePrefix();
+    }
+
+    /**
+     * Applies the archive action to the objects acknowledged since the last call.
+     *
+     * @return the number of objects that were archived.
+     */
+    public int archive() {
+        final List<String> acknowledged = tracker.drain();
+        if (acknowledged.isEmpty()) {
+            return 0;
+        }
+        final List<String> copied = action.copies() ? copy(acknowledged) : acknowledged;
+        if (!action.deletes()) {
+            return copied.size();
+        }
+        int deleted = 0;
+        for (int start = 0; start < copied.size(); start += AWSV2SourceClient.MAX_DELETE_KEYS) {
+            final List<String> batch = copied.subList(start,
+                    Math.min(start + AWSV2SourceClient.MAX_DELETE_KEYS, copied.size()));
+            deleted += delete(batch);
+        }
+        return deleted;
+    }
+
+    /**
+     * Copies objects to the archive prefix.
+     *
+     * @param objectKeys
+     *            the keys of the objects to copy.
+     * @return the keys of the objects that were copied.
+     */
+    private List<String> copy(final List<String> objectKeys) {
+        final List<String> copied = new ArrayList<>(objectKeys.size());
+        for (final String objectKey : objectKeys) {
+            try {
+                sourceClient.copyObject(objectKey, archiveBucket, archivePrefix + objectKey);
+                copied.add(objectKey);
+            } catch (SdkException e) {
+                LOGGER.warn("Unable to copy {} to {}/{}{}, the object is left in place", objectKey, archiveBucket,
+                        archivePrefix, objectKey, e);
+            }
+        }
+        return copied;
+    }
+
+    /**
+     * Deletes a batch of objects with a single request.
+     *
+     * @param objectKeys
+     *            the keys of the objects to delete.
+     * @return the number of objects that were deleted.
+     */
+    private int delete(final List<String> objectKeys) {
+        try {
+            final List<S3Error> errors = sourceClient.deleteObjects(objectKeys);
+            for (final S3Error error : errors) {
+                LOGGER.warn("Unable to delete {}: {} {}", error.key(), error.code(), error.message());
+            }
+            return objectKeys.size() - errors.size();
+        } catch (SdkException e) {
+            LOGGER.warn("Unable to delete {} objects, the objects are left in place", objectKeys.size(), e);
+            return 0;
+        }
+    }
+}
@@ -43,6 +43,8 @@ public final class S3OffsetManagerEntry implements OffsetManager.OffsetManagerEn
 
     private final String bucket;
     private final String objectKey;
+    /** The key of the entry, created once as it is read for every record */
+    private final OffsetManager.OffsetManagerKey managerKey;
 
     /**
      * Construct the S3OffsetManagerEntry.
@@ -55,6 +57,7 @@ public final class S3OffsetManagerEntry implements OffsetManager.OffsetManagerEn
     public S3OffsetManagerEntry(final String bucket, final String s3ObjectKey) {
         this.bucket = bucket;
         this.objectKey = s3ObjectKey;
+        this.managerKey = asKey(bucket, s3ObjectKey);
         data = new HashMap<>();
     }
 
@@ -83,7 +86,8 @@ public final class S3OffsetManagerEntry implements OffsetManager.OffsetManagerEn
      * @return a new instance of OffsetManagerKey
      */
     public static OffsetManager.OffsetManagerKey asKey(final String bucket, final String s3ObjectKey) {
-        return () -> Map.of(BUCKET, bucket, OBJECT_KEY, s3ObjectKey);
+        final Map<String, Object> partitionMap = Map.of(BUCKET, bucket, OBJECT_KEY, s3ObjectKey);
+        return () -> partitionMap;
     }
 
     /**
@@ -125,6 +129,11 @@ public final class S3OffsetManagerEntry implements OffsetManager.OffsetManagerEn
         recordCount++;
     }
 
+    @Override
+    public void setRecordCount(final long recordCount) {
+        this.recordCount = recordCount;
+    }
+
     /**
      * Gets the umber of records extracted from data returned from S3.
      *
@@ -163,6 +172,25 @@ public final class S3OffsetManagerEntry implements OffsetManager.OffsetManagerEn
         result.put(RECORD_COUNT, recordCount);
         return result;
     }
+
+    /**
+     * Creates an offset map with a different record count. The record count is usually the only property, in which
+     * case the map is an immutable single entry map.
+     *
+     * @param recordCount
+     *            the record count.
+     * @return a new map of properties and values.
+     */
+    @Override
+    public Map<String, Object> getProperties(final long recordCount) {
+        if (data.isEmpty() || data.size() == 1 && data.containsKey(RECORD_COUNT)) {
+            return Map.of(RECORD_COUNT, recordCount);
+        }
+        final Map<String, Object> result = new HashMap<>(data);
+        result.put(RECORD_COUNT, recordCount);
+        return result;
+    }
+
     /**
      * Returns the OffsetManagerKey for this Entry.
      *
@@ -170,7 +198,7 @@ public final class S3OffsetManagerEntry implements OffsetManager.OffsetManagerEn
      */
     @Override
     public OffsetManager.OffsetManagerKey getManagerKey() {
-        return () -> Map.of(BUCKET, bucket, OBJECT_KEY, objectKey);
+        return managerKey;
     }
 
     @Override
@@ -17,9 +17,12 @@
 package io.aiven.kafka.connect.s3.source.utils;
 
 import java.io.InputStream;
+import java.util.Map;
 import java.util.stream.Stream;
 
+import io.aiven.kafka.connect.common.config.enums.ListingMode;
 import io.aiven.kafka.connect.common.source.AbstractSourceRecordIterator;
+import io.aiven.kafka.connect.common.source.ItemDiscovery;
 import io.aiven.kafka.connect.common.source.OffsetManager;
 import io.aiven.kafka.connect.common.source.input.Transformer;
 import io.aiven.kafka.connect.s3.source.config.S3SourceConfig;
@@ -47,6 +50,9 @@ public final class S3SourceRecordIterator
     /** The S3 bucket we are processing */
     private final String bucket;
 
+    /** Discovers the S3Objects to process */
+    private final ItemDiscovery<String, S3Object> itemDiscovery;
+
     /**
      * /** The inner iterator to provides a base S3SourceRecord for an S3Object that has passed the filters and
      * potentially had data extracted.
@@ -59,6 +65,9 @@ public final class S3SourceRecordIterator
         super(s3SourceConfig, offsetManager, transformer, s3SourceConfig.getRingBufferSize());
         this.bucket = s3SourceConfig.getAwsS3BucketName();
         this.sourceClient = sourceClient;
+        this.itemDiscovery = s3SourceConfig.getListingMode() == ListingMode.MANIFEST
+                ? new S3ManifestDiscovery(s3SourceConfig, sourceClient)
+                : sourceClient::getS3ObjectStream;
     }
 
     @Override
@@ -68,7 +77,7 @@ public final class S3SourceRecordIterator
 
     @Override
     protected Stream<S3Object> getNativeItemStream(final String offset) {
-        return sourceClient.getS3ObjectStream(offset);
+        return itemDiscovery.getNativeItemStream(offset);
     }
 
     @Override
@@ -95,4 +104,16 @@ public final class S3SourceRecordIterator
     protected OffsetManager.OffsetManagerKey getOffsetManagerKey(final String nativeKey) {
         return S3OffsetManagerEntry.asKey(bucket, StringUtils.defaultIfBlank(nativeKey, ""));
     }
+
+    @Override
+    protected String parseNativeKey(final String nativeKey) {
+        return nativeKey;
+    }
+
+    @Override
+    protected Map<String, Object> getTaskPartitionMap() {
+        final Map<String, Object> partitionMap = super.getTaskPartitionMap();
+        partitionMap.put(S3OffsetManagerEntry.BUCKET, bucket);
+        return partitionMap;
+    }
 }
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.s3.source.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.kafka.connect.errors.ConnectException;
+
+import io.aiven.kafka.connect.common.source.input.utils.FilePatternUtils;
+
+import org.apache.commons.lang3.StringUtils;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CommonPrefix;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+
+/**
+ * Lists a bucket by the key prefix shards derived from the file name template.
+ * <p>
+ * The shards are found with a single delimited listing of the literal prefix of the template. Shards whose placeholder
+ * value can not match the template are skipped without listing them. Because every shard ends with the delimiter no
+ * shard is a prefix of another, so the shards are disjoint key ranges and reading them one after another in key order
+ * produces a stream in key order. Up to {@code parallelism} shards are listed ahead of the consumer, one page request
+ * per shard at a time, and the page size of each shard doubles with every page up to {@link #MAX_PAGE_SIZE}.
+ * </p>
+ */
+final class ShardedObjectListing {
+    /** The largest number of keys S3 returns in one page */
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final S3Client s3Client;
+    private final String bucketName;
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final int pageSize;
+
+    /**
+     * Constructor.
+     *
+     * @param s3Client
+     *            the client to list with.
+     * @param bucketName
+     *            the bucket to list.
+     * @param executor
+     *            the executor that requests the pages.
+     * @param parallelism
+     *            the number of shards listed concurrently.
+     * @param pageSize
+     *            the page size of the first request of each shard.
+     */
+    ShardedObjectListing(final S3Client s3Client, final String bucketName, final ExecutorService executor,
+            final int parallelism, final int pageSize) {
+        this.s3Client = s3Client;
+        this.bucketName = bucketName;
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    /**
+     * Lists the pages of all shards in key order.
+     *
+     * @param prefix
+     *            the configured key prefix or {@code null} if there is none.
+     * @param prefixShards
+     *            the prefix shards of the file name template.
+     * @param startAfter
+     *            the key to start listing after or {@code null} to list from the beginning.
+     * @return the pages of all shards in key order.
+     */
+    Stream<ListObjectsV2Response> list(final String prefix, final FilePatternUtils.PrefixShards prefixShards,
+            final String startAfter) {
+        final Iterator<ListObjectsV2Response> pages = new PageIterator(getShards(prefix, prefixShards, startAfter),
+                startAfter);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Gets the shards that may contain matching keys after {@code startAfter}.
+     *
+     * @param prefix
+     *            the configured key prefix or {@code null} if there is none.
+     * @param prefixShards
+     *            the prefix shards of the file name template.
+     * @param startAfter
+     *            the key to start listing after or {@code null} to list from the beginning.
+     * @return the shard prefixes in key order.
+     */
+    List<String> getShards(final String prefix, final FilePatternUtils.PrefixShards prefixShards,
+            final String startAfter) {
+        final String shardPrefix = StringUtils.defaultString(prefix) + prefixShards.getPrefix();
+        final List<String> shards = new ArrayList<>();
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .maxKeys(MAX_PAGE_SIZE)
+                .prefix(shardPrefix)
+                .delimiter(prefixShards.getDelimiter())
+                .build();
+        while (request != null) {
+            final ListObjectsV2Response response = s3Client.listObjectsV2(request);
+            for (final CommonPrefix commonPrefix : response.commonPrefixes()) {
+                final String shard = commonPrefix.prefix();
+                final String value = shard.substring(shardPrefix.length(),
+                        shard.length() - prefixShards.getDelimiter().length());
+                if (prefixShards.isShardValue(value) && !isBefore(shard, startAfter)) {
+                    shards.add(shard);
+                }
+            }
+            request = response.isTruncated()
+                    ? request.toBuilder().continuationToken(response.nextContinuationToken()).build()
+                    : null;
+        }
+        return shards;
+    }
+
+    /**
+     * Checks whether every key in a shard sorts before {@code startAfter}.
+     *
+     * @param shard
+     *            the shard prefix.
+     * @param startAfter
+     *            the key to start listing after or {@code null} to list from the beginning.
+     * @return {@code true} if the shard does not need to be listed.
+     */
+    private static boolean isBefore(final String shard, final String startAfter) {
+        return startAfter != null && !startAfter.startsWith(shard) && startAfter.compareTo(shard) > 0;
+    }
+
+    /**
+     * The listing of one shard.
+     */
+    private final class ShardCursor {
+        private final String shard;
+        private int maxKeys;
+        /** The request of the first page, the prefix is not part of the continuation token */
+        private final ListObjectsV2Request firstRequest;
+        private Future<ListObjectsV2Response> nextPage;
+
+        ShardCursor(final String shard, final String startAfter) {
+            this.shard = shard;
+            this.maxKeys = pageSize;
+            final String shardStart = startAfter != null && startAfter.startsWith(shard) ? startAfter : null;
+            this.firstRequest = ListObjectsV2Request.builder()
+                    .bucket(bucketName)
+                    .maxKeys(maxKeys)
+                    .prefix(shard)
+                    .startAfter(shardStart)
+                    .build();
+            request(firstRequest);
+        }
+
+        private void request(final ListObjectsV2Request request) {
+            nextPage = executor.submit(() -> s3Client.listObjectsV2(request));
+        }
+
+        /**
+         * Waits for the requested page and requests the following page if there is one.
+         *
+         * @return the page.
+         */
+        ListObjectsV2Response take() {
+            final ListObjectsV2Response response;
+            try {
+                response = nextPage.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ConnectException("Interrupted while listing " + shard, e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new ConnectException("Unable to list " + shard, e.getCause());
+            }
+            if (response.isTruncated()) {
+                maxKeys = Math.min(Math.max(pageSize, MAX_PAGE_SIZE), maxKeys * 2);
+                request(firstRequest.toBuilder()
+                        .continuationToken(response.nextContinuationToken())
+                        .maxKeys(maxKeys)
+                        .build());
+            } else {
+                nextPage = null;
+            }
+            return response;
+        }
+
+        boolean isDone() {
+            return nextPage == null;
+        }
+    }
+
+    /**
+     * Iterates over the pages of the shards in key order while keeping {@code parallelism} shards listing.
+     */
+    private final class PageIterator implements Iterator<ListObjectsV2Response> {
+        private final Iterator<String> shards;
+        private final String startAfter;
+        private final Deque<ShardCursor> window = new ArrayDeque<>();
+
+        PageIterator(final List<String> shards, final String startAfter) {
+            this.shards = shards.iterator();
+            this.startAfter = startAfter;
+            fill();
+        }
+
+        private void fill() {
+            while (window.size() < parallelism && shards.hasNext()) {
+                window.add(new ShardCursor(shards.next(), startAfter));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !window.isEmpty();
+        }
+
+        @Override
+        public ListObjectsV2Response next() {
+            final ShardCursor cursor = window.peekFirst();
+            if (cursor == null) {
+                throw new NoSuchElementException();
+            }
+            final ListObjectsV2Response response = cursor.take();
+            if (cursor.isDone()) {
+                window.removeFirst();
+                fill();
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.s3.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.apache.kafka.connect.converters.ByteArrayConverter;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.apache.kafka.connect.source.SourceTaskContext;
+import org.apache.kafka.connect.storage.OffsetStorageReader;
+
+import io.aiven.kafka.connect.common.config.CommonConfigFragment;
+import io.aiven.kafka.connect.common.config.FileNameFragment;
+import io.aiven.kafka.connect.common.config.KafkaFragment;
+import io.aiven.kafka.connect.common.config.SourceConfigFragment;
+import io.aiven.kafka.connect.common.config.TransformerFragment;
+import io.aiven.kafka.connect.common.config.enums.ArchiveAction;
+import io.aiven.kafka.connect.common.source.input.InputFormat;
+import io.aiven.kafka.connect.common.source.input.RangedIOSupplier;
+import io.aiven.kafka.connect.config.s3.S3ConfigFragment;
+import io.aiven.kafka.connect.s3.source.config.S3SourceConfig;
+import io.aiven.kafka.connect.s3.source.utils.AWSV2SourceClient;
+import io.aiven.kafka.connect.s3.source.utils.S3OffsetManagerEntry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Tests that the task archives the objects whose records Kafka has acknowledged.
+ */
+final class S3SourceTaskArchiveTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private static final String ACKNOWLEDGED_KEY = "topic-0-0";
+
+    private static final String OUTSTANDING_KEY = "topic-0-100";
+
+    private AWSV2SourceClient sourceClient;
+
+    @BeforeEach
+    void setUp() {
+        sourceClient = mock(AWSV2SourceClient.class);
+        when(sourceClient.getS3ObjectStream(any()))
+                .thenReturn(Stream.of(object(ACKNOWLEDGED_KEY), object(OUTSTANDING_KEY)))
+                .thenAnswer(invocation -> Stream.empty());
+        when(sourceClient.getObject(anyString())).thenAnswer(invocation -> content(invocation.getArgument(0)));
+        when(sourceClient.deleteObjects(anyCollection())).thenReturn(List.of());
+    }
+
+    private static S3Object object(final String objectKey) {
+        return S3Object.builder()
+                .key(objectKey)
+                .size((long) objectKey.length())
+                .lastModified(Instant.now())
+                .build();
+    }
+
+    /**
+     * Creates the content of an object, which is the object key.
+     *
+     * @param objectKey
+     *            the object key.
+     * @return the supplier of the content.
+     */
+    private static RangedIOSupplier content(final String objectKey) {
+        final byte[] data = objectKey.getBytes(StandardCharsets.UTF_8);
+        return new RangedIOSupplier() {
+            @Override
+            public InputStream get() {
+                return new ByteArrayInputStream(data);
+            }
+
+            @Override
+            public InputStream getRange(final long position, final long length) {
+                return new ByteArrayInputStream(data, (int) position, (int) length);
+            }
+        };
+    }
+
+    private static Map<String, String> createConfig(final ArchiveAction action) {
+        final Map<String, String> props = new HashMap<>();
+        S3ConfigFragment.setter(props).bucketName("test-bucket").region(Region.US_EAST_1).archiveAction(action);
+        TransformerFragment.setter(props).inputFormat(InputFormat.BYTES);
+        KafkaFragment.setter(props)
+                .keyConverter(ByteArrayConverter.class)
+                .valueConverter(ByteArrayConverter.class)
+                .tasksMax(1)
+                .name("s3-source-task-archive-test");
+        CommonConfigFragment.setter(props).taskId(0);
+        SourceConfigFragment.setter(props).targetTopic("topic");
+        FileNameFragment.setter(props).template("{{topic}}-{{partition}}-{{start_offset}}");
+        return props;
+    }
+
+    private static SourceTaskContext createSourceTaskContext() {
+        final SourceTaskContext context = mock(SourceTaskContext.class);
+        when(context.offsetStorageReader()).thenReturn(mock(OffsetStorageReader.class));
+        return context;
+    }
+
+    /**
+     * Starts a task and polls it until it has returned the records of both objects.
+     *
+     * @param task
+     *            the task to start.
+     * @param action
+     *            the archive action.
+     * @return the records returned by the task.
+     */
+    private static List<SourceRecord> startAndPoll(final S3SourceTask task, final ArchiveAction action) {
+        task.initialize(createSourceTaskContext());
+        task.start(createConfig(action));
+        final List<SourceRecord> result = new ArrayList<>();
+        await().atMost(TIMEOUT).untilAsserted(() -> {
+            final List<SourceRecord> pollResult = task.poll();
+            if (pollResult != null) {
+                result.addAll(pollResult);
+            }
+            assertThat(result).hasSize(2);
+        });
+        return result;
+    }
+
+    private static String objectKey(final SourceRecord record) {
+        return (String) record.sourcePartition().get(S3OffsetManagerEntry.OBJECT_KEY);
+    }
+
+    @Test
+    void testAcknowledgedObjectsAreArchivedWhenTheTaskStops() {
+        final S3SourceTask task = new TestingS3SourceTask(sourceClient);
+        final List<SourceRecord> records = startAndPoll(task, ArchiveAction.DELETE);
+
+        records.stream().filter(record -> ACKNOWLEDGED_KEY.equals(objectKey(record))).forEach(task::commitRecord);
+        task.stop();
+        assertThat(task.poll()).isNull();
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Collection<String>> deleted = ArgumentCaptor.forClass(Collection.class);
+        final InOrder inOrder = inOrder(sourceClient);
+        inOrder.verify(sourceClient).deleteObjects(deleted.capture());
+        inOrder.verify(sourceClient).shutdown();
+        assertThat(deleted.getValue()).as("the unacknowledged object is left in place")
+                .containsExactly(ACKNOWLEDGED_KEY);
+    }
+
+    @Test
+    void testObjectsAreNotArchivedWithoutAnArchiveAction() {
+        final S3SourceTask task = new TestingS3SourceTask(sourceClient);
+        startAndPoll(task, ArchiveAction.NONE).forEach(task::commitRecord);
+        task.stop();
+        assertThat(task.poll()).isNull();
+
+        verify(sourceClient, never()).copyObject(anyString(), anyString(), anyString());
+        verify(sourceClient, never()).deleteObjects(anyCollection());
+        verify(sourceClient).shutdown();
+    }
+
+    private static class TestingS3SourceTask extends S3SourceTask { // NOPMD not a test class
+        private final AWSV2SourceClient sourceClient;
+
+        TestingS3SourceTask(final AWSV2SourceClient sourceClient) {
+            super();
+            this.sourceClient = sourceClient;
+        }
+
+        @Override
+        protected AWSV2SourceClient createSourceClient(final S3SourceConfig config) {
+            return sourceClient;
+        }
+    }
+}
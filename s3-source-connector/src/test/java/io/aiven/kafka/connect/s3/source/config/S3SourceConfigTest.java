@@ -17,12 +17,17 @@
 package io.aiven.kafka.connect.s3.source.config;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.kafka.common.config.ConfigException;
 
 import io.aiven.kafka.connect.common.config.FileNameFragment;
 import io.aiven.kafka.connect.common.config.SourceConfigFragment;
 import io.aiven.kafka.connect.common.config.TransformerFragment;
+import io.aiven.kafka.connect.common.config.enums.ArchiveAction;
 import io.aiven.kafka.connect.common.source.input.InputFormat;
 import io.aiven.kafka.connect.config.s3.S3ConfigFragment;
 
@@ -61,5 +66,63 @@ final class S3SourceConfigTest {
         assertThat(conf.getS3RetryBackoffMaxDelayMs())
                 .isEqualTo(S3ConfigFragment.AWS_S3_RETRY_BACKOFF_MAX_DELAY_MS_DEFAULT);
         assertThat(conf.getS3RetryBackoffMaxRetries()).isEqualTo(S3ConfigFragment.S3_RETRY_BACKOFF_MAX_RETRIES_DEFAULT);
+        assertThat(conf.getArchiveAction()).isEqualTo(ArchiveAction.NONE);
+    }
+
+    private static Map<String, String> archiveProps(final ArchiveAction action, final String prefix,
+            final String archiveBucket, final String archivePrefix) {
+        final var props = new HashMap<String, String>();
+        final S3ConfigFragment.Setter setter = S3ConfigFragment.setter(props)
+                .bucketName("the-bucket")
+                .region(Region.US_EAST_1)
+                .archiveAction(action);
+        if (prefix != null) {
+            setter.prefix(prefix);
+        }
+        if (archiveBucket != null) {
+            setter.archiveBucket(archiveBucket);
+        }
+        if (archivePrefix != null) {
+            setter.archivePrefix(archivePrefix);
+        }
+        SourceConfigFragment.setter(props).targetTopic("testtopic");
+        FileNameFragment.setter(props).template("any-old-file");
+        return props;
+    }
+
+    @Test
+    void archiveToAnotherBucket() {
+        final var conf = new S3SourceConfig(archiveProps(ArchiveAction.MOVE, null, "archive-bucket", "archive/"));
+        assertThat(conf.getArchiveAction()).isEqualTo(ArchiveAction.MOVE);
+        assertThat(conf.getAwsS3ArchiveBucket()).isEqualTo("archive-bucket");
+        assertThat(conf.getAwsS3ArchivePrefix()).isEqualTo("archive/");
+    }
+
+    @Test
+    void archiveToSourceBucketOutsideOfPrefix() {
+        final var conf = new S3SourceConfig(archiveProps(ArchiveAction.COPY, "ingest/", null, "archive/"));
+        assertThat(conf.getAwsS3ArchiveBucket()).isEqualTo("the-bucket");
+    }
+
+    @Test
+    void deleteDoesNotNeedArchivePrefix() {
+        final var conf = new S3SourceConfig(archiveProps(ArchiveAction.DELETE, null, null, null));
+        assertThat(conf.getArchiveAction()).isEqualTo(ArchiveAction.DELETE);
+    }
+
+    @Test
+    void archiveWithoutPrefix() {
+        assertThatThrownBy(() -> new S3SourceConfig(archiveProps(ArchiveAction.MOVE, null, "archive-bucket", null)))
+                .isInstanceOf(ConfigException.class)
+                .hasMessageContaining(S3ConfigFragment.AWS_S3_ARCHIVE_PREFIX);
+    }
+
+    @Test
+    void archiveToSourceBucketInsideOfPrefix() {
+        assertThatThrownBy(() -> new S3SourceConfig(archiveProps(ArchiveAction.MOVE, null, null, "archive/")))
+                .isInstanceOf(ConfigException.class);
+        assertThatThrownBy(
+                () -> new S3SourceConfig(archiveProps(ArchiveAction.COPY, "ingest/", null, "ingest/archive/")))
+                .isInstanceOf(ConfigException.class);
     }
 }
@@ -24,20 +24,28 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.aiven.kafka.connect.common.config.FileNameFragment;
+import io.aiven.kafka.connect.common.source.input.RangedIOSupplier;
 import io.aiven.kafka.connect.config.s3.S3ConfigFragment;
 import io.aiven.kafka.connect.s3.source.config.S3SourceConfig;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CommonPrefix;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 import software.amazon.awssdk.services.s3.model.S3Object;
@@ -175,6 +183,97 @@ class AWSV2SourceClientTest {
 
     }
 
+    @Test
+    void testGetObjectIsLazyAndSupportsRanges() throws IOException {
+        initializeWithTaskConfigs();
+        final ArgumentCaptor<GetObjectRequest> getCaptor = ArgumentCaptor.forClass(GetObjectRequest.class);
+        when(s3Client.getObjectAsBytes(any(GetObjectRequest.class)))
+                .thenReturn(ResponseBytes.fromByteArray(GetObjectResponse.builder().build(), new byte[] { 1, 2, 3 }));
+
+        final RangedIOSupplier supplier = awsv2SourceClient.getObject("any-key");
+        verify(s3Client, times(0)).getObjectAsBytes(any(GetObjectRequest.class));
+
+        try (InputStream input = supplier.getRange(10, 3)) {
+            assertThat(input.readAllBytes()).containsExactly(1, 2, 3);
+        }
+        try (InputStream input = supplier.get()) {
+            assertThat(input.readAllBytes()).containsExactly(1, 2, 3);
+        }
+        verify(s3Client, times(2)).getObjectAsBytes(getCaptor.capture());
+        assertThat(getCaptor.getAllValues().get(0).range()).isEqualTo("bytes=10-12");
+        assertThat(getCaptor.getAllValues().get(0).key()).isEqualTo("any-key");
+        assertThat(getCaptor.getAllValues().get(1).range()).isNull();
+    }
+
+    @Test
+    void testShardedListingIsOrderedAndSkipsNonMatchingShards() {
+        final Map<String, String> configMap = getConfigMap();
+        FileNameFragment.setter(configMap).template("topics/{{topic}}/{{partition}}-{{start_offset}}");
+        S3ConfigFragment.setter(configMap).prefix("cluster/").fetchParallelism(2);
+        final S3SourceConfig s3SourceConfig = new S3SourceConfig(configMap);
+        s3Client = mock(S3Client.class);
+        awsv2SourceClient = new AWSV2SourceClient(s3Client, s3SourceConfig);
+
+        final Map<String, ListObjectsV2Response> responses = new ConcurrentHashMap<>();
+        responses.put("cluster/topics/", ListObjectsV2Response.builder()
+                .commonPrefixes(commonPrefix("cluster/topics/a/"), commonPrefix("cluster/topics/b/"),
+                        commonPrefix("cluster/topics/c/"), commonPrefix("cluster/topics/bad!/"))
+                .isTruncated(false)
+                .build());
+        responses.put("cluster/topics/b/", ListObjectsV2Response.builder()
+                .contents(s3Object("cluster/topics/b/0-2"), s3Object("cluster/topics/b/0-3"))
+                .isTruncated(true)
+                .nextContinuationToken("b-token")
+                .build());
+        responses.put("b-token", ListObjectsV2Response.builder()
+                .contents(s3Object("cluster/topics/b/1-1"))
+                .isTruncated(false)
+                .build());
+        responses.put("cluster/topics/c/", ListObjectsV2Response.builder()
+                .contents(s3Object("cluster/topics/c/0-1"))
+                .isTruncated(false)
+                .build());
+        final List<ListObjectsV2Request> requests = Collections.synchronizedList(new ArrayList<>());
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenAnswer(invocation -> {
+            final ListObjectsV2Request request = invocation.getArgument(0);
+            requests.add(request);
+            return responses.get(
+                    request.continuationToken() == null ? request.prefix() : request.continuationToken());
+        });
+
+        final List<String> keys = new ArrayList<>();
+        awsv2SourceClient.getListOfObjectKeys("cluster/topics/b/0-1").forEachRemaining(keys::add);
+        awsv2SourceClient.shutdown();
+
+        assertThat(keys).containsExactly("cluster/topics/b/0-2", "cluster/topics/b/0-3", "cluster/topics/b/1-1",
+                "cluster/topics/c/0-1");
+        assertThat(requests).extracting(ListObjectsV2Request::prefix)
+                .doesNotContain("cluster/topics/a/", "cluster/topics/bad!/");
+        assertThat(requests)
+                .filteredOn(request -> "cluster/topics/b/".equals(request.prefix())
+                        && request.continuationToken() == null)
+                .singleElement()
+                .satisfies(request -> {
+                    assertThat(request.startAfter()).isEqualTo("cluster/topics/b/0-1");
+                    assertThat(request.maxKeys()).isEqualTo(10);
+                });
+        assertThat(requests).filteredOn(request -> "b-token".equals(request.continuationToken()))
+                .singleElement()
+                .satisfies(request -> {
+                    // the continuation token does not hold the prefix, so the page must stay within the shard.
+                    assertThat(request.prefix()).isEqualTo("cluster/topics/b/");
+                    assertThat(request.maxKeys()).isEqualTo(20);
+                });
+    }
+
+    private static CommonPrefix commonPrefix(final String prefix) {
+        return CommonPrefix.builder().prefix(prefix).build();
+    }
+
+    private static S3Object s3Object(final String key) {
+        return S3Object.builder().key(key).size(1L).build();
+    }
+
     private ListObjectsV2Response createListObjectsV2Response(final List<S3Object> summaries, final String nextToken) {
         final ListObjectsV2Response result = mock(ListObjectsV2Response.class);
         when(result.contents()).thenReturn(summaries);
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2024 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.s3.source.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import io.aiven.kafka.connect.common.config.FileNameFragment;
+import io.aiven.kafka.connect.common.config.SourceConfigFragment;
+import io.aiven.kafka.connect.common.config.enums.ListingMode;
+import io.aiven.kafka.connect.s3.source.config.S3SourceConfig;
+import io.aiven.kakfa.connect.s3.source.testdata.AWSIntegrationTestData;
+import io.aiven.kakfa.connect.s3.source.testdata.BucketAccessor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+@DisabledOnOs(value = { OS.WINDOWS, OS.MAC }, disabledReason = "Container testing does not run on Mac and Windows")
+@Testcontainers
+final class S3ManifestDiscoveryTest {
+    private static final String BUCKET = "manifest-discovery-bucket";
+
+    @Container
+    static final LocalStackContainer LOCALSTACK = AWSIntegrationTestData.createS3Container();
+
+    private AWSIntegrationTestData testData;
+    private BucketAccessor bucketAccessor;
+    private AWSV2SourceClient sourceClient;
+    private S3ManifestDiscovery discovery;
+
+    @BeforeEach
+    void setup() {
+        testData = new AWSIntegrationTestData(LOCALSTACK);
+        bucketAccessor = testData.getBucketAccessor(BUCKET);
+        final Map<String, String> props = testData.createConnectorConfig(null, BUCKET);
+        FileNameFragment.setter(props).template("{{topic}}-{{partition}}-{{start_offset}}");
+        SourceConfigFragment.setter(props).listingMode(ListingMode.MANIFEST).listingManifestPrefix("manifests/");
+        final S3SourceConfig config = new S3SourceConfig(props);
+        sourceClient = new AWSV2SourceClient(config);
+        discovery = new S3ManifestDiscovery(config, sourceClient);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sourceClient.shutdown();
+        bucketAccessor.removeBucket();
+        testData.tearDown();
+    }
+
+    private void write(final String key, final byte[] data) {
+        testData.writeWithKey(key, data, bucketAccessor);
+    }
+
+    private static byte[] gzip(final String text) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream output = new GZIPOutputStream(bytes)) {
+            output.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<String> discoverKeys() {
+        return discovery.getNativeItemStream(null).map(S3Object::key).collect(Collectors.toList());
+    }
+
+    @Test
+    void testConnectorManifest() {
+        write("manifests/first.manifest",
+                "# objects to load\ntopic-0-1\t10\n\ntopic-0-2\t0\ntopic-1-1\t20\n".getBytes(StandardCharsets.UTF_8));
+        write("manifests/notes.txt", "not a manifest".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(discoverKeys()).containsExactly("topic-0-1", "topic-1-1");
+        assertThat(discovery.getConsumedManifests()).containsExactly("manifests/first.manifest");
+        assertThat(discoverKeys()).isEmpty();
+
+        write("manifests/second.manifest", "topic-0-3\t30\n".getBytes(StandardCharsets.UTF_8));
+        assertThat(discoverKeys()).containsExactly("topic-0-3");
+    }
+
+    @Test
+    void testInventoryManifest() throws IOException {
+        write("manifests/inventory/data/one.csv.gz",
+                gzip("\"" + BUCKET + "\",\"topic-0-1\",\"10\",\"2025-01-01T00:00:00.000Z\",\"true\",\"false\"\n"
+                        + "\"other-bucket\",\"topic-0-2\",\"10\",\"2025-01-01T00:00:00.000Z\",\"true\",\"false\"\n"
+                        + "\"" + BUCKET + "\",\"topic-0-3\",\"10\",\"2025-01-01T00:00:00.000Z\",\"false\",\"false\"\n"
+                        + "\"" + BUCKET + "\",\"topic-0-4\",\"\",\"2025-01-01T00:00:00.000Z\",\"true\",\"true\"\n"));
+        write("manifests/inventory/data/two.csv.gz", gzip("\"" + BUCKET
+                + "\",\"dir%2Ftopic-1-1\",\"20\",\"2025-01-02T00:00:00.000Z\",\"true\",\"false\"\n"));
+        write("manifests/inventory/2025-01-02T00-00Z/manifest.json", ("{\"sourceBucket\": \"" + BUCKET + "\","
+                + "\"fileFormat\": \"CSV\","
+                + "\"fileSchema\": \"Bucket, Key, Size, LastModifiedDate, IsLatest, IsDeleteMarker\","
+                + "\"files\": [{\"key\": \"manifests/inventory/data/one.csv.gz\"},"
+                + "{\"key\": \"manifests/inventory/data/two.csv.gz\"}]}").getBytes(StandardCharsets.UTF_8));
+
+        final List<S3Object> objects = discovery.getNativeItemStream(null).collect(Collectors.toList());
+        assertThat(objects).extracting(S3Object::key).containsExactly("topic-0-1", "dir/topic-1-1");
+        assertThat(objects).extracting(S3Object::size).containsExactly(10L, 20L);
+        assertThat(discovery.getConsumedManifests())
+                .containsExactly("manifests/inventory/2025-01-02T00-00Z/manifest.json");
+        assertThat(discoverKeys()).isEmpty();
+    }
+
+    private static String inventoryRow(final String key, final String lastModified) {
+        return "\"" + BUCKET + "\",\"" + key + "\",\"10\",\"" + lastModified + "\",\"true\",\"false\"\n";
+    }
+
+    private void writeInventoryManifest(final String key, final String created, final String... files) {
+        final String fileList = Stream.of(files)
+                .map(file -> "{\"key\": \"" + file + "\"}")
+                .collect(Collectors.joining(","));
+        write(key, ("{\"sourceBucket\": \"" + BUCKET + "\"," + "\"fileFormat\": \"CSV\","
+                + "\"fileSchema\": \"Bucket, Key, Size, LastModifiedDate, IsLatest, IsDeleteMarker\","
+                + "\"creationTimestamp\": \"" + Instant.parse(created).toEpochMilli() + "\"," + "\"files\": ["
+                + fileList + "]}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testOnlyTheNewestInventoryOfAConfigurationIsRead() throws IOException {
+        write("manifests/inventory/data/old.csv.gz", gzip(inventoryRow("topic-0-1", "2025-01-01T00:00:00.000Z")));
+        write("manifests/inventory/data/new.csv.gz", gzip(inventoryRow("topic-0-1", "2025-01-01T00:00:00.000Z")
+                + inventoryRow("topic-0-2", "2025-01-02T00:00:00.000Z")));
+        write("manifests/other/data/other.csv.gz", gzip(inventoryRow("topic-1-1", "2025-01-01T00:00:00.000Z")));
+        writeInventoryManifest("manifests/inventory/2025-01-02T00-00Z/manifest.json", "2025-01-02T00:00:00Z",
+                "manifests/inventory/data/old.csv.gz");
+        writeInventoryManifest("manifests/inventory/2025-01-03T00-00Z/manifest.json", "2025-01-03T00:00:00Z",
+                "manifests/inventory/data/new.csv.gz");
+        writeInventoryManifest("manifests/other/2025-01-02T00-00Z/manifest.json", "2025-01-02T00:00:00Z",
+                "manifests/other/data/other.csv.gz");
+
+        assertThat(discoverKeys()).containsExactly("topic-0-1", "topic-0-2", "topic-1-1");
+        assertThat(discovery.getConsumedManifests()).containsExactlyInAnyOrder(
+                "manifests/inventory/2025-01-03T00-00Z/manifest.json",
+                "manifests/other/2025-01-02T00-00Z/manifest.json");
+    }
+
+    @Test
+    void testObjectsOfAConsumedInventoryAreSkipped() throws IOException {
+        write("manifests/inventory/data/first.csv.gz", gzip(inventoryRow("topic-0-1", "2025-01-01T00:00:00.000Z")));
+        writeInventoryManifest("manifests/inventory/2025-01-02T00-00Z/manifest.json", "2025-01-02T00:00:00Z",
+                "manifests/inventory/data/first.csv.gz");
+        assertThat(discoverKeys()).containsExactly("topic-0-1");
+
+        // the next inventory lists the whole bucket again.
+        write("manifests/inventory/data/second.csv.gz",
+                gzip(inventoryRow("topic-0-1", "2025-01-01T00:00:00.000Z")
+                        + inventoryRow("topic-0-2", "2025-01-01T23:30:00.000Z")
+                        + inventoryRow("topic-0-3", "2025-01-02T12:00:00.000Z")));
+        writeInventoryManifest("manifests/inventory/2025-01-03T00-00Z/manifest.json", "2025-01-03T00:00:00Z",
+                "manifests/inventory/data/second.csv.gz");
+        assertThat(discoverKeys()).as("objects written within the margin of the first inventory are read again")
+                .containsExactly("topic-0-2", "topic-0-3");
+    }
+
+    @Test
+    void testInventoryConfiguration() {
+        assertThat(S3ManifestDiscovery.inventoryConfiguration("dest/bucket/config/2025-01-02T00-00Z/manifest.json"))
+                .isEqualTo("dest/bucket/config");
+        assertThat(S3ManifestDiscovery.inventoryConfiguration("manifest.json")).isEmpty();
+    }
+
+    @Test
+    void testSplitCsv() {
+        assertThat(S3ManifestDiscovery.splitCsv("\"a\",\"b,c\",\"d\"\"e\",f,"))
+                .containsExactly("a", "b,c", "d\"e", "f", "");
+    }
+}
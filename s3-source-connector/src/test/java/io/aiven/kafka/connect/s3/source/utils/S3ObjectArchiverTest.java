@@ -0,0 +1,145 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.s3.source.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import io.aiven.kafka.connect.common.config.enums.ArchiveAction;
+import io.aiven.kafka.connect.common.source.AcknowledgementTracker;
+import io.aiven.kafka.connect.s3.source.config.S3SourceConfig;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.model.S3Error;
+
+final class S3ObjectArchiverTest {
+
+    private static final String ARCHIVE_BUCKET = "archive-bucket";
+
+    private static final String ARCHIVE_PREFIX = "archive/";
+
+    private AWSV2SourceClient sourceClient;
+
+    private AcknowledgementTracker<String> tracker;
+
+    @BeforeEach
+    void setUp() {
+        sourceClient = mock(AWSV2SourceClient.class);
+        when(sourceClient.deleteObjects(anyCollection())).thenReturn(List.of());
+        tracker = new AcknowledgementTracker<>();
+    }
+
+    private S3ObjectArchiver archiver(final ArchiveAction action) {
+        final S3SourceConfig s3SourceConfig = mock(S3SourceConfig.class);
+        when(s3SourceConfig.getArchiveAction()).thenReturn(action);
+        when(s3SourceConfig.getAwsS3ArchiveBucket()).thenReturn(ARCHIVE_BUCKET);
+        when(s3SourceConfig.getAwsS3ArchivePrefix()).thenReturn(ARCHIVE_PREFIX);
+        return new S3ObjectArchiver(s3SourceConfig, sourceClient, tracker);
+    }
+
+    /**
+     * Acknowledges objects that had no outstanding records.
+     *
+     * @param objectKeys
+     *            the keys of the objects.
+     */
+    private void acknowledge(final Collection<String> objectKeys) {
+        objectKeys.forEach(tracker::completed);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Collection<String>> keysCaptor() {
+        return ArgumentCaptor.forClass(Collection.class);
+    }
+
+    @Test
+    void testNothingAcknowledged() {
+        assertThat(archiver(ArchiveAction.MOVE).archive()).isZero();
+        verifyNoInteractions(sourceClient);
+    }
+
+    @Test
+    void testCopyDoesNotDelete() {
+        acknowledge(List.of("a", "b"));
+        assertThat(archiver(ArchiveAction.COPY).archive()).isEqualTo(2);
+        verify(sourceClient).copyObject("a", ARCHIVE_BUCKET, ARCHIVE_PREFIX + "a");
+        verify(sourceClient).copyObject("b", ARCHIVE_BUCKET, ARCHIVE_PREFIX + "b");
+        verify(sourceClient, never()).deleteObjects(anyCollection());
+    }
+
+    @Test
+    void testFailedCopyIsNotDeleted() {
+        doThrow(SdkException.builder().message("copy failed").build()).when(sourceClient)
+                .copyObject("b", ARCHIVE_BUCKET, ARCHIVE_PREFIX + "b");
+        acknowledge(List.of("a", "b", "c"));
+
+        assertThat(archiver(ArchiveAction.MOVE).archive()).isEqualTo(2);
+        final ArgumentCaptor<Collection<String>> deleted = keysCaptor();
+        verify(sourceClient).deleteObjects(deleted.capture());
+        assertThat(deleted.getValue()).containsExactly("a", "c");
+    }
+
+    @Test
+    void testDeletesAreBatched() {
+        final List<String> objectKeys = new ArrayList<>();
+        for (int i = 0; i < AWSV2SourceClient.MAX_DELETE_KEYS * 2 + 5; i++) {
+            objectKeys.add("object-" + i);
+        }
+        acknowledge(objectKeys);
+
+        assertThat(archiver(ArchiveAction.DELETE).archive()).isEqualTo(objectKeys.size());
+        verify(sourceClient, never()).copyObject(anyString(), anyString(), anyString());
+        final ArgumentCaptor<Collection<String>> deleted = keysCaptor();
+        verify(sourceClient, times(3)).deleteObjects(deleted.capture());
+        assertThat(deleted.getAllValues()).extracting(Collection::size)
+                .containsExactly(AWSV2SourceClient.MAX_DELETE_KEYS, AWSV2SourceClient.MAX_DELETE_KEYS, 5);
+        assertThat(deleted.getAllValues().stream().flatMap(Collection::stream)).containsExactlyElementsOf(objectKeys);
+    }
+
+    @Test
+    void testPartialDeleteErrorsAreCounted() {
+        when(sourceClient.deleteObjects(anyCollection()))
+                .thenReturn(List.of(S3Error.builder().key("b").code("AccessDenied").message("Access Denied").build()));
+        acknowledge(List.of("a", "b", "c"));
+
+        assertThat(archiver(ArchiveAction.DELETE).archive()).isEqualTo(2);
+    }
+
+    @Test
+    void testFailedDeleteRequestIsNotCounted() {
+        when(sourceClient.deleteObjects(anyCollection()))
+                .thenThrow(SdkException.builder().message("delete failed").build());
+        acknowledge(List.of("a", "b"));
+
+        assertThat(archiver(ArchiveAction.DELETE).archive()).isZero();
+    }
+}